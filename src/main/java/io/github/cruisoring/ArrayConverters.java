@@ -0,0 +1,325 @@
+package io.github.cruisoring;
+
+import java.lang.reflect.Array;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Bulk conversion plans between two types of arrays, each converts a range of elements with a tight loop specialized
+ * for the component types instead of getting, converting and setting every element with boxed functions:
+ * <ul>
+ * <li>elements of assignable reference types are copied by {@code System.arraycopy()} with its store checks</li>
+ * <li>primitive elements are boxed into, or unboxed from, the elements of the reference array directly</li>
+ * <li>elements of nested arrays are converted one by one with the converters of their own types</li>
+ * </ul>
+ * A large array is split into chunks of continuous elements to be converted in parallel.
+ */
+final class ArrayConverters {
+    //Minimum number of leaf elements to be converted by a single chunk
+    static final int MIN_CHUNK_LEAVES = 1 << 12;
+    //Number of chunks expected to be handled by each worker thread to balance the loads
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private ArrayConverters() {
+    }
+
+    /**
+     * Convert a range of elements of one array and set them to the elements of another array at the same indexes.
+     */
+    @FunctionalInterface
+    interface RangeConverter {
+        /**
+         * Convert the elements of the <tt>fromArray</tt> from index <tt>start</tt> (inclusive) to <tt>end</tt> (exclusive).
+         *
+         * @param fromArray the array to be converted
+         * @param toArray   the array to keep the converted elements
+         * @param start     the index of the first element to be converted
+         * @param end       the index after the last element to be converted
+         * @return <code>true</code> if all elements are converted, <code>false</code> if any of them cannot be converted
+         */
+        boolean convert(Object fromArray, Object toArray, int start, int end);
+    }
+
+    /**
+     * Get the plan to convert the elements of one component type to another that is either assignable, or is the
+     * wrapper or a super type of the wrapper of a primitive type.
+     *
+     * @param fromComponentClass component type of the array to be converted
+     * @param toComponentClass   component type of the converted array
+     * @return the {@code RangeConverter} to convert the elements, or null if there is no such plan
+     */
+    static RangeConverter of(Class fromComponentClass, Class toComponentClass) {
+        if (!fromComponentClass.isPrimitive() && !toComponentClass.isPrimitive()) {
+            return ArrayConverters::copy;
+        } else if (fromComponentClass.isPrimitive() && !toComponentClass.isPrimitive()) {
+            return boxing(fromComponentClass);
+        } else if (!fromComponentClass.isPrimitive()) {
+            return unboxing(toComponentClass);
+        }
+        return null;
+    }
+
+    /**
+     * Get the plan to convert the nested arrays of one type to another type one by one, null elements are kept as null.
+     *
+     * @param toComponentClass the type of the converted nested arrays
+     * @return the {@code RangeConverter} to convert the nested arrays serially
+     */
+    static RangeConverter nested(Class toComponentClass) {
+        return (fromArray, toArray, start, end) -> {
+            Object[] from = (Object[]) fromArray;
+            Object[] to = (Object[]) toArray;
+            for (int i = start; i < end; i++) {
+                Object element = from[i];
+                if (element != null && (to[i] = TypeHelper.convertSerial(element, toComponentClass)) == null) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    /**
+     * Estimate the number of leaf elements of the given array by assuming its nested arrays are of the same length.
+     *
+     * @param array the array to be converted
+     * @return the estimated number of leaf elements
+     */
+    static long estimateLeaves(Object array) {
+        int length = Array.getLength(array);
+        if (length == 0 || !array.getClass().getComponentType().isArray()) {
+            return length;
+        }
+        Object[] nestedArrays = (Object[]) array;
+        for (Object nested : nestedArrays) {
+            if (nested != null) {
+                return length * Math.max(1, estimateLeaves(nested));
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Convert all elements of the <tt>fromArray</tt> with the given plan, either serially or in parallel chunks.
+     *
+     * @param converter the plan to convert the elements
+     * @param fromArray the array to be converted
+     * @param toArray   the array to keep the converted elements
+     * @param parallel  <code>true</code> to convert the chunks in parallel when there are enough elements
+     * @return the <tt>toArray</tt> with the converted elements, or null if any element cannot be converted
+     */
+    static Object convertAll(RangeConverter converter, Object fromArray, Object toArray, boolean parallel) {
+        int chunks = parallel ? chunkCount(Array.getLength(fromArray), estimateLeaves(fromArray)) : 1;
+        return convertAll(converter, fromArray, toArray, chunks);
+    }
+
+    /**
+     * Convert all elements of the <tt>fromArray</tt> with the given plan in the given number of chunks, the chunks
+     * would be converted in parallel if there are more than one.
+     *
+     * @param converter the plan to convert the elements
+     * @param fromArray the array to be converted
+     * @param toArray   the array to keep the converted elements
+     * @param chunks    number of chunks to split the elements
+     * @return the <tt>toArray</tt> with the converted elements, or null if any element cannot be converted
+     */
+    static Object convertAll(RangeConverter converter, Object fromArray, Object toArray, int chunks) {
+        int length = Array.getLength(fromArray);
+        if (chunks < 2 || length < 2) {
+            return converter.convert(fromArray, toArray, 0, length) ? toArray : null;
+        }
+
+        int chunkLength = (length + chunks - 1) / chunks;
+        boolean converted = IntStream.range(0, (length + chunkLength - 1) / chunkLength).parallel()
+                .allMatch(c -> converter.convert(fromArray, toArray, c * chunkLength, Math.min(length, (c + 1) * chunkLength)));
+        return converted ? toArray : null;
+    }
+
+    private static int chunkCount(int length, long leaves) {
+        int threads = ForkJoinPool.getCommonPoolParallelism();
+        if (threads < 2 || length < 2) {
+            return 1;
+        }
+        long chunks = Math.min(length, leaves / MIN_CHUNK_LEAVES);
+        return (int) Math.min(chunks, (long) threads * CHUNKS_PER_THREAD);
+    }
+
+    private static boolean copy(Object fromArray, Object toArray, int start, int end) {
+        try {
+            System.arraycopy(fromArray, start, toArray, start, end - start);
+            return true;
+        } catch (ArrayStoreException ex) {
+            return false;
+        }
+    }
+
+    private static RangeConverter boxing(Class primitiveClass) {
+        RangeConverter converter;
+        if (primitiveClass == int.class) {
+            converter = (fromArray, toArray, start, end) -> {
+                int[] from = (int[]) fromArray;
+                Object[] to = (Object[]) toArray;
+                for (int i = start; i < end; i++) {
+                    to[i] = from[i];
+                }
+                return true;
+            };
+        } else if (primitiveClass == long.class) {
+            converter = (fromArray, toArray, start, end) -> {
+                long[] from = (long[]) fromArray;
+                Object[] to = (Object[]) toArray;
+                for (int i = start; i < end; i++) {
+                    to[i] = from[i];
+                }
+                return true;
+            };
+        } else if (primitiveClass == double.class) {
+            converter = (fromArray, toArray, start, end) -> {
+                double[] from = (double[]) fromArray;
+                Object[] to = (Object[]) toArray;
+                for (int i = start; i < end; i++) {
+                    to[i] = from[i];
+                }
+                return true;
+            };
+        } else if (primitiveClass == float.class) {
+            converter = (fromArray, toArray, start, end) -> {
+                float[] from = (float[]) fromArray;
+                Object[] to = (Object[]) toArray;
+                for (int i = start; i < end; i++) {
+                    to[i] = from[i];
+                }
+                return true;
+            };
+        } else if (primitiveClass == char.class) {
+            converter = (fromArray, toArray, start, end) -> {
+                char[] from = (char[]) fromArray;
+                Object[] to = (Object[]) toArray;
+                for (int i = start; i < end; i++) {
+                    to[i] = from[i];
+                }
+                return true;
+            };
+        } else if (primitiveClass == byte.class) {
+            converter = (fromArray, toArray, start, end) -> {
+                byte[] from = (byte[]) fromArray;
+                Object[] to = (Object[]) toArray;
+                for (int i = start; i < end; i++) {
+                    to[i] = from[i];
+                }
+                return true;
+            };
+        } else if (primitiveClass == short.class) {
+            converter = (fromArray, toArray, start, end) -> {
+                short[] from = (short[]) fromArray;
+                Object[] to = (Object[]) toArray;
+                for (int i = start; i < end; i++) {
+                    to[i] = from[i];
+                }
+                return true;
+            };
+        } else {
+            converter = (fromArray, toArray, start, end) -> {
+                boolean[] from = (boolean[]) fromArray;
+                Object[] to = (Object[]) toArray;
+                for (int i = start; i < end; i++) {
+                    to[i] = from[i];
+                }
+                return true;
+            };
+        }
+        //The boxed values would be rejected by the store checks if the reference array cannot keep them
+        return (fromArray, toArray, start, end) -> {
+            try {
+                return converter.convert(fromArray, toArray, start, end);
+            } catch (ArrayStoreException ex) {
+                return false;
+            }
+        };
+    }
+
+    private static RangeConverter unboxing(Class primitiveClass) {
+        RangeConverter converter;
+        if (primitiveClass == int.class) {
+            converter = (fromArray, toArray, start, end) -> {
+                Object[] from = (Object[]) fromArray;
+                int[] to = (int[]) toArray;
+                for (int i = start; i < end; i++) {
+                    to[i] = (Integer) from[i];
+                }
+                return true;
+            };
+        } else if (primitiveClass == long.class) {
+            converter = (fromArray, toArray, start, end) -> {
+                Object[] from = (Object[]) fromArray;
+                long[] to = (long[]) toArray;
+                for (int i = start; i < end; i++) {
+                    to[i] = (Long) from[i];
+                }
+                return true;
+            };
+        } else if (primitiveClass == double.class) {
+            converter = (fromArray, toArray, start, end) -> {
+                Object[] from = (Object[]) fromArray;
+                double[] to = (double[]) toArray;
+                for (int i = start; i < end; i++) {
+                    to[i] = (Double) from[i];
+                }
+                return true;
+            };
+        } else if (primitiveClass == float.class) {
+            converter = (fromArray, toArray, start, end) -> {
+                Object[] from = (Object[]) fromArray;
+                float[] to = (float[]) toArray;
+                for (int i = start; i < end; i++) {
+                    to[i] = (Float) from[i];
+                }
+                return true;
+            };
+        } else if (primitiveClass == char.class) {
+            converter = (fromArray, toArray, start, end) -> {
+                Object[] from = (Object[]) fromArray;
+                char[] to = (char[]) toArray;
+                for (int i = start; i < end; i++) {
+                    to[i] = (Character) from[i];
+                }
+                return true;
+            };
+        } else if (primitiveClass == byte.class) {
+            converter = (fromArray, toArray, start, end) -> {
+                Object[] from = (Object[]) fromArray;
+                byte[] to = (byte[]) toArray;
+                for (int i = start; i < end; i++) {
+                    to[i] = (Byte) from[i];
+                }
+                return true;
+            };
+        } else if (primitiveClass == short.class) {
+            converter = (fromArray, toArray, start, end) -> {
+                Object[] from = (Object[]) fromArray;
+                short[] to = (short[]) toArray;
+                for (int i = start; i < end; i++) {
+                    to[i] = (Short) from[i];
+                }
+                return true;
+            };
+        } else {
+            converter = (fromArray, toArray, start, end) -> {
+                Object[] from = (Object[]) fromArray;
+                boolean[] to = (boolean[]) toArray;
+                for (int i = start; i < end; i++) {
+                    to[i] = (Boolean) from[i];
+                }
+                return true;
+            };
+        }
+        //Null or elements of other types cannot be unboxed to the primitive values
+        return (fromArray, toArray, start, end) -> {
+            try {
+                return converter.convert(fromArray, toArray, start, end);
+            } catch (NullPointerException | ClassCastException ex) {
+                return false;
+            }
+        };
+    }
+}
@@ -0,0 +1,358 @@
+package io.github.cruisoring;
+
+import java.lang.reflect.Array;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static io.github.cruisoring.Asserts.checkNotNull;
+
+/**
+ * Deep comparison and deep hashing of large Arrays or Collections with {@code RecursiveTask}s running on a configurable
+ * {@code ForkJoinPool}. The elements of a container are split into halves until there are no more than the split
+ * threshold of them, and any nested container with more elements than the threshold is evaluated by a task of its own.
+ * The split threshold is calibrated by a small probe benchmark when it is needed for the first time, and can be
+ * changed by {@code setSplitThreshold()} afterwards.
+ * The results are identical to those of the serial {@code TypeHelper.deepValueEquals()} and {@code TypeHelper.deepHashCode()},
+ * which never hand the containers over to the tasks, so the callers opt in by calling the methods of this class, or
+ * {@code TypeHelper.valueEqualsParallel()}, explicitly.
+ */
+public final class DeepForkJoin {
+    public static final int MIN_SPLIT_THRESHOLD = 1 << 10;
+    public static final int MAX_SPLIT_THRESHOLD = 1 << 20;
+
+    //Expected time to evaluate the elements of a task, to make the cost of forking and joining negligible
+    static final long TASK_GRANULARITY_NANOS = 50_000L;
+    private static final int PROBE_LENGTH = 1 << 14;
+    private static final int PROBE_ROUNDS = 8;
+    //How many elements to be compared before checking if any mismatch has been found by other tasks
+    private static final int CANCELLATION_CHECK_MASK = 0xFF;
+
+    private static volatile ForkJoinPool pool = ForkJoinPool.commonPool();
+    //The threshold is calibrated when it is needed for the first time, 0 means it is not calibrated yet
+    private static volatile int splitThreshold = 0;
+
+    private DeepForkJoin() {
+    }
+
+    /**
+     * Get the {@code ForkJoinPool} to run the tasks.
+     *
+     * @return the pool used by the parallel evaluations, the common pool by default
+     */
+    public static ForkJoinPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Set the {@code ForkJoinPool} to run the tasks.
+     *
+     * @param forkJoinPool the pool to be used by the parallel evaluations
+     */
+    public static void setPool(ForkJoinPool forkJoinPool) {
+        pool = checkNotNull(forkJoinPool, "The ForkJoinPool must not be null");
+    }
+
+    /**
+     * Get the number of elements of a container, above which they are split and evaluated in parallel.
+     *
+     * @return the current split threshold
+     */
+    public static int getSplitThreshold() {
+        int threshold = splitThreshold;
+        if (threshold == 0) {
+            synchronized (DeepForkJoin.class) {
+                if ((threshold = splitThreshold) == 0) {
+                    splitThreshold = threshold = calibrate();
+                }
+            }
+        }
+        return threshold;
+    }
+
+    /**
+     * Set the number of elements of a container, above which they are split and evaluated in parallel.
+     *
+     * @param threshold the new split threshold, must be positive
+     */
+    public static void setSplitThreshold(int threshold) {
+        Asserts.assertAllTrue(threshold > 0);
+        splitThreshold = threshold;
+    }
+
+    /**
+     * Measure how fast the elements of two arrays are compared serially, and get the number of elements that could be
+     * compared within {@code TASK_GRANULARITY_NANOS} as the split threshold.
+     *
+     * @return the calibrated split threshold between {@code MIN_SPLIT_THRESHOLD} and {@code MAX_SPLIT_THRESHOLD}
+     */
+    public static int calibrate() {
+        Object[] probe1 = new Object[PROBE_LENGTH];
+        Object[] probe2 = new Object[PROBE_LENGTH];
+        for (int i = 0; i < PROBE_LENGTH; i++) {
+            probe1[i] = String.valueOf(i);
+            probe2[i] = String.valueOf(i);
+        }
+
+        long bestNanos = Long.MAX_VALUE;
+        for (int i = 0; i < PROBE_ROUNDS; i++) {
+            long start = System.nanoTime();
+            boolean equals = TypeHelper.deepValueEquals(probe1, probe2, TypeHelper.EqualityStategy.TypeIgnored);
+            long elapsed = System.nanoTime() - start;
+            if (equals && elapsed > 0) {
+                bestNanos = Math.min(bestNanos, elapsed);
+            }
+        }
+
+        long threshold = bestNanos == Long.MAX_VALUE ? MAX_SPLIT_THRESHOLD
+                : TASK_GRANULARITY_NANOS * PROBE_LENGTH / bestNanos;
+        return (int) Math.max(MIN_SPLIT_THRESHOLD, Math.min(MAX_SPLIT_THRESHOLD, threshold));
+    }
+
+    //region Deep comparison
+    /**
+     * Compare two objects in parallel by walking them in lockstep, the result is identical to that of
+     * {@code TypeHelper.deepValueEquals()} but the workers would stop on the first mismatch found by any of them.
+     *
+     * @param obj1            First Object to be compared
+     * @param obj2            Second Object to be compared
+     * @param equalityStategy Strategy to compare nodes when both are null or empty arrays: TypeIgnored, BetweenAssignableTypes, SameTypeOnly
+     * @return <code>true</code> if they have same structure and same set of values, otherwise <code>false</code>
+     */
+    public static boolean deepValueEquals(Object obj1, Object obj2, TypeHelper.EqualityStategy equalityStategy) {
+        Deque<TypeHelper.PairCursor> cursors = new ArrayDeque<>();
+        if (!TypeHelper.nodeEquals(obj1, obj2, null, null, equalityStategy, cursors)) {
+            return false;
+        }
+        return cursors.isEmpty() || containerEquals(cursors.pop(), equalityStategy);
+    }
+
+    /**
+     * Compare the elements of two non-empty containers of the same length with {@code ForkJoinTask}s.
+     *
+     * @param cursor          the untouched cursor of the two containers
+     * @param equalityStategy Strategy to compare nodes when both are null or empty arrays
+     * @return <code>true</code> if all their elements are equal, otherwise <code>false</code>
+     */
+    static boolean containerEquals(TypeHelper.PairCursor cursor, TypeHelper.EqualityStategy equalityStategy) {
+        EqualsTask task = new EqualsTask(cursor.container1, cursor.container2, equalityStategy, new AtomicBoolean(false));
+        return pool.invoke(task);
+    }
+
+    /**
+     * Access the elements of a container by index: a {@code Collection} that is not a {@code RandomAccess} List is
+     * copied to an Object[] once, so that it can be split by index.
+     */
+    private static Object indexable(Object container) {
+        return container instanceof Collection && !(container instanceof List && container instanceof RandomAccess)
+                ? ((Collection) container).toArray() : container;
+    }
+
+    private static int lengthOf(Object indexable) {
+        return indexable instanceof List ? ((List) indexable).size() : Array.getLength(indexable);
+    }
+
+    /**
+     * Task to compare the elements of two containers within a range, it would stop with <code>false</code> as soon as
+     * the shared {@code mismatched} flag is set by any task of the same comparison.
+     */
+    static final class EqualsTask extends RecursiveTask<Boolean> {
+        final Object parent1;
+        final Object parent2;
+        final Object elements1;
+        final Object elements2;
+        final int from;
+        final int to;
+        final TypeHelper.EqualityStategy equalityStategy;
+        final AtomicBoolean mismatched;
+
+        EqualsTask(Object parent1, Object parent2, TypeHelper.EqualityStategy equalityStategy, AtomicBoolean mismatched) {
+            this(parent1, parent2, indexable(parent1), indexable(parent2), 0, -1, equalityStategy, mismatched);
+        }
+
+        private EqualsTask(Object parent1, Object parent2, Object elements1, Object elements2, int from, int to,
+                           TypeHelper.EqualityStategy equalityStategy, AtomicBoolean mismatched) {
+            this.parent1 = parent1;
+            this.parent2 = parent2;
+            this.elements1 = elements1;
+            this.elements2 = elements2;
+            this.from = from;
+            this.to = to < 0 ? lengthOf(elements1) : to;
+            this.equalityStategy = equalityStategy;
+            this.mismatched = mismatched;
+        }
+
+        private boolean mismatch() {
+            mismatched.set(true);
+            return false;
+        }
+
+        @Override
+        protected Boolean compute() {
+            if (mismatched.get()) {
+                return false;
+            }
+
+            int threshold = getSplitThreshold();
+            if (to - from > threshold) {
+                int middle = (from + to) >>> 1;
+                EqualsTask left = new EqualsTask(parent1, parent2, elements1, elements2, from, middle, equalityStategy, mismatched);
+                EqualsTask right = new EqualsTask(parent1, parent2, elements1, elements2, middle, to, equalityStategy, mismatched);
+                //Compare the leading elements first, so that the mismatch of any of them would cancel the others soon
+                right.fork();
+                return left.compute() && right.join();
+            }
+
+            List<ForkJoinTask<Boolean>> forked = new ArrayList<>();
+            Deque<TypeHelper.PairCursor> cursors = new ArrayDeque<>();
+            for (int i = from; i < to; i++) {
+                if ((i & CANCELLATION_CHECK_MASK) == 0 && mismatched.get()) {
+                    return false;
+                }
+
+                Object node1 = ElementCursor.elementAt(elements1, i);
+                Object node2 = ElementCursor.elementAt(elements2, i);
+                if (!TypeHelper.nodeEquals(node1, node2, parent1, parent2, equalityStategy, cursors)) {
+                    return mismatch();
+                }
+                while (!cursors.isEmpty()) {
+                    TypeHelper.PairCursor cursor = cursors.peek();
+                    if (cursor.isFresh() && cursor.cursor1.length() > threshold) {
+                        cursors.pop();
+                        forked.add(new EqualsTask(cursor.container1, cursor.container2, equalityStategy, mismatched).fork());
+                        continue;
+                    } else if (!cursor.hasNext()) {
+                        cursors.pop();
+                        continue;
+                    }
+                    if (!TypeHelper.nodeEquals(cursor.cursor1.next(), cursor.cursor2.next(),
+                            cursor.container1, cursor.container2, equalityStategy, cursors)) {
+                        return mismatch();
+                    }
+                }
+            }
+
+            for (ForkJoinTask<Boolean> task : forked) {
+                if (!task.join()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+    //endregion
+
+    //region Deep hashing
+    /**
+     * Get the same hash code as {@code TypeHelper.deepHashCode()} with the leaves of a large container hashed in parallel.
+     * The hash code of a sequence of leaves is {@code h = 31 * h + hashOfLeaf} starting from 1, that is a polynomial of 31,
+     * so the hash codes of consecutive parts of the leaves could be calculated separately and then combined in order
+     * with the powers of 31 of their leaf counts.
+     *
+     * @param obj the object whose hash code is to be computed
+     * @return a deep values based hash code of the <tt>obj</tt>
+     */
+    public static int deepHashCode(Object obj) {
+        if (!(obj instanceof Object[] || obj instanceof Collection) || TypeHelper.isNullOrEmpty(obj)) {
+            return TypeHelper.deepHashCode(obj);
+        }
+        long hashAndPower = pool.invoke(new HashTask(indexable(obj)));
+        return hashOf(hashAndPower) + powerOf(hashAndPower);
+    }
+
+    private static long pack(int hash, int power) {
+        return ((long) hash << 32) | (power & 0xFFFFFFFFL);
+    }
+
+    private static int hashOf(long hashAndPower) {
+        return (int) (hashAndPower >>> 32);
+    }
+
+    private static int powerOf(long hashAndPower) {
+        return (int) hashAndPower;
+    }
+
+    //The exponent is treated as unsigned, 31 to the power of a count overflowed as int is still the same modulo 2^32
+    private static int power31(int exponent) {
+        int result = 1;
+        int base = 31;
+        while (exponent != 0) {
+            if ((exponent & 1) != 0) {
+                result *= base;
+            }
+            base *= base;
+            exponent >>>= 1;
+        }
+        return result;
+    }
+
+    /**
+     * Task to get the hash code of the leaves of the elements within a range accumulated from 0, together with 31 to
+     * the power of their count, packed as a long.
+     */
+    static final class HashTask extends RecursiveTask<Long> {
+        final Object elements;
+        final int from;
+        final int to;
+
+        HashTask(Object elements) {
+            this(elements, 0, lengthOf(elements));
+        }
+
+        private HashTask(Object elements, int from, int to) {
+            this.elements = elements;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Long compute() {
+            int threshold = getSplitThreshold();
+            if (to - from > threshold) {
+                int middle = (from + to) >>> 1;
+                HashTask left = new HashTask(elements, from, middle);
+                left.fork();
+                long right = new HashTask(elements, middle, to).compute();
+                long leftResult = left.join();
+                return pack(hashOf(leftResult) * powerOf(right) + hashOf(right), powerOf(leftResult) * powerOf(right));
+            }
+
+            //Segments are either the folded leaves packed as Long or the forked tasks of large nested containers
+            List<Object> segments = new ArrayList<>();
+            int hash = 0;
+            int leaves = 0;
+            for (int i = from; i < to; i++) {
+                Object element = ElementCursor.elementAt(elements, i);
+                int size = element instanceof Object[] ? ((Object[]) element).length
+                        : element instanceof Collection ? ((Collection) element).size() : 0;
+                if (size > threshold) {
+                    segments.add(pack(hash, power31(leaves)));
+                    segments.add(new HashTask(indexable(element)).fork());
+                    hash = 0;
+                    leaves = 0;
+                } else {
+                    //The leaves are counted by the same walk folding their hash codes
+                    long hashAndLeaves = TypeHelper.foldDeepHashCodeCounting(hash, element);
+                    hash = (int) hashAndLeaves;
+                    leaves += (int) (hashAndLeaves >>> 32);
+                }
+            }
+            if (segments.isEmpty()) {
+                return pack(hash, power31(leaves));
+            }
+
+            segments.add(pack(hash, power31(leaves)));
+            int accumulated = 0;
+            int accumulatedPower = 1;
+            for (Object segment : segments) {
+                long result = segment instanceof Long ? (Long) segment : ((HashTask) segment).join();
+                accumulated = accumulated * powerOf(result) + hashOf(result);
+                accumulatedPower *= powerOf(result);
+            }
+            return pack(accumulated, accumulatedPower);
+        }
+    }
+    //endregion
+}
@@ -0,0 +1,334 @@
+package io.github.cruisoring;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Compact form of the deep indexes of an object: the paths of all its nodes are kept one after another in a single
+ * flat {@code int[]} with their offsets in another {@code int[]}, instead of one {@code int[]} per node.
+ * Like the arrays returned by {@code TypeHelper.getDeepIndexes()}, each path consists of the indexes of the node and
+ * its parents in their container Arrays or Collections, followed by the node type:
+ * NULL_NODE when it is null, EMPTY_ARRAY_NODE or EMPTY_COLLECTION_NODE when it is an empty Array or Collection,
+ * and otherwise NORMAL_VALUE_NODE.
+ * The paths are composed lazily when they are accessed for the first time, by walking the object once with an
+ * explicit stack, so the object shall not be changed before that.
+ */
+public final class DeepIndex {
+    private Object root;
+    private int[] paths;
+    private volatile int[] offsets;
+    private int size;
+
+    private DeepIndex(Object root) {
+        this.root = root;
+    }
+
+    /**
+     * Get the lazily composed {@code DeepIndex} of the given object.
+     *
+     * @param object Object under concerned
+     * @return the {@code DeepIndex} whose paths would be composed when they are accessed for the first time
+     */
+    public static DeepIndex of(Object object) {
+        return new DeepIndex(object);
+    }
+
+    //region Composing the paths
+    private int[] ensureComposed() {
+        int[] composedOffsets = offsets;
+        if (composedOffsets == null) {
+            synchronized (this) {
+                composedOffsets = offsets;
+                if (composedOffsets == null) {
+                    composedOffsets = compose();
+                    root = null;
+                    offsets = composedOffsets;
+                }
+            }
+        }
+        return composedOffsets;
+    }
+
+    private int[] pathBuffer = new int[16];
+    private int pathLength = 0;
+    private int[] offsetBuffer = new int[16];
+
+    private void append(int[] path, int depth, int nodeType) {
+        int required = pathLength + depth + 1;
+        if (required > pathBuffer.length) {
+            pathBuffer = Arrays.copyOf(pathBuffer, Math.max(required, pathBuffer.length * 2));
+        }
+        System.arraycopy(path, 0, pathBuffer, pathLength, depth);
+        pathBuffer[required - 1] = nodeType;
+        pathLength = required;
+
+        if (size + 2 > offsetBuffer.length) {
+            offsetBuffer = Arrays.copyOf(offsetBuffer, offsetBuffer.length * 2);
+        }
+        offsetBuffer[++size] = pathLength;
+    }
+
+    /**
+     * Append the path of the given node if it is a leaf, or return the cursor to walk its elements.
+     *
+     * @return null if the node is a leaf, otherwise a primitive array or the {@code ElementCursor} of an Object[] or a Collection
+     */
+    private Object visit(Object node, int[] path, int depth) {
+        if (node == null) {
+            append(path, depth, TypeHelper.NULL_NODE);
+        } else if (node instanceof Collection) {
+            Collection collection = (Collection) node;
+            if (!collection.isEmpty()) {
+                return ElementCursor.of(collection);
+            }
+            append(path, depth, TypeHelper.EMPTY_COLLECTION_NODE);
+        } else if (node.getClass().isArray()) {
+            if (Array.getLength(node) != 0) {
+                return node instanceof Object[] ? ElementCursor.of(node) : node;
+            }
+            append(path, depth, TypeHelper.EMPTY_ARRAY_NODE);
+        } else {
+            append(path, depth, TypeHelper.NORMAL_VALUE_NODE);
+        }
+        return null;
+    }
+
+    private int[] compose() {
+        int[] path = new int[8];
+        Object[] frames = new Object[8];
+        int depth = 0;
+
+        Object rootFrame = visit(root, path, 0);
+        if (rootFrame != null) {
+            frames[0] = rootFrame;
+            path[0] = -1;
+            depth = 1;
+        }
+
+        while (depth > 0) {
+            int level = depth - 1;
+            Object frame = frames[level];
+            Object element;
+            if (frame instanceof ElementCursor) {
+                ElementCursor cursor = (ElementCursor) frame;
+                if (!cursor.hasNext()) {
+                    frames[level] = null;
+                    depth--;
+                    continue;
+                }
+                element = cursor.next();
+                path[level] = cursor.index();
+            } else {
+                //The elements of a primitive array are all normal values
+                int length = Array.getLength(frame);
+                for (int i = 0; i < length; i++) {
+                    path[level] = i;
+                    append(path, depth, TypeHelper.NORMAL_VALUE_NODE);
+                }
+                frames[level] = null;
+                depth--;
+                continue;
+            }
+
+            Object child = visit(element, path, depth);
+            if (child != null) {
+                if (depth == frames.length) {
+                    frames = Arrays.copyOf(frames, depth * 2);
+                    path = Arrays.copyOf(path, depth * 2);
+                }
+                frames[depth] = child;
+                path[depth] = -1;
+                depth++;
+            }
+        }
+
+        paths = Arrays.copyOf(pathBuffer, pathLength);
+        int[] composed = Arrays.copyOf(offsetBuffer, size + 1);
+        pathBuffer = null;
+        offsetBuffer = null;
+        return composed;
+    }
+    //endregion
+
+    /**
+     * Get the number of nodes, that is the number of paths.
+     *
+     * @return number of the nodes
+     */
+    public int size() {
+        ensureComposed();
+        return size;
+    }
+
+    /**
+     * Get the length of the path of the specific node, including the node type at the end.
+     *
+     * @param node index of the node
+     * @return length of the path
+     */
+    public int length(int node) {
+        int[] nodeOffsets = ensureComposed();
+        return nodeOffsets[node + 1] - nodeOffsets[node];
+    }
+
+    /**
+     * Get the int at the given position of the path of the specific node.
+     *
+     * @param node  index of the node
+     * @param level position within the path, the last one is the node type
+     * @return the index of the node or its parent at that level, or the node type at the last position
+     */
+    public int get(int node, int level) {
+        int[] nodeOffsets = ensureComposed();
+        int offset = nodeOffsets[node];
+        if (level < 0 || offset + level >= nodeOffsets[node + 1]) {
+            throw new IndexOutOfBoundsException();
+        }
+        return paths[offset + level];
+    }
+
+    /**
+     * Get the type of the specific node.
+     *
+     * @param node index of the node
+     * @return NULL_NODE, EMPTY_ARRAY_NODE, EMPTY_COLLECTION_NODE or NORMAL_VALUE_NODE
+     */
+    public int nodeTypeOf(int node) {
+        int[] nodeOffsets = ensureComposed();
+        return paths[nodeOffsets[node + 1] - 1];
+    }
+
+    /**
+     * Get a copy of the path of the specific node, as an element of the array returned by {@code TypeHelper.getDeepIndexes()}.
+     *
+     * @param node index of the node
+     * @return the path of the node ending with its node type
+     */
+    public int[] toArray(int node) {
+        int[] nodeOffsets = ensureComposed();
+        return Arrays.copyOfRange(paths, nodeOffsets[node], nodeOffsets[node + 1]);
+    }
+
+    /**
+     * Get the paths of all nodes as separated arrays, identical to what {@code TypeHelper.getDeepIndexes()} returns.
+     *
+     * @return An array of int[] where each int[] is the path of a node ending with its node type
+     */
+    public int[][] toArrays() {
+        ensureComposed();
+        int[][] arrays = new int[size][];
+        for (int i = 0; i < size; i++) {
+            arrays[i] = toArray(i);
+        }
+        return arrays;
+    }
+
+    /**
+     * Get a cursor to iterate the paths without copying them.
+     *
+     * @return a new {@code Cursor} positioned before the first node
+     */
+    public Cursor cursor() {
+        ensureComposed();
+        return new Cursor();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        } else if (!(obj instanceof DeepIndex)) {
+            return false;
+        }
+
+        DeepIndex other = (DeepIndex) obj;
+        int[] nodeOffsets = ensureComposed();
+        int[] otherOffsets = other.ensureComposed();
+        return size == other.size && Arrays.equals(nodeOffsets, otherOffsets) && Arrays.equals(paths, other.paths);
+    }
+
+    @Override
+    public int hashCode() {
+        ensureComposed();
+        return 31 * size + Arrays.hashCode(paths);
+    }
+
+    @Override
+    public String toString() {
+        return TypeHelper.deepToString(toArrays());
+    }
+
+    /**
+     * Cursor to access the path of the nodes one by one.
+     */
+    public final class Cursor {
+        private int node = -1;
+        private int offset = 0;
+        private int end = 0;
+
+        /**
+         * Move to the next node.
+         *
+         * @return <code>true</code> if there is a next node, otherwise <code>false</code>
+         */
+        public boolean next() {
+            if (node + 1 >= size) {
+                return false;
+            }
+            node++;
+            offset = offsets[node];
+            end = offsets[node + 1];
+            return true;
+        }
+
+        /**
+         * Get the index of the current node.
+         *
+         * @return index of the current node
+         */
+        public int node() {
+            return node;
+        }
+
+        /**
+         * Get the length of the path of the current node, including the node type at the end.
+         *
+         * @return length of the path
+         */
+        public int length() {
+            return end - offset;
+        }
+
+        /**
+         * Get the int at the given position of the path of the current node.
+         *
+         * @param level position within the path, the last one is the node type
+         * @return the index of the node or its parent at that level, or the node type at the last position
+         */
+        public int get(int level) {
+            if (level < 0 || offset + level >= end) {
+                throw new IndexOutOfBoundsException();
+            }
+            return paths[offset + level];
+        }
+
+        /**
+         * Get the type of the current node.
+         *
+         * @return NULL_NODE, EMPTY_ARRAY_NODE, EMPTY_COLLECTION_NODE or NORMAL_VALUE_NODE
+         */
+        public int nodeType() {
+            return paths[end - 1];
+        }
+
+        /**
+         * Get a copy of the path of the current node.
+         *
+         * @return the path of the current node ending with its node type
+         */
+        public int[] toArray() {
+            return Arrays.copyOfRange(paths, offset, end);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package io.github.cruisoring;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Cursor to visit the elements of an Array or Collection one by one in a single pass.
+ * The elements of an Object[] or a {@code List} implementing {@code RandomAccess} are accessed by their indexes directly,
+ * while other Collections are walked with their own {@code Iterator} only once, so that visiting all elements of a
+ * {@code LinkedList} or a {@code Set} would never start over from its first element.
+ */
+final class ElementCursor {
+    private static final int OBJECT_ARRAY = 0;
+    private static final int RANDOM_ACCESS_LIST = 1;
+    private static final int ITERATOR = 2;
+    private static final int PRIMITIVE_ARRAY = 3;
+
+    private final int kind;
+    private final Object container;
+    private final Iterator iterator;
+    private final int length;
+    private int position = 0;
+
+    private ElementCursor(int kind, Object container, Iterator iterator, int length) {
+        this.kind = kind;
+        this.container = container;
+        this.iterator = iterator;
+        this.length = length;
+    }
+
+    /**
+     * Get the cursor positioned before the first element of the given Array or Collection.
+     *
+     * @param container the Array or Collection whose elements are to be visited
+     * @return a new {@code ElementCursor} of the container
+     * @throws IllegalStateException if the given object is neither an Array nor a Collection
+     */
+    static ElementCursor of(Object container) {
+        if (container instanceof Object[]) {
+            return new ElementCursor(OBJECT_ARRAY, container, null, ((Object[]) container).length);
+        } else if (container instanceof List && container instanceof RandomAccess) {
+            return new ElementCursor(RANDOM_ACCESS_LIST, container, null, ((List) container).size());
+        } else if (container instanceof Collection) {
+            Collection collection = (Collection) container;
+            return new ElementCursor(ITERATOR, container, collection.iterator(), collection.size());
+        } else if (container != null && container.getClass().isArray()) {
+            return new ElementCursor(PRIMITIVE_ARRAY, container, null, Array.getLength(container));
+        }
+        throw new IllegalStateException("Neither Array nor Collection: " + container);
+    }
+
+    /**
+     * Get the element at the specific position of the given Array or Collection, with {@code List.get()} if it is a
+     * {@code RandomAccess} List, or by iterating the Collection only when it cannot be accessed by index.
+     *
+     * @param container the Array or Collection to be searched
+     * @param index     the position of the element
+     * @return the element at the specific position
+     */
+    static Object elementAt(Object container, int index) {
+        if (container instanceof Object[]) {
+            return ((Object[]) container)[index];
+        } else if (container instanceof List && container instanceof RandomAccess) {
+            return ((List) container).get(index);
+        } else if (container instanceof Collection) {
+            Iterator iterator = ((Collection) container).iterator();
+            for (int i = 0; i < index; i++) {
+                iterator.next();
+            }
+            return iterator.next();
+        }
+        return Array.get(container, index);
+    }
+
+    /**
+     * Get the number of elements of the container.
+     *
+     * @return the length of the Array or the size of the Collection
+     */
+    int length() {
+        return length;
+    }
+
+    /**
+     * Get the index of the element returned by the last {@code next()}.
+     *
+     * @return the index of the current element, or -1 if {@code next()} has not been called
+     */
+    int index() {
+        return position - 1;
+    }
+
+    /**
+     * Check if there are more elements to be visited.
+     *
+     * @return <code>true</code> if {@code next()} would return another element, otherwise <code>false</code>
+     */
+    boolean hasNext() {
+        return position < length;
+    }
+
+    /**
+     * Move to and get the next element, primitive values would be returned as their wrappers.
+     *
+     * @return the next element of the container
+     */
+    Object next() {
+        int index = position++;
+        switch (kind) {
+            case OBJECT_ARRAY:
+                return ((Object[]) container)[index];
+            case RANDOM_ACCESS_LIST:
+                return ((List) container).get(index);
+            case ITERATOR:
+                return iterator.next();
+            default:
+                return Array.get(container, index);
+        }
+    }
+}
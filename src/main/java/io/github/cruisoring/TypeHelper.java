@@ -1,7 +1,9 @@
 package io.github.cruisoring;
 
+import io.github.cruisoring.repository.ClassValueMap;
 import io.github.cruisoring.repository.TupleRepository3;
 import io.github.cruisoring.repository.TupleRepository6;
+import io.github.cruisoring.repository.TupleRepository7;
 import io.github.cruisoring.throwables.BiFunctionThrowable;
 import io.github.cruisoring.throwables.FunctionThrowable;
 import io.github.cruisoring.throwables.TriConsumerThrowable;
@@ -10,13 +12,18 @@ import io.github.cruisoring.tuple.Tuple;
 import io.github.cruisoring.tuple.Tuple2;
 import io.github.cruisoring.tuple.Tuple3;
 import io.github.cruisoring.tuple.Tuple6;
+import io.github.cruisoring.tuple.Tuple7;
 import io.github.cruisoring.utility.ArrayHelper;
 import io.github.cruisoring.utility.SimpleTypedList;
 import sun.reflect.ConstantPool;
 
+import java.io.Serializable;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.SerializedLambda;
 import java.lang.reflect.Array;
 import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -30,19 +37,31 @@ import static io.github.cruisoring.Asserts.*;
 public class TypeHelper {
     static final int NULL_NODE = -1;
     private static final Class OBJECT_CLASS = Object.class;
-    private static final int NORMAL_VALUE_NODE = 0;
+    static final int NORMAL_VALUE_NODE = 0;
     public static int EMPTY_ARRAY_NODE = -2;
     public static int EMPTY_COLLECTION_NODE = -3;
     static int _defaultParallelEvaluationThread = 100000;
 
     public static boolean EMPTY_ARRAY_AS_DEFAULT = false;
+    //Length of arrays above which they are converted or filled parallelly, deep comparison and hashing never refer to it
     public static int PARALLEL_EVALUATION_THRESHOLD = _defaultParallelEvaluationThread;
 
     public static EqualityStategy DEFAULT_EMPTY_EQUALITY = EqualityStategy.TypeIgnored;
 
     //region Common functions saved as static variables
-    private static final BiFunctionThrowable<Object, Integer, Object> arrayGet = Array::get;
-    private static final TriConsumerThrowable<Object, Integer, Object> arraySet = Array::set;
+    //Access the elements of Object[] directly, and fall back to reflection only for other arrays
+    private static final BiFunctionThrowable<Object, Integer, Object> arrayGet =
+            (array, index) -> array instanceof Object[] ? ((Object[]) array)[index] : Array.get(array, index);
+    private static final TriConsumerThrowable<Object, Integer, Object> arraySet = (array, index, value) -> {
+        if (array instanceof Object[]) {
+            ((Object[]) array)[index] = value;
+        } else {
+            Array.set(array, index, value);
+        }
+    };
+
+    //The repositories below are kept by holder classes to be built only when they are used for the first time,
+    //so loading TypeHelper would not create the converters of all primitive and wrapper classes eagerly
     /**
      * Repository to keep operators related with specific class that is kept as the keys of the map.
      * Relative operators are saved as a strong-typed Tuple7 with following elements:
@@ -56,151 +75,178 @@ public class TypeHelper {
      * is determined by the from and to indexes
      * ConvertToString:    convert the array to a string by recursively applying the deep toString() on every elements
      * of the array
+     * ArrayElementGetter: getter of the array with target index, primitive values would be returned as their wrappers
+     * Notice: the setters and getters of the arrays of primitive types, or their wrappers, access the elements with
+     * casting instead of the reflective {@code Array.set()} and {@code Array.get()}.
      */
-    static final TupleRepository6<
-            Class,              //concerned Class
-
-            Predicate<Class> //Equivalent predicate to check if another class is regarded as equal with the concerned class
-            , FunctionThrowable<Integer, Object>             //Array factory
-            , Class              //Class of its array
-            , TriConsumerThrowable<Object, Integer, Object>//Function to set the Element at Index of its array
-            , TriFunctionThrowable<Object, Integer, Integer, Object>//copyOfRange(original, from, to) -> new array
-            , Function<Object, String>             // Convert array to String
-            > classOperators = TupleRepository6.fromKey(
-            new HashMap<Class, Tuple6<
-                    Predicate<Class>,
-                    FunctionThrowable<Integer, Object>,
-                    Class,
-                    TriConsumerThrowable<Object, Integer, Object>,
-                    TriFunctionThrowable<Object, Integer, Integer, Object>,
-                    Function<Object, String>
-                    >>() {
-            {
-                Predicate<Class> classPredicate = clazz -> int.class.equals(clazz) || Integer.class.equals(clazz);
-                put(int.class, Tuple.create(
-                        classPredicate
-                        , int[]::new
-                        , int[].class
-                        , (array, index, value) -> ((int[]) array)[index] = (Integer) value
-                        , (array, from, to) -> Arrays.copyOfRange((int[]) array, from, to)
-                        , array -> Arrays.toString((int[]) array)));
-                put(Integer.class, Tuple.create(
-                        classPredicate
-                        , Integer[]::new
-                        , Integer[].class
-                        , arraySet
-                        , (array, from, to) -> Arrays.copyOfRange((Integer[]) array, from, to)
-                        , array -> Arrays.toString((Integer[]) array)));
-                classPredicate = clazz -> byte.class.equals(clazz) || Byte.class.equals(clazz);
-                put(byte.class, Tuple.create(
-                        classPredicate
-                        , byte[]::new
-                        , byte[].class
-                        , (array, index, value) -> ((byte[]) array)[index] = (Byte) value
-                        , (array, from, to) -> Arrays.copyOfRange((byte[]) array, from, to)
-                        , array -> Arrays.toString((byte[]) array)));
-                put(Byte.class, Tuple.create(
-                        classPredicate
-                        , Byte[]::new
-                        , Byte[].class
-                        , arraySet
-                        , (array, from, to) -> Arrays.copyOfRange((Byte[]) array, from, to)
-                        , array -> Arrays.toString((Byte[]) array)));
-                classPredicate = clazz -> boolean.class.equals(clazz) || Boolean.class.equals(clazz);
-                put(boolean.class, Tuple.create(
-                        classPredicate
-                        , boolean[]::new
-                        , boolean[].class
-                        , (array, index, value) -> ((boolean[]) array)[index] = (Boolean) value
-                        , (array, from, to) -> Arrays.copyOfRange((boolean[]) array, from, to)
-                        , array -> Arrays.toString((boolean[]) array)));
-                put(Boolean.class, Tuple.create(
-                        classPredicate
-                        , Boolean[]::new
-                        , Boolean[].class
-                        , arraySet
-                        , (array, from, to) -> Arrays.copyOfRange((Boolean[]) array, from, to)
-                        , array -> Arrays.toString((Boolean[]) array)));
-                classPredicate = clazz -> char.class.equals(clazz) || Character.class.equals(clazz);
-                put(char.class, Tuple.create(
-                        classPredicate
-                        , char[]::new
-                        , char[].class
-                        , (array, index, value) -> ((char[]) array)[index] = (Character) value
-                        , (array, from, to) -> Arrays.copyOfRange((char[]) array, from, to)
-                        , array -> Arrays.toString((char[]) array)));
-                put(Character.class, Tuple.create(
-                        classPredicate
-                        , Character[]::new
-                        , Character[].class
-                        , arraySet
-                        , (array, from, to) -> Arrays.copyOfRange((Character[]) array, from, to)
-                        , array -> Arrays.toString((Character[]) array)));
-                classPredicate = clazz -> short.class.equals(clazz) || Short.class.equals(clazz);
-                put(short.class, Tuple.create(
-                        classPredicate
-                        , short[]::new
-                        , short[].class
-                        , (array, index, value) -> ((short[]) array)[index] = (Short) value
-                        , (array, from, to) -> Arrays.copyOfRange((short[]) array, from, to)
-                        , array -> Arrays.toString((short[]) array)));
-                put(Short.class, Tuple.create(
-                        classPredicate
-                        , Short[]::new
-                        , Short[].class
-                        , arraySet
-                        , (array, from, to) -> Arrays.copyOfRange((Short[]) array, from, to)
-                        , array -> Arrays.toString((Short[]) array)));
-                classPredicate = clazz -> long.class.equals(clazz) || Long.class.equals(clazz);
-                put(long.class, Tuple.create(
-                        classPredicate
-                        , long[]::new
-                        , long[].class
-                        , (array, index, value) -> ((long[]) array)[index] = (Long) value
-                        , (array, from, to) -> Arrays.copyOfRange((long[]) array, from, to)
-                        , array -> Arrays.toString((long[]) array)));
-                put(Long.class, Tuple.create(
-                        classPredicate
-                        , Long[]::new
-                        , Long[].class
-                        , arraySet
-                        , (array, from, to) -> Arrays.copyOfRange((Long[]) array, from, to)
-                        , array -> Arrays.toString((Long[]) array)));
-                classPredicate = clazz -> double.class.equals(clazz) || Double.class.equals(clazz);
-                put(double.class, Tuple.create(
-                        classPredicate
-                        , double[]::new
-                        , double[].class
-                        , (array, index, value) -> ((double[]) array)[index] = (Double) value
-                        , (array, from, to) -> Arrays.copyOfRange((double[]) array, from, to)
-                        , array -> Arrays.toString((double[]) array)));
-                put(Double.class, Tuple.create(
-                        classPredicate
-                        , Double[]::new
-                        , Double[].class
-                        , arraySet
-                        , (array, from, to) -> Arrays.copyOfRange((Double[]) array, from, to)
-                        , array -> Arrays.toString((Double[]) array)));
-                classPredicate = clazz -> float.class.equals(clazz) || Float.class.equals(clazz);
-                put(float.class, Tuple.create(
-                        classPredicate
-                        , float[]::new
-                        , float[].class
-                        , (array, index, value) -> ((float[]) array)[index] = (Float) value
-                        , (array, from, to) -> Arrays.copyOfRange((float[]) array, from, to)
-                        , array -> Arrays.toString((float[]) array)));
-                put(Float.class, Tuple.create(
-                        classPredicate
-                        , Float[]::new
-                        , Float[].class
-                        , arraySet
-                        , (array, from, to) -> Arrays.copyOfRange((Float[]) array, from, to)
-                        , array -> Arrays.toString((Float[]) array)));
-            }
-            },
-        null,
-        TypeHelper::makeClassOperators
-    );
+    static final class ClassOperators {
+        static final TupleRepository7<
+                Class,              //concerned Class
+
+                Predicate<Class> //Equivalent predicate to check if another class is regarded as equal with the concerned class
+                , FunctionThrowable<Integer, Object>             //Array factory
+                , Class              //Class of its array
+                , TriConsumerThrowable<Object, Integer, Object>//Function to set the Element at Index of its array
+                , TriFunctionThrowable<Object, Integer, Integer, Object>//copyOfRange(original, from, to) -> new array
+                , Function<Object, String>             // Convert array to String
+                , BiFunctionThrowable<Object, Integer, Object>  //Function to get the Element at Index of its array
+                > repository = TupleRepository7.fromKey(
+                new ClassValueMap<Tuple7<
+                        Predicate<Class>,
+                        FunctionThrowable<Integer, Object>,
+                        Class,
+                        TriConsumerThrowable<Object, Integer, Object>,
+                        TriFunctionThrowable<Object, Integer, Integer, Object>,
+                        Function<Object, String>,
+                        BiFunctionThrowable<Object, Integer, Object>
+                        >>() {
+                {
+                    Predicate<Class> classPredicate = clazz -> int.class.equals(clazz) || Integer.class.equals(clazz);
+                    put(int.class, Tuple.create(
+                            classPredicate
+                            , int[]::new
+                            , int[].class
+                            , (array, index, value) -> ((int[]) array)[index] = (Integer) value
+                            , (array, from, to) -> Arrays.copyOfRange((int[]) array, from, to)
+                            , array -> Arrays.toString((int[]) array)
+                            , (array, index) -> ((int[]) array)[index]));
+                    put(Integer.class, Tuple.create(
+                            classPredicate
+                            , Integer[]::new
+                            , Integer[].class
+                            , (array, index, value) -> ((Integer[]) array)[index] = (Integer) value
+                            , (array, from, to) -> Arrays.copyOfRange((Integer[]) array, from, to)
+                            , array -> Arrays.toString((Integer[]) array)
+                            , (array, index) -> ((Integer[]) array)[index]));
+                    classPredicate = clazz -> byte.class.equals(clazz) || Byte.class.equals(clazz);
+                    put(byte.class, Tuple.create(
+                            classPredicate
+                            , byte[]::new
+                            , byte[].class
+                            , (array, index, value) -> ((byte[]) array)[index] = (Byte) value
+                            , (array, from, to) -> Arrays.copyOfRange((byte[]) array, from, to)
+                            , array -> Arrays.toString((byte[]) array)
+                            , (array, index) -> ((byte[]) array)[index]));
+                    put(Byte.class, Tuple.create(
+                            classPredicate
+                            , Byte[]::new
+                            , Byte[].class
+                            , (array, index, value) -> ((Byte[]) array)[index] = (Byte) value
+                            , (array, from, to) -> Arrays.copyOfRange((Byte[]) array, from, to)
+                            , array -> Arrays.toString((Byte[]) array)
+                            , (array, index) -> ((Byte[]) array)[index]));
+                    classPredicate = clazz -> boolean.class.equals(clazz) || Boolean.class.equals(clazz);
+                    put(boolean.class, Tuple.create(
+                            classPredicate
+                            , boolean[]::new
+                            , boolean[].class
+                            , (array, index, value) -> ((boolean[]) array)[index] = (Boolean) value
+                            , (array, from, to) -> Arrays.copyOfRange((boolean[]) array, from, to)
+                            , array -> Arrays.toString((boolean[]) array)
+                            , (array, index) -> ((boolean[]) array)[index]));
+                    put(Boolean.class, Tuple.create(
+                            classPredicate
+                            , Boolean[]::new
+                            , Boolean[].class
+                            , (array, index, value) -> ((Boolean[]) array)[index] = (Boolean) value
+                            , (array, from, to) -> Arrays.copyOfRange((Boolean[]) array, from, to)
+                            , array -> Arrays.toString((Boolean[]) array)
+                            , (array, index) -> ((Boolean[]) array)[index]));
+                    classPredicate = clazz -> char.class.equals(clazz) || Character.class.equals(clazz);
+                    put(char.class, Tuple.create(
+                            classPredicate
+                            , char[]::new
+                            , char[].class
+                            , (array, index, value) -> ((char[]) array)[index] = (Character) value
+                            , (array, from, to) -> Arrays.copyOfRange((char[]) array, from, to)
+                            , array -> Arrays.toString((char[]) array)
+                            , (array, index) -> ((char[]) array)[index]));
+                    put(Character.class, Tuple.create(
+                            classPredicate
+                            , Character[]::new
+                            , Character[].class
+                            , (array, index, value) -> ((Character[]) array)[index] = (Character) value
+                            , (array, from, to) -> Arrays.copyOfRange((Character[]) array, from, to)
+                            , array -> Arrays.toString((Character[]) array)
+                            , (array, index) -> ((Character[]) array)[index]));
+                    classPredicate = clazz -> short.class.equals(clazz) || Short.class.equals(clazz);
+                    put(short.class, Tuple.create(
+                            classPredicate
+                            , short[]::new
+                            , short[].class
+                            , (array, index, value) -> ((short[]) array)[index] = (Short) value
+                            , (array, from, to) -> Arrays.copyOfRange((short[]) array, from, to)
+                            , array -> Arrays.toString((short[]) array)
+                            , (array, index) -> ((short[]) array)[index]));
+                    put(Short.class, Tuple.create(
+                            classPredicate
+                            , Short[]::new
+                            , Short[].class
+                            , (array, index, value) -> ((Short[]) array)[index] = (Short) value
+                            , (array, from, to) -> Arrays.copyOfRange((Short[]) array, from, to)
+                            , array -> Arrays.toString((Short[]) array)
+                            , (array, index) -> ((Short[]) array)[index]));
+                    classPredicate = clazz -> long.class.equals(clazz) || Long.class.equals(clazz);
+                    put(long.class, Tuple.create(
+                            classPredicate
+                            , long[]::new
+                            , long[].class
+                            , (array, index, value) -> ((long[]) array)[index] = (Long) value
+                            , (array, from, to) -> Arrays.copyOfRange((long[]) array, from, to)
+                            , array -> Arrays.toString((long[]) array)
+                            , (array, index) -> ((long[]) array)[index]));
+                    put(Long.class, Tuple.create(
+                            classPredicate
+                            , Long[]::new
+                            , Long[].class
+                            , (array, index, value) -> ((Long[]) array)[index] = (Long) value
+                            , (array, from, to) -> Arrays.copyOfRange((Long[]) array, from, to)
+                            , array -> Arrays.toString((Long[]) array)
+                            , (array, index) -> ((Long[]) array)[index]));
+                    classPredicate = clazz -> double.class.equals(clazz) || Double.class.equals(clazz);
+                    put(double.class, Tuple.create(
+                            classPredicate
+                            , double[]::new
+                            , double[].class
+                            , (array, index, value) -> ((double[]) array)[index] = (Double) value
+                            , (array, from, to) -> Arrays.copyOfRange((double[]) array, from, to)
+                            , array -> Arrays.toString((double[]) array)
+                            , (array, index) -> ((double[]) array)[index]));
+                    put(Double.class, Tuple.create(
+                            classPredicate
+                            , Double[]::new
+                            , Double[].class
+                            , (array, index, value) -> ((Double[]) array)[index] = (Double) value
+                            , (array, from, to) -> Arrays.copyOfRange((Double[]) array, from, to)
+                            , array -> Arrays.toString((Double[]) array)
+                            , (array, index) -> ((Double[]) array)[index]));
+                    classPredicate = clazz -> float.class.equals(clazz) || Float.class.equals(clazz);
+                    put(float.class, Tuple.create(
+                            classPredicate
+                            , float[]::new
+                            , float[].class
+                            , (array, index, value) -> ((float[]) array)[index] = (Float) value
+                            , (array, from, to) -> Arrays.copyOfRange((float[]) array, from, to)
+                            , array -> Arrays.toString((float[]) array)
+                            , (array, index) -> ((float[]) array)[index]));
+                    put(Float.class, Tuple.create(
+                            classPredicate
+                            , Float[]::new
+                            , Float[].class
+                            , (array, index, value) -> ((Float[]) array)[index] = (Float) value
+                            , (array, from, to) -> Arrays.copyOfRange((Float[]) array, from, to)
+                            , array -> Arrays.toString((Float[]) array)
+                            , (array, index) -> ((Float[]) array)[index]));
+                }
+                },
+                null,
+                TypeHelper::makeClassOperators
+        );
+
+        private ClassOperators() {
+        }
+    }
+
     private static final Function<Object, Object> returnsSelf = obj -> obj;
     private static final Function<Object, Object> mapsToNull = obj -> null;
 
@@ -211,16 +257,28 @@ public class TypeHelper {
         return method;
     }
 
+    //Maximum number of lambda classes whose generic info would be cached
+    static final int MAX_LAMBDA_GENERIC_INFOS = 4096;
+
     /**
-     * Repository to evaluate a Lambda expression to get its Parameter Types, and return Type.
+     * Repository to evaluate the synthetic class of a Lambda expression to get its Parameter Types, and return Type.
+     * All instances created by a capturing Lambda share the same class, and the cache never grows beyond
+     * {@code MAX_LAMBDA_GENERIC_INFOS}. The parameter and return types kept refer to the classes of the loader defining
+     * the Lambda, so they stay loaded until the entry is evicted.
      * Notice: the parameter types are not always accurate when some extra values are used to compose the lambda
      * <p>
      * <tt>FunctionThrowable&lt;TKey, Tuple3&lt;T,U,V&gt;&gt; valueFunction</tt>
      */
-    static final TupleRepository3<OfThrowable,
-            Boolean, Class[], Class> lambdaGenericInfoRepository = TupleRepository3.fromKey(
-            TypeHelper::getLambdaGenericInfo
-    );
+    static final class LambdaGenericInfos {
+        static final TupleRepository3<Class,
+                Boolean, Class[], Class> repository = TupleRepository3.fromKey(
+                new ClassValueMap<>(MAX_LAMBDA_GENERIC_INFOS), null, TypeHelper::getLambdaGenericInfo
+        );
+
+        private LambdaGenericInfos() {
+        }
+    }
+
     /**
      * This repository use a single class as the key, and keeps tuple of:
      * #    its default value
@@ -231,151 +289,157 @@ public class TypeHelper {
      * #    serial converter: convert it instance to its equivalent type in serial
      * #    default converter: convert it instance to its equivalent type either parallelly or serially depending on the length of the array
      */
-    private static final TupleRepository6<
-            Class,      // original Class of the concerned object
-
-            Boolean     // isPrmitiveType, when the original class is primitive type, or it is array of primitive type
-            , Object    // default value of the concerned class
-            , Class     // equivalent class: could be the wrapper if original class is primitive,
-            // or primitive type if original class is wrapper
-            , Function<Object, Object>  // convert the value of original class to equivalent class parallelly
-            , Function<Object, Object>  // convert the value of original class to equivalent class in serial
-            , Function<Object, Object>  // convert the value of original class to equivalent class either parallely or srially
-            > baseTypeConverters = TupleRepository6.fromKey(
-            new HashMap() {{
-                //For primitive values, return itself as object would convert it to the wrapper type automatically
-                Function<Object, Object> convertWithCasting = returnsSelf;
-                put(boolean.class, Tuple.create(
-                        true
-                        , false
-                        , Boolean.class
-                        , convertWithCasting
-                        , convertWithCasting
-                        , convertWithCasting));
-                convertWithCasting = fromElement -> (Boolean) fromElement;
-                put(Boolean.class, Tuple.create(
-                        false
-                        , false
-                        , boolean.class
-                        , convertWithCasting
-                        , convertWithCasting
-                        , convertWithCasting));
-                convertWithCasting = returnsSelf;
-                put(byte.class, Tuple.create(
-                        true
-                        , (byte) 0
-                        , Byte.class
-                        , convertWithCasting
-                        , convertWithCasting
-                        , convertWithCasting));
-                convertWithCasting = fromElement -> (Byte) fromElement;
-                put(Byte.class, Tuple.create(
-                        false
-                        , (byte) 0
-                        , byte.class
-                        , convertWithCasting
-                        , convertWithCasting
-                        , convertWithCasting));
-                convertWithCasting = returnsSelf;
-                put(char.class, Tuple.create(
-                        true
-                        , (char) 0
-                        , Character.class
-                        , convertWithCasting
-                        , convertWithCasting
-                        , convertWithCasting));
-                convertWithCasting = fromElement -> (Character) fromElement;
-                put(Character.class, Tuple.create(
-                        false
-                        , (char) 0
-                        , char.class
-                        , convertWithCasting
-                        , convertWithCasting
-                        , convertWithCasting));
-                convertWithCasting = returnsSelf;
-                put(double.class, Tuple.create(
-                        true
-                        , 0d
-                        , Double.class
-                        , convertWithCasting
-                        , convertWithCasting
-                        , convertWithCasting));
-                convertWithCasting = fromElement -> (Double) fromElement;
-                put(Double.class, Tuple.create(
-                        false
-                        , 0d
-                        , double.class
-                        , convertWithCasting
-                        , convertWithCasting
-                        , convertWithCasting));
-                convertWithCasting = returnsSelf;
-                put(float.class, Tuple.create(
-                        true
-                        , 0f
-                        , Float.class
-                        , convertWithCasting
-                        , convertWithCasting
-                        , convertWithCasting));
-                convertWithCasting = fromElement -> (Float) fromElement;
-                put(Float.class, Tuple.create(
-                        false
-                        , 0f
-                        , float.class
-                        , convertWithCasting
-                        , convertWithCasting
-                        , convertWithCasting));
-                convertWithCasting = returnsSelf;
-                put(int.class, Tuple.create(
-                        true
-                        , 0
-                        , Integer.class
-                        , convertWithCasting
-                        , convertWithCasting
-                        , convertWithCasting));
-                convertWithCasting = fromElement -> (Integer) fromElement;
-                put(Integer.class, Tuple.create(
-                        false
-                        , 0
-                        , int.class
-                        , convertWithCasting
-                        , convertWithCasting
-                        , convertWithCasting));
-                convertWithCasting = returnsSelf;
-                put(long.class, Tuple.create(
-                        true
-                        , 0L
-                        , Long.class
-                        , convertWithCasting
-                        , convertWithCasting
-                        , convertWithCasting));
-                convertWithCasting = fromElement -> (Long) fromElement;
-                put(Long.class, Tuple.create(
-                        false
-                        , 0L
-                        , long.class
-                        , convertWithCasting
-                        , convertWithCasting
-                        , convertWithCasting));
-                convertWithCasting = returnsSelf;
-                put(short.class, Tuple.create(
-                        true
-                        , (short) 0
-                        , Short.class
-                        , convertWithCasting
-                        , convertWithCasting
-                        , convertWithCasting));
-                convertWithCasting = fromElement -> (Short) fromElement;
-                put(Short.class, Tuple.create(
-                        false
-                        , (short) 0
-                        , short.class
-                        , convertWithCasting
-                        , convertWithCasting
-                        , convertWithCasting));
-            }},
-            null,
-            TypeHelper::makeBaseTypeConverters
-    );
+    private static final class BaseTypeConverters {
+        static final TupleRepository6<
+                Class,      // original Class of the concerned object
+
+                Boolean     // isPrmitiveType, when the original class is primitive type, or it is array of primitive type
+                , Object    // default value of the concerned class
+                , Class     // equivalent class: could be the wrapper if original class is primitive,
+                // or primitive type if original class is wrapper
+                , Function<Object, Object>  // convert the value of original class to equivalent class parallelly
+                , Function<Object, Object>  // convert the value of original class to equivalent class in serial
+                , Function<Object, Object>  // convert the value of original class to equivalent class either parallely or srially
+                > repository = TupleRepository6.fromKey(
+                new ClassValueMap() {{
+                    //For primitive values, return itself as object would convert it to the wrapper type automatically
+                    Function<Object, Object> convertWithCasting = returnsSelf;
+                    put(boolean.class, Tuple.create(
+                            true
+                            , false
+                            , Boolean.class
+                            , convertWithCasting
+                            , convertWithCasting
+                            , convertWithCasting));
+                    convertWithCasting = fromElement -> (Boolean) fromElement;
+                    put(Boolean.class, Tuple.create(
+                            false
+                            , false
+                            , boolean.class
+                            , convertWithCasting
+                            , convertWithCasting
+                            , convertWithCasting));
+                    convertWithCasting = returnsSelf;
+                    put(byte.class, Tuple.create(
+                            true
+                            , (byte) 0
+                            , Byte.class
+                            , convertWithCasting
+                            , convertWithCasting
+                            , convertWithCasting));
+                    convertWithCasting = fromElement -> (Byte) fromElement;
+                    put(Byte.class, Tuple.create(
+                            false
+                            , (byte) 0
+                            , byte.class
+                            , convertWithCasting
+                            , convertWithCasting
+                            , convertWithCasting));
+                    convertWithCasting = returnsSelf;
+                    put(char.class, Tuple.create(
+                            true
+                            , (char) 0
+                            , Character.class
+                            , convertWithCasting
+                            , convertWithCasting
+                            , convertWithCasting));
+                    convertWithCasting = fromElement -> (Character) fromElement;
+                    put(Character.class, Tuple.create(
+                            false
+                            , (char) 0
+                            , char.class
+                            , convertWithCasting
+                            , convertWithCasting
+                            , convertWithCasting));
+                    convertWithCasting = returnsSelf;
+                    put(double.class, Tuple.create(
+                            true
+                            , 0d
+                            , Double.class
+                            , convertWithCasting
+                            , convertWithCasting
+                            , convertWithCasting));
+                    convertWithCasting = fromElement -> (Double) fromElement;
+                    put(Double.class, Tuple.create(
+                            false
+                            , 0d
+                            , double.class
+                            , convertWithCasting
+                            , convertWithCasting
+                            , convertWithCasting));
+                    convertWithCasting = returnsSelf;
+                    put(float.class, Tuple.create(
+                            true
+                            , 0f
+                            , Float.class
+                            , convertWithCasting
+                            , convertWithCasting
+                            , convertWithCasting));
+                    convertWithCasting = fromElement -> (Float) fromElement;
+                    put(Float.class, Tuple.create(
+                            false
+                            , 0f
+                            , float.class
+                            , convertWithCasting
+                            , convertWithCasting
+                            , convertWithCasting));
+                    convertWithCasting = returnsSelf;
+                    put(int.class, Tuple.create(
+                            true
+                            , 0
+                            , Integer.class
+                            , convertWithCasting
+                            , convertWithCasting
+                            , convertWithCasting));
+                    convertWithCasting = fromElement -> (Integer) fromElement;
+                    put(Integer.class, Tuple.create(
+                            false
+                            , 0
+                            , int.class
+                            , convertWithCasting
+                            , convertWithCasting
+                            , convertWithCasting));
+                    convertWithCasting = returnsSelf;
+                    put(long.class, Tuple.create(
+                            true
+                            , 0L
+                            , Long.class
+                            , convertWithCasting
+                            , convertWithCasting
+                            , convertWithCasting));
+                    convertWithCasting = fromElement -> (Long) fromElement;
+                    put(Long.class, Tuple.create(
+                            false
+                            , 0L
+                            , long.class
+                            , convertWithCasting
+                            , convertWithCasting
+                            , convertWithCasting));
+                    convertWithCasting = returnsSelf;
+                    put(short.class, Tuple.create(
+                            true
+                            , (short) 0
+                            , Short.class
+                            , convertWithCasting
+                            , convertWithCasting
+                            , convertWithCasting));
+                    convertWithCasting = fromElement -> (Short) fromElement;
+                    put(Short.class, Tuple.create(
+                            false
+                            , (short) 0
+                            , short.class
+                            , convertWithCasting
+                            , convertWithCasting
+                            , convertWithCasting));
+                }},
+                null,
+                TypeHelper::makeBaseTypeConverters
+        );
+
+        private BaseTypeConverters() {
+        }
+    }
+
     /**
      * This repository use two classes as its key:
      * #    fromClass:  the type of source value to be converted by the converters
@@ -385,13 +449,18 @@ public class TypeHelper {
      * #    serialConverter:  Convert the object of type fromClass to value of type toClass in serial
      * #    defaultConverter:  Convert the object of type fromClass to value of type toClass either in parallel or in serial based on its length
      */
-    private static final TupleRepository3.TupleKeys2<
-            Class, Class   //fromClass & toClass as the keys
+    private static final class DeepConverters {
+        static final TupleRepository3.TupleKeys2<
+                Class, Class   //fromClass & toClass as the keys
 
-            , Function<Object, Object>          //Convert the first object to another in parallel
-            , Function<Object, Object>          //Convert the first object to another serially
-            , Function<Object, Object>          //Convert the first object by default, in parallel or serial based on the length of the array
-            > deepConverters = TupleRepository3.fromKeys2(TypeHelper::getDeepEvaluators);
+                , Function<Object, Object>          //Convert the first object to another in parallel
+                , Function<Object, Object>          //Convert the first object to another serially
+                , Function<Object, Object>          //Convert the first object by default, in parallel or serial based on the length of the array
+                > repository = TupleRepository3.fromKeys2(new ConcurrentHashMap<>(), null, TypeHelper::getDeepEvaluators);
+
+        private DeepConverters() {
+        }
+    }
     //endregion
     //endregion
 
@@ -429,12 +498,13 @@ public class TypeHelper {
     }
 
     private static TriFunctionThrowable.TriFunction<Object, Object, Integer, Boolean> getExceptionWithMapping(
-            TriConsumerThrowable<Object, Integer, Object> toElementSetter
+            BiFunctionThrowable<Object, Integer, Object> fromElementGetter
+            , TriConsumerThrowable<Object, Integer, Object> toElementSetter
             , Function<Object, Object> elementConverter) {
         if (elementConverter == returnsSelf || elementConverter == null)
             return (fromArray, toArray, index) -> {
                 try {
-                    Object fromElement = Array.get(fromArray, index);
+                    Object fromElement = fromElementGetter.apply(fromArray, index);
                     toElementSetter.accept(toArray, index, fromElement);
                     return false;
                 } catch (Exception ex) {
@@ -444,7 +514,7 @@ public class TypeHelper {
         else
             return (fromArray, toArray, index) -> {
                 try {
-                    Object fromElement = Array.get(fromArray, index);
+                    Object fromElement = fromElementGetter.apply(fromArray, index);
                     toElementSetter.accept(toArray, index, elementConverter.apply(fromElement));
                     return false;
                 } catch (Exception ex) {
@@ -453,24 +523,6 @@ public class TypeHelper {
             };
     }
 
-    /**
-     * Merge any numbers of int values with an int array and return the merged copy, used by getDeepIndexes0()
-     *
-     * @param fromRoot    An existing int array
-     * @param selfIndexes new int values to be included
-     * @return A new int array containing all int values in order
-     */
-    private static int[] mergeOfInts(int[] fromRoot, int... selfIndexes) {
-        int fromLength = fromRoot.length;
-        int selfLength = selfIndexes.length;
-        int[] fullPath = Arrays.copyOfRange(fromRoot, 0, fromLength + selfLength);
-
-        for (int i = 0; i < selfLength; i++) {
-            fullPath[fromLength + i] = selfIndexes[i];
-        }
-        return fullPath;
-    }
-
     /**
      * Get the element of  at the specific position.
      * @param object    the {@code Array} or {@code Collection} to be searched.
@@ -487,22 +539,15 @@ public class TypeHelper {
             if (index >= length) {
                 throw new IllegalArgumentException("Invalid index " + index + " of array with length " + length);
             }
-            return Array.get(object, index);
+            return ElementCursor.elementAt(object, index);
         } else if (object instanceof Collection) {
             Collection collection = (Collection) object;
             int size = collection.size();
             if (index >= size) {
                 throw new IllegalArgumentException("Invalid index " + index + " of Collection with size " + size);
             }
-            Iterator iterator = collection.iterator();
-            int i = 0;
-            Object next;
-            while (iterator.hasNext()) {
-                next = iterator.next();
-                if (i++ == index) {
-                    return next;
-                }
-            }
+            //List.get() of RandomAccess List, otherwise iterate the Collection to the index
+            return ElementCursor.elementAt(collection, index);
         }
 
         throw new IllegalStateException("Fail to get element of " + deepToString(object) + " at index " + index);
@@ -518,14 +563,14 @@ public class TypeHelper {
     public static Object getDeepElement(Object object, int[] deepIndex) {
         Asserts.assertAllTrue(deepIndex != null);
 
-        int deepIndexLength = deepIndex.length;
-        if (deepIndexLength == 0 || deepIndex[0] < 0) {
-            return object;
+        Object element = object;
+        for (int index : deepIndex) {
+            if (index < 0) {
+                break;
+            }
+            element = getElement(element, index);
         }
-
-        Object child = getElement(object, deepIndex[0]);
-        int[] childIndex = (int[]) copyOfRange(deepIndex, 1, deepIndexLength);
-        return getDeepElement(child, childIndex);
+        return element;
     }
 
     /**
@@ -538,46 +583,7 @@ public class TypeHelper {
      * The other int values of the int[] are indexes of the node element or its parent array in their container arrays.
      */
     public static int[][] getDeepIndexes(Object object) {
-        return getDeepIndexes0(object, new int[0]);
-    }
-
-    private static int[][] getDeepIndexes0(Object object, int[] indexes) {
-        if (object == null) {
-            return new int[][]{mergeOfInts(indexes, NULL_NODE)};
-        }
-
-        if (object.getClass().isArray()) {
-            int length = Array.getLength(object);
-            if (length == 0)
-                return new int[][]{mergeOfInts(indexes, EMPTY_ARRAY_NODE)};
-
-            TypedList<int[]> list = new SimpleTypedList<>();
-            for (int i = 0; i < length; i++) {
-                Object element = Array.get(object, i);
-                int[][] positions = getDeepIndexes0(element, mergeOfInts(indexes, i));
-                list.appendAll(positions);
-            }
-            return list.toArray(new int[0][]);
-        } else if (object instanceof Collection) {
-            Collection collection = (Collection) object;
-            int size = collection.size();
-            if (size == 0) {
-                return new int[][]{mergeOfInts(indexes, EMPTY_COLLECTION_NODE)};
-            }
-
-            TypedList<int[]> list = new SimpleTypedList<>();
-            Iterator iterator = collection.iterator();
-            int i = 0;
-            while (iterator.hasNext()) {
-                Object element = iterator.next();
-                int[][] positions = getDeepIndexes0(element, mergeOfInts(indexes, i++));
-                list.appendAll(positions);
-            }
-            return list.toArray(new int[0][]);
-
-        } else {
-            return new int[][]{mergeOfInts(indexes, NORMAL_VALUE_NODE)};
-        }
+        return DeepIndex.of(object).toArrays();
     }
 
     /**
@@ -634,7 +640,7 @@ public class TypeHelper {
 
     /**
      * Helper method to validate if the 2 Objects are equal by comparing their deepIndexes first, then using their deepIndexes
-     * to compare their node values either serially or parallelly based on how many nodes they have
+     * to compare their node values serially, use {@code deepEqualsParallel()} to compare large containers in parallel
      *
      * @param obj1               First Object to be compared
      * @param obj2               Second Object to be compared
@@ -643,25 +649,12 @@ public class TypeHelper {
      * @return <code>true</code> if they have same set of values, otherwise <code>false</code>
      */
     static boolean deepValueEquals(Object obj1, Object obj2, int[][] deepIndexes, EqualityStategy equalityStategy) {
-        int length = deepIndexes.length;
-
-        if (length < PARALLEL_EVALUATION_THRESHOLD) {
-            for (int i = 0; i < length; i++) {
-                int[] indexes = deepIndexes[i];
-                if (!nodeEquals(obj1, obj2, indexes, equalityStategy))
-                    return false;
-            }
-            return true;
-        } else {
-            boolean allEquals = IntStream.range(0, length).boxed().parallel()
-                    .allMatch(i -> nodeEquals(obj1, obj2, deepIndexes[i], equalityStategy));
-            return allEquals;
-        }
+        return deepEqualsSerial(obj1, obj2, deepIndexes, equalityStategy);
     }
 
     /**
-     * Helper method to validate if the 2 Objects are equal by comparing their deepIndexes first, then using their deepIndexes
-     * to compare their node values parallelly
+     * Helper method to validate if the 2 Objects are equal by comparing their deepIndexes first, then comparing their
+     * node values parallelly with the {@code ForkJoinTask}s of {@code DeepForkJoin}
      *
      * @param obj1               First Object to be compared
      * @param obj2               Second Object to be compared
@@ -670,10 +663,8 @@ public class TypeHelper {
      * @return <code>true</code> if they have same set of values, otherwise <code>false</code>
      */
     static boolean deepEqualsParallel(Object obj1, Object obj2, int[][] deepIndexes, EqualityStategy equalityStategy) {
-        int length = deepIndexes.length;
-        boolean allEquals = IntStream.range(0, length).boxed().parallel()
-                .allMatch(i -> nodeEquals(obj1, obj2, deepIndexes[i], equalityStategy));
-        return allEquals;
+        //The identical deepIndexes mean the same structure, so the lockstep walk of the tasks gets the same result
+        return DeepForkJoin.deepValueEquals(obj1, obj2, equalityStategy);
     }
 
     /**
@@ -696,6 +687,151 @@ public class TypeHelper {
         return true;
     }
 
+    /**
+     * Cursor over the elements of two Arrays or Collections of the same length that are walked in lockstep.
+     */
+    static final class PairCursor {
+        final Object container1;
+        final Object container2;
+        final ElementCursor cursor1;
+        final ElementCursor cursor2;
+
+        PairCursor(Object container1, Object container2) {
+            this.container1 = container1;
+            this.container2 = container2;
+            this.cursor1 = ElementCursor.of(container1);
+            this.cursor2 = ElementCursor.of(container2);
+        }
+
+        boolean hasNext() {
+            return cursor1.hasNext();
+        }
+
+        boolean isFresh() {
+            return cursor1.index() < 0;
+        }
+    }
+
+    /**
+     * Compare two primitive arrays of the same class with {@code Arrays.equals()}, that treats double and float values
+     * the same way as their wrappers do.
+     */
+    private static boolean primitiveArrayEquals(Object array1, Object array2) {
+        if (array1 instanceof int[]) {
+            return Arrays.equals((int[]) array1, (int[]) array2);
+        } else if (array1 instanceof long[]) {
+            return Arrays.equals((long[]) array1, (long[]) array2);
+        } else if (array1 instanceof double[]) {
+            return Arrays.equals((double[]) array1, (double[]) array2);
+        } else if (array1 instanceof byte[]) {
+            return Arrays.equals((byte[]) array1, (byte[]) array2);
+        } else if (array1 instanceof char[]) {
+            return Arrays.equals((char[]) array1, (char[]) array2);
+        } else if (array1 instanceof short[]) {
+            return Arrays.equals((short[]) array1, (short[]) array2);
+        } else if (array1 instanceof float[]) {
+            return Arrays.equals((float[]) array1, (float[]) array2);
+        }
+        return Arrays.equals((boolean[]) array1, (boolean[]) array2);
+    }
+
+    /**
+     * Compare two nodes at the same position of the objects walked in lockstep, the same way as {@code nodeEquals()}
+     * does with their deep indexes.
+     *
+     * @param node1           node of the first object
+     * @param node2           node of the second object
+     * @param parent1         Array or Collection holding the first node, or null if it is the root
+     * @param parent2         Array or Collection holding the second node, or null if it is the root
+     * @param equalityStategy Strategy to compare nodes when both are null or empty arrays
+     * @param cursors         stack to push the cursor of two non-empty containers to be compared later
+     * @return <code>false</code> if the nodes are definitely different, otherwise <code>true</code>
+     */
+    static boolean nodeEquals(Object node1, Object node2, Object parent1, Object parent2,
+                                      EqualityStategy equalityStategy, Deque<PairCursor> cursors) {
+        if (node1 == null || node2 == null) {
+            if (node1 != node2) {
+                return false;
+            } else if (parent1 == null || equalityStategy == EqualityStategy.TypeIgnored || equalityStategy == EqualityStategy.EmptyAsNull) {
+                return true;
+            }
+
+            //Both nodes are null, their parents must be assignable in any manner
+            Class class1 = parent1.getClass();
+            Class class2 = parent2.getClass();
+            return (equalityStategy == EqualityStategy.SameTypeOnly)
+                    ? class1.equals(class2)
+                    : canBeAssigned(class1, class2) || canBeAssigned(class2, class1);
+        } else if (node1 == node2) {
+            return true;
+        }
+
+        Class class1 = node1.getClass();
+        Class class2 = node2.getClass();
+        boolean isArray1 = class1.isArray();
+        boolean isArray2 = class2.isArray();
+        boolean isContainer1 = isArray1 || node1 instanceof Collection;
+        boolean isContainer2 = isArray2 || node2 instanceof Collection;
+        if (!isContainer1 && !isContainer2) {
+            return node1.equals(node2);
+        } else if (isContainer1 != isContainer2) {
+            return false;
+        }
+
+        int length1 = isArray1 ? Array.getLength(node1) : ((Collection) node1).size();
+        int length2 = isArray2 ? Array.getLength(node2) : ((Collection) node2).size();
+        if (length1 != length2) {
+            return false;
+        } else if (length1 == 0) {
+            if (isArray1 != isArray2) {
+                return false;
+            } else if (!isArray1 || equalityStategy == EqualityStategy.TypeIgnored) {
+                return true;
+            }
+
+            //Both nodes are empty arrays, their classes must be assignable in any manner
+            return equalityStategy == EqualityStategy.SameTypeOnly ?
+                    class1.equals(class2) : canBeAssigned(class1, class2) || canBeAssigned(class2, class1);
+        } else if (class1 == class2 && isArray1 && class1.getComponentType().isPrimitive()) {
+            return primitiveArrayEquals(node1, node2);
+        }
+
+        cursors.push(new PairCursor(node1, node2));
+        return true;
+    }
+
+    /**
+     * Compare two objects by walking them in lockstep and stop at the first mismatch, instead of getting their deep
+     * indexes and then accessing each node from the root. The result is identical to that of comparing their deep
+     * indexes and then calling {@code nodeEquals()} with every deep index.
+     * The comparison is always serial, use {@code valueEqualsParallel()} to compare large containers in parallel.
+     *
+     * @param obj1            First Object to be compared
+     * @param obj2            Second Object to be compared
+     * @param equalityStategy Strategy to compare nodes when both are null or empty arrays: TypeIgnored, BetweenAssignableTypes, SameTypeOnly
+     * @return <code>true</code> if they have same structure and same set of values, otherwise <code>false</code>
+     */
+    public static boolean deepValueEquals(Object obj1, Object obj2, EqualityStategy equalityStategy) {
+        Deque<PairCursor> cursors = new ArrayDeque<>();
+        if (!nodeEquals(obj1, obj2, null, null, equalityStategy, cursors)) {
+            return false;
+        }
+
+        while (!cursors.isEmpty()) {
+            PairCursor cursor = cursors.peek();
+            if (!cursor.hasNext()) {
+                cursors.pop();
+                continue;
+            }
+            Object node1 = cursor.cursor1.next();
+            Object node2 = cursor.cursor2.next();
+            if (!nodeEquals(node1, node2, cursor.container1, cursor.container2, equalityStategy, cursors)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Check if the given Object is null or empty array/Collection.
      *
@@ -805,12 +941,7 @@ public class TypeHelper {
         if (simpleEquals != null)
             return simpleEquals;
 
-        int[][] deepIndexes1 = getDeepIndexes(obj1);
-        int[][] deepIndexes2 = getDeepIndexes(obj2);
-        if (!Arrays.deepEquals(deepIndexes1, deepIndexes2))
-            return false;
-
-        return deepValueEquals(obj1, obj2, deepIndexes1, equalityStategy);
+        return deepValueEquals(obj1, obj2, equalityStategy);
     }
 
     /**
@@ -859,11 +990,7 @@ public class TypeHelper {
         if (singleObjectConverter != null)
             return singleObjectConverter;
 
-        int[][] deepIndexes1 = getDeepIndexes(obj1);
-        int[][] deepIndexes2 = getDeepIndexes(obj2);
-        if (!Arrays.deepEquals(deepIndexes1, deepIndexes2))
-            return false;
-        return deepEqualsParallel(obj1, obj2, deepIndexes1, equalityStategy);
+        return DeepForkJoin.deepValueEquals(obj1, obj2, equalityStategy);
     }
 
     /**
@@ -964,8 +1091,56 @@ public class TypeHelper {
 
     //region Repository with Class as the key, to keep 7 common used attributes or operators
 
-    private static Tuple3<Boolean, Class[], Class> getLambdaGenericInfo(OfThrowable lambda) {
+    /**
+     * Get the generic info of the given Lambda expression cached by its class, a serializable Lambda is resolved with
+     * its {@code SerializedLambda}, otherwise its {@code ConstantPool} would be scanned.
+     *
+     * @param lambda the Lambda expression to be evaluated
+     * @return Tuple of: if the parameter types are accurate, the parameter types, and the return type
+     */
+    static Tuple3<Boolean, Class[], Class> getLambdaGenericInfo(OfThrowable lambda) {
         Class lambdaClass = checkNoneNulls(lambda).getClass();
+        Tuple3<Boolean, Class[], Class> info = LambdaGenericInfos.repository.getCached(lambdaClass);
+        if (info != null) {
+            return info;
+        }
+
+        info = lambda instanceof Serializable ? getSerializedLambdaInfo(lambda) : null;
+        if (info == null) {
+            return LambdaGenericInfos.repository.retrieve(lambdaClass);
+        }
+        try {
+            Tuple3<Boolean, Class[], Class> existing = LambdaGenericInfos.repository.putIfAbsent(lambdaClass, info);
+            return existing == null ? info : existing;
+        } catch (Exception ex) {
+            return info;
+        }
+    }
+
+    /**
+     * Resolve the generic info of a serializable Lambda expression from the instantiated method type kept by its
+     * {@code SerializedLambda}, without accessing the internal {@code ConstantPool}.
+     *
+     * @param lambda the serializable Lambda expression to be evaluated
+     * @return Tuple of: if the parameter types are accurate, the parameter types, and the return type, or null if failed
+     */
+    static Tuple3<Boolean, Class[], Class> getSerializedLambdaInfo(OfThrowable lambda) {
+        try {
+            Method writeReplace = lambda.getClass().getDeclaredMethod("writeReplace");
+            writeReplace.setAccessible(true);
+            Object replacement = writeReplace.invoke(lambda);
+            if (!(replacement instanceof SerializedLambda)) {
+                return null;
+            }
+            String methodType = ((SerializedLambda) replacement).getInstantiatedMethodType();
+            MethodType type = MethodType.fromMethodDescriptorString(methodType, lambda.getClass().getClassLoader());
+            return Tuple.create(true, type.parameterArray(), type.returnType());
+        } catch (Exception | LinkageError ex) {
+            return null;
+        }
+    }
+
+    private static Tuple3<Boolean, Class[], Class> getLambdaGenericInfo(Class lambdaClass) {
         ConstantPool constantPool = TypeHelper.getConstantPoolOfClass(lambdaClass);
         if(constantPool == null) {
             return null;
@@ -995,17 +1170,19 @@ public class TypeHelper {
      * @return The type of the return value defined by the Lambda Expression.
      */
     public static Class getReturnType(OfThrowable aThrowable) {
-        return lambdaGenericInfoRepository.getThirdValue(aThrowable);
+        Tuple3<Boolean, Class[], Class> info = getLambdaGenericInfo(aThrowable);
+        return info == null ? null : info.getThird();
     }
     //endregion
 
-    private static Tuple6<
+    private static Tuple7<
             Predicate<Class>,
             FunctionThrowable<Integer, Object>,
             Class,
             TriConsumerThrowable<Object, Integer, Object>,
             TriFunctionThrowable<Object, Integer, Integer, Object>,
-            Function<Object, String>
+            Function<Object, String>,
+            BiFunctionThrowable<Object, Integer, Object>
             > makeClassOperators(Class clazz) throws Exception {
         FunctionThrowable<Integer, Object> arrayFactory = (Integer length) -> Array.newInstance(clazz, length);
         Predicate<Class> cPredicate;
@@ -1023,7 +1200,7 @@ public class TypeHelper {
         TriConsumerThrowable<Object, Integer, Object> setElement = arraySet;
         TriFunctionThrowable<Object, Integer, Integer, Object> copyOfRange = asGenericCopyOfRange(clazz);
         Function<Object, String> toString = getDeepToString(clazz);
-        return Tuple.create(cPredicate, arrayFactory, arrayClass, setElement, copyOfRange, toString);
+        return Tuple.create(cPredicate, arrayFactory, arrayClass, setElement, copyOfRange, toString, arrayGet);
 
     }
 
@@ -1036,7 +1213,7 @@ public class TypeHelper {
     public static Predicate<Class> getClassEqualitor(Class clazz) {
         if (clazz == null) return null;
 
-        return classOperators.getFirstValue(clazz);
+        return ClassOperators.repository.getFirstValue(clazz);
     }
 
     /**
@@ -1049,7 +1226,7 @@ public class TypeHelper {
     public static boolean areEquivalent(Class class1, Class class2) {
         assertAllNotNull(class1, class2);
 
-        return classOperators.getFirstValue(class1).test(class2);
+        return ClassOperators.repository.getFirstValue(class1).test(class2);
     }
 
     /**
@@ -1061,7 +1238,7 @@ public class TypeHelper {
     public static FunctionThrowable<Integer, Object> getArrayFactory(Class clazz) {
         if (clazz == null) return null;
 
-        return classOperators.getSecondValue(clazz);
+        return ClassOperators.repository.getSecondValue(clazz);
     }
 
     /**
@@ -1073,7 +1250,7 @@ public class TypeHelper {
     public static Class getArrayClass(Class clazz) {
         if (clazz == null) return null;
 
-        return classOperators.getThirdValue(clazz);
+        return ClassOperators.repository.getThirdValue(clazz);
     }
 
     /**
@@ -1085,7 +1262,20 @@ public class TypeHelper {
     public static TriConsumerThrowable<Object, Integer, Object> getArrayElementSetter(Class clazz) {
         if (clazz == null) return null;
 
-        return classOperators.getFourthValue(clazz);
+        return ClassOperators.repository.getFourthValue(clazz);
+    }
+
+    /**
+     * get the getter operator to get element at specific position of concerned array
+     *
+     * @param clazz type of the elements to compose the array
+     * @return operator receiving 2 arguments (array, index) and return the element at index of the array, primitive
+     * values would be returned as their wrappers
+     */
+    public static BiFunctionThrowable<Object, Integer, Object> getArrayElementGetter(Class clazz) {
+        if (clazz == null) return null;
+
+        return ClassOperators.repository.getSeventhValue(clazz);
     }
 
     /**
@@ -1098,7 +1288,7 @@ public class TypeHelper {
     public static TriFunctionThrowable<Object, Integer, Integer, Object> getArrayRangeCopier(Class clazz) {
         if (clazz == null) return null;
 
-        return classOperators.getFifthValue(clazz);
+        return ClassOperators.repository.getFifthValue(clazz);
     }
 
     /**
@@ -1146,7 +1336,7 @@ public class TypeHelper {
     public static Function<Object, String> getArrayToString(Class clazz) {
         if (clazz == null) return null;
 
-        return classOperators.getSixthValue(clazz);
+        return ClassOperators.repository.getSixthValue(clazz);
     }
 
     /**
@@ -1178,12 +1368,13 @@ public class TypeHelper {
         Object defaultValue = EMPTY_ARRAY_AS_DEFAULT ? ArrayHelper.getNewArray(componentClass, 0) : null;
         Class equivalentComponentClass = getEquivalentClass(componentClass);
 
-        Class equivalentClass = classOperators.getThirdValue(equivalentComponentClass);
+        Class equivalentClass = ClassOperators.repository.getThirdValue(equivalentComponentClass);
         Function<Object, Object> componentConverter = getToEquivalentSerialConverter(componentClass);
         TriConsumerThrowable<Object, Integer, Object> equivalentSetter = getArrayElementSetter(equivalentComponentClass);
+        BiFunctionThrowable<Object, Integer, Object> elementGetter = getArrayElementGetter(componentClass);
 
         TriFunctionThrowable.TriFunction<Object, Object, Integer, Boolean> getExceptionWhileMapping =
-                getExceptionWithMapping(equivalentSetter, componentConverter);
+                getExceptionWithMapping(elementGetter, equivalentSetter, componentConverter);
 
         Function<Object, Object> parallelConverter =
                 equivalentClass == null ? returnsSelf
@@ -1211,7 +1402,7 @@ public class TypeHelper {
                     //Three-steps to do: get original element first, convert to equivalent value, and then set to
                     // the corresponding element of the converted array
                     //Get original element
-                    Object fromElement = Array.get(fromArray, i);
+                    Object fromElement = elementGetter.apply(fromArray, i);
                     //Get the converted element
                     //Set1 the converted value to the target array
                     equivalentSetter.accept(toArray, i, componentConverter.apply(fromElement));
@@ -1234,7 +1425,7 @@ public class TypeHelper {
                         //Three-steps to do: get original element first, convert to equivalent value, and then set to
                         // the corresponding element of the converted array
                         //Get original element
-                        Object fromElement = Array.get(fromArray, i);
+                        Object fromElement = elementGetter.apply(fromArray, i);
                         //Get the converted element
                         //Set1 the converted value to the target array
                         equivalentSetter.accept(toArray, i, componentConverter.apply(fromElement));
@@ -1264,7 +1455,7 @@ public class TypeHelper {
      * @return true if and only if this class represents a primitive type or an array of primitive type elements
      */
     public static Boolean isPrimitive(Class clazz) {
-        Boolean result = baseTypeConverters.getFirstValue(checkNoneNulls(clazz));
+        Boolean result = BaseTypeConverters.repository.getFirstValue(checkNoneNulls(clazz));
         return result == null ? false : result;
     }
 
@@ -1281,7 +1472,7 @@ public class TypeHelper {
      * a zero-length array of the type of the class, when <code>EMPTY_ARRAY_AS_DEFAULT</code> is true by default
      */
     public static Object getDefaultValue(Class clazz) {
-        return baseTypeConverters.getSecondValue(checkNoneNulls(clazz));
+        return BaseTypeConverters.repository.getSecondValue(checkNoneNulls(clazz));
     }
 
     /**
@@ -1298,7 +1489,7 @@ public class TypeHelper {
      * @return equivalent class of the concerned class
      */
     public static Class getEquivalentClass(Class clazz) {
-        return baseTypeConverters.getThirdValue(checkNoneNulls(clazz));
+        return BaseTypeConverters.repository.getThirdValue(checkNoneNulls(clazz));
     }
 
     /**
@@ -1313,7 +1504,7 @@ public class TypeHelper {
      * @return The converter function to convert the concerned object to its equivalent one.
      */
     public static Function<Object, Object> getToEquivalentParallelConverter(Class clazz) {
-        return baseTypeConverters.getFourthValue(checkNoneNulls(clazz));
+        return BaseTypeConverters.repository.getFourthValue(checkNoneNulls(clazz));
     }
 
     /**
@@ -1328,7 +1519,7 @@ public class TypeHelper {
      * @return The converter function to convert the concerned object to its equivalent one.
      */
     public static Function<Object, Object> getToEquivalentSerialConverter(Class clazz) {
-        return baseTypeConverters.getFifthValue(checkNoneNulls(clazz));
+        return BaseTypeConverters.repository.getFifthValue(checkNoneNulls(clazz));
     }
 
     /**
@@ -1343,7 +1534,7 @@ public class TypeHelper {
      * @return The converter function to convert the concerned object to its equivalent one.
      */
     public static Function<Object, Object> getToEquivalentConverter(Class clazz) {
-        return baseTypeConverters.getSixthValue(checkNoneNulls(clazz));
+        return BaseTypeConverters.repository.getSixthValue(checkNoneNulls(clazz));
     }
 
     /**
@@ -1416,6 +1607,7 @@ public class TypeHelper {
 
         //Second, checking if it is converting between primitive array and Object array
         boolean needConversion = fromComponentClass.isPrimitive() != toComponentClass.isPrimitive();
+        ArrayConverters.RangeConverter rangeConverter;
         if (needConversion) {
             Class equivalentFromComponentType = getEquivalentClass(fromComponentClass);
             Class equivalentToComponentType = getEquivalentClass(toComponentClass);
@@ -1424,76 +1616,39 @@ public class TypeHelper {
                 // Use the equivalent converter if they are
                 return Tuple.create(mapsToNull, mapsToNull, mapsToNull);
             }
-        } else if (!fromComponentClass.isAssignableFrom(toComponentClass) && !toComponentClass.isAssignableFrom(fromComponentClass)) {
-            //Third, return null factory methods when there is no chance to convert between two primitive types or two object types
+            rangeConverter = ArrayConverters.of(fromComponentClass, toComponentClass);
+        } else if (fromComponentClass.isAssignableFrom(toComponentClass) || toComponentClass.isAssignableFrom(fromComponentClass)) {
+            rangeConverter = ArrayConverters.of(fromComponentClass, toComponentClass);
+        } else if (fromComponentClass.isArray() && toComponentClass.isArray()
+                && DeepConverters.repository.getThird(fromComponentClass, toComponentClass) != mapsToNull) {
+            //Third, convert the nested arrays one by one when their types are convertible, like int[][] to Integer[][]
+            rangeConverter = ArrayConverters.nested(toComponentClass);
+        } else {
+            //Otherwise, return null factory methods when there is no chance to convert between two primitive types or two object types
             return Tuple.create(mapsToNull, mapsToNull, mapsToNull);
         }
 
         FunctionThrowable<Integer, Object> factory = TypeHelper.getArrayFactory(toComponentClass);
-        TriConsumerThrowable<Object, Integer, Object> toElementSetter = getArrayElementSetter(toComponentClass);
-
-        Function<Object, Object> elementConverter = needConversion ?
-                getToEquivalentSerialConverter(fromComponentClass) : returnsSelf;
+        Function<Object, Object> parallelConverter = converterOf(factory, rangeConverter, array -> true);
+        Function<Object, Object> serialConverter = converterOf(factory, rangeConverter, array -> false);
+        Function<Object, Object> defaultConverter = converterOf(factory, rangeConverter,
+                array -> ArrayConverters.estimateLeaves(array) >= PARALLEL_EVALUATION_THRESHOLD);
 
-        TriFunctionThrowable.TriFunction<Object, Object, Integer, Boolean> elementMappingWithException =
-                getExceptionWithMapping(toElementSetter, elementConverter);
-
-        Function<Object, Object> parallelConverter = (fromArray) -> {
-            if (fromArray == null) return null;
-            try {
-                int length = Array.getLength(fromArray);
-                Object toArray = factory.apply(length);
-                Integer firstIndexWithException = IntStream.range(0, length).boxed().parallel()
-                        .filter(i -> elementMappingWithException.apply(fromArray, toArray, i))
-                        .findFirst().orElse(-1);
-
-                return firstIndexWithException == -1 ? toArray : null;
-            } catch (Exception ex) {
-                return null;
-            }
-        };
-
-        Function<Object, Object> serialConverter = (fromArray) -> {
-            if (fromArray == null) return null;
-            try {
-                int length = Array.getLength(fromArray);
-                Object toArray = factory.apply(length);
-                for (int i = 0; i < length; i++) {
-                    Object fromElement = Array.get(fromArray, i);
-                    Object convertedElement = elementConverter.apply(fromElement);
-                    toElementSetter.accept(toArray, i, convertedElement);
-                }
-                return toArray;
-            } catch (Exception ex) {
-                return null;
-            }
-        };
+        return Tuple.create(parallelConverter, serialConverter, defaultConverter);
+    }
 
-        Function<Object, Object> defaultConverter = (fromArray) -> {
+    private static Function<Object, Object> converterOf(FunctionThrowable<Integer, Object> factory,
+                                                        ArrayConverters.RangeConverter rangeConverter,
+                                                        Predicate<Object> inParallel) {
+        return fromArray -> {
             if (fromArray == null) return null;
-            int length = Array.getLength(fromArray);
             try {
-                Object toArray = factory.apply(length);
-                if (length < PARALLEL_EVALUATION_THRESHOLD) {
-                    for (int i = 0; i < length; i++) {
-                        Object fromElement = Array.get(fromArray, i);
-                        Object convertedElement = elementConverter.apply(fromElement);
-                        toElementSetter.accept(toArray, i, convertedElement);
-                    }
-                    return toArray;
-                } else {
-                    Integer firstIndexWithException = IntStream.range(0, length).boxed().parallel()
-                            .filter(i -> elementMappingWithException.apply(fromArray, toArray, i))
-                            .findFirst().orElse(-1);
-
-                    return firstIndexWithException == -1 ? toArray : null;
-                }
+                Object toArray = factory.apply(Array.getLength(fromArray));
+                return ArrayConverters.convertAll(rangeConverter, fromArray, toArray, inParallel.test(fromArray));
             } catch (Exception ex) {
                 return null;
             }
         };
-
-        return Tuple.create(parallelConverter, serialConverter, defaultConverter);
     }
 
     /**
@@ -1509,7 +1664,7 @@ public class TypeHelper {
             return null;
 
         Class fromClass = obj.getClass();
-        Function<Object, Object> converter = deepConverters.getFirst(fromClass, toClass);
+        Function<Object, Object> converter = DeepConverters.repository.getFirst(fromClass, toClass);
         return (T) converter.apply(obj);
     }
     //endregion
@@ -1527,7 +1682,7 @@ public class TypeHelper {
             return null;
 
         Class fromClass = obj.getClass();
-        Function<Object, Object> converter = deepConverters.getSecond(fromClass, toClass);
+        Function<Object, Object> converter = DeepConverters.repository.getSecond(fromClass, toClass);
         return (T) converter.apply(obj);
     }
 
@@ -1544,13 +1699,14 @@ public class TypeHelper {
             return null;
 
         Class fromClass = obj.getClass();
-        Function<Object, Object> converter = deepConverters.getThird(fromClass, toClass);
+        Function<Object, Object> converter = DeepConverters.repository.getThird(fromClass, toClass);
         return (T) converter.apply(obj);
     }
 
     /**
      * Returns a hash code based on the object itself when it is not an array, or the elements contained if it is an array.
      * The evaluation could continue recursively if its elements are of arrays.
+     * The leaves are always hashed serially, use {@code DeepForkJoin.deepHashCode()} to hash large containers in parallel.
      *
      * @param obj the object whose hash code is to be computed
      * @return a deep values based hash code of the <tt>obj</tt>
@@ -1570,17 +1726,154 @@ public class TypeHelper {
             return obj.hashCode();
         }
 
-        int result = 1;
-        int[][] deepIndexes = getDeepIndexes(obj);
-        for (int i = 0; i < deepIndexes.length; i++) {
-            int[] deepIndex = deepIndexes[i];
-            int[] childDeepIndex = checkNotNull( (int[]) copyOfRange(deepIndex, 0, deepIndex.length - 1), "Failed to copy range");
-            Object element = getDeepElement(obj, childDeepIndex);
-            int elementHash = deepHashCode(element);
+        return (int) foldLeaves(1, obj);
+    }
 
-            result = 31 * result + elementHash;
+    /**
+     * Accumulate the hash code of an element into the hash code calculated by {@code deepHashCode()} from the nodes
+     * ahead of it, as if the element was the next node of the same Array or Collection.
+     *
+     * @param result  the hash code calculated from the nodes ahead, 1 if there is none
+     * @param element the element to be accumulated, its leaves would be accumulated one by one if it is a non-empty
+     *                Array or Collection
+     * @return the hash code including the given element
+     */
+    public static int foldDeepHashCode(int result, Object element) {
+        if (element == null) {
+            return 31 * result;
+        } else if (element instanceof Collection) {
+            return ((Collection) element).isEmpty() ? 31 * result + 37 : (int) foldLeaves(result, element);
+        } else if (element.getClass().isArray()) {
+            return Array.getLength(element) == 0 ? 31 * result + 37 : (int) foldLeaves(result, element);
+        }
+        return 31 * result + element.hashCode();
+    }
+
+    /**
+     * Accumulate the hash code of an element as {@code foldDeepHashCode()} does, and count its leaves in the same pass.
+     *
+     * @param result  the hash code calculated from the nodes ahead, 1 if there is none
+     * @param element the element to be accumulated
+     * @return the hash code including the given element in the lower 32 bits, and the number of leaves of the element
+     * in the higher 32 bits
+     */
+    static long foldDeepHashCodeCounting(int result, Object element) {
+        if (element == null) {
+            return (1L << 32) | ((31 * result) & 0xFFFFFFFFL);
+        } else if (element instanceof Collection ? ((Collection) element).isEmpty()
+                : element.getClass().isArray() && Array.getLength(element) == 0) {
+            return (1L << 32) | ((31 * result + 37) & 0xFFFFFFFFL);
+        } else if (element instanceof Collection || element.getClass().isArray()) {
+            return foldLeaves(result, element);
         }
+        return (1L << 32) | ((31 * result + element.hashCode()) & 0xFFFFFFFFL);
+    }
 
+    /**
+     * Walk the leaves of a non-empty Array or Collection depth-first with an explicit stack, and accumulate their hash
+     * codes in the same order as {@code getDeepIndexes()} lists them: 0 for null, 37 for empty Array or Collection and
+     * {@code hashCode()} of other values, with the elements of primitive arrays accumulated without boxing.
+     *
+     * @param result    the hash code calculated from the nodes ahead
+     * @param container the non-empty Array or Collection to be walked
+     * @return the hash code including all leaves of the container in the lower 32 bits, and the number of the leaves
+     * in the higher 32 bits
+     */
+    private static long foldLeaves(int result, Object container) {
+        if (!(container instanceof Object[] || container instanceof Collection)) {
+            return ((long) Array.getLength(container) << 32) | (foldPrimitives(result, container) & 0xFFFFFFFFL);
+        }
+
+        //Each frame is the cursor of an Object[] or a Collection
+        ElementCursor[] frames = new ElementCursor[8];
+        int depth = 0;
+        int leaves = 0;
+        frames[0] = ElementCursor.of(container);
+        while (depth >= 0) {
+            ElementCursor frame = frames[depth];
+            if (!frame.hasNext()) {
+                frames[depth--] = null;
+                continue;
+            }
+            Object element = frame.next();
+
+            Object child = null;
+            if (element == null) {
+                result = 31 * result;
+            } else if (element instanceof Object[]) {
+                if (((Object[]) element).length == 0) {
+                    result = 31 * result + 37;
+                } else {
+                    child = element;
+                }
+            } else if (element instanceof Collection) {
+                if (((Collection) element).isEmpty()) {
+                    result = 31 * result + 37;
+                } else {
+                    child = element;
+                }
+            } else if (element.getClass().isArray()) {
+                int length = Array.getLength(element);
+                result = length == 0 ? 31 * result + 37 : foldPrimitives(result, element);
+                //The elements of a non-empty primitive array are all leaves
+                leaves += Math.max(length, 1) - 1;
+            } else {
+                result = 31 * result + element.hashCode();
+            }
+
+            if (child != null) {
+                if (++depth == frames.length) {
+                    frames = Arrays.copyOf(frames, depth * 2);
+                }
+                frames[depth] = ElementCursor.of(child);
+            } else {
+                leaves++;
+            }
+        }
+        return ((long) leaves << 32) | (result & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Accumulate the elements of a primitive array with the hash codes of their wrappers, without boxing them.
+     *
+     * @param result the hash code calculated from the nodes ahead
+     * @param array  the array of primitive values
+     * @return the hash code including all elements of the array
+     */
+    private static int foldPrimitives(int result, Object array) {
+        if (array instanceof int[]) {
+            for (int value : (int[]) array) {
+                result = 31 * result + value;
+            }
+        } else if (array instanceof long[]) {
+            for (long value : (long[]) array) {
+                result = 31 * result + Long.hashCode(value);
+            }
+        } else if (array instanceof double[]) {
+            for (double value : (double[]) array) {
+                result = 31 * result + Double.hashCode(value);
+            }
+        } else if (array instanceof float[]) {
+            for (float value : (float[]) array) {
+                result = 31 * result + Float.hashCode(value);
+            }
+        } else if (array instanceof char[]) {
+            for (char value : (char[]) array) {
+                result = 31 * result + value;
+            }
+        } else if (array instanceof byte[]) {
+            for (byte value : (byte[]) array) {
+                result = 31 * result + value;
+            }
+        } else if (array instanceof short[]) {
+            for (short value : (short[]) array) {
+                result = 31 * result + value;
+            }
+        } else {
+            for (boolean value : (boolean[]) array) {
+                result = 31 * result + Boolean.hashCode(value);
+            }
+        }
         return result;
     }
 
@@ -1605,11 +1898,15 @@ public class TypeHelper {
         if (obj == null) {
             return "null";
         } else if (obj instanceof Collection) {
-            Collection collection = (Collection) obj;
-            List<String> elementStrings = IntStream.range(0, collection.size())
-                    .mapToObj(i -> deepToString(getElement(obj, i)))
-                    .collect(Collectors.toList());
-            return "[" + String.join(", ", elementStrings) + "]";
+            ElementCursor cursor = ElementCursor.of(obj);
+            StringBuilder sb = new StringBuilder("[");
+            while (cursor.hasNext()) {
+                if (cursor.index() >= 0) {
+                    sb.append(", ");
+                }
+                sb.append(deepToString(cursor.next()));
+            }
+            return sb.append("]").toString();
         } else if (obj.getClass().isArray()) {
             Function<Object, String> arrayToString = checkNotNull(getArrayToString(obj.getClass().getComponentType()), "failed to get arrayToString");
             return arrayToString.apply(obj);
@@ -0,0 +1,628 @@
+package io.github.cruisoring.repository;
+
+import io.github.cruisoring.throwables.*;
+import io.github.cruisoring.tuple.*;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static io.github.cruisoring.Asserts.checkNoneNulls;
+
+/**
+ * Thread-safe repository caching the values as shared {@code CompletableFuture}s, so that the callers would not be
+ * blocked by the slow evaluations:
+ * <ul>
+ * <li>the first <code>getAsync(key)</code> of a key caches a pending future and runs the evaluation on the executor,
+ * the later calls get the same future no matter if it is completed or not</li>
+ * <li>the future completed exceptionally is evicted automatically, so the key would be evaluated again next time</li>
+ * </ul>
+ * The changesConsumer is notified with the futures: <code>(key, null, future)</code> when it is cached and
+ * <code>(key, future, null)</code> when it is evicted for failure.
+ * The nested {@code Keys2} to {@code Keys7} map keys of multiple elements like the {@code TupleKeys} of the
+ * {@code TupleRepository}s.
+ *
+ * @param <TKey>   the type of keys maintained by this map
+ * @param <TValue> the type of the values evaluated asynchronously
+ */
+public class AsyncRepository<TKey, TValue> extends ConcurrentRepository<TKey, CompletableFuture<TValue>> {
+
+    /**
+     * The future cached before its evaluation is started, it is started by the first caller getting it so that the
+     * evaluation would not be completed before being shared.
+     *
+     * @param <V> the type of the value to be evaluated
+     */
+    static final class Pending<V> extends CompletableFuture<V> {
+        private final AtomicBoolean started = new AtomicBoolean();
+
+        boolean tryStart() {
+            return !started.get() && started.compareAndSet(false, true);
+        }
+    }
+
+    //Function to evaluate the value of a key on the executor
+    final FunctionThrowable<TKey, TValue> asyncFunction;
+
+    final Executor executor;
+
+    /**
+     * Construct a repository with given concurrent map, executor, extra changesConsumer logic and Function to evaluate
+     * the values.
+     *
+     * @param map             the concurrent map to keep the futures of the values
+     * @param executor        the executor to run the evaluations, or null to use the common ForkJoinPool
+     * @param changesConsumer Extra steps to run when any future is cached or evicted
+     * @param valueFunction   Function to map key of TKey type to value of TValue type
+     */
+    public AsyncRepository(ConcurrentMap<TKey, CompletableFuture<TValue>> map, Executor executor,
+                           TriConsumerThrowable<TKey, CompletableFuture<TValue>, CompletableFuture<TValue>> changesConsumer,
+                           FunctionThrowable<TKey, TValue> valueFunction) {
+        super(map, changesConsumer, key -> new Pending<>());
+        this.asyncFunction = checkNoneNulls(valueFunction);
+        this.executor = executor == null ? ForkJoinPool.commonPool() : executor;
+    }
+
+    /**
+     * Construct a repository as a ConcurrentHashMap to evaluate the values on the given executor.
+     *
+     * @param executor      the executor to run the evaluations, or null to use the common ForkJoinPool
+     * @param valueFunction Function to map key of TKey type to value of TValue type
+     */
+    public AsyncRepository(Executor executor, FunctionThrowable<TKey, TValue> valueFunction) {
+        this(new ConcurrentHashMap<>(), executor, null, valueFunction);
+    }
+
+    /**
+     * Construct a repository as a ConcurrentHashMap to evaluate the values on the common ForkJoinPool.
+     *
+     * @param valueFunction Function to map key of TKey type to value of TValue type
+     */
+    public AsyncRepository(FunctionThrowable<TKey, TValue> valueFunction) {
+        this(new ConcurrentHashMap<>(), null, null, valueFunction);
+    }
+
+    /**
+     * Create a repository with keys of 2 elements to evaluate the values on the given executor.
+     *
+     * @param map             the concurrent map to keep the futures of the values
+     * @param executor        the executor to run the evaluations, or null to use the common ForkJoinPool
+     * @param changesConsumer Extra steps to run when any future is cached or evicted
+     * @param valueFunction   Function to map 2 keys to the value
+     * @param <K1>     type of the first element of the keys
+     * @param <K2>     type of the second element of the keys
+     * @param <TValue> type of the values
+     * @return the repository with keys of 2 elements
+     */
+    public static <K1, K2, TValue> Keys2<K1, K2, TValue> fromKeys2(
+            ConcurrentMap<Tuple2<K1, K2>, CompletableFuture<TValue>> map, Executor executor,
+            TriConsumerThrowable<Tuple2<K1, K2>, CompletableFuture<TValue>, CompletableFuture<TValue>> changesConsumer,
+            BiFunctionThrowable<K1, K2, TValue> valueFunction) {
+        return new Keys2<>(map, executor, changesConsumer, valueFunction);
+    }
+
+    /**
+     * Create a repository with keys of 2 elements as a ConcurrentHashMap to evaluate the values on the given executor.
+     *
+     * @param executor      the executor to run the evaluations, or null to use the common ForkJoinPool
+     * @param valueFunction Function to map 2 keys to the value
+     * @param <K1>     type of the first element of the keys
+     * @param <K2>     type of the second element of the keys
+     * @param <TValue> type of the values
+     * @return the repository with keys of 2 elements
+     */
+    public static <K1, K2, TValue> Keys2<K1, K2, TValue> fromKeys2(
+            Executor executor, BiFunctionThrowable<K1, K2, TValue> valueFunction) {
+        return new Keys2<>(new ConcurrentHashMap<>(), executor, null, valueFunction);
+    }
+
+    /**
+     * Create a repository with keys of 3 elements to evaluate the values on the given executor.
+     *
+     * @param map             the concurrent map to keep the futures of the values
+     * @param executor        the executor to run the evaluations, or null to use the common ForkJoinPool
+     * @param changesConsumer Extra steps to run when any future is cached or evicted
+     * @param valueFunction   Function to map 3 keys to the value
+     * @param <K1>     type of the first element of the keys
+     * @param <K2>     type of the second element of the keys
+     * @param <K3>     type of the third element of the keys
+     * @param <TValue> type of the values
+     * @return the repository with keys of 3 elements
+     */
+    public static <K1, K2, K3, TValue> Keys3<K1, K2, K3, TValue> fromKeys3(
+            ConcurrentMap<Tuple3<K1, K2, K3>, CompletableFuture<TValue>> map, Executor executor,
+            TriConsumerThrowable<Tuple3<K1, K2, K3>, CompletableFuture<TValue>, CompletableFuture<TValue>> changesConsumer,
+            TriFunctionThrowable<K1, K2, K3, TValue> valueFunction) {
+        return new Keys3<>(map, executor, changesConsumer, valueFunction);
+    }
+
+    /**
+     * Create a repository with keys of 3 elements as a ConcurrentHashMap to evaluate the values on the given executor.
+     *
+     * @param executor      the executor to run the evaluations, or null to use the common ForkJoinPool
+     * @param valueFunction Function to map 3 keys to the value
+     * @param <K1>     type of the first element of the keys
+     * @param <K2>     type of the second element of the keys
+     * @param <K3>     type of the third element of the keys
+     * @param <TValue> type of the values
+     * @return the repository with keys of 3 elements
+     */
+    public static <K1, K2, K3, TValue> Keys3<K1, K2, K3, TValue> fromKeys3(
+            Executor executor, TriFunctionThrowable<K1, K2, K3, TValue> valueFunction) {
+        return new Keys3<>(new ConcurrentHashMap<>(), executor, null, valueFunction);
+    }
+
+    /**
+     * Create a repository with keys of 4 elements to evaluate the values on the given executor.
+     *
+     * @param map             the concurrent map to keep the futures of the values
+     * @param executor        the executor to run the evaluations, or null to use the common ForkJoinPool
+     * @param changesConsumer Extra steps to run when any future is cached or evicted
+     * @param valueFunction   Function to map 4 keys to the value
+     * @param <K1>     type of the first element of the keys
+     * @param <K2>     type of the second element of the keys
+     * @param <K3>     type of the third element of the keys
+     * @param <K4>     type of the fourth element of the keys
+     * @param <TValue> type of the values
+     * @return the repository with keys of 4 elements
+     */
+    public static <K1, K2, K3, K4, TValue> Keys4<K1, K2, K3, K4, TValue> fromKeys4(
+            ConcurrentMap<Tuple4<K1, K2, K3, K4>, CompletableFuture<TValue>> map, Executor executor,
+            TriConsumerThrowable<Tuple4<K1, K2, K3, K4>, CompletableFuture<TValue>, CompletableFuture<TValue>> changesConsumer,
+            QuadFunctionThrowable<K1, K2, K3, K4, TValue> valueFunction) {
+        return new Keys4<>(map, executor, changesConsumer, valueFunction);
+    }
+
+    /**
+     * Create a repository with keys of 4 elements as a ConcurrentHashMap to evaluate the values on the given executor.
+     *
+     * @param executor      the executor to run the evaluations, or null to use the common ForkJoinPool
+     * @param valueFunction Function to map 4 keys to the value
+     * @param <K1>     type of the first element of the keys
+     * @param <K2>     type of the second element of the keys
+     * @param <K3>     type of the third element of the keys
+     * @param <K4>     type of the fourth element of the keys
+     * @param <TValue> type of the values
+     * @return the repository with keys of 4 elements
+     */
+    public static <K1, K2, K3, K4, TValue> Keys4<K1, K2, K3, K4, TValue> fromKeys4(
+            Executor executor, QuadFunctionThrowable<K1, K2, K3, K4, TValue> valueFunction) {
+        return new Keys4<>(new ConcurrentHashMap<>(), executor, null, valueFunction);
+    }
+
+    /**
+     * Create a repository with keys of 5 elements to evaluate the values on the given executor.
+     *
+     * @param map             the concurrent map to keep the futures of the values
+     * @param executor        the executor to run the evaluations, or null to use the common ForkJoinPool
+     * @param changesConsumer Extra steps to run when any future is cached or evicted
+     * @param valueFunction   Function to map 5 keys to the value
+     * @param <K1>     type of the first element of the keys
+     * @param <K2>     type of the second element of the keys
+     * @param <K3>     type of the third element of the keys
+     * @param <K4>     type of the fourth element of the keys
+     * @param <K5>     type of the fifth element of the keys
+     * @param <TValue> type of the values
+     * @return the repository with keys of 5 elements
+     */
+    public static <K1, K2, K3, K4, K5, TValue> Keys5<K1, K2, K3, K4, K5, TValue> fromKeys5(
+            ConcurrentMap<Tuple5<K1, K2, K3, K4, K5>, CompletableFuture<TValue>> map, Executor executor,
+            TriConsumerThrowable<Tuple5<K1, K2, K3, K4, K5>, CompletableFuture<TValue>, CompletableFuture<TValue>> changesConsumer,
+            PentaFunctionThrowable<K1, K2, K3, K4, K5, TValue> valueFunction) {
+        return new Keys5<>(map, executor, changesConsumer, valueFunction);
+    }
+
+    /**
+     * Create a repository with keys of 5 elements as a ConcurrentHashMap to evaluate the values on the given executor.
+     *
+     * @param executor      the executor to run the evaluations, or null to use the common ForkJoinPool
+     * @param valueFunction Function to map 5 keys to the value
+     * @param <K1>     type of the first element of the keys
+     * @param <K2>     type of the second element of the keys
+     * @param <K3>     type of the third element of the keys
+     * @param <K4>     type of the fourth element of the keys
+     * @param <K5>     type of the fifth element of the keys
+     * @param <TValue> type of the values
+     * @return the repository with keys of 5 elements
+     */
+    public static <K1, K2, K3, K4, K5, TValue> Keys5<K1, K2, K3, K4, K5, TValue> fromKeys5(
+            Executor executor, PentaFunctionThrowable<K1, K2, K3, K4, K5, TValue> valueFunction) {
+        return new Keys5<>(new ConcurrentHashMap<>(), executor, null, valueFunction);
+    }
+
+    /**
+     * Create a repository with keys of 6 elements to evaluate the values on the given executor.
+     *
+     * @param map             the concurrent map to keep the futures of the values
+     * @param executor        the executor to run the evaluations, or null to use the common ForkJoinPool
+     * @param changesConsumer Extra steps to run when any future is cached or evicted
+     * @param valueFunction   Function to map 6 keys to the value
+     * @param <K1>     type of the first element of the keys
+     * @param <K2>     type of the second element of the keys
+     * @param <K3>     type of the third element of the keys
+     * @param <K4>     type of the fourth element of the keys
+     * @param <K5>     type of the fifth element of the keys
+     * @param <K6>     type of the sixth element of the keys
+     * @param <TValue> type of the values
+     * @return the repository with keys of 6 elements
+     */
+    public static <K1, K2, K3, K4, K5, K6, TValue> Keys6<K1, K2, K3, K4, K5, K6, TValue> fromKeys6(
+            ConcurrentMap<Tuple6<K1, K2, K3, K4, K5, K6>, CompletableFuture<TValue>> map, Executor executor,
+            TriConsumerThrowable<Tuple6<K1, K2, K3, K4, K5, K6>, CompletableFuture<TValue>, CompletableFuture<TValue>> changesConsumer,
+            HexaFunctionThrowable<K1, K2, K3, K4, K5, K6, TValue> valueFunction) {
+        return new Keys6<>(map, executor, changesConsumer, valueFunction);
+    }
+
+    /**
+     * Create a repository with keys of 6 elements as a ConcurrentHashMap to evaluate the values on the given executor.
+     *
+     * @param executor      the executor to run the evaluations, or null to use the common ForkJoinPool
+     * @param valueFunction Function to map 6 keys to the value
+     * @param <K1>     type of the first element of the keys
+     * @param <K2>     type of the second element of the keys
+     * @param <K3>     type of the third element of the keys
+     * @param <K4>     type of the fourth element of the keys
+     * @param <K5>     type of the fifth element of the keys
+     * @param <K6>     type of the sixth element of the keys
+     * @param <TValue> type of the values
+     * @return the repository with keys of 6 elements
+     */
+    public static <K1, K2, K3, K4, K5, K6, TValue> Keys6<K1, K2, K3, K4, K5, K6, TValue> fromKeys6(
+            Executor executor, HexaFunctionThrowable<K1, K2, K3, K4, K5, K6, TValue> valueFunction) {
+        return new Keys6<>(new ConcurrentHashMap<>(), executor, null, valueFunction);
+    }
+
+    /**
+     * Create a repository with keys of 7 elements to evaluate the values on the given executor.
+     *
+     * @param map             the concurrent map to keep the futures of the values
+     * @param executor        the executor to run the evaluations, or null to use the common ForkJoinPool
+     * @param changesConsumer Extra steps to run when any future is cached or evicted
+     * @param valueFunction   Function to map 7 keys to the value
+     * @param <K1>     type of the first element of the keys
+     * @param <K2>     type of the second element of the keys
+     * @param <K3>     type of the third element of the keys
+     * @param <K4>     type of the fourth element of the keys
+     * @param <K5>     type of the fifth element of the keys
+     * @param <K6>     type of the sixth element of the keys
+     * @param <K7>     type of the seventh element of the keys
+     * @param <TValue> type of the values
+     * @return the repository with keys of 7 elements
+     */
+    public static <K1, K2, K3, K4, K5, K6, K7, TValue> Keys7<K1, K2, K3, K4, K5, K6, K7, TValue> fromKeys7(
+            ConcurrentMap<Tuple7<K1, K2, K3, K4, K5, K6, K7>, CompletableFuture<TValue>> map, Executor executor,
+            TriConsumerThrowable<Tuple7<K1, K2, K3, K4, K5, K6, K7>, CompletableFuture<TValue>, CompletableFuture<TValue>> changesConsumer,
+            HeptaFunctionThrowable<K1, K2, K3, K4, K5, K6, K7, TValue> valueFunction) {
+        return new Keys7<>(map, executor, changesConsumer, valueFunction);
+    }
+
+    /**
+     * Create a repository with keys of 7 elements as a ConcurrentHashMap to evaluate the values on the given executor.
+     *
+     * @param executor      the executor to run the evaluations, or null to use the common ForkJoinPool
+     * @param valueFunction Function to map 7 keys to the value
+     * @param <K1>     type of the first element of the keys
+     * @param <K2>     type of the second element of the keys
+     * @param <K3>     type of the third element of the keys
+     * @param <K4>     type of the fourth element of the keys
+     * @param <K5>     type of the fifth element of the keys
+     * @param <K6>     type of the sixth element of the keys
+     * @param <K7>     type of the seventh element of the keys
+     * @param <TValue> type of the values
+     * @return the repository with keys of 7 elements
+     */
+    public static <K1, K2, K3, K4, K5, K6, K7, TValue> Keys7<K1, K2, K3, K4, K5, K6, K7, TValue> fromKeys7(
+            Executor executor, HeptaFunctionThrowable<K1, K2, K3, K4, K5, K6, K7, TValue> valueFunction) {
+        return new Keys7<>(new ConcurrentHashMap<>(), executor, null, valueFunction);
+    }
+
+    /**
+     * Get the shared future of the value mapped from the key, the evaluation of the value is started on the executor
+     * by the first call.
+     *
+     * @param tKey The key of type <code>TKey</code> to be mapped to value of type <code>TValue</code>
+     * @return the future of the value, it would be completed exceptionally if the key cannot be evaluated
+     * @throws Exception any Exception thrown by the changesConsumer
+     */
+    @Override
+    public CompletableFuture<TValue> apply(TKey tKey) throws Exception {
+        CompletableFuture<TValue> future = super.apply(tKey);
+        if (future instanceof Pending && ((Pending<TValue>) future).tryStart()) {
+            start(tKey, future);
+        }
+        return future;
+    }
+
+    /**
+     * Get the shared future of the value mapped from the key without throwing Exception.
+     *
+     * @param tKey The key of type <code>TKey</code> to be mapped to value of type <code>TValue</code>
+     * @return the future of the value, it would be completed exceptionally if the key cannot be evaluated
+     */
+    public CompletableFuture<TValue> getAsync(TKey tKey) {
+        try {
+            return apply(tKey);
+        } catch (Exception ex) {
+            CompletableFuture<TValue> failed = new CompletableFuture<>();
+            failed.completeExceptionally(ex);
+            return failed;
+        }
+    }
+
+    private void start(TKey tKey, CompletableFuture<TValue> future) {
+        //The future might also be failed or cancelled by any caller sharing it
+        future.whenComplete((value, ex) -> {
+            if (ex != null) {
+                evict(tKey, future);
+            }
+        });
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(asyncFunction.apply(tKey));
+                } catch (Throwable ex) {
+                    fail(tKey, future, ex);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            fail(tKey, future, ex);
+        }
+    }
+
+    //Evict the future before failing it, so that the key would be evaluated again once the failure is observed
+    private void fail(TKey tKey, CompletableFuture<TValue> future, Throwable ex) {
+        evict(tKey, future);
+        future.completeExceptionally(ex);
+    }
+
+    private void evict(TKey tKey, CompletableFuture<TValue> future) {
+        if (storage.remove(tKey, future) && changesConsumer != null) {
+            changesConsumer.tryAccept(tKey, future, null);
+        }
+    }
+
+    /**
+     * Asynchronous repository with keys of 2 elements.
+     *
+     * @param <K1>     type of the first element of the keys
+     * @param <K2>     type of the second element of the keys
+     * @param <TValue> type of the values
+     */
+    public static class Keys2<K1, K2, TValue> extends AsyncRepository<Tuple2<K1, K2>, TValue>
+            implements TupleKeys2<K1, K2> {
+
+        /**
+         * Construct a repository with keys of 2 elements.
+         *
+         * @param map             the concurrent map to keep the futures of the values
+         * @param executor        the executor to run the evaluations, or null to use the common ForkJoinPool
+         * @param changesConsumer Extra steps to run when any future is cached or evicted
+         * @param valueFunction   Function to map 2 keys to the value
+         */
+        protected Keys2(ConcurrentMap<Tuple2<K1, K2>, CompletableFuture<TValue>> map, Executor executor,
+                        TriConsumerThrowable<Tuple2<K1, K2>, CompletableFuture<TValue>, CompletableFuture<TValue>> changesConsumer,
+                        BiFunctionThrowable<K1, K2, TValue> valueFunction) {
+            super(map, executor, changesConsumer, key -> valueFunction.apply(key.getFirst(), key.getSecond()));
+        }
+
+        /**
+         * Get the shared future of the value mapped from the key composed by the given elements.
+         *
+         * @param k1 first element of the key, with type of <tt>K1</tt>
+         * @param k2 second element of the key, with type of <tt>K2</tt>
+         * @return the future of the value mapped from the key
+         */
+        public CompletableFuture<TValue> getAsync(K1 k1, K2 k2) {
+            return getAsync(getKey(k1, k2));
+        }
+    }
+
+    /**
+     * Asynchronous repository with keys of 3 elements.
+     *
+     * @param <K1>     type of the first element of the keys
+     * @param <K2>     type of the second element of the keys
+     * @param <K3>     type of the third element of the keys
+     * @param <TValue> type of the values
+     */
+    public static class Keys3<K1, K2, K3, TValue> extends AsyncRepository<Tuple3<K1, K2, K3>, TValue>
+            implements TupleKeys3<K1, K2, K3> {
+
+        /**
+         * Construct a repository with keys of 3 elements.
+         *
+         * @param map             the concurrent map to keep the futures of the values
+         * @param executor        the executor to run the evaluations, or null to use the common ForkJoinPool
+         * @param changesConsumer Extra steps to run when any future is cached or evicted
+         * @param valueFunction   Function to map 3 keys to the value
+         */
+        protected Keys3(ConcurrentMap<Tuple3<K1, K2, K3>, CompletableFuture<TValue>> map, Executor executor,
+                        TriConsumerThrowable<Tuple3<K1, K2, K3>, CompletableFuture<TValue>, CompletableFuture<TValue>> changesConsumer,
+                        TriFunctionThrowable<K1, K2, K3, TValue> valueFunction) {
+            super(map, executor, changesConsumer, key -> valueFunction.apply(key.getFirst(), key.getSecond(), key.getThird()));
+        }
+
+        /**
+         * Get the shared future of the value mapped from the key composed by the given elements.
+         *
+         * @param k1 first element of the key, with type of <tt>K1</tt>
+         * @param k2 second element of the key, with type of <tt>K2</tt>
+         * @param k3 third element of the key, with type of <tt>K3</tt>
+         * @return the future of the value mapped from the key
+         */
+        public CompletableFuture<TValue> getAsync(K1 k1, K2 k2, K3 k3) {
+            return getAsync(getKey(k1, k2, k3));
+        }
+    }
+
+    /**
+     * Asynchronous repository with keys of 4 elements.
+     *
+     * @param <K1>     type of the first element of the keys
+     * @param <K2>     type of the second element of the keys
+     * @param <K3>     type of the third element of the keys
+     * @param <K4>     type of the fourth element of the keys
+     * @param <TValue> type of the values
+     */
+    public static class Keys4<K1, K2, K3, K4, TValue> extends AsyncRepository<Tuple4<K1, K2, K3, K4>, TValue>
+            implements TupleKeys4<K1, K2, K3, K4> {
+
+        /**
+         * Construct a repository with keys of 4 elements.
+         *
+         * @param map             the concurrent map to keep the futures of the values
+         * @param executor        the executor to run the evaluations, or null to use the common ForkJoinPool
+         * @param changesConsumer Extra steps to run when any future is cached or evicted
+         * @param valueFunction   Function to map 4 keys to the value
+         */
+        protected Keys4(ConcurrentMap<Tuple4<K1, K2, K3, K4>, CompletableFuture<TValue>> map, Executor executor,
+                        TriConsumerThrowable<Tuple4<K1, K2, K3, K4>, CompletableFuture<TValue>, CompletableFuture<TValue>> changesConsumer,
+                        QuadFunctionThrowable<K1, K2, K3, K4, TValue> valueFunction) {
+            super(map, executor, changesConsumer, key -> valueFunction.apply(key.getFirst(), key.getSecond(), key.getThird(), key.getFourth()));
+        }
+
+        /**
+         * Get the shared future of the value mapped from the key composed by the given elements.
+         *
+         * @param k1 first element of the key, with type of <tt>K1</tt>
+         * @param k2 second element of the key, with type of <tt>K2</tt>
+         * @param k3 third element of the key, with type of <tt>K3</tt>
+         * @param k4 fourth element of the key, with type of <tt>K4</tt>
+         * @return the future of the value mapped from the key
+         */
+        public CompletableFuture<TValue> getAsync(K1 k1, K2 k2, K3 k3, K4 k4) {
+            return getAsync(getKey(k1, k2, k3, k4));
+        }
+    }
+
+    /**
+     * Asynchronous repository with keys of 5 elements.
+     *
+     * @param <K1>     type of the first element of the keys
+     * @param <K2>     type of the second element of the keys
+     * @param <K3>     type of the third element of the keys
+     * @param <K4>     type of the fourth element of the keys
+     * @param <K5>     type of the fifth element of the keys
+     * @param <TValue> type of the values
+     */
+    public static class Keys5<K1, K2, K3, K4, K5, TValue> extends AsyncRepository<Tuple5<K1, K2, K3, K4, K5>, TValue>
+            implements TupleKeys5<K1, K2, K3, K4, K5> {
+
+        /**
+         * Construct a repository with keys of 5 elements.
+         *
+         * @param map             the concurrent map to keep the futures of the values
+         * @param executor        the executor to run the evaluations, or null to use the common ForkJoinPool
+         * @param changesConsumer Extra steps to run when any future is cached or evicted
+         * @param valueFunction   Function to map 5 keys to the value
+         */
+        protected Keys5(ConcurrentMap<Tuple5<K1, K2, K3, K4, K5>, CompletableFuture<TValue>> map, Executor executor,
+                        TriConsumerThrowable<Tuple5<K1, K2, K3, K4, K5>, CompletableFuture<TValue>, CompletableFuture<TValue>> changesConsumer,
+                        PentaFunctionThrowable<K1, K2, K3, K4, K5, TValue> valueFunction) {
+            super(map, executor, changesConsumer, key -> valueFunction.apply(key.getFirst(), key.getSecond(), key.getThird(), key.getFourth(), key.getFifth()));
+        }
+
+        /**
+         * Get the shared future of the value mapped from the key composed by the given elements.
+         *
+         * @param k1 first element of the key, with type of <tt>K1</tt>
+         * @param k2 second element of the key, with type of <tt>K2</tt>
+         * @param k3 third element of the key, with type of <tt>K3</tt>
+         * @param k4 fourth element of the key, with type of <tt>K4</tt>
+         * @param k5 fifth element of the key, with type of <tt>K5</tt>
+         * @return the future of the value mapped from the key
+         */
+        public CompletableFuture<TValue> getAsync(K1 k1, K2 k2, K3 k3, K4 k4, K5 k5) {
+            return getAsync(getKey(k1, k2, k3, k4, k5));
+        }
+    }
+
+    /**
+     * Asynchronous repository with keys of 6 elements.
+     *
+     * @param <K1>     type of the first element of the keys
+     * @param <K2>     type of the second element of the keys
+     * @param <K3>     type of the third element of the keys
+     * @param <K4>     type of the fourth element of the keys
+     * @param <K5>     type of the fifth element of the keys
+     * @param <K6>     type of the sixth element of the keys
+     * @param <TValue> type of the values
+     */
+    public static class Keys6<K1, K2, K3, K4, K5, K6, TValue> extends AsyncRepository<Tuple6<K1, K2, K3, K4, K5, K6>, TValue>
+            implements TupleKeys6<K1, K2, K3, K4, K5, K6> {
+
+        /**
+         * Construct a repository with keys of 6 elements.
+         *
+         * @param map             the concurrent map to keep the futures of the values
+         * @param executor        the executor to run the evaluations, or null to use the common ForkJoinPool
+         * @param changesConsumer Extra steps to run when any future is cached or evicted
+         * @param valueFunction   Function to map 6 keys to the value
+         */
+        protected Keys6(ConcurrentMap<Tuple6<K1, K2, K3, K4, K5, K6>, CompletableFuture<TValue>> map, Executor executor,
+                        TriConsumerThrowable<Tuple6<K1, K2, K3, K4, K5, K6>, CompletableFuture<TValue>, CompletableFuture<TValue>> changesConsumer,
+                        HexaFunctionThrowable<K1, K2, K3, K4, K5, K6, TValue> valueFunction) {
+            super(map, executor, changesConsumer, key -> valueFunction.apply(key.getFirst(), key.getSecond(), key.getThird(), key.getFourth(), key.getFifth(), key.getSixth()));
+        }
+
+        /**
+         * Get the shared future of the value mapped from the key composed by the given elements.
+         *
+         * @param k1 first element of the key, with type of <tt>K1</tt>
+         * @param k2 second element of the key, with type of <tt>K2</tt>
+         * @param k3 third element of the key, with type of <tt>K3</tt>
+         * @param k4 fourth element of the key, with type of <tt>K4</tt>
+         * @param k5 fifth element of the key, with type of <tt>K5</tt>
+         * @param k6 sixth element of the key, with type of <tt>K6</tt>
+         * @return the future of the value mapped from the key
+         */
+        public CompletableFuture<TValue> getAsync(K1 k1, K2 k2, K3 k3, K4 k4, K5 k5, K6 k6) {
+            return getAsync(getKey(k1, k2, k3, k4, k5, k6));
+        }
+    }
+
+    /**
+     * Asynchronous repository with keys of 7 elements.
+     *
+     * @param <K1>     type of the first element of the keys
+     * @param <K2>     type of the second element of the keys
+     * @param <K3>     type of the third element of the keys
+     * @param <K4>     type of the fourth element of the keys
+     * @param <K5>     type of the fifth element of the keys
+     * @param <K6>     type of the sixth element of the keys
+     * @param <K7>     type of the seventh element of the keys
+     * @param <TValue> type of the values
+     */
+    public static class Keys7<K1, K2, K3, K4, K5, K6, K7, TValue> extends AsyncRepository<Tuple7<K1, K2, K3, K4, K5, K6, K7>, TValue>
+            implements TupleKeys7<K1, K2, K3, K4, K5, K6, K7> {
+
+        /**
+         * Construct a repository with keys of 7 elements.
+         *
+         * @param map             the concurrent map to keep the futures of the values
+         * @param executor        the executor to run the evaluations, or null to use the common ForkJoinPool
+         * @param changesConsumer Extra steps to run when any future is cached or evicted
+         * @param valueFunction   Function to map 7 keys to the value
+         */
+        protected Keys7(ConcurrentMap<Tuple7<K1, K2, K3, K4, K5, K6, K7>, CompletableFuture<TValue>> map, Executor executor,
+                        TriConsumerThrowable<Tuple7<K1, K2, K3, K4, K5, K6, K7>, CompletableFuture<TValue>, CompletableFuture<TValue>> changesConsumer,
+                        HeptaFunctionThrowable<K1, K2, K3, K4, K5, K6, K7, TValue> valueFunction) {
+            super(map, executor, changesConsumer, key -> valueFunction.apply(key.getFirst(), key.getSecond(), key.getThird(), key.getFourth(), key.getFifth(), key.getSixth(), key.getSeventh()));
+        }
+
+        /**
+         * Get the shared future of the value mapped from the key composed by the given elements.
+         *
+         * @param k1 first element of the key, with type of <tt>K1</tt>
+         * @param k2 second element of the key, with type of <tt>K2</tt>
+         * @param k3 third element of the key, with type of <tt>K3</tt>
+         * @param k4 fourth element of the key, with type of <tt>K4</tt>
+         * @param k5 fifth element of the key, with type of <tt>K5</tt>
+         * @param k6 sixth element of the key, with type of <tt>K6</tt>
+         * @param k7 seventh element of the key, with type of <tt>K7</tt>
+         * @return the future of the value mapped from the key
+         */
+        public CompletableFuture<TValue> getAsync(K1 k1, K2 k2, K3 k3, K4 k4, K5 k5, K6 k6, K7 k7) {
+            return getAsync(getKey(k1, k2, k3, k4, k5, k6, k7));
+        }
+    }
+}
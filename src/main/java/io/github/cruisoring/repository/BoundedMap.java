@@ -0,0 +1,470 @@
+package io.github.cruisoring.repository;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+import static io.github.cruisoring.Asserts.assertAllTrue;
+import static io.github.cruisoring.Asserts.checkNoneNulls;
+
+/**
+ * Thread-safe map keeping at most the given number of entries, the entries to be evicted once the size is exceeded
+ * are chosen by its {@code EvictionPolicy} in constant time. The entries are kept by a {@code ConcurrentHashMap}, so
+ * the reads never take the lock of the map: the keys hit are recorded by a striped {@code ReadBuffer} and applied to
+ * the policy in batches by the writes, or by the reader finding its stripe full, with the lock held. The writes and
+ * the policy are guarded by the lock, and the evicted entries are reported after the lock is released.
+ * When it is used as the storage of a {@code Repository}, the evictions are reported to the changesConsumer of the
+ * repository as <code>(key, oldValue, null)</code> like the removals.
+ * Like {@code ConcurrentHashMap}, neither null keys nor null values are permitted.
+ *
+ * @param <K> the type of keys maintained by this map
+ * @param <V> the type of mapped values
+ */
+public class BoundedMap<K, V> extends AbstractMap<K, V> implements ConcurrentMap<K, V> {
+
+    /**
+     * The value with its key, the key is recorded when the entry is hit with a stand-in of the key, like the
+     * <code>TupleProbe</code> to be reused once the lookup is done.
+     *
+     * @param <K> the type of keys maintained by the map
+     * @param <V> the type of mapped values
+     */
+    static final class Node<K, V> {
+        final K key;
+        final V value;
+
+        Node(K key, V value) {
+            this.key = Objects.requireNonNull(key);
+            this.value = Objects.requireNonNull(value);
+        }
+    }
+
+    /**
+     * Lossy buffer of the keys read without the lock, striped by the reading threads to avoid contention. Each stripe
+     * is a ring written by the readers with CAS and drained only by the thread holding the lock of the map, a key
+     * offered to a full or contended stripe is dropped since the policy only needs to approximate the accesses.
+     *
+     * @param <K> the type of keys recorded
+     */
+    static final class ReadBuffer<K> {
+        static final int STRIPE_SIZE = 16;
+        private static final int STRIPE_MASK = STRIPE_SIZE - 1;
+
+        private final int stripeMask;
+        private final AtomicReferenceArray<K> slots;
+        //Number of keys written to and drained from each stripe
+        private final AtomicLongArray tails;
+        private final AtomicLongArray heads;
+
+        ReadBuffer() {
+            int processors = Runtime.getRuntime().availableProcessors();
+            int stripes = Math.min(64, 1 << (32 - Integer.numberOfLeadingZeros(Math.max(1, processors) - 1)));
+            stripeMask = stripes - 1;
+            slots = new AtomicReferenceArray<>(stripes * STRIPE_SIZE);
+            tails = new AtomicLongArray(stripes);
+            heads = new AtomicLongArray(stripes);
+        }
+
+        /**
+         * Record a key read by the current thread.
+         *
+         * @param key the key read
+         * @return <code>false</code> if the stripe of the current thread is full and shall be drained, otherwise <code>true</code>
+         */
+        boolean offer(K key) {
+            int stripe = (int) Thread.currentThread().getId() & stripeMask;
+            long tail = tails.get(stripe);
+            if (tail - heads.get(stripe) >= STRIPE_SIZE) {
+                return false;
+            } else if (tails.compareAndSet(stripe, tail, tail + 1)) {
+                slots.lazySet(stripe * STRIPE_SIZE + (int) (tail & STRIPE_MASK), key);
+            }
+            return true;
+        }
+
+        //Must be called with the lock of the map held
+        void drainTo(EvictionPolicy<K> policy) {
+            for (int stripe = 0; stripe <= stripeMask; stripe++) {
+                long head = heads.get(stripe);
+                long tail = tails.get(stripe);
+                for (; head < tail; head++) {
+                    int index = stripe * STRIPE_SIZE + (int) (head & STRIPE_MASK);
+                    K key = slots.get(index);
+                    if (key == null) {
+                        //The slot is claimed but not filled yet, it would be drained next time
+                        break;
+                    }
+                    slots.lazySet(index, null);
+                    policy.onAccess(key);
+                }
+                heads.lazySet(stripe, head);
+            }
+        }
+    }
+
+    private final int maxSize;
+    private final EvictionPolicy<K> policy;
+    private final ConcurrentMap<K, Node<K, V>> entries = new ConcurrentHashMap<>();
+    private final ReadBuffer<K> readBuffer = new ReadBuffer<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile long evictionCount = 0;
+    //Created lazily as the views of AbstractMap
+    private transient Set<Entry<K, V>> entrySet;
+
+    private volatile BiConsumer<K, V> evictionListener;
+
+    /**
+     * Construct a map keeping at most the given number of entries with the given eviction policy.
+     *
+     * @param maxSize the maximum number of entries to be kept
+     * @param policy  the policy to choose the entries to be evicted
+     */
+    public BoundedMap(int maxSize, EvictionPolicy<K> policy) {
+        assertAllTrue(maxSize > 0);
+        this.maxSize = maxSize;
+        this.policy = checkNoneNulls(policy);
+    }
+
+    /**
+     * Create a map evicting the least recently used entries.
+     *
+     * @param maxSize the maximum number of entries to be kept
+     * @param <K>     the type of keys maintained by this map
+     * @param <V>     the type of mapped values
+     * @return the map bounded by the LRU policy
+     */
+    public static <K, V> BoundedMap<K, V> lru(int maxSize) {
+        return new BoundedMap<>(maxSize, EvictionPolicy.lru());
+    }
+
+    /**
+     * Create a map evicting the least frequently used one of a few sampled entries.
+     *
+     * @param maxSize the maximum number of entries to be kept
+     * @param <K>     the type of keys maintained by this map
+     * @param <V>     the type of mapped values
+     * @return the map bounded by the sampled LFU policy
+     */
+    public static <K, V> BoundedMap<K, V> lfu(int maxSize) {
+        return new BoundedMap<>(maxSize, EvictionPolicy.sampledLfu());
+    }
+
+    /**
+     * Create a map admitting new entries by their estimated frequencies with the W-TinyLFU policy, that suits the
+     * caches hit by a mixture of frequent keys and one-off keys.
+     *
+     * @param maxSize the maximum number of entries to be kept
+     * @param <K>     the type of keys maintained by this map
+     * @param <V>     the type of mapped values
+     * @return the map bounded by the W-TinyLFU policy
+     */
+    public static <K, V> BoundedMap<K, V> tinyLfu(int maxSize) {
+        return new BoundedMap<>(maxSize, EvictionPolicy.windowTinyLfu(maxSize));
+    }
+
+    /**
+     * Get the maximum number of entries to be kept by this map.
+     *
+     * @return the maximum size
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Get the number of entries evicted since this map is created.
+     *
+     * @return the number of evictions
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Set the action to run with each evicted entry, it is called without holding the lock of this map.
+     *
+     * @param listener the action to accept the key and value of the evicted entry, or null to ignore the evictions
+     */
+    void setEvictionListener(BiConsumer<K, V> listener) {
+        this.evictionListener = listener;
+    }
+
+    //Take the lock and apply the reads buffered so far to the policy before changing the entries
+    private void lockAndDrain() {
+        lock.lock();
+        readBuffer.drainTo(policy);
+    }
+
+    //Must be called with the lock held, returns the entries evicted to be reported after releasing the lock
+    private List<Entry<K, V>> evictIfNeeded() {
+        List<Entry<K, V>> evicted = Collections.emptyList();
+        while (entries.size() > maxSize) {
+            K victim = policy.selectVictim();
+            if (victim == null) {
+                break;
+            }
+            Node<K, V> node = entries.remove(victim);
+            if (node != null) {
+                if (evicted.isEmpty()) {
+                    evicted = new ArrayList<>();
+                }
+                evicted.add(new SimpleImmutableEntry<>(victim, node.value));
+                evictionCount++;
+            }
+        }
+        return evicted;
+    }
+
+    private void notifyEvictions(List<Entry<K, V>> evicted) {
+        BiConsumer<K, V> listener = evictionListener;
+        if (listener != null) {
+            for (Entry<K, V> entry : evicted) {
+                listener.accept(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    @Override
+    public V get(Object key) {
+        Node<K, V> node = key == null ? null : entries.get(key);
+        if (node == null) {
+            return null;
+        }
+        //Record the actual key instead of the given one that could be a stand-in to be reused
+        if (!readBuffer.offer(node.key) && lock.tryLock()) {
+            try {
+                readBuffer.drainTo(policy);
+                readBuffer.offer(node.key);
+            } finally {
+                lock.unlock();
+            }
+        }
+        return node.value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key != null && entries.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        if (value == null) {
+            return false;
+        }
+        for (Node<K, V> node : entries.values()) {
+            if (value.equals(node.value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        Node<K, V> node = new Node<>(key, value);
+        Node<K, V> old;
+        List<Entry<K, V>> evicted;
+        lockAndDrain();
+        try {
+            old = entries.put(key, node);
+            if (old == null) {
+                policy.onInsert(key);
+            } else {
+                policy.onAccess(key);
+            }
+            evicted = evictIfNeeded();
+        } finally {
+            lock.unlock();
+        }
+        notifyEvictions(evicted);
+        return old == null ? null : old.value;
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        Node<K, V> node = new Node<>(key, value);
+        List<Entry<K, V>> evicted;
+        lockAndDrain();
+        try {
+            Node<K, V> existing = entries.putIfAbsent(key, node);
+            if (existing != null) {
+                policy.onAccess(key);
+                return existing.value;
+            }
+            policy.onInsert(key);
+            evicted = evictIfNeeded();
+        } finally {
+            lock.unlock();
+        }
+        notifyEvictions(evicted);
+        return null;
+    }
+
+    @Override
+    public V remove(Object key) {
+        if (key == null) {
+            return null;
+        }
+        lockAndDrain();
+        try {
+            Node<K, V> node = entries.remove(key);
+            if (node == null) {
+                return null;
+            }
+            policy.onRemove(key);
+            return node.value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        if (key == null || value == null) {
+            return false;
+        }
+        lockAndDrain();
+        try {
+            Node<K, V> node = entries.get(key);
+            if (node == null || !value.equals(node.value)) {
+                return false;
+            }
+            entries.remove(key, node);
+            policy.onRemove(key);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean replace(K key, V oldValue, V newValue) {
+        Node<K, V> replacement = new Node<>(key, newValue);
+        lockAndDrain();
+        try {
+            Node<K, V> node = entries.get(key);
+            if (oldValue == null || node == null || !oldValue.equals(node.value)) {
+                return false;
+            }
+            entries.replace(key, node, replacement);
+            policy.onAccess(key);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public V replace(K key, V value) {
+        Node<K, V> replacement = new Node<>(key, value);
+        lockAndDrain();
+        try {
+            Node<K, V> node = entries.replace(key, replacement);
+            if (node == null) {
+                return null;
+            }
+            policy.onAccess(key);
+            return node.value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lockAndDrain();
+        try {
+            for (K key : entries.keySet()) {
+                policy.onRemove(key);
+            }
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Get a view of the entries backed by this map, it is iterated without the lock in the weakly consistent manner of
+     * {@code ConcurrentHashMap}, and the entries removed through it, or through the derived {@code keySet()} and
+     * {@code values()}, are removed from this map by {@code remove(key, value)} so that the policy is kept in line.
+     *
+     * @return the entries kept by this map
+     */
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        Set<Entry<K, V>> view = entrySet;
+        return view == null ? (entrySet = new EntrySet()) : view;
+    }
+
+    /**
+     * Entries of the map read from its nodes without counting as accesses.
+     */
+    final class EntrySet extends AbstractSet<Entry<K, V>> {
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            Iterator<Node<K, V>> nodes = entries.values().iterator();
+            return new Iterator<Entry<K, V>>() {
+                private Node<K, V> last;
+
+                @Override
+                public boolean hasNext() {
+                    return nodes.hasNext();
+                }
+
+                @Override
+                public Entry<K, V> next() {
+                    last = nodes.next();
+                    return new SimpleImmutableEntry<>(last.key, last.value);
+                }
+
+                @Override
+                public void remove() {
+                    if (last == null) {
+                        throw new IllegalStateException();
+                    }
+                    BoundedMap.this.remove(last.key, last.value);
+                    last = null;
+                }
+            };
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry<?, ?> entry = (Entry<?, ?>) o;
+            Node<K, V> node = entry.getKey() == null ? null : entries.get(entry.getKey());
+            return node != null && node.value.equals(entry.getValue());
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry<?, ?> entry = (Entry<?, ?>) o;
+            return BoundedMap.this.remove(entry.getKey(), entry.getValue());
+        }
+
+        @Override
+        public int size() {
+            return BoundedMap.this.size();
+        }
+
+        @Override
+        public void clear() {
+            BoundedMap.this.clear();
+        }
+    }
+}
@@ -0,0 +1,370 @@
+package io.github.cruisoring.repository;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static io.github.cruisoring.Asserts.assertAllTrue;
+
+/**
+ * Thread-safe map with classes as its keys, the values are attached to the classes with a {@code ClassValue} so that
+ * they could be read without locking. The keys are tracked weakly to support enumerating and counting the entries,
+ * and a value referring to nothing of its key class would not prevent the class and its loader from being unloaded.
+ * However, a value holding a strong reference to its key class, to another class of the same loader or to the loader
+ * itself keeps the class loaded as long as the value is attached, as the values of any {@code ClassValue} do, so such
+ * entries are only released by removing them, clearing the map or evicting them when the size is bounded.
+ * Like {@code ConcurrentHashMap}, neither null keys nor null values are permitted.
+ * When constructed with a maximum size, the earliest inserted entries would be evicted once the size is exceeded.
+ *
+ * @param <V> the type of mapped values
+ */
+public class ClassValueMap<V> extends AbstractMap<Class, V> implements ConcurrentMap<Class, V> {
+
+    /**
+     * Value attached to a class with the stamp of its insertion, replacing the value keeps the stamp so that only the
+     * insertion it belongs to could evict it.
+     */
+    private static final class Stamped<V> {
+        final V value;
+        final long stamp;
+
+        Stamped(V value, long stamp) {
+            this.value = value;
+            this.stamp = stamp;
+        }
+    }
+
+    /**
+     * Weak reference to a class inserted, outdated once the class is removed or inserted again with another stamp.
+     */
+    private static final class Insertion extends WeakReference<Class> {
+        final long stamp;
+
+        Insertion(Class key, long stamp) {
+            super(key);
+            this.stamp = stamp;
+        }
+    }
+
+    private final ClassValue<AtomicReference<Stamped<V>>> holders = new ClassValue<AtomicReference<Stamped<V>>>() {
+        @Override
+        protected AtomicReference<Stamped<V>> computeValue(Class<?> type) {
+            return new AtomicReference<>();
+        }
+    };
+
+    private final AtomicLong stamps = new AtomicLong();
+
+    //Keys with the stamps of their insertions are only used to enumerate the entries, held weakly and guarded by itself
+    private final Map<Class, Long> keys = new WeakHashMap<>();
+
+    private final int maxSize;
+
+    //Insertions in their order to choose the eldest to be evicted, null if the size is not bounded
+    private final Deque<Insertion> insertionOrder;
+
+    //Created lazily as the views of AbstractMap
+    private transient Set<Entry<Class, V>> entrySet;
+
+    /**
+     * Construct a map without limit of its size.
+     */
+    public ClassValueMap() {
+        this.maxSize = Integer.MAX_VALUE;
+        this.insertionOrder = null;
+    }
+
+    /**
+     * Construct a map keeping at most the given number of entries, the eldest inserted entry would be evicted when
+     * a new one makes the size exceeding the limit.
+     *
+     * @param maxSize the maximum number of entries to be kept
+     */
+    public ClassValueMap(int maxSize) {
+        assertAllTrue(maxSize > 0);
+        this.maxSize = maxSize;
+        this.insertionOrder = new ArrayDeque<>();
+    }
+
+    /**
+     * Get the maximum number of entries to be kept by this map.
+     *
+     * @return the maximum size, or {@code Integer.MAX_VALUE} if it is not bounded
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    private AtomicReference<Stamped<V>> holderOf(Object key) {
+        return key instanceof Class ? holders.get((Class) key) : null;
+    }
+
+    private boolean isCurrent(Class key, long stamp) {
+        Long current = keys.get(key);
+        return current != null && current == stamp;
+    }
+
+    private void track(Class key, long stamp) {
+        synchronized (keys) {
+            //The value published could have been removed before getting here, and its untrack() would find nothing
+            Stamped<V> current = holders.get(key).get();
+            if (current == null || current.stamp != stamp) {
+                return;
+            }
+            keys.put(key, stamp);
+            if (insertionOrder == null) {
+                return;
+            }
+
+            insertionOrder.add(new Insertion(key, stamp));
+            while (keys.size() > maxSize && !insertionOrder.isEmpty()) {
+                Insertion eldest = insertionOrder.poll();
+                Class eldestKey = eldest.get();
+                //Insertions of the classes collected, removed or inserted again are skipped
+                if (eldestKey != null && isCurrent(eldestKey, eldest.stamp)) {
+                    keys.remove(eldestKey);
+                    evict(eldestKey, eldest.stamp);
+                }
+            }
+            //Drop the outdated insertions to keep the queue in line with the keys
+            if (insertionOrder.size() > 2 * keys.size() + 16) {
+                insertionOrder.removeIf(insertion -> {
+                    Class insertedKey = insertion.get();
+                    return insertedKey == null || !isCurrent(insertedKey, insertion.stamp);
+                });
+            }
+        }
+    }
+
+    private void untrack(Object key, long stamp) {
+        synchronized (keys) {
+            //The key could have been inserted again before getting here
+            if (isCurrent((Class) key, stamp)) {
+                keys.remove(key);
+            }
+        }
+    }
+
+    //Clear the value only if it is still of the given insertion, a value put concurrently afterwards is kept
+    private void evict(Class key, long stamp) {
+        AtomicReference<Stamped<V>> holder = holders.get(key);
+        Stamped<V> current;
+        while ((current = holder.get()) != null && current.stamp == stamp) {
+            if (holder.compareAndSet(current, null)) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public V get(Object key) {
+        AtomicReference<Stamped<V>> holder = holderOf(key);
+        Stamped<V> current = holder == null ? null : holder.get();
+        return current == null ? null : current.value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public V put(Class key, V value) {
+        AtomicReference<Stamped<V>> holder = holders.get(Objects.requireNonNull(key));
+        Objects.requireNonNull(value);
+        while (true) {
+            Stamped<V> current = holder.get();
+            long stamp = current == null ? stamps.incrementAndGet() : current.stamp;
+            if (holder.compareAndSet(current, new Stamped<>(value, stamp))) {
+                if (current == null) {
+                    track(key, stamp);
+                    return null;
+                }
+                return current.value;
+            }
+        }
+    }
+
+    @Override
+    public V putIfAbsent(Class key, V value) {
+        AtomicReference<Stamped<V>> holder = holders.get(Objects.requireNonNull(key));
+        Objects.requireNonNull(value);
+        while (true) {
+            Stamped<V> current = holder.get();
+            if (current != null) {
+                return current.value;
+            }
+            long stamp = stamps.incrementAndGet();
+            if (holder.compareAndSet(null, new Stamped<>(value, stamp))) {
+                track(key, stamp);
+                return null;
+            }
+        }
+    }
+
+    @Override
+    public V remove(Object key) {
+        AtomicReference<Stamped<V>> holder = holderOf(key);
+        Stamped<V> current;
+        while (holder != null && (current = holder.get()) != null) {
+            if (holder.compareAndSet(current, null)) {
+                untrack(key, current.stamp);
+                return current.value;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        AtomicReference<Stamped<V>> holder = holderOf(key);
+        Stamped<V> current;
+        while (holder != null && value != null && (current = holder.get()) != null && value.equals(current.value)) {
+            if (holder.compareAndSet(current, null)) {
+                untrack(key, current.stamp);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean replace(Class key, V oldValue, V newValue) {
+        AtomicReference<Stamped<V>> holder = holderOf(key);
+        Objects.requireNonNull(newValue);
+        Stamped<V> current;
+        while (holder != null && oldValue != null && (current = holder.get()) != null && oldValue.equals(current.value)) {
+            if (holder.compareAndSet(current, new Stamped<>(newValue, current.stamp))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public V replace(Class key, V value) {
+        AtomicReference<Stamped<V>> holder = holderOf(key);
+        Objects.requireNonNull(value);
+        Stamped<V> current;
+        while (holder != null && (current = holder.get()) != null) {
+            if (holder.compareAndSet(current, new Stamped<>(value, current.stamp))) {
+                return current.value;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void clear() {
+        Map<Class, Long> snapshot;
+        synchronized (keys) {
+            snapshot = new HashMap<>(keys);
+            keys.clear();
+            if (insertionOrder != null) {
+                insertionOrder.clear();
+            }
+        }
+        snapshot.forEach(this::evict);
+    }
+
+    @Override
+    public int size() {
+        synchronized (keys) {
+            return keys.size();
+        }
+    }
+
+    /**
+     * Get a view of the entries backed by this map: the keys are iterated from a snapshot taken when the iteration
+     * starts, their current values are read as they are reached, and the entries removed through the view, or through
+     * the derived {@code keySet()} and {@code values()}, are removed from this map by {@code remove(key, value)}.
+     *
+     * @return the entries kept by this map
+     */
+    @Override
+    public Set<Entry<Class, V>> entrySet() {
+        Set<Entry<Class, V>> view = entrySet;
+        return view == null ? (entrySet = new EntrySet()) : view;
+    }
+
+    /**
+     * Entries of the map with the keys tracked by {@code keys} and the values attached by {@code holders}.
+     */
+    final class EntrySet extends AbstractSet<Entry<Class, V>> {
+        @Override
+        public Iterator<Entry<Class, V>> iterator() {
+            List<Class> snapshot;
+            synchronized (keys) {
+                snapshot = new ArrayList<>(keys.keySet());
+            }
+            Iterator<Class> keyIterator = snapshot.iterator();
+            return new Iterator<Entry<Class, V>>() {
+                private Entry<Class, V> next;
+                private Entry<Class, V> last;
+
+                @Override
+                public boolean hasNext() {
+                    //Skip the keys whose values have been removed since the snapshot
+                    while (next == null && keyIterator.hasNext()) {
+                        Class key = keyIterator.next();
+                        V value = get(key);
+                        if (value != null) {
+                            next = new SimpleImmutableEntry<>(key, value);
+                        }
+                    }
+                    return next != null;
+                }
+
+                @Override
+                public Entry<Class, V> next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    last = next;
+                    next = null;
+                    return last;
+                }
+
+                @Override
+                public void remove() {
+                    if (last == null) {
+                        throw new IllegalStateException();
+                    }
+                    ClassValueMap.this.remove(last.getKey(), last.getValue());
+                    last = null;
+                }
+            };
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry<?, ?> entry = (Entry<?, ?>) o;
+            V value = get(entry.getKey());
+            return value != null && value.equals(entry.getValue());
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry<?, ?> entry = (Entry<?, ?>) o;
+            return ClassValueMap.this.remove(entry.getKey(), entry.getValue());
+        }
+
+        @Override
+        public int size() {
+            return ClassValueMap.this.size();
+        }
+
+        @Override
+        public void clear() {
+            ClassValueMap.this.clear();
+        }
+    }
+}
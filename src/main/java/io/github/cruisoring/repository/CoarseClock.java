@@ -0,0 +1,82 @@
+package io.github.cruisoring.repository;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Monotonic clock of milliseconds advanced by a daemon thread once per tick, so that checking the age of a cached
+ * entry costs a volatile read instead of calling the system clock on every hit. The time read could be behind the
+ * actual time by at most one tick, which is negligible comparing with the lifetimes of the entries.
+ * The ticker is started by the first reading, and stops itself once the clock has not been read for
+ * {@code IDLE_TICKS} ticks, so it never keeps running, or keeps the class loaded, after the maps using it are gone;
+ * the next reading gets the system time directly and starts it again.
+ */
+final class CoarseClock {
+    static final long TICK_MILLIS = 10;
+    static final int IDLE_TICKS = 100;
+
+    private static volatile long now = currentMillis();
+    //Set by the readers, and cleared by the ticker on each tick to detect if the clock is still used
+    private static volatile boolean read = false;
+    private static final AtomicBoolean ticking = new AtomicBoolean(false);
+
+    private CoarseClock() {
+    }
+
+    private static long currentMillis() {
+        return System.nanoTime() / 1000000L;
+    }
+
+    private static void start() {
+        now = currentMillis();
+        read = true;
+        if (ticking.compareAndSet(false, true)) {
+            Thread ticker = new Thread(CoarseClock::tick, "CoarseClock");
+            ticker.setDaemon(true);
+            ticker.setContextClassLoader(null);
+            ticker.start();
+        }
+    }
+
+    private static void tick() {
+        try {
+            int idleTicks = 0;
+            while (idleTicks < IDLE_TICKS) {
+                Thread.sleep(TICK_MILLIS);
+                now = currentMillis();
+                if (read) {
+                    read = false;
+                    idleTicks = 0;
+                } else {
+                    idleTicks++;
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            ticking.set(false);
+        }
+    }
+
+    /**
+     * Check if the ticker is running.
+     *
+     * @return <code>true</code> if the clock is advanced by the ticker, <code>false</code> if it has stopped for idle
+     */
+    static boolean isTicking() {
+        return ticking.get();
+    }
+
+    /**
+     * Get the milliseconds of the last tick, it is only meaningful to compare with another reading.
+     *
+     * @return the milliseconds since an arbitrary origin
+     */
+    static long millis() {
+        if (!ticking.get()) {
+            start();
+        } else if (!read) {
+            read = true;
+        }
+        return now;
+    }
+}
@@ -0,0 +1,107 @@
+package io.github.cruisoring.repository;
+
+import io.github.cruisoring.throwables.FunctionThrowable;
+import io.github.cruisoring.throwables.TriConsumerThrowable;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static io.github.cruisoring.Asserts.assertAllNotNull;
+import static io.github.cruisoring.TypeHelper.valueEquals;
+
+/**
+ * Thread-safe repository backed by a {@code ConcurrentMap}: concurrent misses of the same key would wait for a single
+ * evaluation in flight, keys are updated atomically, and the changesConsumer is notified once per change.
+ * Notice: the {@code TupleRepository}s and their {@code TupleKeys} variants get the same single-flight evaluations
+ * when they are constructed with a {@code ConcurrentMap}, like a {@code ConcurrentHashMap}.
+ *
+ * @param <TKey>   the type of keys maintained by this map
+ * @param <TValue> the type of mapped values
+ */
+public class ConcurrentRepository<TKey, TValue> extends Repository<TKey, TValue> {
+
+    /**
+     * Construct a repository with given concurrent map, extra changesConsumer logic and Function to map key to value
+     *
+     * @param map             the concurrent map to keep the values
+     * @param changesConsumer Extra steps to run when any entry updated
+     * @param valueFunction   Function to map key of TKey type to value of TValue type
+     */
+    public ConcurrentRepository(ConcurrentMap<TKey, TValue> map,
+                                TriConsumerThrowable<TKey, TValue, TValue> changesConsumer,
+                                FunctionThrowable<TKey, TValue> valueFunction) {
+        super(map, changesConsumer, valueFunction);
+    }
+
+    /**
+     * Construct a repository as a ConcurrentHashMap with extra changesConsumer logic and Function to map key to value
+     *
+     * @param changesConsumer Extra steps to run when any entry updated
+     * @param valueFunction   Function to map key of TKey type to value of TValue type
+     */
+    public ConcurrentRepository(TriConsumerThrowable<TKey, TValue, TValue> changesConsumer,
+                                FunctionThrowable<TKey, TValue> valueFunction) {
+        this(new ConcurrentHashMap<>(), changesConsumer, valueFunction);
+    }
+
+    /**
+     * Construct a repository as a ConcurrentHashMap without extra changesConsumer logic
+     *
+     * @param valueFunction Function to map key of TKey type to value of TValue type
+     */
+    public ConcurrentRepository(FunctionThrowable<TKey, TValue> valueFunction) {
+        this(new ConcurrentHashMap<>(), null, valueFunction);
+    }
+
+    /**
+     * Get the number of keys being evaluated at the moment.
+     *
+     * @return the number of evaluations in flight
+     */
+    public int getLoadingCount() {
+        return loadings.size();
+    }
+
+    /**
+     * Update the value mapped from a given key with newValue atomically, it would fail if the value has been changed
+     * by others since the existingValue was got.
+     *
+     * @param tKey          The key used to get the concerned value
+     * @param existingValue The existing value mapped from the given key, or null if the map does not contains the key
+     * @param newValue      The value to replace the existing value, or null to remove the key
+     * @return The latest value related with the given key
+     * @throws Exception if the existingValue doesn't match the current value, or thrown by the changesConsumer
+     */
+    @Override
+    public TValue update(TKey tKey, TValue existingValue, TValue newValue) throws Exception {
+        assertAllNotNull(tKey);
+
+        //No need to update value of the map if there is no changes
+        if (valueEquals(existingValue, newValue))
+            return existingValue;
+
+        ConcurrentMap<TKey, TValue> map = (ConcurrentMap<TKey, TValue>) storage;
+        boolean updated = false;
+        while (!updated) {
+            //The values are matched by valueEquals(), then the instance actually kept is swapped by the map atomically
+            TValue current = map.get(tKey);
+            if (current == null && existingValue != null) {
+                throw new Exception("The existingValue shall be null when there is no entry of key of " + tKey);
+            } else if (current != null && !valueEquals(existingValue, current)) {
+                throw new Exception("The existing value of '" + tKey + "' doesn't match with " + existingValue);
+            }
+
+            if (current == null) {
+                updated = map.putIfAbsent(tKey, newValue) == null;
+            } else if (newValue == null) {
+                updated = map.remove(tKey, current);
+            } else {
+                updated = map.replace(tKey, current, newValue);
+            }
+        }
+
+        if (changesConsumer != null)
+            changesConsumer.accept(tKey, existingValue, newValue);
+        return newValue;
+    }
+}
@@ -0,0 +1,72 @@
+package io.github.cruisoring.repository;
+
+/**
+ * Strategy of a {@code BoundedMap} to choose the entries to be evicted once its maximum size is exceeded.
+ * The policy only tracks the keys, it is always called by the map with its lock held, and all the operations are
+ * expected to run in constant time.
+ *
+ * @param <K> the type of keys maintained by the map
+ */
+public interface EvictionPolicy<K> {
+
+    /**
+     * Get the policy to evict the least recently used entries.
+     *
+     * @param <K> the type of keys maintained by the map
+     * @return the LRU policy
+     */
+    static <K> EvictionPolicy<K> lru() {
+        return new LruPolicy<>();
+    }
+
+    /**
+     * Get the policy to evict the least frequently used one of a few randomly sampled entries.
+     *
+     * @param <K> the type of keys maintained by the map
+     * @return the sampled LFU policy
+     */
+    static <K> EvictionPolicy<K> sampledLfu() {
+        return new SampledLfuPolicy<>(SampledLfuPolicy.DEFAULT_SAMPLE_SIZE);
+    }
+
+    /**
+     * Get the W-TinyLFU policy: new entries are kept by a small LRU window first, then admitted to the main LRU region
+     * only when they are estimated to be used more frequently than its victim, so that one-off keys would not flush
+     * the entries used frequently.
+     *
+     * @param maxSize the maximum size of the map to be bounded
+     * @param <K>     the type of keys maintained by the map
+     * @return the W-TinyLFU policy
+     */
+    static <K> EvictionPolicy<K> windowTinyLfu(int maxSize) {
+        return new TinyLfuPolicy<>(maxSize);
+    }
+
+    /**
+     * Start tracking a key inserted to the map.
+     *
+     * @param key the key inserted
+     */
+    void onInsert(K key);
+
+    /**
+     * Record a hit or update of a key tracked already.
+     *
+     * @param key the key being used, or its stand-in equal to it
+     */
+    void onAccess(Object key);
+
+    /**
+     * Stop tracking a key removed from the map explicitly.
+     *
+     * @param key the key removed
+     */
+    void onRemove(Object key);
+
+    /**
+     * Choose the key to be evicted and stop tracking it.
+     *
+     * @return the key to be evicted, or <tt>null</tt> if there is no key tracked
+     */
+    K selectVictim();
+}
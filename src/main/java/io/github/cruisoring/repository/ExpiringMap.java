@@ -0,0 +1,317 @@
+package io.github.cruisoring.repository;
+
+import io.github.cruisoring.throwables.FunctionThrowable;
+import io.github.cruisoring.throwables.TriConsumerThrowable;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.github.cruisoring.Asserts.assertAllTrue;
+import static io.github.cruisoring.TypeHelper.valueEquals;
+
+/**
+ * Thread-safe map whose entries are stamped with the time they are written:
+ * <ul>
+ * <li>once expired, an entry is treated as absent, so it would be evaluated again; it is removed when it is read, or
+ * by the sweep run by the writes at most once per expiring duration, so the entries never read again are not kept
+ * for more than twice of the duration as long as the map is still written</li>
+ * <li>once due to be refreshed, the stale value is still returned while a single reload runs on the executor; if the
+ * reload fails, the next one is not triggered until the refreshing duration passes again</li>
+ * </ul>
+ * The ages are measured by a coarse clock ticking every {@code CoarseClock.TICK_MILLIS} milliseconds, so that a hit
+ * costs no more than reading a volatile field.
+ * When it is used as the storage of a {@code Repository}, the reloads are evaluated by the valueFunction of the
+ * repository, and the refreshed and expired entries are reported to its changesConsumer as
+ * <code>(key, oldValue, newValue)</code> and <code>(key, oldValue, null)</code> respectively.
+ * Like {@code ConcurrentHashMap}, neither null keys nor null values are permitted.
+ *
+ * @param <K> the type of keys maintained by this map
+ * @param <V> the type of mapped values
+ */
+public class ExpiringMap<K, V> extends AbstractMap<K, V> implements ConcurrentMap<K, V> {
+
+    /**
+     * The value with its key and the time it is written, the key is kept to reload the value when the entry is looked
+     * up with a stand-in of the key.
+     *
+     * @param <K> the type of keys maintained by the map
+     * @param <V> the type of mapped values
+     */
+    static final class Stamped<K, V> {
+        final K key;
+        final V value;
+        final long writeTime = CoarseClock.millis();
+        //Set by the only reader triggering the reload
+        final AtomicBoolean refreshing = new AtomicBoolean();
+        //The time of the write or of the last failed reload, the next reload is due after the refreshing duration since then
+        volatile long refreshBase = writeTime;
+
+        Stamped(K key, V value) {
+            this.key = Objects.requireNonNull(key);
+            this.value = Objects.requireNonNull(value);
+        }
+    }
+
+    private final ConcurrentMap<K, Stamped<K, V>> entries = new ConcurrentHashMap<>();
+    private final long expireAfterWriteMillis;
+    private final long refreshAfterWriteMillis;
+    private final Executor executor;
+    //The time after which the next write would sweep the expired entries
+    private final AtomicLong nextSweep;
+
+    private volatile FunctionThrowable<K, V> reloader;
+    private volatile TriConsumerThrowable<K, V, V> changesConsumer;
+
+    /**
+     * Construct a map to expire and/or refresh its entries after they are written.
+     *
+     * @param expireAfterWrite  the duration to expire the entries after being written, 0 to keep them until removed
+     * @param refreshAfterWrite the duration to refresh the entries after being written, 0 to never refresh them
+     * @param unit              the unit of the durations
+     * @param executor          the executor to run the reloads, or null to use the common ForkJoinPool
+     */
+    public ExpiringMap(long expireAfterWrite, long refreshAfterWrite, TimeUnit unit, Executor executor) {
+        assertAllTrue(expireAfterWrite >= 0, refreshAfterWrite >= 0, expireAfterWrite > 0 || refreshAfterWrite > 0,
+                expireAfterWrite == 0 || refreshAfterWrite < expireAfterWrite);
+        this.expireAfterWriteMillis = unit.toMillis(expireAfterWrite);
+        this.refreshAfterWriteMillis = unit.toMillis(refreshAfterWrite);
+        this.executor = executor == null ? ForkJoinPool.commonPool() : executor;
+        this.nextSweep = new AtomicLong(CoarseClock.millis() + expireAfterWriteMillis);
+    }
+
+    /**
+     * Create a map to expire the entries after being written for the given duration.
+     *
+     * @param duration the duration to expire the entries after being written
+     * @param unit     the unit of the duration
+     * @param <K>      the type of keys maintained by this map
+     * @param <V>      the type of mapped values
+     * @return the map to expire its entries
+     */
+    public static <K, V> ExpiringMap<K, V> expireAfterWrite(long duration, TimeUnit unit) {
+        return new ExpiringMap<>(duration, 0, unit, null);
+    }
+
+    /**
+     * Create a map to reload the entries on the given executor after being written for the given duration, the stale
+     * values would be returned until the reloads are completed.
+     *
+     * @param duration the duration to refresh the entries after being written
+     * @param unit     the unit of the duration
+     * @param executor the executor to run the reloads, or null to use the common ForkJoinPool
+     * @param <K>      the type of keys maintained by this map
+     * @param <V>      the type of mapped values
+     * @return the map to refresh its entries
+     */
+    public static <K, V> ExpiringMap<K, V> refreshAfterWrite(long duration, TimeUnit unit, Executor executor) {
+        return new ExpiringMap<>(0, duration, unit, executor);
+    }
+
+    /**
+     * Get the milliseconds to expire the entries after being written.
+     *
+     * @return the milliseconds to expire the entries, or 0 if they never expire
+     */
+    public long getExpireAfterWriteMillis() {
+        return expireAfterWriteMillis;
+    }
+
+    /**
+     * Get the milliseconds to refresh the entries after being written.
+     *
+     * @return the milliseconds to refresh the entries, or 0 if they are never refreshed
+     */
+    public long getRefreshAfterWriteMillis() {
+        return refreshAfterWriteMillis;
+    }
+
+    /**
+     * Bind the function to reload the values, and the consumer to be notified with the refreshed or expired entries.
+     *
+     * @param reloader        the function to reload the value of a key, or null to never refresh the entries
+     * @param changesConsumer the consumer of the changes, or null to ignore them
+     */
+    void bind(FunctionThrowable<K, V> reloader, TriConsumerThrowable<K, V, V> changesConsumer) {
+        this.reloader = reloader;
+        this.changesConsumer = changesConsumer;
+    }
+
+    private boolean isExpired(Stamped<K, V> stamped, long now) {
+        return expireAfterWriteMillis > 0 && now - stamped.writeTime >= expireAfterWriteMillis;
+    }
+
+    private void expire(Object key, Stamped<K, V> stamped) {
+        if (entries.remove(key, stamped)) {
+            TriConsumerThrowable<K, V, V> consumer = changesConsumer;
+            if (consumer != null) {
+                consumer.tryAccept(stamped.key, stamped.value, null);
+            }
+        }
+    }
+
+    //Get the live entry of the key, the expired entry is removed
+    private Stamped<K, V> getLive(Object key) {
+        Stamped<K, V> stamped = key == null ? null : entries.get(key);
+        if (stamped != null && isExpired(stamped, CoarseClock.millis())) {
+            expire(key, stamped);
+            return null;
+        }
+        return stamped;
+    }
+
+    //Remove all expired entries by the only writer seeing the sweep is due, the cost is amortized by the expiring duration
+    private void sweepIfDue() {
+        if (expireAfterWriteMillis == 0) {
+            return;
+        }
+        long now = CoarseClock.millis();
+        long due = nextSweep.get();
+        if (now >= due && nextSweep.compareAndSet(due, now + expireAfterWriteMillis)) {
+            entries.forEach((key, stamped) -> {
+                if (isExpired(stamped, now)) {
+                    expire(key, stamped);
+                }
+            });
+        }
+    }
+
+    private void reload(Stamped<K, V> stamped) {
+        K key = stamped.key;
+        try {
+            V value = reloader.apply(key);
+            if (value != null && entries.replace(key, stamped, new Stamped<>(key, value))) {
+                TriConsumerThrowable<K, V, V> consumer = changesConsumer;
+                if (consumer != null && !valueEquals(stamped.value, value)) {
+                    consumer.tryAccept(key, stamped.value, value);
+                }
+                return;
+            }
+        } catch (Exception ex) {
+        }
+        retryLater(stamped);
+    }
+
+    //Keep serving the stale value, and back off for another refreshing duration before the next reload
+    private void retryLater(Stamped<K, V> stamped) {
+        stamped.refreshBase = CoarseClock.millis();
+        stamped.refreshing.set(false);
+    }
+
+    @Override
+    public V get(Object key) {
+        if (key == null) {
+            return null;
+        }
+        Stamped<K, V> stamped = entries.get(key);
+        if (stamped == null) {
+            return null;
+        }
+
+        long now = CoarseClock.millis();
+        if (isExpired(stamped, now)) {
+            expire(key, stamped);
+            return null;
+        } else if (refreshAfterWriteMillis > 0 && now - stamped.refreshBase >= refreshAfterWriteMillis
+                && reloader != null && stamped.refreshing.compareAndSet(false, true)) {
+            try {
+                executor.execute(() -> reload(stamped));
+            } catch (RejectedExecutionException ex) {
+                retryLater(stamped);
+            }
+        }
+        return stamped.value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return getLive(key) != null;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        Stamped<K, V> previous = entries.put(key, new Stamped<>(key, value));
+        sweepIfDue();
+        return previous == null || isExpired(previous, CoarseClock.millis()) ? null : previous.value;
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        Stamped<K, V> stamped = new Stamped<>(key, value);
+        while (true) {
+            Stamped<K, V> existing = entries.putIfAbsent(key, stamped);
+            if (existing == null) {
+                sweepIfDue();
+                return null;
+            } else if (!isExpired(existing, CoarseClock.millis())) {
+                return existing.value;
+            }
+            expire(key, existing);
+        }
+    }
+
+    @Override
+    public V remove(Object key) {
+        Stamped<K, V> stamped = getLive(key);
+        return stamped != null && entries.remove(key, stamped) ? stamped.value : null;
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        Stamped<K, V> stamped = getLive(key);
+        return stamped != null && stamped.value.equals(value) && entries.remove(key, stamped);
+    }
+
+    @Override
+    public boolean replace(K key, V oldValue, V newValue) {
+        Stamped<K, V> stamped = getLive(key);
+        if (stamped == null || !stamped.value.equals(oldValue) || !entries.replace(key, stamped, new Stamped<>(key, newValue))) {
+            return false;
+        }
+        sweepIfDue();
+        return true;
+    }
+
+    @Override
+    public V replace(K key, V value) {
+        Stamped<K, V> stamped = getLive(key);
+        if (stamped == null || !entries.replace(key, stamped, new Stamped<>(key, value))) {
+            return null;
+        }
+        sweepIfDue();
+        return stamped.value;
+    }
+
+    @Override
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Returns the number of entries, including the expired ones that have been neither read nor swept since then.
+     *
+     * @return the number of entries kept by this map
+     */
+    @Override
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Get a snapshot of the entries that are not expired, it is not affected by the later changes of this map.
+     *
+     * @return the live entries kept by this map at the moment
+     */
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        long now = CoarseClock.millis();
+        Map<K, V> snapshot = new HashMap<>();
+        entries.forEach((key, stamped) -> {
+            if (!isExpired(stamped, now)) {
+                snapshot.put(key, stamped.value);
+            }
+        });
+        return snapshot.entrySet();
+    }
+}
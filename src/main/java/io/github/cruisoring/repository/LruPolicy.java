@@ -0,0 +1,51 @@
+package io.github.cruisoring.repository;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * Evict the least recently used key, the keys are kept by an access-ordered {@code LinkedHashMap} so that any hit
+ * moves the key to the tail in constant time.
+ *
+ * @param <K> the type of keys maintained by the map
+ */
+final class LruPolicy<K> implements EvictionPolicy<K> {
+    private final LinkedHashMap<K, Boolean> order = new LinkedHashMap<>(16, 0.75f, true);
+
+    @Override
+    public void onInsert(K key) {
+        order.put(key, Boolean.TRUE);
+    }
+
+    @Override
+    public void onAccess(Object key) {
+        order.get(key);
+    }
+
+    @Override
+    public void onRemove(Object key) {
+        order.remove(key);
+    }
+
+    @Override
+    public K selectVictim() {
+        K eldest = peekEldest();
+        if (eldest != null) {
+            order.remove(eldest);
+        }
+        return eldest;
+    }
+
+    K peekEldest() {
+        Iterator<K> iterator = order.keySet().iterator();
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+
+    boolean contains(Object key) {
+        return order.containsKey(key);
+    }
+
+    int size() {
+        return order.size();
+    }
+}
@@ -3,9 +3,12 @@ package io.github.cruisoring.repository;
 import io.github.cruisoring.logger.Logger;
 import io.github.cruisoring.throwables.FunctionThrowable;
 import io.github.cruisoring.throwables.TriConsumerThrowable;
+import io.github.cruisoring.tuple.TupleProbe;
 
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.function.BiPredicate;
+import java.util.stream.IntStream;
 
 import static io.github.cruisoring.Asserts.assertAllNotNull;
 import static io.github.cruisoring.Asserts.checkNoneNulls;
@@ -30,8 +33,27 @@ public class Repository<TKey, TValue>
 
     final TriConsumerThrowable<TKey, TValue, TValue> changesConsumer;
 
+    //Evaluations in flight of the keys missed by a concurrent storage, null if the storage is not a ConcurrentMap
+    final ConcurrentMap<TKey, Loading<TValue>> loadings;
+
+    //Whether the storage compares the key looked up with its keys by the equals() of the former
+    final boolean probeAware;
+
     /**
-     * Construct a repository with given map factory, extra changesConsumer logic and Function to map key to value
+     * The pending value of a key being evaluated by its owner thread, other threads missing the same key would wait
+     * for it to be completed instead of evaluating the key again.
+     *
+     * @param <V> the type of the value to be evaluated
+     */
+    static final class Loading<V> extends CompletableFuture<V> {
+        final Thread owner = Thread.currentThread();
+    }
+
+    /**
+     * Construct a repository with given map factory, extra changesConsumer logic and Function to map key to value.
+     * With a {@code BoundedMap} like <code>BoundedMap.tinyLfu(maxSize)</code>, the size of the repository is bounded
+     * and the evicted entries are reported to the changesConsumer as <code>(key, oldValue, null)</code>.
+     * With an {@code ExpiringMap}, the entries are expired or refreshed by the valueFunction after being written.
      *
      * @param map             Factory to get a map instance
      * @param changesConsumer Extra steps to run before closing() being called.
@@ -41,9 +63,20 @@ public class Repository<TKey, TValue>
                       TriConsumerThrowable<TKey, TValue, TValue> changesConsumer,
                       FunctionThrowable<TKey, TValue> valueFunction) {
         storage = checkNoneNulls(map, valueFunction);
+        loadings = map instanceof ConcurrentMap ? new ConcurrentHashMap<>() : null;
+        probeAware = isProbeAware(map);
         this.valueFunctionThrowable = valueFunction;
         TriConsumerThrowable<TKey, TValue, TValue> changeLog = USE_DEFAULT_CHNAGES_LOG ? this::defaultChangesLog : null;
         this.changesConsumer = changesConsumer != null ? changesConsumer : changeLog;
+        //The entries evicted by a bounded storage are reported like being removed
+        if (map instanceof BoundedMap && this.changesConsumer != null) {
+            TriConsumerThrowable<TKey, TValue, TValue> consumer = this.changesConsumer;
+            ((BoundedMap<TKey, TValue>) map).setEvictionListener((key, value) -> consumer.tryAccept(key, value, null));
+        }
+        //The entries of an expiring storage are reloaded by the valueFunction, the refreshes and expiries are reported
+        if (map instanceof ExpiringMap) {
+            ((ExpiringMap<TKey, TValue>) map).bind(valueFunction, this.changesConsumer);
+        }
     }
 
     /**
@@ -65,7 +98,11 @@ public class Repository<TKey, TValue>
     }
 
     /**
-     * Try to get cached value of the corresponding key first, mapping and caching key to value only when it is not cached before
+     * Try to get cached value of the corresponding key first, mapping and caching key to value only when it is not cached before.
+     * When the storage is a {@code ConcurrentMap}, the evaluations are single-flight: concurrent misses of the same key
+     * wait for the only evaluation in flight and get its result or Exception, while other keys are evaluated in parallel.
+     * The changesConsumer is notified once per insertion. Since a {@code ConcurrentMap} cannot keep null values, null
+     * evaluated from the key would be returned without being cached.
      *
      * @param tKey The key of type <code>TKey</code> to be mapped to value of type <code>TValue</code>
      * @return mapped value of type <code>TValue</code> from the given tKey
@@ -74,14 +111,219 @@ public class Repository<TKey, TValue>
     @Override
     public TValue apply(TKey tKey) throws Exception {
         assertAllNotNull(tKey);
-        TValue result;
-        if (!storage.containsKey(tKey)) {
-            result = valueFunctionThrowable.apply(tKey);
-            storage.put(tKey, result);
-            if (changesConsumer != null)
-                changesConsumer.accept(tKey, null, result);
-        } else {
-            result = storage.get(tKey);
+        TValue result = storage.get(tKey);
+        if (result != null) {
+            return result;
+        } else if (loadings != null) {
+            return load(tKey);
+        } else if (storage.containsKey(tKey)) {
+            return null;
+        }
+
+        result = valueFunctionThrowable.apply(tKey);
+        storage.put(tKey, result);
+        if (changesConsumer != null)
+            changesConsumer.accept(tKey, null, result);
+        return result;
+    }
+
+    /**
+     * Evaluate the value of a key missed by the concurrent storage, or wait for the evaluation in flight of the same key.
+     *
+     * @param tKey The key of type <code>TKey</code> to be mapped to value of type <code>TValue</code>
+     * @return mapped value of type <code>TValue</code> from the given tKey
+     * @throws Exception any exception thrown by the evaluation, or the interruption while waiting for it
+     */
+    TValue load(TKey tKey) throws Exception {
+        Loading<TValue> loading = new Loading<>();
+        Loading<TValue> inFlight = loadings.putIfAbsent(tKey, loading);
+        //The value function of a key could request the same key recursively, it must not wait for itself
+        if (inFlight != null && inFlight.owner != loading.owner) {
+            return await(inFlight);
+        }
+
+        try {
+            //The key might have been cached by another evaluation completed after the first lookup
+            TValue result = storage.get(tKey);
+            if (result == null && (result = valueFunctionThrowable.apply(tKey)) != null) {
+                TValue existing = storage.putIfAbsent(tKey, result);
+                if (existing != null) {
+                    result = existing;
+                } else if (changesConsumer != null) {
+                    changesConsumer.accept(tKey, null, result);
+                }
+            }
+            loading.complete(result);
+            return result;
+        } catch (Throwable ex) {
+            loading.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            if (inFlight == null) {
+                loadings.remove(tKey, loading);
+            }
+        }
+    }
+
+    private static <V> V await(Future<V> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Cache the value evaluated by other means with the given key if it is not cached yet, the changesConsumer would
+     * only be notified when the value is inserted. It is thread-safe when the storage is a {@code ConcurrentMap}.
+     *
+     * @param tKey  The key of type <code>TKey</code> to cache the value
+     * @param value The value of type <code>TValue</code> to be cached
+     * @return the value cached before, or <tt>null</tt> if the given value is cached
+     * @throws Exception any exception thrown by the changesConsumer
+     */
+    public TValue putIfAbsent(TKey tKey, TValue value) throws Exception {
+        assertAllNotNull(tKey, value);
+        TValue existing = storage.putIfAbsent(tKey, value);
+        if (existing == null && changesConsumer != null)
+            changesConsumer.accept(tKey, null, value);
+        return existing;
+    }
+
+    /**
+     * Get the values of the given keys, the keys not cached yet are evaluated one by one with the valueFunction, in
+     * parallel when the storage is a {@code ConcurrentMap}.
+     *
+     * @param tKeys The keys of type <code>TKey</code> to be mapped to values of type <code>TValue</code>
+     * @return the map from the distinct keys to their values, or <tt>null</tt> if not evaluated, in the order of the given keys
+     * @throws Exception any exception that might be thrown by the evaluations
+     */
+    public Map<TKey, TValue> getAll(Collection<TKey> tKeys) throws Exception {
+        return getAll(tKeys, null);
+    }
+
+    /**
+     * Get the values of the given keys, the keys not cached yet are evaluated by a single call of the batchLoader.
+     * When the storage is a {@code ConcurrentMap}, the missing keys are registered as being evaluated before calling the
+     * batchLoader, so that other threads missing them would wait for the batch instead of evaluating them again, and the
+     * keys being evaluated by others are waited for instead of being loaded.
+     * The loaded values are merged into the storage key by key with <code>putIfAbsent()</code> instead of atomically,
+     * so the values cached in the meantime by other means are kept and returned, and the changesConsumer is notified
+     * once per insertion. Like <code>apply()</code> returning null, the keys missing from the Map returned by the
+     * batchLoader are not cached, and are mapped to <tt>null</tt> in the result.
+     *
+     * @param tKeys       The keys of type <code>TKey</code> to be mapped to values of type <code>TValue</code>
+     * @param batchLoader Function to evaluate all missing keys at once, or null to evaluate them one by one
+     * @return the map from the distinct keys to their values, or <tt>null</tt> if not evaluated, in the order of the given keys
+     * @throws Exception any exception that might be thrown by the batchLoader or the evaluations
+     */
+    public Map<TKey, TValue> getAll(Collection<TKey> tKeys,
+                                    FunctionThrowable<Set<TKey>, Map<TKey, TValue>> batchLoader) throws Exception {
+        assertAllNotNull(tKeys);
+        Map<TKey, TValue> result = new LinkedHashMap<>();
+        Set<TKey> missing = new LinkedHashSet<>();
+        for (TKey tKey : tKeys) {
+            assertAllNotNull(tKey);
+            TValue value = storage.get(tKey);
+            if (value != null || (loadings == null && storage.containsKey(tKey))) {
+                result.put(tKey, value);
+            } else {
+                result.put(tKey, null);
+                missing.add(tKey);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        } else if (batchLoader == null) {
+            return loadAll(result, new ArrayList<>(missing));
+        } else if (loadings == null) {
+            merge(result, missing, batchLoader.apply(Collections.unmodifiableSet(missing)));
+            return result;
+        }
+
+        //Register the missing keys as being loaded by this thread, the ones loaded by others are waited for later
+        Map<TKey, Loading<TValue>> owned = new LinkedHashMap<>();
+        Map<TKey, Loading<TValue>> inFlights = new LinkedHashMap<>();
+        Set<TKey> toLoad = new LinkedHashSet<>();
+        for (TKey tKey : missing) {
+            Loading<TValue> loading = new Loading<>();
+            Loading<TValue> inFlight = loadings.putIfAbsent(tKey, loading);
+            if (inFlight == null) {
+                owned.put(tKey, loading);
+            } else if (inFlight.owner != loading.owner) {
+                inFlights.put(tKey, inFlight);
+                continue;
+            }
+            //The key might have been cached by another evaluation completed after the first lookup
+            TValue value = storage.get(tKey);
+            if (value != null) {
+                result.put(tKey, value);
+            } else {
+                toLoad.add(tKey);
+            }
+        }
+
+        try {
+            if (!toLoad.isEmpty()) {
+                merge(result, toLoad, batchLoader.apply(Collections.unmodifiableSet(toLoad)));
+            }
+            owned.forEach((tKey, loading) -> loading.complete(result.get(tKey)));
+        } catch (Throwable ex) {
+            owned.values().forEach(loading -> loading.completeExceptionally(ex));
+            throw ex;
+        } finally {
+            owned.forEach(loadings::remove);
+        }
+
+        for (Map.Entry<TKey, Loading<TValue>> entry : inFlights.entrySet()) {
+            result.put(entry.getKey(), await(entry.getValue()));
+        }
+        return result;
+    }
+
+    //Merge the loaded values of the given keys into the storage and the result, the values cached before are kept
+    private void merge(Map<TKey, TValue> result, Set<TKey> keys, Map<TKey, TValue> loaded) throws Exception {
+        for (TKey tKey : keys) {
+            TValue value = loaded == null ? null : loaded.get(tKey);
+            if (value != null) {
+                TValue existing = storage.putIfAbsent(tKey, value);
+                if (existing != null) {
+                    value = existing;
+                } else if (changesConsumer != null) {
+                    changesConsumer.accept(tKey, null, value);
+                }
+            }
+            result.put(tKey, value);
+        }
+    }
+
+    //Evaluate the missing keys with apply(), in parallel only when the storage is thread-safe
+    private Map<TKey, TValue> loadAll(Map<TKey, TValue> result, List<TKey> missing) throws Exception {
+        Object[] values = new Object[missing.size()];
+        Exception[] failures = new Exception[1];
+        IntStream indexes = IntStream.range(0, values.length);
+        (loadings == null ? indexes : indexes.parallel()).forEach(i -> {
+            try {
+                values[i] = apply(missing.get(i));
+            } catch (Exception ex) {
+                synchronized (failures) {
+                    if (failures[0] == null) {
+                        failures[0] = ex;
+                    }
+                }
+            }
+        });
+        if (failures[0] != null) {
+            throw failures[0];
+        }
+        for (int i = 0; i < values.length; i++) {
+            result.put(missing.get(i), (TValue) values[i]);
         }
         return result;
     }
@@ -127,11 +369,12 @@ public class Repository<TKey, TValue>
 
         int changes = 0;
 
-        Set<TKey> keySet = storage.keySet();
-        List<TKey> keyList = new ArrayList<>(keySet);
-        for (TKey key : keyList) {
+        //Read the values from the entries, get() would count as accesses of the bounded maps or trigger the reloads
+        List<Map.Entry<TKey, TValue>> entries = new ArrayList<>(storage.entrySet());
+        for (Map.Entry<TKey, TValue> entry : entries) {
             try {
-                TValue value = storage.get(key);
+                TKey key = entry.getKey();
+                TValue value = entry.getValue();
                 if (keyValuePredicate.test(key, value)) {
                     storage.remove(key, value);
                     changes++;
@@ -160,6 +403,34 @@ public class Repository<TKey, TValue>
         }
     }
 
+    /**
+     * Check if the map looks up a key by calling the <code>equals()</code> of the given key with its keys, so that it
+     * could be probed with a stand-in of the key whose equality is one-sided, like the <code>TupleProbe</code>.
+     *
+     * @param map the map to be checked
+     * @return <code>true</code> if the map could be looked up with a stand-in of the key, otherwise <code>false</code>
+     */
+    static boolean isProbeAware(Map map) {
+        return map instanceof HashMap || map instanceof ConcurrentHashMap
+                || map instanceof BoundedMap || map instanceof ExpiringMap;
+    }
+
+    /**
+     * Get the value cached with the key equal to the given one without evaluating it. A stand-in of the actual key,
+     * like the <code>TupleProbe</code>, is matched only when the storage looks up a key by the <code>equals()</code> of
+     * the given one, like <code>HashMap</code> and <code>ConcurrentHashMap</code>; otherwise nothing is found with it,
+     * and the caller shall look up the value with the actual key.
+     *
+     * @param key the key or its stand-in to look up the cached value
+     * @return the cached value, or <tt>null</tt> if it is not cached or cannot be looked up with the given key
+     */
+    public TValue getCached(Object key) {
+        if (key == null || storage instanceof SortedMap || (key instanceof TupleProbe && !probeAware)) {
+            return null;
+        }
+        return storage.get(key);
+    }
+
     /**
      * Returns <tt>true</tt> if this map contains a mapping for the specified
      * key.  More formally, returns <tt>true</tt> if and only if
@@ -0,0 +1,99 @@
+package io.github.cruisoring.repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Evict the least frequently used one of a few randomly sampled keys instead of keeping all keys sorted by their
+ * frequencies. The keys are kept by an array list to be sampled, and removed by moving the last key to the vacancy.
+ * The frequencies are halved periodically so that the keys used heavily long ago could be evicted eventually.
+ *
+ * @param <K> the type of keys maintained by the map
+ */
+final class SampledLfuPolicy<K> implements EvictionPolicy<K> {
+    static final int DEFAULT_SAMPLE_SIZE = 8;
+    //Number of accesses per key to halve all frequencies
+    private static final int AGING_PERIOD_PER_KEY = 10;
+
+    private final int sampleSize;
+    //Index of the key in the keys list, and the frequency of the key
+    private final Map<K, int[]> positions = new HashMap<>();
+    private final List<K> keys = new ArrayList<>();
+    //The latest inserted key would not be evicted before it could be used
+    private K newest;
+    private int accesses;
+
+    SampledLfuPolicy(int sampleSize) {
+        this.sampleSize = sampleSize;
+    }
+
+    @Override
+    public void onInsert(K key) {
+        if (positions.containsKey(key)) {
+            onAccess(key);
+            return;
+        }
+        positions.put(key, new int[]{keys.size(), 1});
+        keys.add(key);
+        newest = key;
+    }
+
+    @Override
+    public void onAccess(Object key) {
+        int[] position = positions.get(key);
+        if (position != null && position[1] < Integer.MAX_VALUE) {
+            position[1]++;
+        }
+        if (++accesses >= AGING_PERIOD_PER_KEY * Math.max(16, keys.size())) {
+            accesses = 0;
+            for (int[] p : positions.values()) {
+                p[1] >>>= 1;
+            }
+        }
+    }
+
+    @Override
+    public void onRemove(Object key) {
+        int[] position = positions.remove(key);
+        if (position == null) {
+            return;
+        }
+        K last = keys.remove(keys.size() - 1);
+        if (position[0] < keys.size()) {
+            keys.set(position[0], last);
+            positions.get(last)[0] = position[0];
+        }
+        if (newest != null && newest.equals(key)) {
+            newest = null;
+        }
+    }
+
+    @Override
+    public K selectVictim() {
+        int size = keys.size();
+        if (size == 0) {
+            return null;
+        }
+
+        Random random = ThreadLocalRandom.current();
+        K victim = null;
+        int minFrequency = Integer.MAX_VALUE;
+        for (int i = 0; i < Math.min(sampleSize, size); i++) {
+            K key = keys.get(random.nextInt(size));
+            int frequency = positions.get(key)[1];
+            if (frequency < minFrequency && (size == 1 || key != newest)) {
+                victim = key;
+                minFrequency = frequency;
+            }
+        }
+        if (victim == null) {
+            victim = keys.get(keys.get(0) == newest ? 1 : 0);
+        }
+        onRemove(victim);
+        return victim;
+    }
+}
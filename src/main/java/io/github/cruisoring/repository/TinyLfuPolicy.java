@@ -0,0 +1,138 @@
+package io.github.cruisoring.repository;
+
+/**
+ * W-TinyLFU policy: new keys enter an LRU window of about 1% of the maximum size, the key falling out of the window
+ * is admitted to the main LRU region only when its estimated frequency is higher than that of the main victim,
+ * otherwise the candidate itself is evicted. The frequencies of all keys, cached or not, are estimated by a
+ * count-min sketch of 4-bit-like counters that are halved periodically to let the history fade.
+ *
+ * @param <K> the type of keys maintained by the map
+ */
+final class TinyLfuPolicy<K> implements EvictionPolicy<K> {
+    private final int windowCapacity;
+    private final int mainCapacity;
+    private final LruPolicy<K> window = new LruPolicy<>();
+    private final LruPolicy<K> main = new LruPolicy<>();
+    private final FrequencySketch sketch;
+
+    TinyLfuPolicy(int maxSize) {
+        windowCapacity = Math.max(1, maxSize / 100);
+        mainCapacity = Math.max(0, maxSize - windowCapacity);
+        sketch = new FrequencySketch(maxSize);
+    }
+
+    @Override
+    public void onInsert(K key) {
+        sketch.increment(key);
+        if (!main.contains(key)) {
+            window.onInsert(key);
+        }
+    }
+
+    @Override
+    public void onAccess(Object key) {
+        sketch.increment(key);
+        if (window.contains(key)) {
+            window.onAccess(key);
+        } else {
+            main.onAccess(key);
+        }
+    }
+
+    @Override
+    public void onRemove(Object key) {
+        if (window.contains(key)) {
+            window.onRemove(key);
+        } else {
+            main.onRemove(key);
+        }
+    }
+
+    @Override
+    public K selectVictim() {
+        while (window.size() > windowCapacity) {
+            K candidate = window.selectVictim();
+            if (main.size() < mainCapacity) {
+                main.onInsert(candidate);
+                continue;
+            }
+
+            K victim = main.peekEldest();
+            if (victim != null && sketch.frequency(candidate) > sketch.frequency(victim)) {
+                main.onRemove(victim);
+                main.onInsert(candidate);
+                return victim;
+            }
+            return candidate;
+        }
+
+        K victim = main.selectVictim();
+        return victim != null ? victim : window.selectVictim();
+    }
+
+    /**
+     * Count-min sketch with 4 rows of counters saturated at 15, all counters are halved once the number of increments
+     * reaches 10 times of the maximum size.
+     */
+    static final class FrequencySketch {
+        private static final long[] SEEDS = new long[]{
+                0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+        private static final int MAX_COUNT = 15;
+
+        private final byte[][] rows;
+        private final int mask;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(int maxSize) {
+            int width = Integer.highestOneBit(Math.max(16, Math.min(maxSize, 1 << 24)) - 1) << 1;
+            rows = new byte[SEEDS.length][width];
+            mask = width - 1;
+            sampleSize = (int) Math.min(Integer.MAX_VALUE, 10L * Math.max(16, maxSize));
+        }
+
+        private int indexOf(int hash, int row) {
+            long h = (hash + SEEDS[row]) * SEEDS[row];
+            h += h >>> 32;
+            return (int) h & mask;
+        }
+
+        void increment(Object key) {
+            int hash = spread(key.hashCode());
+            boolean added = false;
+            for (int i = 0; i < rows.length; i++) {
+                int index = indexOf(hash, i);
+                if (rows[i][index] < MAX_COUNT) {
+                    rows[i][index]++;
+                    added = true;
+                }
+            }
+            if (added && ++additions >= sampleSize) {
+                reset();
+            }
+        }
+
+        int frequency(Object key) {
+            int hash = spread(key.hashCode());
+            int frequency = MAX_COUNT;
+            for (int i = 0; i < rows.length; i++) {
+                frequency = Math.min(frequency, rows[i][indexOf(hash, i)]);
+            }
+            return frequency;
+        }
+
+        private void reset() {
+            for (byte[] row : rows) {
+                for (int i = 0; i < row.length; i++) {
+                    row[i] >>>= 1;
+                }
+            }
+            additions >>>= 1;
+        }
+
+        private static int spread(int hash) {
+            hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+            return (hash >>> 16) ^ hash;
+        }
+    }
+}
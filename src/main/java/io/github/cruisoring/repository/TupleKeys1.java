@@ -2,6 +2,7 @@ package io.github.cruisoring.repository;
 
 import io.github.cruisoring.tuple.Tuple;
 import io.github.cruisoring.tuple.Tuple1;
+import io.github.cruisoring.tuple.TupleProbe;
 
 /**
  * Interface for map.keys that are of <tt>Tuple</tt> of 2 elements and keep the methods to use them as strong-typed
@@ -41,6 +42,26 @@ public interface TupleKeys1<K1> extends TupleKeys<Tuple1<K1>> {
     interface TupleValues1<K1, T> extends TupleKeys1<K1>,
             io.github.cruisoring.repository.TupleValues1<Tuple1<K1>, T> {
 
+        /**
+         * Retrieve the value as a Tuple by probing the map with a reusable <code>TupleProbe</code> first, the actual key
+         * would be created only when the value is not cached yet.
+         * Notice: it cannot be named as <code>retrieve(K1)</code> like those of the keys with more elements, since it
+         * would have the same erasure as <code>retrieve(Tuple1)</code>.
+         *
+         * @param k1 first element of actual key of the Tuple, with type of <tt>K1</tt>
+         * @return the Tuple value mapped from the key composed by the above elements
+         */
+        default Tuple retrieveOf(K1 k1) {
+            TupleProbe probe = TupleProbe.of(k1);
+            Tuple cached;
+            try {
+                cached = getCached(probe);
+            } finally {
+                probe.release();
+            }
+            return cached != null ? cached : retrieve(getKey(k1));
+        }
+
         /**
          * Retrieve the first value of the Tuple as type of <tt>T</tt>
          *
@@ -48,7 +69,8 @@ public interface TupleKeys1<K1> extends TupleKeys<Tuple1<K1>> {
          * @return the first element of the Tuple value
          */
         default T getFirst(K1 k1) {
-            return getFirstValue(getKey(k1));
+            Tuple tuple = retrieveOf(k1);
+            return tuple == null ? null : (T) tuple.getValue(0);
         }
     }
 
@@ -70,7 +92,8 @@ public interface TupleKeys1<K1> extends TupleKeys<Tuple1<K1>> {
          * @return the second element of the Tuple
          */
         default U getSecond(K1 k1) {
-            return getSecondValue(getKey(k1));
+            Tuple tuple = retrieveOf(k1);
+            return tuple == null ? null : (U) tuple.getValue(1);
         }
     }
 
@@ -93,7 +116,8 @@ public interface TupleKeys1<K1> extends TupleKeys<Tuple1<K1>> {
          * @return the third element of the Tuple value
          */
         default V getThird(K1 k1) {
-            return getThirdValue(getKey(k1));
+            Tuple tuple = retrieveOf(k1);
+            return tuple == null ? null : (V) tuple.getValue(2);
         }
     }
 
@@ -117,7 +141,8 @@ public interface TupleKeys1<K1> extends TupleKeys<Tuple1<K1>> {
          * @return the fourth element of the Tuple value
          */
         default W getFourth(K1 k1) {
-            return getFourthValue(getKey(k1));
+            Tuple tuple = retrieveOf(k1);
+            return tuple == null ? null : (W) tuple.getValue(3);
         }
     }
 
@@ -142,7 +167,8 @@ public interface TupleKeys1<K1> extends TupleKeys<Tuple1<K1>> {
          * @return the fifth element of the Tuple value
          */
         default X getFifth(K1 k1) {
-            return getFifthValue(getKey(k1));
+            Tuple tuple = retrieveOf(k1);
+            return tuple == null ? null : (X) tuple.getValue(4);
         }
     }
 
@@ -168,7 +194,8 @@ public interface TupleKeys1<K1> extends TupleKeys<Tuple1<K1>> {
          * @return the sixth element of the Tuple value
          */
         default Y getSixth(K1 k1) {
-            return getSixthValue(getKey(k1));
+            Tuple tuple = retrieveOf(k1);
+            return tuple == null ? null : (Y) tuple.getValue(5);
         }
     }
 
@@ -194,7 +221,8 @@ public interface TupleKeys1<K1> extends TupleKeys<Tuple1<K1>> {
          * @return the seventh element of the Tuple value
          */
         default Z getSeventh(K1 k1) {
-            return getSeventhValue(getKey(k1));
+            Tuple tuple = retrieveOf(k1);
+            return tuple == null ? null : (Z) tuple.getValue(6);
         }
     }
 }
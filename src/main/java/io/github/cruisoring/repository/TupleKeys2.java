@@ -2,10 +2,15 @@ package io.github.cruisoring.repository;
 
 import io.github.cruisoring.tuple.Tuple;
 import io.github.cruisoring.tuple.Tuple2;
+import io.github.cruisoring.tuple.TupleProbe;
 
 /**
  * Interface for map.keys that are of <tt>Tuple</tt> of 2 elements and keep the methods to use them as strong-typed
  * values to fetch strong typed elements
+ * Notice: the keys composed by <code>getKey(k1, k2)</code> are always boxed <code>Tuple2</code>s, which are never equal
+ * to the primitive tuples like <code>IntTuple2</code> or <code>IntLongTuple2</code> with the same values. A repository
+ * keyed by the primitive tuples is created by <code>fromKey()</code> instead, and reached with the keys like
+ * <code>Tuple.ofInts(k1, k2)</code> whose hashing and comparison never box the elements.
  *
  * @param <K1> type of the first element of the Keys of the map, that are type of Tuple2
  * @param <K2> type of the second element of the Keys of the map, that are type of Tuple2
@@ -45,8 +50,23 @@ public interface TupleKeys2<K1, K2> extends TupleKeys<Tuple2<K1, K2>> {
     interface TupleValues1<K1, K2, T> extends TupleKeys2<K1, K2>,
             io.github.cruisoring.repository.TupleValues1<Tuple2<K1, K2>, T> {
 
+        /**
+         * Retrieve the value as a Tuple by probing the map with a reusable <code>TupleProbe</code> first, the actual key
+         * would be created only when the value is not cached yet.
+         *
+         * @param k1 first element of actual key of the Tuple, with type of <tt>K1</tt>
+         * @param k2 second element of actual key of the Tuple, with type of <tt>K2</tt>
+         * @return the Tuple value mapped from the key composed by the above elements
+         */
         default Tuple retrieve(K1 k1, K2 k2) {
-            return retrieve(getKey(k1, k2));
+            TupleProbe probe = TupleProbe.of(k1, k2);
+            Tuple cached;
+            try {
+                cached = getCached(probe);
+            } finally {
+                probe.release();
+            }
+            return cached != null ? cached : retrieve(getKey(k1, k2));
         }
 
         /**
@@ -57,7 +77,8 @@ public interface TupleKeys2<K1, K2> extends TupleKeys<Tuple2<K1, K2>> {
          * @return the first element of the Tuple value
          */
         default T getFirst(K1 k1, K2 k2) {
-            return getFirstValue(getKey(k1, k2));
+            Tuple tuple = retrieve(k1, k2);
+            return tuple == null ? null : (T) tuple.getValue(0);
         }
     }
 
@@ -81,7 +102,8 @@ public interface TupleKeys2<K1, K2> extends TupleKeys<Tuple2<K1, K2>> {
          * @return the second element of the Tuple
          */
         default U getSecond(K1 k1, K2 k2) {
-            return getSecondValue(Tuple.create(k1, k2));
+            Tuple tuple = retrieve(k1, k2);
+            return tuple == null ? null : (U) tuple.getValue(1);
         }
     }
 
@@ -106,7 +128,8 @@ public interface TupleKeys2<K1, K2> extends TupleKeys<Tuple2<K1, K2>> {
          * @return the third element of the Tuple value
          */
         default V getThird(K1 k1, K2 k2) {
-            return getThirdValue(getKey(k1, k2));
+            Tuple tuple = retrieve(k1, k2);
+            return tuple == null ? null : (V) tuple.getValue(2);
         }
     }
 
@@ -132,7 +155,8 @@ public interface TupleKeys2<K1, K2> extends TupleKeys<Tuple2<K1, K2>> {
          * @return the fourth element of the Tuple value
          */
         default W getFourth(K1 k1, K2 k2) {
-            return getFourthValue(getKey(k1, k2));
+            Tuple tuple = retrieve(k1, k2);
+            return tuple == null ? null : (W) tuple.getValue(3);
         }
     }
 
@@ -159,7 +183,8 @@ public interface TupleKeys2<K1, K2> extends TupleKeys<Tuple2<K1, K2>> {
          * @return the fifth element of the Tuple value
          */
         default X getFifth(K1 k1, K2 k2) {
-            return getFifthValue(getKey(k1, k2));
+            Tuple tuple = retrieve(k1, k2);
+            return tuple == null ? null : (X) tuple.getValue(4);
         }
     }
 
@@ -187,7 +212,8 @@ public interface TupleKeys2<K1, K2> extends TupleKeys<Tuple2<K1, K2>> {
          * @return the sixth element of the Tuple value
          */
         default Y getSixth(K1 k1, K2 k2) {
-            return getSixthValue(getKey(k1, k2));
+            Tuple tuple = retrieve(k1, k2);
+            return tuple == null ? null : (Y) tuple.getValue(5);
         }
     }
 
@@ -215,7 +241,8 @@ public interface TupleKeys2<K1, K2> extends TupleKeys<Tuple2<K1, K2>> {
          * @return the seventh element of the Tuple value
          */
         default Z getSeventh(K1 k1, K2 k2) {
-            return getSeventhValue(getKey(k1, k2));
+            Tuple tuple = retrieve(k1, k2);
+            return tuple == null ? null : (Z) tuple.getValue(6);
         }
     }
 }
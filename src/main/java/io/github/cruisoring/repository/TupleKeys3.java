@@ -2,10 +2,13 @@ package io.github.cruisoring.repository;
 
 import io.github.cruisoring.tuple.Tuple;
 import io.github.cruisoring.tuple.Tuple3;
+import io.github.cruisoring.tuple.TupleProbe;
 
 /**
  * Interface for map.keys that are of <tt>Tuple</tt> of 3 elements and keep the methods to use them as strong-typed
  * values to fetch strong typed elements
+ * Notice: like those of <code>TupleKeys2</code>, the keys composed here are boxed <code>Tuple3</code>s that never match
+ * the primitive tuples like <code>IntTuple3</code>, use <code>fromKey()</code> with the primitive tuples as keys instead.
  *
  * @param <K1> type of the first element of the Keys of the map, that are type of Tuple3
  * @param <K2> type of the second element of the Keys of the map, that are type of Tuple3
@@ -49,8 +52,24 @@ public interface TupleKeys3<K1, K2, K3> extends TupleKeys<Tuple3<K1, K2, K3>> {
     interface TupleValues1<K1, K2, K3, T> extends TupleKeys3<K1, K2, K3>,
             io.github.cruisoring.repository.TupleValues1<Tuple3<K1, K2, K3>, T> {
 
+        /**
+         * Retrieve the value as a Tuple by probing the map with a reusable <code>TupleProbe</code> first, the actual key
+         * would be created only when the value is not cached yet.
+         *
+         * @param k1 first element of actual key of the Tuple, with type of <tt>K1</tt>
+         * @param k2 second element of actual key of the Tuple, with type of <tt>K2</tt>
+         * @param k3 third element of actual key of the Tuple, with type of <tt>K3</tt>
+         * @return the Tuple value mapped from the key composed by the above elements
+         */
         default Tuple retrieve(K1 k1, K2 k2, K3 k3) {
-            return retrieve(getKey(k1, k2, k3));
+            TupleProbe probe = TupleProbe.of(k1, k2, k3);
+            Tuple cached;
+            try {
+                cached = getCached(probe);
+            } finally {
+                probe.release();
+            }
+            return cached != null ? cached : retrieve(getKey(k1, k2, k3));
         }
 
         /**
@@ -62,7 +81,8 @@ public interface TupleKeys3<K1, K2, K3> extends TupleKeys<Tuple3<K1, K2, K3>> {
          * @return the first element of the Tuple value
          */
         default T getFirst(K1 k1, K2 k2, K3 k3) {
-            return getFirstValue(getKey(k1, k2, k3));
+            Tuple tuple = retrieve(k1, k2, k3);
+            return tuple == null ? null : (T) tuple.getValue(0);
         }
     }
 
@@ -88,7 +108,8 @@ public interface TupleKeys3<K1, K2, K3> extends TupleKeys<Tuple3<K1, K2, K3>> {
          * @return the second element of the Tuple
          */
         default U getSecond(K1 k1, K2 k2, K3 k3) {
-            return getSecondValue(Tuple.create(k1, k2, k3));
+            Tuple tuple = retrieve(k1, k2, k3);
+            return tuple == null ? null : (U) tuple.getValue(1);
         }
     }
 
@@ -115,7 +136,8 @@ public interface TupleKeys3<K1, K2, K3> extends TupleKeys<Tuple3<K1, K2, K3>> {
          * @return the third element of the Tuple value
          */
         default V getThird(K1 k1, K2 k2, K3 k3) {
-            return getThirdValue(getKey(k1, k2, k3));
+            Tuple tuple = retrieve(k1, k2, k3);
+            return tuple == null ? null : (V) tuple.getValue(2);
         }
     }
 
@@ -143,7 +165,8 @@ public interface TupleKeys3<K1, K2, K3> extends TupleKeys<Tuple3<K1, K2, K3>> {
          * @return the fourth element of the Tuple value
          */
         default W getFourth(K1 k1, K2 k2, K3 k3) {
-            return getFourthValue(getKey(k1, k2, k3));
+            Tuple tuple = retrieve(k1, k2, k3);
+            return tuple == null ? null : (W) tuple.getValue(3);
         }
     }
 
@@ -172,7 +195,8 @@ public interface TupleKeys3<K1, K2, K3> extends TupleKeys<Tuple3<K1, K2, K3>> {
          * @return the fifth element of the Tuple value
          */
         default X getFifth(K1 k1, K2 k2, K3 k3) {
-            return getFifthValue(getKey(k1, k2, k3));
+            Tuple tuple = retrieve(k1, k2, k3);
+            return tuple == null ? null : (X) tuple.getValue(4);
         }
     }
 
@@ -202,7 +226,8 @@ public interface TupleKeys3<K1, K2, K3> extends TupleKeys<Tuple3<K1, K2, K3>> {
          * @return the sixth element of the Tuple value
          */
         default Y getSixth(K1 k1, K2 k2, K3 k3) {
-            return getSixthValue(getKey(k1, k2, k3));
+            Tuple tuple = retrieve(k1, k2, k3);
+            return tuple == null ? null : (Y) tuple.getValue(5);
         }
     }
 
@@ -232,7 +257,8 @@ public interface TupleKeys3<K1, K2, K3> extends TupleKeys<Tuple3<K1, K2, K3>> {
          * @return the seventh element of the Tuple value
          */
         default Z getSeventh(K1 k1, K2 k2, K3 k3) {
-            return getSeventhValue(getKey(k1, k2, k3));
+            Tuple tuple = retrieve(k1, k2, k3);
+            return tuple == null ? null : (Z) tuple.getValue(6);
         }
     }
 }
@@ -2,6 +2,7 @@ package io.github.cruisoring.repository;
 
 import io.github.cruisoring.tuple.Tuple;
 import io.github.cruisoring.tuple.Tuple6;
+import io.github.cruisoring.tuple.TupleProbe;
 
 /**
  * Interface for map.keys that are of <tt>Tuple</tt> of 6 elements and keep the methods to use them as strong-typed
@@ -61,8 +62,27 @@ public interface TupleKeys6<K1, K2, K3, K4, K5, K6> extends TupleKeys<Tuple6<K1,
     interface TupleValues1<K1, K2, K3, K4, K5, K6, T> extends TupleKeys6<K1, K2, K3, K4, K5, K6>,
             io.github.cruisoring.repository.TupleValues1<Tuple6<K1, K2, K3, K4, K5, K6>, T> {
 
+        /**
+         * Retrieve the value as a Tuple by probing the map with a reusable <code>TupleProbe</code> first, the actual key
+         * would be created only when the value is not cached yet.
+         *
+         * @param k1 first element of actual key of the Tuple, with type of <tt>K1</tt>
+         * @param k2 second element of actual key of the Tuple, with type of <tt>K2</tt>
+         * @param k3 third element of actual key of the Tuple, with type of <tt>K3</tt>
+         * @param k4 fourth element of actual key of the Tuple, with type of <tt>K4</tt>
+         * @param k5 fifth element of actual key of the Tuple, with type of <tt>K5</tt>
+         * @param k6 sixth element of actual key of the Tuple, with type of <tt>K6</tt>
+         * @return the Tuple value mapped from the key composed by the above elements
+         */
         default Tuple retrieve(K1 k1, K2 k2, K3 k3, K4 k4, K5 k5, K6 k6) {
-            return retrieve(getKey(k1, k2, k3, k4, k5, k6));
+            TupleProbe probe = TupleProbe.of(k1, k2, k3, k4, k5, k6);
+            Tuple cached;
+            try {
+                cached = getCached(probe);
+            } finally {
+                probe.release();
+            }
+            return cached != null ? cached : retrieve(getKey(k1, k2, k3, k4, k5, k6));
         }
 
         /**
@@ -77,7 +97,8 @@ public interface TupleKeys6<K1, K2, K3, K4, K5, K6> extends TupleKeys<Tuple6<K1,
          * @return the first element of the Tuple value
          */
         default T getFirst(K1 k1, K2 k2, K3 k3, K4 k4, K5 k5, K6 k6) {
-            return getFirstValue(getKey(k1, k2, k3, k4, k5, k6));
+            Tuple tuple = retrieve(k1, k2, k3, k4, k5, k6);
+            return tuple == null ? null : (T) tuple.getValue(0);
         }
     }
 
@@ -109,7 +130,8 @@ public interface TupleKeys6<K1, K2, K3, K4, K5, K6> extends TupleKeys<Tuple6<K1,
          * @return the second element of the Tuple
          */
         default U getSecond(K1 k1, K2 k2, K3 k3, K4 k4, K5 k5, K6 k6) {
-            return getSecondValue(Tuple.create(k1, k2, k3, k4, k5, k6));
+            Tuple tuple = retrieve(k1, k2, k3, k4, k5, k6);
+            return tuple == null ? null : (U) tuple.getValue(1);
         }
     }
 
@@ -142,7 +164,8 @@ public interface TupleKeys6<K1, K2, K3, K4, K5, K6> extends TupleKeys<Tuple6<K1,
          * @return the third element of the Tuple value
          */
         default V getThird(K1 k1, K2 k2, K3 k3, K4 k4, K5 k5, K6 k6) {
-            return getThirdValue(getKey(k1, k2, k3, k4, k5, k6));
+            Tuple tuple = retrieve(k1, k2, k3, k4, k5, k6);
+            return tuple == null ? null : (V) tuple.getValue(2);
         }
     }
 
@@ -176,7 +199,8 @@ public interface TupleKeys6<K1, K2, K3, K4, K5, K6> extends TupleKeys<Tuple6<K1,
          * @return the fourth element of the Tuple value
          */
         default W getFourth(K1 k1, K2 k2, K3 k3, K4 k4, K5 k5, K6 k6) {
-            return getFourthValue(getKey(k1, k2, k3, k4, k5, k6));
+            Tuple tuple = retrieve(k1, k2, k3, k4, k5, k6);
+            return tuple == null ? null : (W) tuple.getValue(3);
         }
     }
 
@@ -211,7 +235,8 @@ public interface TupleKeys6<K1, K2, K3, K4, K5, K6> extends TupleKeys<Tuple6<K1,
          * @return the fifth element of the Tuple value
          */
         default X getFifth(K1 k1, K2 k2, K3 k3, K4 k4, K5 k5, K6 k6) {
-            return getFifthValue(getKey(k1, k2, k3, k4, k5, k6));
+            Tuple tuple = retrieve(k1, k2, k3, k4, k5, k6);
+            return tuple == null ? null : (X) tuple.getValue(4);
         }
     }
 
@@ -247,7 +272,8 @@ public interface TupleKeys6<K1, K2, K3, K4, K5, K6> extends TupleKeys<Tuple6<K1,
          * @return the sixth element of the Tuple value
          */
         default Y getSixth(K1 k1, K2 k2, K3 k3, K4 k4, K5 k5, K6 k6) {
-            return getSixthValue(getKey(k1, k2, k3, k4, k5, k6));
+            Tuple tuple = retrieve(k1, k2, k3, k4, k5, k6);
+            return tuple == null ? null : (Y) tuple.getValue(5);
         }
     }
 
@@ -283,7 +309,8 @@ public interface TupleKeys6<K1, K2, K3, K4, K5, K6> extends TupleKeys<Tuple6<K1,
          * @return the seventh element of the Tuple value
          */
         default Z getSeventh(K1 k1, K2 k2, K3 k3, K4 k4, K5 k5, K6 k6) {
-            return getSeventhValue(getKey(k1, k2, k3, k4, k5, k6));
+            Tuple tuple = retrieve(k1, k2, k3, k4, k5, k6);
+            return tuple == null ? null : (Z) tuple.getValue(6);
         }
     }
 }
@@ -118,7 +118,7 @@ public class TupleRepository3<TKey, T, U, V>
     public static <K1, K2, T, U, V> TupleKeys2<K1, K2, T, U, V> fromKeys2(
             Map<Tuple2<K1, K2>, Tuple3<T, U, V>> map,
             TriConsumerThrowable<Tuple2<K1, K2>, Tuple3<T, U, V>, Tuple3<T, U, V>> changesConsumer,
-            BiFunctionThrowable<K1, K2, Tuple2<T, U>> valueFunction) {
+            BiFunctionThrowable<K1, K2, Tuple3<T, U, V>> valueFunction) {
         return new TupleKeys2(map, changesConsumer, valueFunction);
     }
 
@@ -16,6 +16,16 @@ public interface TupleValues<TKey> {
      */
     Tuple retrieve(TKey key);
 
+    /**
+     * Get the cached Tuple value with the given key or its stand-in without evaluating it.
+     *
+     * @param key key, or its stand-in like the <code>TupleProbe</code>, to look up the cached value
+     * @return the cached Tuple value, or <tt>null</tt> if it is not cached or cannot be looked up without evaluation
+     */
+    default Tuple getCached(Object key) {
+        return null;
+    }
+
     /**
      * Returns <tt>true</tt> if this map contains a mapping for the
      * specified key.
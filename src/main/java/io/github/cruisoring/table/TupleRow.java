@@ -1,5 +1,6 @@
 package io.github.cruisoring.table;
 
+import io.github.cruisoring.tuple.TupleSignature;
 import io.github.cruisoring.tuple.WithValues;
 import io.github.cruisoring.utility.StringHelper;
 
@@ -55,6 +56,11 @@ public class TupleRow<R extends WithValues> implements WithValuesByName {
         return values.getSignatures();
     }
 
+    @Override
+    public TupleSignature getSignature() {
+        return values.getSignature();
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (obj == null || !(obj instanceof TupleRow)) {
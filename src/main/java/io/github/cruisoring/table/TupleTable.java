@@ -5,6 +5,7 @@ import io.github.cruisoring.logger.Logger;
 import io.github.cruisoring.throwables.FunctionThrowable;
 import io.github.cruisoring.throwables.PredicateThrowable;
 import io.github.cruisoring.tuple.Tuple;
+import io.github.cruisoring.tuple.TupleSignature;
 import io.github.cruisoring.tuple.WithValues;
 import io.github.cruisoring.utility.ArrayHelper;
 import io.github.cruisoring.utility.SimpleTypedList;
@@ -313,7 +314,7 @@ public class TupleTable<R extends WithValues> implements ITable<R> {
             WithValuesByName other = (WithValuesByName)o;
             if(other.getColumnIndexes() == columns){
                 //Simplify the evaluation by assuming there is no extra columns to be evaluated
-                return rows.contains(other.getValues());
+                return indexOfValues(other.getValues()) != -1;
             }
 
             WithValues<Integer> mappedIndexes = columns.mapIndexes(other.getColumnIndexes());
@@ -324,10 +325,29 @@ public class TupleTable<R extends WithValues> implements ITable<R> {
             Object[] elements = IntStream.range(0, width()).boxed().map(i -> mappedIndexes.getValue(i))
                     .map(i -> other.getValue(i)).toArray();
 
-            return rows.contains(Tuple.of(elements));
+            return indexOfValues(Tuple.of(elements)) != -1;
         } else {
-            return rows.contains(((WithValues) o).getValues());
+            return indexOfValues(((WithValues) o).getValues()) != -1;
+        }
+    }
+
+    /**
+     * Get the index of the first row equal to the given values, the rows whose signatures cannot contain all the
+     * given values are skipped without comparing their values.
+     *
+     * @param values the values of the expected row
+     * @return index of the first row equal to the values, or -1 if not found
+     */
+    int indexOfValues(WithValues values) {
+        TupleSignature signature = values.getSignature();
+        int index = 0;
+        for (WithValues row : rows) {
+            if (row.getSignature().mayContainAll(signature) && values.equals(row)) {
+                return index;
+            }
+            index++;
         }
+        return -1;
     }
 
     @Override
@@ -338,7 +358,7 @@ public class TupleTable<R extends WithValues> implements ITable<R> {
 
         IColumns rowColumns = row.getColumnIndexes();
         if(rowColumns == columns){
-            return rows.indexOf(row.getValues());
+            return indexOfValues(row.getValues());
         }
 
         WithValues<Integer> mappedIndexes = columns.mapIndexes(rowColumns);
@@ -350,7 +370,7 @@ public class TupleTable<R extends WithValues> implements ITable<R> {
                 .map(i -> row.getValue(i)).toArray();
 
         Tuple values = Tuple.of(elements);
-        return rows.indexOf(values);
+        return indexOfValues(values);
     }
 
     @Override
@@ -363,10 +383,13 @@ public class TupleTable<R extends WithValues> implements ITable<R> {
                         entry -> valuesByName.get(entry.getValue())
                 ));
 
-        for (int i = 0; i < size(); i++) {
-            if(rows.get(i).isMatched(expectedValues)){
-                return i;
+        TupleSignature expectedSignature = TupleSignature.of(expectedValues.values().toArray());
+        int index = 0;
+        for (WithValues row : rows) {
+            if(row.isMatched(expectedValues, expectedSignature)){
+                return index;
             }
+            index++;
         }
         return -1;
     }
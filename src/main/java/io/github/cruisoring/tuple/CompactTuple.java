@@ -0,0 +1,190 @@
+package io.github.cruisoring.tuple;
+
+import io.github.cruisoring.DeepIndex;
+import io.github.cruisoring.TypeHelper;
+import io.github.cruisoring.logger.Logger;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Predicate;
+
+/**
+ * Base of the tuples keeping each element in its own field instead of sharing an {@code Object[]} with the {@code Tuple}.
+ * Besides the elements, an instance holds only a primitive {@code int} hash slot and a reference to the lazily
+ * allocated side state, so it is preferred when tens of millions of tuples are kept as keys of a Map.
+ * Notice: the {@code hashCode()} is identical to that of the {@code Tuple} with the same values, but a
+ * {@code CompactTuple} can only be equal to another instance of the same class.
+ */
+public abstract class CompactTuple implements ITuple {
+
+    private static final AtomicReferenceFieldUpdater<CompactTuple, TupleState> STATE_UPDATER =
+            AtomicReferenceFieldUpdater.newUpdater(CompactTuple.class, TupleState.class, "state");
+
+    private int hash;
+    private volatile TupleState state;
+
+    /**
+     * Get new Array of the values.
+     *
+     * @return Array of the values
+     */
+    public Object[] asArray() {
+        int length = getLength();
+        Object[] array = new Object[length];
+        for (int i = 0; i < length; i++) {
+            array[i] = getValue(i);
+        }
+        return array;
+    }
+
+    private TupleState getState() {
+        TupleState tupleState = state;
+        if (tupleState == null) {
+            tupleState = new TupleState();
+            if (!STATE_UPDATER.compareAndSet(this, null, tupleState)) {
+                tupleState = state;
+            }
+        }
+        return tupleState;
+    }
+
+    @Override
+    public Tuple getSetOf(Class clazz) {
+        return Tuple.of(asArray()).getSetOf(clazz);
+    }
+
+    @Override
+    public Tuple getSetOf(Class clazz, Predicate valuePredicate) {
+        return Tuple.of(asArray()).getSetOf(clazz, valuePredicate);
+    }
+
+    @Override
+    public int[][] getDeepIndexes() {
+        //Converted from the DeepIndex only once, the arrays would be shared by all callers
+        TupleState tupleState = getState();
+        if (tupleState.deepIndexes == null) {
+            tupleState.deepIndexes = getDeepIndex().toArrays();
+        }
+        return tupleState.deepIndexes;
+    }
+
+    @Override
+    public DeepIndex getDeepIndex() {
+        TupleState tupleState = getState();
+        if (tupleState.deepIndex == null) {
+            tupleState.deepIndex = DeepIndex.of(asArray());
+        }
+        return tupleState.deepIndex;
+    }
+
+    @Override
+    public Set<Integer> getSignatures() {
+        TupleState tupleState = getState();
+        if (tupleState.signatures == null) {
+            Set<Integer> hashCodes = new HashSet<>();
+            hashCodes.add(hashCode());
+            int length = getLength();
+            for (int i = 0; i < length; i++) {
+                Object v = getValue(i);
+                hashCodes.add(v == null ? 0 : v.hashCode());
+            }
+            tupleState.signatures = Collections.unmodifiableSet(hashCodes);
+        }
+        return tupleState.signatures;
+    }
+
+    @Override
+    public TupleSignature getSignature() {
+        TupleState tupleState = getState();
+        if (tupleState.signature == null) {
+            tupleState.signature = TupleSignature.of(this);
+        }
+        return tupleState.signature;
+    }
+
+    /**
+     * Get the hashCode cached in a primitive slot, the value 0 is regarded as not calculated yet.
+     *
+     * @return the hashCode of all elements that is identical to that of the {@code Tuple} with the same values
+     */
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            h = 1;
+            int length = getLength();
+            for (int i = 0; i < length; i++) {
+                h = Tuple.foldHashCode(h, getValue(i));
+            }
+            hash = h;
+        }
+        return h;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        } else if (!canEqual(obj) || hashCode() != obj.hashCode()) {
+            return false;
+        }
+
+        CompactTuple other = (CompactTuple) obj;
+        int length = getLength();
+        for (int i = 0; i < length; i++) {
+            if (!PrimitiveTuple.elementEquals(getValue(i), other.getValue(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean canEqual(Object obj) {
+        return obj != null && obj.getClass() == getClass();
+    }
+
+    @Override
+    public int compareTo(Object o) {
+        if (!canEqual(o)) {
+            return ITuple.super.compareTo(o);
+        }
+
+        CompactTuple other = (CompactTuple) o;
+        int length = getLength();
+        for (int i = 0; i < length; i++) {
+            int result = PrimitiveTuple.compareElements(getValue(i), other.getValue(i));
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        return TypeHelper.deepToString(asArray());
+    }
+
+    /**
+     * Check the flag <code>closed</code> first, then close the saved values if they are AutoCloseable in reverse order.
+     *
+     * @throws Exception any exception that could be thrown when closing AutoCloseable objects
+     */
+    @Override
+    public void close() throws Exception {
+        TupleState tupleState = getState();
+        if (!tupleState.closed) {
+            for (int i = getLength() - 1; i >= 0; i--) {
+                Object value = getValue(i);
+                if (value instanceof AutoCloseable) {
+                    ((AutoCloseable) value).close();
+                    Logger.V("%s closed()", value);
+                }
+            }
+            tupleState.closed = true;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package io.github.cruisoring.tuple;
+
+/**
+ * Compact tuple type with a single element persisted as fields.
+ *
+ * @param <T> Type of the persisted element
+ */
+public class CompactTuple1<T> extends CompactTuple
+        implements WithValues1<T> {
+
+    protected final T first;
+
+    protected CompactTuple1(final T t) {
+        this.first = t;
+    }
+
+    @Override
+    public int getLength() {
+        return 1;
+    }
+
+    @Override
+    public Object getValue(int index) {
+        switch (index) {
+            case 0:
+                return first;
+            default:
+                throw new IndexOutOfBoundsException();
+        }
+    }
+
+    @Override
+    public T getFirst() {
+        return first;
+    }
+}
@@ -0,0 +1,126 @@
+package io.github.cruisoring.tuple;
+
+/**
+ * Compact tuple type with ten elements persisted as fields.
+ *
+ * @param <T> Type of the first persisted element
+ * @param <U> Type of the second persisted element
+ * @param <V> Type of the third persisted element
+ * @param <W> Type of the fourth persisted element
+ * @param <X> Type of the fifth persisted element
+ * @param <Y> Type of the sixth persisted element
+ * @param <Z> Type of the seventh persisted element
+ * @param <A> Type of the 8th persisted element
+ * @param <B> Type of the 9th persisted element
+ * @param <C> Type of the 10th persisted element
+ */
+public class CompactTuple10<T, U, V, W, X, Y, Z, A, B, C> extends CompactTuple
+        implements WithValues10<T, U, V, W, X, Y, Z, A, B, C> {
+
+    protected final T first;
+    protected final U second;
+    protected final V third;
+    protected final W fourth;
+    protected final X fifth;
+    protected final Y sixth;
+    protected final Z seventh;
+    protected final A eighth;
+    protected final B ninth;
+    protected final C tenth;
+
+    protected CompactTuple10(final T t, final U u, final V v, final W w, final X x, final Y y, final Z z, final A a, final B b, final C c) {
+        this.first = t;
+        this.second = u;
+        this.third = v;
+        this.fourth = w;
+        this.fifth = x;
+        this.sixth = y;
+        this.seventh = z;
+        this.eighth = a;
+        this.ninth = b;
+        this.tenth = c;
+    }
+
+    @Override
+    public int getLength() {
+        return 10;
+    }
+
+    @Override
+    public Object getValue(int index) {
+        switch (index) {
+            case 0:
+                return first;
+            case 1:
+                return second;
+            case 2:
+                return third;
+            case 3:
+                return fourth;
+            case 4:
+                return fifth;
+            case 5:
+                return sixth;
+            case 6:
+                return seventh;
+            case 7:
+                return eighth;
+            case 8:
+                return ninth;
+            case 9:
+                return tenth;
+            default:
+                throw new IndexOutOfBoundsException();
+        }
+    }
+
+    @Override
+    public T getFirst() {
+        return first;
+    }
+
+    @Override
+    public U getSecond() {
+        return second;
+    }
+
+    @Override
+    public V getThird() {
+        return third;
+    }
+
+    @Override
+    public W getFourth() {
+        return fourth;
+    }
+
+    @Override
+    public X getFifth() {
+        return fifth;
+    }
+
+    @Override
+    public Y getSixth() {
+        return sixth;
+    }
+
+    @Override
+    public Z getSeventh() {
+        return seventh;
+    }
+
+    @Override
+    public A getEighth() {
+        return eighth;
+    }
+
+    @Override
+    public B getNineth() {
+        return ninth;
+    }
+
+    @Override
+    public C getTenth() {
+        return tenth;
+    }
+}
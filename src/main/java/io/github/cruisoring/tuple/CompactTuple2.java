@@ -0,0 +1,46 @@
+package io.github.cruisoring.tuple;
+
+/**
+ * Compact tuple type with two elements persisted as fields.
+ *
+ * @param <T> Type of the first persisted element
+ * @param <U> Type of the second persisted element
+ */
+public class CompactTuple2<T, U> extends CompactTuple
+        implements WithValues2<T, U> {
+
+    protected final T first;
+    protected final U second;
+
+    protected CompactTuple2(final T t, final U u) {
+        this.first = t;
+        this.second = u;
+    }
+
+    @Override
+    public int getLength() {
+        return 2;
+    }
+
+    @Override
+    public Object getValue(int index) {
+        switch (index) {
+            case 0:
+                return first;
+            case 1:
+                return second;
+            default:
+                throw new IndexOutOfBoundsException();
+        }
+    }
+
+    @Override
+    public T getFirst() {
+        return first;
+    }
+
+    @Override
+    public U getSecond() {
+        return second;
+    }
+}
@@ -0,0 +1,56 @@
+package io.github.cruisoring.tuple;
+
+/**
+ * Compact tuple type with three elements persisted as fields.
+ *
+ * @param <T> Type of the first persisted element
+ * @param <U> Type of the second persisted element
+ * @param <V> Type of the third persisted element
+ */
+public class CompactTuple3<T, U, V> extends CompactTuple
+        implements WithValues3<T, U, V> {
+
+    protected final T first;
+    protected final U second;
+    protected final V third;
+
+    protected CompactTuple3(final T t, final U u, final V v) {
+        this.first = t;
+        this.second = u;
+        this.third = v;
+    }
+
+    @Override
+    public int getLength() {
+        return 3;
+    }
+
+    @Override
+    public Object getValue(int index) {
+        switch (index) {
+            case 0:
+                return first;
+            case 1:
+                return second;
+            case 2:
+                return third;
+            default:
+                throw new IndexOutOfBoundsException();
+        }
+    }
+
+    @Override
+    public T getFirst() {
+        return first;
+    }
+
+    @Override
+    public U getSecond() {
+        return second;
+    }
+
+    @Override
+    public V getThird() {
+        return third;
+    }
+}
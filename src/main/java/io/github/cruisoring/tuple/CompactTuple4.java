@@ -0,0 +1,66 @@
+package io.github.cruisoring.tuple;
+
+/**
+ * Compact tuple type with four elements persisted as fields.
+ *
+ * @param <T> Type of the first persisted element
+ * @param <U> Type of the second persisted element
+ * @param <V> Type of the third persisted element
+ * @param <W> Type of the fourth persisted element
+ */
+public class CompactTuple4<T, U, V, W> extends CompactTuple
+        implements WithValues4<T, U, V, W> {
+
+    protected final T first;
+    protected final U second;
+    protected final V third;
+    protected final W fourth;
+
+    protected CompactTuple4(final T t, final U u, final V v, final W w) {
+        this.first = t;
+        this.second = u;
+        this.third = v;
+        this.fourth = w;
+    }
+
+    @Override
+    public int getLength() {
+        return 4;
+    }
+
+    @Override
+    public Object getValue(int index) {
+        switch (index) {
+            case 0:
+                return first;
+            case 1:
+                return second;
+            case 2:
+                return third;
+            case 3:
+                return fourth;
+            default:
+                throw new IndexOutOfBoundsException();
+        }
+    }
+
+    @Override
+    public T getFirst() {
+        return first;
+    }
+
+    @Override
+    public U getSecond() {
+        return second;
+    }
+
+    @Override
+    public V getThird() {
+        return third;
+    }
+
+    @Override
+    public W getFourth() {
+        return fourth;
+    }
+}
@@ -0,0 +1,76 @@
+package io.github.cruisoring.tuple;
+
+/**
+ * Compact tuple type with five elements persisted as fields.
+ *
+ * @param <T> Type of the first persisted element
+ * @param <U> Type of the second persisted element
+ * @param <V> Type of the third persisted element
+ * @param <W> Type of the fourth persisted element
+ * @param <X> Type of the fifth persisted element
+ */
+public class CompactTuple5<T, U, V, W, X> extends CompactTuple
+        implements WithValues5<T, U, V, W, X> {
+
+    protected final T first;
+    protected final U second;
+    protected final V third;
+    protected final W fourth;
+    protected final X fifth;
+
+    protected CompactTuple5(final T t, final U u, final V v, final W w, final X x) {
+        this.first = t;
+        this.second = u;
+        this.third = v;
+        this.fourth = w;
+        this.fifth = x;
+    }
+
+    @Override
+    public int getLength() {
+        return 5;
+    }
+
+    @Override
+    public Object getValue(int index) {
+        switch (index) {
+            case 0:
+                return first;
+            case 1:
+                return second;
+            case 2:
+                return third;
+            case 3:
+                return fourth;
+            case 4:
+                return fifth;
+            default:
+                throw new IndexOutOfBoundsException();
+        }
+    }
+
+    @Override
+    public T getFirst() {
+        return first;
+    }
+
+    @Override
+    public U getSecond() {
+        return second;
+    }
+
+    @Override
+    public V getThird() {
+        return third;
+    }
+
+    @Override
+    public W getFourth() {
+        return fourth;
+    }
+
+    @Override
+    public X getFifth() {
+        return fifth;
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.cruisoring.tuple;
+
+/**
+ * Tuple type with two double elements persisted as primitive fields.
+ */
+public class DoubleTuple2 extends PrimitiveTuple
+        implements WithValues2<Double, Double> {
+
+    protected final double first;
+    protected final double second;
+
+    protected DoubleTuple2(final double first, final double second) {
+        this.first = first;
+        this.second = second;
+    }
+
+    @Override
+    public int getLength() {
+        return 2;
+    }
+
+    @Override
+    public Object getValue(int index) {
+        switch (index) {
+            case 0:
+                return first;
+            case 1:
+                return second;
+            default:
+                throw new IndexOutOfBoundsException();
+        }
+    }
+
+    @Override
+    public double getDouble(int index) {
+        switch (index) {
+            case 0:
+                return first;
+            case 1:
+                return second;
+            default:
+                throw notAccessibleAs(index, double.class);
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 + Double.hashCode(first)) + Double.hashCode(second);
+    }
+
+    @Override
+    public long hash64() {
+        long hash = TupleHash.SEED;
+        hash = TupleHash.mixDouble(hash, first);
+        hash = TupleHash.mixDouble(hash, second);
+        return TupleHash.finish(hash, 2);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        } else if (!canEqual(obj)) {
+            return false;
+        }
+
+        DoubleTuple2 other = (DoubleTuple2) obj;
+        return Double.doubleToLongBits(first) == Double.doubleToLongBits(other.first)
+                && Double.doubleToLongBits(second) == Double.doubleToLongBits(other.second);
+    }
+
+    @Override
+    public int compareTo(Object o) {
+        if (!canEqual(o)) {
+            return super.compareTo(o);
+        }
+
+        DoubleTuple2 other = (DoubleTuple2) o;
+        int result = Double.compare(first, other.first);
+        if (result != 0) {
+            return result;
+        }
+        return Double.compare(second, other.second);
+    }
+}
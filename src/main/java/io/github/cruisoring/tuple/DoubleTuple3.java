@@ -0,0 +1,97 @@
+package io.github.cruisoring.tuple;
+
+/**
+ * Tuple type with three double elements persisted as primitive fields.
+ */
+public class DoubleTuple3 extends PrimitiveTuple
+        implements WithValues3<Double, Double, Double> {
+
+    protected final double first;
+    protected final double second;
+    protected final double third;
+
+    protected DoubleTuple3(final double first, final double second, final double third) {
+        this.first = first;
+        this.second = second;
+        this.third = third;
+    }
+
+    @Override
+    public int getLength() {
+        return 3;
+    }
+
+    @Override
+    public Object getValue(int index) {
+        switch (index) {
+            case 0:
+                return first;
+            case 1:
+                return second;
+            case 2:
+                return third;
+            default:
+                throw new IndexOutOfBoundsException();
+        }
+    }
+
+    @Override
+    public double getDouble(int index) {
+        switch (index) {
+            case 0:
+                return first;
+            case 1:
+                return second;
+            case 2:
+                return third;
+            default:
+                throw notAccessibleAs(index, double.class);
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * (31 + Double.hashCode(first)) + Double.hashCode(second)) + Double.hashCode(third);
+    }
+
+    @Override
+    public long hash64() {
+        long hash = TupleHash.SEED;
+        hash = TupleHash.mixDouble(hash, first);
+        hash = TupleHash.mixDouble(hash, second);
+        hash = TupleHash.mixDouble(hash, third);
+        return TupleHash.finish(hash, 3);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        } else if (!canEqual(obj)) {
+            return false;
+        }
+
+        DoubleTuple3 other = (DoubleTuple3) obj;
+        return Double.doubleToLongBits(first) == Double.doubleToLongBits(other.first)
+                && Double.doubleToLongBits(second) == Double.doubleToLongBits(other.second)
+                && Double.doubleToLongBits(third) == Double.doubleToLongBits(other.third);
+    }
+
+    @Override
+    public int compareTo(Object o) {
+        if (!canEqual(o)) {
+            return super.compareTo(o);
+        }
+
+        DoubleTuple3 other = (DoubleTuple3) o;
+        int result = Double.compare(first, other.first);
+        if (result != 0) {
+            return result;
+        }
+        result = Double.compare(second, other.second);
+        if (result != 0) {
+            return result;
+        }
+        return Double.compare(third, other.third);
+    }
+}
@@ -1,5 +1,7 @@
 package io.github.cruisoring.tuple;
 
+import io.github.cruisoring.DeepIndex;
+
 import java.util.function.Predicate;
 
 /**
@@ -35,4 +37,18 @@ public interface ITuple<T extends Object> extends AutoCloseable, WithValues<T> {
      * The other int values of the int[] are indexes of the node element or its parent array in their container arrays.
      */
     int[][] getDeepIndexes();
+
+    /**
+     * Get the deep indexes of the elements in the compact form of {@code DeepIndex}, with all paths kept in a flat array.
+     *
+     * @return the {@code DeepIndex} of the elements
+     */
+    default DeepIndex getDeepIndex() {
+        int length = getLength();
+        Object[] elements = new Object[length];
+        for (int i = 0; i < length; i++) {
+            elements[i] = getValue(i);
+        }
+        return DeepIndex.of(elements);
+    }
 }
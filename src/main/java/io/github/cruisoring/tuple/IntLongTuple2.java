@@ -0,0 +1,107 @@
+package io.github.cruisoring.tuple;
+
+/**
+ * Tuple type with an int element and a long element persisted as primitive fields.
+ */
+public class IntLongTuple2 extends PrimitiveTuple
+        implements WithValues2<Integer, Long> {
+
+    protected final int first;
+    protected final long second;
+
+    protected IntLongTuple2(final int first, final long second) {
+        this.first = first;
+        this.second = second;
+    }
+
+    @Override
+    public int getLength() {
+        return 2;
+    }
+
+    @Override
+    public Object getValue(int index) {
+        switch (index) {
+            case 0:
+                return first;
+            case 1:
+                return second;
+            default:
+                throw new IndexOutOfBoundsException();
+        }
+    }
+
+    @Override
+    public int getInt(int index) {
+        switch (index) {
+            case 0:
+                return first;
+            default:
+                throw notAccessibleAs(index, int.class);
+        }
+    }
+
+    @Override
+    public long getLong(int index) {
+        switch (index) {
+            case 0:
+                return first;
+            case 1:
+                return second;
+            default:
+                throw notAccessibleAs(index, long.class);
+        }
+    }
+
+    @Override
+    public double getDouble(int index) {
+        switch (index) {
+            case 0:
+                return first;
+            case 1:
+                return second;
+            default:
+                throw notAccessibleAs(index, double.class);
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 + first) + Long.hashCode(second);
+    }
+
+    @Override
+    public long hash64() {
+        long hash = TupleHash.SEED;
+        hash = TupleHash.mix(hash, first);
+        hash = TupleHash.mix(hash, second);
+        return TupleHash.finish(hash, 2);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        } else if (!canEqual(obj)) {
+            return false;
+        }
+
+        IntLongTuple2 other = (IntLongTuple2) obj;
+        return first == other.first
+                && second == other.second;
+    }
+
+    @Override
+    public int compareTo(Object o) {
+        if (!canEqual(o)) {
+            return super.compareTo(o);
+        }
+
+        IntLongTuple2 other = (IntLongTuple2) o;
+        int result = Integer.compare(first, other.first);
+        if (result != 0) {
+            return result;
+        }
+        return Long.compare(second, other.second);
+    }
+}
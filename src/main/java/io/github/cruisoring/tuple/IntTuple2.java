@@ -0,0 +1,109 @@
+package io.github.cruisoring.tuple;
+
+/**
+ * Tuple type with two int elements persisted as primitive fields.
+ */
+public class IntTuple2 extends PrimitiveTuple
+        implements WithValues2<Integer, Integer> {
+
+    protected final int first;
+    protected final int second;
+
+    protected IntTuple2(final int first, final int second) {
+        this.first = first;
+        this.second = second;
+    }
+
+    @Override
+    public int getLength() {
+        return 2;
+    }
+
+    @Override
+    public Object getValue(int index) {
+        switch (index) {
+            case 0:
+                return first;
+            case 1:
+                return second;
+            default:
+                throw new IndexOutOfBoundsException();
+        }
+    }
+
+    @Override
+    public int getInt(int index) {
+        switch (index) {
+            case 0:
+                return first;
+            case 1:
+                return second;
+            default:
+                throw notAccessibleAs(index, int.class);
+        }
+    }
+
+    @Override
+    public long getLong(int index) {
+        switch (index) {
+            case 0:
+                return first;
+            case 1:
+                return second;
+            default:
+                throw notAccessibleAs(index, long.class);
+        }
+    }
+
+    @Override
+    public double getDouble(int index) {
+        switch (index) {
+            case 0:
+                return first;
+            case 1:
+                return second;
+            default:
+                throw notAccessibleAs(index, double.class);
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 + first) + second;
+    }
+
+    @Override
+    public long hash64() {
+        long hash = TupleHash.SEED;
+        hash = TupleHash.mix(hash, first);
+        hash = TupleHash.mix(hash, second);
+        return TupleHash.finish(hash, 2);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        } else if (!canEqual(obj)) {
+            return false;
+        }
+
+        IntTuple2 other = (IntTuple2) obj;
+        return first == other.first
+                && second == other.second;
+    }
+
+    @Override
+    public int compareTo(Object o) {
+        if (!canEqual(o)) {
+            return super.compareTo(o);
+        }
+
+        IntTuple2 other = (IntTuple2) o;
+        int result = Integer.compare(first, other.first);
+        if (result != 0) {
+            return result;
+        }
+        return Integer.compare(second, other.second);
+    }
+}
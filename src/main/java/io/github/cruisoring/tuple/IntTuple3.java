@@ -0,0 +1,125 @@
+package io.github.cruisoring.tuple;
+
+/**
+ * Tuple type with three int elements persisted as primitive fields.
+ */
+public class IntTuple3 extends PrimitiveTuple
+        implements WithValues3<Integer, Integer, Integer> {
+
+    protected final int first;
+    protected final int second;
+    protected final int third;
+
+    protected IntTuple3(final int first, final int second, final int third) {
+        this.first = first;
+        this.second = second;
+        this.third = third;
+    }
+
+    @Override
+    public int getLength() {
+        return 3;
+    }
+
+    @Override
+    public Object getValue(int index) {
+        switch (index) {
+            case 0:
+                return first;
+            case 1:
+                return second;
+            case 2:
+                return third;
+            default:
+                throw new IndexOutOfBoundsException();
+        }
+    }
+
+    @Override
+    public int getInt(int index) {
+        switch (index) {
+            case 0:
+                return first;
+            case 1:
+                return second;
+            case 2:
+                return third;
+            default:
+                throw notAccessibleAs(index, int.class);
+        }
+    }
+
+    @Override
+    public long getLong(int index) {
+        switch (index) {
+            case 0:
+                return first;
+            case 1:
+                return second;
+            case 2:
+                return third;
+            default:
+                throw notAccessibleAs(index, long.class);
+        }
+    }
+
+    @Override
+    public double getDouble(int index) {
+        switch (index) {
+            case 0:
+                return first;
+            case 1:
+                return second;
+            case 2:
+                return third;
+            default:
+                throw notAccessibleAs(index, double.class);
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * (31 + first) + second) + third;
+    }
+
+    @Override
+    public long hash64() {
+        long hash = TupleHash.SEED;
+        hash = TupleHash.mix(hash, first);
+        hash = TupleHash.mix(hash, second);
+        hash = TupleHash.mix(hash, third);
+        return TupleHash.finish(hash, 3);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        } else if (!canEqual(obj)) {
+            return false;
+        }
+
+        IntTuple3 other = (IntTuple3) obj;
+        return first == other.first
+                && second == other.second
+                && third == other.third;
+    }
+
+    @Override
+    public int compareTo(Object o) {
+        if (!canEqual(o)) {
+            return super.compareTo(o);
+        }
+
+        IntTuple3 other = (IntTuple3) o;
+        int result = Integer.compare(first, other.first);
+        if (result != 0) {
+            return result;
+        }
+        result = Integer.compare(second, other.second);
+        if (result != 0) {
+            return result;
+        }
+        return Integer.compare(third, other.third);
+    }
+}
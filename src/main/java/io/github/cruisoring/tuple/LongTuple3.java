@@ -0,0 +1,111 @@
+package io.github.cruisoring.tuple;
+
+/**
+ * Tuple type with three long elements persisted as primitive fields.
+ */
+public class LongTuple3 extends PrimitiveTuple
+        implements WithValues3<Long, Long, Long> {
+
+    protected final long first;
+    protected final long second;
+    protected final long third;
+
+    protected LongTuple3(final long first, final long second, final long third) {
+        this.first = first;
+        this.second = second;
+        this.third = third;
+    }
+
+    @Override
+    public int getLength() {
+        return 3;
+    }
+
+    @Override
+    public Object getValue(int index) {
+        switch (index) {
+            case 0:
+                return first;
+            case 1:
+                return second;
+            case 2:
+                return third;
+            default:
+                throw new IndexOutOfBoundsException();
+        }
+    }
+
+    @Override
+    public long getLong(int index) {
+        switch (index) {
+            case 0:
+                return first;
+            case 1:
+                return second;
+            case 2:
+                return third;
+            default:
+                throw notAccessibleAs(index, long.class);
+        }
+    }
+
+    @Override
+    public double getDouble(int index) {
+        switch (index) {
+            case 0:
+                return first;
+            case 1:
+                return second;
+            case 2:
+                return third;
+            default:
+                throw notAccessibleAs(index, double.class);
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * (31 + Long.hashCode(first)) + Long.hashCode(second)) + Long.hashCode(third);
+    }
+
+    @Override
+    public long hash64() {
+        long hash = TupleHash.SEED;
+        hash = TupleHash.mix(hash, first);
+        hash = TupleHash.mix(hash, second);
+        hash = TupleHash.mix(hash, third);
+        return TupleHash.finish(hash, 3);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        } else if (!canEqual(obj)) {
+            return false;
+        }
+
+        LongTuple3 other = (LongTuple3) obj;
+        return first == other.first
+                && second == other.second
+                && third == other.third;
+    }
+
+    @Override
+    public int compareTo(Object o) {
+        if (!canEqual(o)) {
+            return super.compareTo(o);
+        }
+
+        LongTuple3 other = (LongTuple3) o;
+        int result = Long.compare(first, other.first);
+        if (result != 0) {
+            return result;
+        }
+        result = Long.compare(second, other.second);
+        if (result != 0) {
+            return result;
+        }
+        return Long.compare(third, other.third);
+    }
+}
@@ -0,0 +1,117 @@
+package io.github.cruisoring.tuple;
+
+/**
+ * Tuple type with an Object element and an int element persisted as fields, the int kept as primitive.
+ *
+ * @param <T> Type of the first persisted element
+ */
+public class ObjIntTuple2<T> extends PrimitiveTuple
+        implements WithValues2<T, Integer> {
+
+    protected final T first;
+    protected final int second;
+
+    protected ObjIntTuple2(final T first, final int second) {
+        this.first = first;
+        this.second = second;
+    }
+
+    @Override
+    public int getLength() {
+        return 2;
+    }
+
+    @Override
+    public Object getValue(int index) {
+        switch (index) {
+            case 0:
+                return first;
+            case 1:
+                return second;
+            default:
+                throw new IndexOutOfBoundsException();
+        }
+    }
+
+    @Override
+    public int getInt(int index) {
+        switch (index) {
+            case 1:
+                return second;
+            default:
+                throw notAccessibleAs(index, int.class);
+        }
+    }
+
+    @Override
+    public long getLong(int index) {
+        switch (index) {
+            case 1:
+                return second;
+            default:
+                throw notAccessibleAs(index, long.class);
+        }
+    }
+
+    @Override
+    public double getDouble(int index) {
+        switch (index) {
+            case 1:
+                return second;
+            default:
+                throw notAccessibleAs(index, double.class);
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Tuple.foldHashCode(1, first) + second;
+    }
+
+    @Override
+    public long hash64() {
+        long hash = TupleHash.SEED;
+        hash = TupleHash.mixValue(hash, first);
+        hash = TupleHash.mix(hash, second);
+        return TupleHash.finish(hash, 2);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        } else if (!canEqual(obj)) {
+            return false;
+        }
+
+        ObjIntTuple2 other = (ObjIntTuple2) obj;
+        return second == other.second
+                && elementEquals(first, other.first);
+    }
+
+    @Override
+    public int compareTo(Object o) {
+        if (!canEqual(o)) {
+            return super.compareTo(o);
+        }
+
+        ObjIntTuple2 other = (ObjIntTuple2) o;
+        int result = compareElements(first, other.first);
+        if (result != 0) {
+            return result;
+        }
+        return Integer.compare(second, other.second);
+    }
+
+    /**
+     * Close the Object element if it is AutoCloseable.
+     *
+     * @throws Exception any exception that could be thrown when closing AutoCloseable objects
+     */
+    @Override
+    public void close() throws Exception {
+        if (first instanceof AutoCloseable) {
+            ((AutoCloseable) first).close();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package io.github.cruisoring.tuple;
+
+/**
+ * Tuple type with an Object element and a long element persisted as fields, the long kept as primitive.
+ *
+ * @param <T> Type of the first persisted element
+ */
+public class ObjLongTuple2<T> extends PrimitiveTuple
+        implements WithValues2<T, Long> {
+
+    protected final T first;
+    protected final long second;
+
+    protected ObjLongTuple2(final T first, final long second) {
+        this.first = first;
+        this.second = second;
+    }
+
+    @Override
+    public int getLength() {
+        return 2;
+    }
+
+    @Override
+    public Object getValue(int index) {
+        switch (index) {
+            case 0:
+                return first;
+            case 1:
+                return second;
+            default:
+                throw new IndexOutOfBoundsException();
+        }
+    }
+
+    @Override
+    public long getLong(int index) {
+        switch (index) {
+            case 1:
+                return second;
+            default:
+                throw notAccessibleAs(index, long.class);
+        }
+    }
+
+    @Override
+    public double getDouble(int index) {
+        switch (index) {
+            case 1:
+                return second;
+            default:
+                throw notAccessibleAs(index, double.class);
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Tuple.foldHashCode(1, first) + Long.hashCode(second);
+    }
+
+    @Override
+    public long hash64() {
+        long hash = TupleHash.SEED;
+        hash = TupleHash.mixValue(hash, first);
+        hash = TupleHash.mix(hash, second);
+        return TupleHash.finish(hash, 2);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        } else if (!canEqual(obj)) {
+            return false;
+        }
+
+        ObjLongTuple2 other = (ObjLongTuple2) obj;
+        return second == other.second
+                && elementEquals(first, other.first);
+    }
+
+    @Override
+    public int compareTo(Object o) {
+        if (!canEqual(o)) {
+            return super.compareTo(o);
+        }
+
+        ObjLongTuple2 other = (ObjLongTuple2) o;
+        int result = compareElements(first, other.first);
+        if (result != 0) {
+            return result;
+        }
+        return Long.compare(second, other.second);
+    }
+
+    /**
+     * Close the Object element if it is AutoCloseable.
+     *
+     * @throws Exception any exception that could be thrown when closing AutoCloseable objects
+     */
+    @Override
+    public void close() throws Exception {
+        if (first instanceof AutoCloseable) {
+            ((AutoCloseable) first).close();
+        }
+    }
+}
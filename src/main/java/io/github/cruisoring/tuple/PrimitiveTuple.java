@@ -0,0 +1,169 @@
+package io.github.cruisoring.tuple;
+
+import io.github.cruisoring.TypeHelper;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Base of the tuples keeping their elements as primitive fields instead of an {@code Object[]} of boxed values.
+ * Accessing the elements with {@code getInt(int)}, {@code getLong(int)} or {@code getDouble(int)}, as well as
+ * {@code hashCode()} and {@code equals(Object)}, never box the primitive elements, so they can be used as keys of
+ * the {@code Repository} or {@code HashMap} without creating any garbage.
+ * Notice: the {@code hashCode()} is identical to that of the {@code Tuple} with the same boxed values, but a
+ * {@code PrimitiveTuple} can only be equal to another instance of the same class. So a repository keyed by them is
+ * created with {@code TupleRepositoryN.fromKey()} and looked up with the keys like {@code Tuple.ofInts(k1, k2)}, the
+ * {@code TupleKeysN} methods taking the elements, like {@code retrieve(k1, k2)}, compose boxed {@code Tuple}s that
+ * would never reach them.
+ */
+public abstract class PrimitiveTuple implements ITuple {
+
+    /**
+     * Get the int element at the specific position.
+     *
+     * @param index Index of the expected element
+     * @return the int element at that index
+     * @throws IndexOutOfBoundsException     When invalid index is provided
+     * @throws UnsupportedOperationException When the element cannot be retrieved as int
+     */
+    public int getInt(int index) {
+        throw notAccessibleAs(index, int.class);
+    }
+
+    /**
+     * Get the element at the specific position as long, int elements would be widened.
+     *
+     * @param index Index of the expected element
+     * @return the element at that index as a long
+     * @throws IndexOutOfBoundsException     When invalid index is provided
+     * @throws UnsupportedOperationException When the element cannot be retrieved as long
+     */
+    public long getLong(int index) {
+        throw notAccessibleAs(index, long.class);
+    }
+
+    /**
+     * Get the element at the specific position as double, int or long elements would be widened.
+     *
+     * @param index Index of the expected element
+     * @return the element at that index as a double
+     * @throws IndexOutOfBoundsException     When invalid index is provided
+     * @throws UnsupportedOperationException When the element cannot be retrieved as double
+     */
+    public double getDouble(int index) {
+        throw notAccessibleAs(index, double.class);
+    }
+
+    /**
+     * Compose the exception to be thrown when the element at the given index cannot be accessed as the given type.
+     *
+     * @param index         Index of the concerned element
+     * @param primitiveType Primitive type expected by the caller
+     * @return the {@code RuntimeException} to be thrown
+     */
+    protected RuntimeException notAccessibleAs(int index, Class primitiveType) {
+        if (index < 0 || index >= getLength()) {
+            return new IndexOutOfBoundsException();
+        }
+        return new UnsupportedOperationException(String.format("The element at %d of %s cannot be retrieved as %s",
+                index, getClass().getSimpleName(), primitiveType.getSimpleName()));
+    }
+
+    /**
+     * Compare two Object elements with {@code TypeHelper.valueEquals()} only when they are arrays or collections,
+     * so that common elements like String or Long would be compared without creating any garbage.
+     *
+     * @param element      the Object element of this tuple
+     * @param otherElement the Object element of another tuple at the same position
+     * @return <code>true</code> if they are regarded as equal, otherwise <code>false</code>
+     */
+    protected static boolean elementEquals(Object element, Object otherElement) {
+        if (element == otherElement) {
+            return true;
+        } else if (element == null || otherElement == null) {
+            return false;
+        } else if (element.getClass().isArray() || element instanceof Collection) {
+            return TypeHelper.valueEquals(element, otherElement);
+        }
+        return element.equals(otherElement);
+    }
+
+    /**
+     * Compare two Object elements in the order of <code>TupleComparator.NATURAL</code>.
+     * Notice: null is regarded as less than any other values.
+     *
+     * @param element      the Object element of this tuple
+     * @param otherElement the Object element of another tuple at the same position
+     * @return a negative integer, zero, or a positive integer as the element is less than, equal to, or greater than the other
+     */
+    protected static int compareElements(Object element, Object otherElement) {
+        return TupleComparator.compareValues(element, otherElement);
+    }
+
+    /**
+     * Get new Array of the boxed values.
+     *
+     * @return Array of the boxed values
+     */
+    public Object[] asArray() {
+        int length = getLength();
+        Object[] array = new Object[length];
+        for (int i = 0; i < length; i++) {
+            array[i] = getValue(i);
+        }
+        return array;
+    }
+
+    @Override
+    public Tuple getSetOf(Class clazz) {
+        return Tuple.of(asArray()).getSetOf(clazz);
+    }
+
+    @Override
+    public Tuple getSetOf(Class clazz, Predicate valuePredicate) {
+        return Tuple.of(asArray()).getSetOf(clazz, valuePredicate);
+    }
+
+    @Override
+    public int[][] getDeepIndexes() {
+        return TypeHelper.getDeepIndexes(asArray());
+    }
+
+    /**
+     * Get the set of this.hashCode() and all its elements' hashCodes as signatures.
+     * Notice: the primitive tuples keep no side state, so the set is composed of boxed hash codes on every call,
+     * {@code getSignature()} is preferred to match them repeatedly.
+     *
+     * @return the hashCodes of this and its elements as a Set.
+     */
+    @Override
+    public Set<Integer> getSignatures() {
+        Set<Integer> hashCodes = new HashSet<>();
+        hashCodes.add(hashCode());
+        Arrays.stream(asArray()).forEach(v -> hashCodes.add(v == null ? 0 : v.hashCode()));
+        return Collections.unmodifiableSet(hashCodes);
+    }
+
+    @Override
+    public boolean canEqual(Object obj) {
+        return obj != null && obj.getClass() == getClass();
+    }
+
+    @Override
+    public String toString() {
+        return TypeHelper.deepToString(asArray());
+    }
+
+    /**
+     * Primitive elements need not to be closed.
+     *
+     * @throws Exception any exception that could be thrown when closing AutoCloseable objects
+     */
+    @Override
+    public void close() throws Exception {
+    }
+}
@@ -1,5 +1,6 @@
 package io.github.cruisoring.tuple;
 
+import io.github.cruisoring.DeepIndex;
 import io.github.cruisoring.TypeHelper;
 import io.github.cruisoring.TypedList;
 import io.github.cruisoring.logger.Logger;
@@ -8,6 +9,7 @@ import io.github.cruisoring.utility.SimpleTypedList;
 
 import java.lang.reflect.Array;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.Predicate;
 
 import static io.github.cruisoring.Asserts.*;
@@ -25,6 +27,11 @@ public class Tuple<T extends Object> implements ITuple<T> {
     public static final Tuple1 FALSE = new Tuple1(false);
     //endregion
 
+    /**
+     * The interner shared by <code>Tuple.intern()</code> and <code>Tuple.ofInterned()</code>.
+     */
+    public static final TupleInterner INTERNER = new TupleInterner();
+
     //region Static methods
 
     //region Factory methods to create Tuple with same type of elements
@@ -114,6 +121,39 @@ public class Tuple<T extends Object> implements ITuple<T> {
         }
     }
 
+    /**
+     * Get the canonical instance of the given Tuple from the shared <code>INTERNER</code>, to be used with the Tuples
+     * created by <code>Tuple.create()</code>, like <code>Tuple.intern(Tuple.create("a", "b"))</code>, to keep their types.
+     *
+     * @param tuple the Tuple to be interned
+     * @param <T>   Type of the Tuple
+     * @return the canonical instance of the same class that equals to the given Tuple
+     */
+    public static <T extends Tuple> T intern(final T tuple) {
+        return INTERNER.intern(tuple);
+    }
+
+    /**
+     * Same as <code>Tuple.of()</code>, but returns the canonical instance from the shared <code>INTERNER</code>.
+     *
+     * @param elements All elements to be persisted by the Tuple
+     * @return the canonical <tt>Tuple</tt> instance with length of the elements
+     */
+    public static Tuple ofInterned(final Object... elements) {
+        return INTERNER.intern(of(elements));
+    }
+
+    /**
+     * Get the cached lexicographic comparator of the tuples with elements of the given types, to keep the tuples in
+     * sorted structures like <code>TreeMap</code> or <code>ConcurrentSkipListMap</code>.
+     *
+     * @param elementTypes types of the leading elements, primitive types are treated as their wrapper types
+     * @return the comparator shared by all callers with the same element types
+     */
+    public static TupleComparator comparator(final Class... elementTypes) {
+        return TupleComparator.of(elementTypes);
+    }
+
     //region Factories to create Strong-typed Tuple instances based on the number of given arguments
 
     /**
@@ -362,14 +402,353 @@ public class Tuple<T extends Object> implements ITuple<T> {
         return new TuplePlus(t, u, v, w, x, y, z, a, b, c, others);
     }
     //endregion Factories to create Strong-typed Tuple instances based on the number of given arguments
+
+    //region Factories to create PrimitiveTuple instances keeping elements unboxed
+    /**
+     * Create an IntTuple2 instance that keeps 2 int elements without boxing.
+     *
+     * @param first  First element to be persisted by the Tuple
+     * @param second Second element to be persisted by the Tuple
+     * @return Tuple containing 2 int elements
+     */
+    public static IntTuple2 ofInts(final int first, final int second) {
+        return new IntTuple2(first, second);
+    }
+
+    /**
+     * Create an IntTuple3 instance that keeps 3 int elements without boxing.
+     *
+     * @param first  First element to be persisted by the Tuple
+     * @param second Second element to be persisted by the Tuple
+     * @param third  Third element to be persisted by the Tuple
+     * @return Tuple containing 3 int elements
+     */
+    public static IntTuple3 ofInts(final int first, final int second, final int third) {
+        return new IntTuple3(first, second, third);
+    }
+
+    /**
+     * Create a LongTuple2 instance that keeps 2 long elements without boxing.
+     *
+     * @param first  First element to be persisted by the Tuple
+     * @param second Second element to be persisted by the Tuple
+     * @return Tuple containing 2 long elements
+     */
+    public static LongTuple2 ofLongs(final long first, final long second) {
+        return new LongTuple2(first, second);
+    }
+
+    /**
+     * Create a LongTuple3 instance that keeps 3 long elements without boxing.
+     *
+     * @param first  First element to be persisted by the Tuple
+     * @param second Second element to be persisted by the Tuple
+     * @param third  Third element to be persisted by the Tuple
+     * @return Tuple containing 3 long elements
+     */
+    public static LongTuple3 ofLongs(final long first, final long second, final long third) {
+        return new LongTuple3(first, second, third);
+    }
+
+    /**
+     * Create a DoubleTuple2 instance that keeps 2 double elements without boxing.
+     *
+     * @param first  First element to be persisted by the Tuple
+     * @param second Second element to be persisted by the Tuple
+     * @return Tuple containing 2 double elements
+     */
+    public static DoubleTuple2 ofDoubles(final double first, final double second) {
+        return new DoubleTuple2(first, second);
+    }
+
+    /**
+     * Create a DoubleTuple3 instance that keeps 3 double elements without boxing.
+     *
+     * @param first  First element to be persisted by the Tuple
+     * @param second Second element to be persisted by the Tuple
+     * @param third  Third element to be persisted by the Tuple
+     * @return Tuple containing 3 double elements
+     */
+    public static DoubleTuple3 ofDoubles(final double first, final double second, final double third) {
+        return new DoubleTuple3(first, second, third);
+    }
+
+    /**
+     * Create an IntLongTuple2 instance that keeps an int and a long without boxing.
+     *
+     * @param first  First int element to be persisted by the Tuple
+     * @param second Second long element to be persisted by the Tuple
+     * @return Tuple containing an int and a long element
+     */
+    public static IntLongTuple2 ofIntLong(final int first, final long second) {
+        return new IntLongTuple2(first, second);
+    }
+
+    /**
+     * Create an ObjIntTuple2 instance that keeps an Object and an int without boxing the int.
+     *
+     * @param first  First element to be persisted by the Tuple
+     * @param second Second int element to be persisted by the Tuple
+     * @param <T>    Type of the first element <code>first</code>
+     * @return Tuple containing an Object and an int element
+     */
+    public static <T> ObjIntTuple2<T> ofObjInt(final T first, final int second) {
+        return new ObjIntTuple2<>(first, second);
+    }
+
+    /**
+     * Create an ObjLongTuple2 instance that keeps an Object and a long without boxing the long.
+     *
+     * @param first  First element to be persisted by the Tuple
+     * @param second Second long element to be persisted by the Tuple
+     * @param <T>    Type of the first element <code>first</code>
+     * @return Tuple containing an Object and a long element
+     */
+    public static <T> ObjLongTuple2<T> ofObjLong(final T first, final long second) {
+        return new ObjLongTuple2<>(first, second);
+    }
+    //endregion
+
+    //region Factories to create CompactTuple instances keeping elements as fields
+    /**
+     * Create a CompactTuple1 instance that keeps a single element as a field without an underlying Array.
+     *
+     * @param t   First element to be persisted by the Tuple
+     * @param <T> Type of the first element <code>t</code>
+     * @return CompactTuple containing 1 element that could be accessed as their original types.
+     */
+    public static <T> CompactTuple1<T> compact(final T t) {
+        return new CompactTuple1<>(t);
+    }
+
+    /**
+     * Create a CompactTuple2 instance that keeps two elements as fields without an underlying Array.
+     *
+     * @param t   First element to be persisted by the Tuple
+     * @param u   Second element to be persisted by the Tuple
+     * @param <T> Type of the first element <code>t</code>
+     * @param <U> Type of the second element <code>u</code>
+     * @return CompactTuple containing 2 elements that could be accessed as their original types.
+     */
+    public static <T, U> CompactTuple2<T, U> compact(final T t, final U u) {
+        return new CompactTuple2<>(t, u);
+    }
+
+    /**
+     * Create a CompactTuple3 instance that keeps three elements as fields without an underlying Array.
+     *
+     * @param t   First element to be persisted by the Tuple
+     * @param u   Second element to be persisted by the Tuple
+     * @param v   Third element to be persisted by the Tuple
+     * @param <T> Type of the first element <code>t</code>
+     * @param <U> Type of the second element <code>u</code>
+     * @param <V> Type of the third element <code>v</code>
+     * @return CompactTuple containing 3 elements that could be accessed as their original types.
+     */
+    public static <T, U, V> CompactTuple3<T, U, V> compact(final T t, final U u, final V v) {
+        return new CompactTuple3<>(t, u, v);
+    }
+
+    /**
+     * Create a CompactTuple4 instance that keeps four elements as fields without an underlying Array.
+     *
+     * @param t   First element to be persisted by the Tuple
+     * @param u   Second element to be persisted by the Tuple
+     * @param v   Third element to be persisted by the Tuple
+     * @param w   Fourth element to be persisted by the Tuple
+     * @param <T> Type of the first element <code>t</code>
+     * @param <U> Type of the second element <code>u</code>
+     * @param <V> Type of the third element <code>v</code>
+     * @param <W> Type of the fourth element <code>w</code>
+     * @return CompactTuple containing 4 elements that could be accessed as their original types.
+     */
+    public static <T, U, V, W> CompactTuple4<T, U, V, W> compact(final T t, final U u, final V v, final W w) {
+        return new CompactTuple4<>(t, u, v, w);
+    }
+
+    /**
+     * Create a CompactTuple5 instance that keeps five elements as fields without an underlying Array.
+     *
+     * @param t   First element to be persisted by the Tuple
+     * @param u   Second element to be persisted by the Tuple
+     * @param v   Third element to be persisted by the Tuple
+     * @param w   Fourth element to be persisted by the Tuple
+     * @param x   Fifth element to be persisted by the Tuple
+     * @param <T> Type of the first element <code>t</code>
+     * @param <U> Type of the second element <code>u</code>
+     * @param <V> Type of the third element <code>v</code>
+     * @param <W> Type of the fourth element <code>w</code>
+     * @param <X> Type of the fifth element <code>x</code>
+     * @return CompactTuple containing 5 elements that could be accessed as their original types.
+     */
+    public static <T, U, V, W, X> CompactTuple5<T, U, V, W, X> compact(final T t, final U u, final V v, final W w, final X x) {
+        return new CompactTuple5<>(t, u, v, w, x);
+    }
+
+    /**
+     * Create a CompactTuple6 instance that keeps six elements as fields without an underlying Array.
+     *
+     * @param t   First element to be persisted by the Tuple
+     * @param u   Second element to be persisted by the Tuple
+     * @param v   Third element to be persisted by the Tuple
+     * @param w   Fourth element to be persisted by the Tuple
+     * @param x   Fifth element to be persisted by the Tuple
+     * @param y   Sixth element to be persisted by the Tuple
+     * @param <T> Type of the first element <code>t</code>
+     * @param <U> Type of the second element <code>u</code>
+     * @param <V> Type of the third element <code>v</code>
+     * @param <W> Type of the fourth element <code>w</code>
+     * @param <X> Type of the fifth element <code>x</code>
+     * @param <Y> Type of the sixth element <code>y</code>
+     * @return CompactTuple containing 6 elements that could be accessed as their original types.
+     */
+    public static <T, U, V, W, X, Y> CompactTuple6<T, U, V, W, X, Y> compact(final T t, final U u, final V v, final W w, final X x, final Y y) {
+        return new CompactTuple6<>(t, u, v, w, x, y);
+    }
+
+    /**
+     * Create a CompactTuple7 instance that keeps seven elements as fields without an underlying Array.
+     *
+     * @param t   First element to be persisted by the Tuple
+     * @param u   Second element to be persisted by the Tuple
+     * @param v   Third element to be persisted by the Tuple
+     * @param w   Fourth element to be persisted by the Tuple
+     * @param x   Fifth element to be persisted by the Tuple
+     * @param y   Sixth element to be persisted by the Tuple
+     * @param z   Seventh element to be persisted by the Tuple
+     * @param <T> Type of the first element <code>t</code>
+     * @param <U> Type of the second element <code>u</code>
+     * @param <V> Type of the third element <code>v</code>
+     * @param <W> Type of the fourth element <code>w</code>
+     * @param <X> Type of the fifth element <code>x</code>
+     * @param <Y> Type of the sixth element <code>y</code>
+     * @param <Z> Type of the seventh element <code>z</code>
+     * @return CompactTuple containing 7 elements that could be accessed as their original types.
+     */
+    public static <T, U, V, W, X, Y, Z> CompactTuple7<T, U, V, W, X, Y, Z> compact(final T t, final U u, final V v, final W w, final X x, final Y y, final Z z) {
+        return new CompactTuple7<>(t, u, v, w, x, y, z);
+    }
+
+    /**
+     * Create a CompactTuple8 instance that keeps eight elements as fields without an underlying Array.
+     *
+     * @param t   First element to be persisted by the Tuple
+     * @param u   Second element to be persisted by the Tuple
+     * @param v   Third element to be persisted by the Tuple
+     * @param w   Fourth element to be persisted by the Tuple
+     * @param x   Fifth element to be persisted by the Tuple
+     * @param y   Sixth element to be persisted by the Tuple
+     * @param z   Seventh element to be persisted by the Tuple
+     * @param a   8th element to be persisted by the Tuple
+     * @param <T> Type of the first element <code>t</code>
+     * @param <U> Type of the second element <code>u</code>
+     * @param <V> Type of the third element <code>v</code>
+     * @param <W> Type of the fourth element <code>w</code>
+     * @param <X> Type of the fifth element <code>x</code>
+     * @param <Y> Type of the sixth element <code>y</code>
+     * @param <Z> Type of the seventh element <code>z</code>
+     * @param <A> Type of the 8th element <code>a</code>
+     * @return CompactTuple containing 8 elements that could be accessed as their original types.
+     */
+    public static <T, U, V, W, X, Y, Z, A> CompactTuple8<T, U, V, W, X, Y, Z, A> compact(final T t, final U u, final V v, final W w, final X x, final Y y, final Z z, final A a) {
+        return new CompactTuple8<>(t, u, v, w, x, y, z, a);
+    }
+
+    /**
+     * Create a CompactTuple9 instance that keeps nine elements as fields without an underlying Array.
+     *
+     * @param t   First element to be persisted by the Tuple
+     * @param u   Second element to be persisted by the Tuple
+     * @param v   Third element to be persisted by the Tuple
+     * @param w   Fourth element to be persisted by the Tuple
+     * @param x   Fifth element to be persisted by the Tuple
+     * @param y   Sixth element to be persisted by the Tuple
+     * @param z   Seventh element to be persisted by the Tuple
+     * @param a   8th element to be persisted by the Tuple
+     * @param b   9th element to be persisted by the Tuple
+     * @param <T> Type of the first element <code>t</code>
+     * @param <U> Type of the second element <code>u</code>
+     * @param <V> Type of the third element <code>v</code>
+     * @param <W> Type of the fourth element <code>w</code>
+     * @param <X> Type of the fifth element <code>x</code>
+     * @param <Y> Type of the sixth element <code>y</code>
+     * @param <Z> Type of the seventh element <code>z</code>
+     * @param <A> Type of the 8th element <code>a</code>
+     * @param <B> Type of the 9th element <code>b</code>
+     * @return CompactTuple containing 9 elements that could be accessed as their original types.
+     */
+    public static <T, U, V, W, X, Y, Z, A, B> CompactTuple9<T, U, V, W, X, Y, Z, A, B> compact(final T t, final U u, final V v, final W w, final X x, final Y y, final Z z, final A a, final B b) {
+        return new CompactTuple9<>(t, u, v, w, x, y, z, a, b);
+    }
+
+    /**
+     * Create a CompactTuple10 instance that keeps ten elements as fields without an underlying Array.
+     *
+     * @param t   First element to be persisted by the Tuple
+     * @param u   Second element to be persisted by the Tuple
+     * @param v   Third element to be persisted by the Tuple
+     * @param w   Fourth element to be persisted by the Tuple
+     * @param x   Fifth element to be persisted by the Tuple
+     * @param y   Sixth element to be persisted by the Tuple
+     * @param z   Seventh element to be persisted by the Tuple
+     * @param a   8th element to be persisted by the Tuple
+     * @param b   9th element to be persisted by the Tuple
+     * @param c   10th element to be persisted by the Tuple
+     * @param <T> Type of the first element <code>t</code>
+     * @param <U> Type of the second element <code>u</code>
+     * @param <V> Type of the third element <code>v</code>
+     * @param <W> Type of the fourth element <code>w</code>
+     * @param <X> Type of the fifth element <code>x</code>
+     * @param <Y> Type of the sixth element <code>y</code>
+     * @param <Z> Type of the seventh element <code>z</code>
+     * @param <A> Type of the 8th element <code>a</code>
+     * @param <B> Type of the 9th element <code>b</code>
+     * @param <C> Type of the 10th element <code>c</code>
+     * @return CompactTuple containing 10 elements that could be accessed as their original types.
+     */
+    public static <T, U, V, W, X, Y, Z, A, B, C> CompactTuple10<T, U, V, W, X, Y, Z, A, B, C> compact(final T t, final U u, final V v, final W w, final X x, final Y y, final Z z, final A a, final B b, final C c) {
+        return new CompactTuple10<>(t, u, v, w, x, y, z, a, b, c);
+    }
+    //endregion
+
+    /**
+     * Accumulate the hashCode of an element into the hashCode calculated by {@code TypeHelper.deepHashCode()} from the
+     * elements ahead of it, so a tuple without underlying Array could get the same hashCode as the {@code Tuple}.
+     *
+     * @param result  the hashCode calculated from the elements ahead, 1 if there is none
+     * @param element the element to be accumulated
+     * @return the hashCode including the given element
+     */
+    static int foldHashCode(int result, Object element) {
+        return TypeHelper.foldDeepHashCode(result, element);
+    }
+    //endregion
+
+    //region Layout of the elements checked when the Tuple is created
+    /**
+     * Check if none of the elements is Array or Collection, thus the Tuple could be hashed and compared with a plain loop.
+     *
+     * @param elements the elements to be persisted by a Tuple
+     * @return <code>true</code> if no element is Array or Collection, otherwise <code>false</code>
+     */
+    static boolean allFlat(final Object[] elements) {
+        for (Object element : elements) {
+            if (element instanceof Collection || (element != null && element.getClass().isArray())) {
+                return false;
+            }
+        }
+        return true;
+    }
     //endregion
 
     //region Instance variables
     protected final T[] values;
-    protected int[][] deepIndexes;
-    protected Integer _hashCode;
-    protected Set<Integer> _signatures;
-    private boolean closed = false;
+    protected final boolean flat;
+    protected int _hashCode;
+    private volatile TupleState state;
+
+    private static final AtomicReferenceFieldUpdater<Tuple, TupleState> STATE_UPDATER =
+            AtomicReferenceFieldUpdater.newUpdater(Tuple.class, TupleState.class, "state");
     //endregion
 
     //region Constructors
@@ -382,6 +761,7 @@ public class Tuple<T extends Object> implements ITuple<T> {
     protected Tuple(Class<? extends T> eType, final T... elements) {
         values = elements == null ?
             (T[]) ArrayHelper.create(checkNotNull(eType, "The element type must be specified."), 1, i -> null) : elements;
+        flat = allFlat(values);
     }
 
     /**
@@ -394,6 +774,7 @@ public class Tuple<T extends Object> implements ITuple<T> {
         assertAllNotNull(eType, elements);
         final Iterator iterator = elements.iterator();
         values = (T[]) ArrayHelper.create(eType, elements.size(), i -> iterator.next());
+        flat = allFlat(values);
     }
 
     /**
@@ -404,6 +785,7 @@ public class Tuple<T extends Object> implements ITuple<T> {
     protected Tuple(final T... elements) {
         values = elements == null ?
             (T[]) ArrayHelper.create(Object.class, 1, i -> null) : elements;
+        flat = allFlat(values);
     }
     //endregion
 
@@ -411,6 +793,15 @@ public class Tuple<T extends Object> implements ITuple<T> {
         return values.getClass().getComponentType();
     }
 
+    /**
+     * Check if none of the elements is Array or Collection, thus this Tuple is hashed and compared without deep indexes.
+     *
+     * @return <code>true</code> if no element is Array or Collection, otherwise <code>false</code>
+     */
+    public boolean isFlat() {
+        return flat;
+    }
+
     //region Instance methods
     /**
      * Get new Array of values to prevent changes on the underlying array.
@@ -494,18 +885,99 @@ public class Tuple<T extends Object> implements ITuple<T> {
 
     @Override
     public int[][] getDeepIndexes() {
-        if (deepIndexes == null) {
-            deepIndexes = TypeHelper.getDeepIndexes(values);
+        //Converted from the DeepIndex only once, the arrays would be shared by all callers
+        TupleState tupleState = getState();
+        if (tupleState.deepIndexes == null) {
+            tupleState.deepIndexes = getDeepIndex().toArrays();
         }
-        return deepIndexes;
+        return tupleState.deepIndexes;
     }
 
+    @Override
+    public DeepIndex getDeepIndex() {
+        TupleState tupleState = getState();
+        if (tupleState.deepIndex == null) {
+            tupleState.deepIndex = DeepIndex.of(values);
+        }
+        return tupleState.deepIndex;
+    }
+
+    /**
+     * Get the side state of this tuple, it would be created only when some cached attributes are requested.
+     *
+     * @return the <code>TupleState</code> holding the cached attributes of this tuple
+     */
+    private TupleState getState() {
+        TupleState tupleState = state;
+        if (tupleState == null) {
+            //Publish the side state only once, so that the attributes cached by other threads would not be lost
+            tupleState = new TupleState();
+            if (!STATE_UPDATER.compareAndSet(this, null, tupleState)) {
+                tupleState = state;
+            }
+        }
+        return tupleState;
+    }
+
+    /**
+     * Check if this Tuple is the canonical instance kept by the given interner.
+     *
+     * @param interner the <code>TupleInterner</code> to be checked
+     * @return <code>true</code> if this Tuple has been interned by the given interner, otherwise <code>false</code>
+     */
+    public boolean isInternedBy(TupleInterner interner) {
+        TupleState tupleState = state;
+        return tupleState != null && interner != null && tupleState.interner == interner;
+    }
+
+    /**
+     * Mark this Tuple as the canonical instance kept by the given interner.
+     *
+     * @param interner the <code>TupleInterner</code> keeping this Tuple, or the one returned by previous call to restore it
+     * @return the interner marked before this call, or null if there is none
+     */
+    TupleInterner setInterner(TupleInterner interner) {
+        TupleState tupleState = getState();
+        TupleInterner previous = tupleState.interner;
+        tupleState.interner = interner;
+        return previous;
+    }
+
+    /**
+     * Get the hashCode cached in a primitive slot, the value 0 is regarded as not calculated yet.
+     *
+     * @return the hashCode of all elements of this tuple
+     */
     @Override
     public int hashCode() {
-        if (_hashCode == null) {
-            _hashCode = TypeHelper.deepHashCode(values);
+        int hash = _hashCode;
+        if (hash == 0) {
+            if (values.length == 0) {
+                hash = 37;
+            } else if (flat) {
+                //Same as TypeHelper.deepHashCode(values) when no element is Array or Collection
+                hash = 1;
+                for (Object value : values) {
+                    hash = 31 * hash + (value == null ? 0 : value.hashCode());
+                }
+            } else {
+                hash = TypeHelper.deepHashCode(values);
+            }
+            _hashCode = hash;
         }
-        return _hashCode;
+        return hash;
+    }
+
+    @Override
+    public long hash64() {
+        //Cached in the side state, so that the tuples never asked for their 64-bit hashes do not pay for the slot
+        TupleState tupleState = getState();
+        long hash = tupleState.hash64;
+        if (hash == 0) {
+            hash = TupleHash.hashOf(values);
+            tupleState.hash64 = hash;
+        }
+        return hash;
     }
 
     /**
@@ -515,13 +987,23 @@ public class Tuple<T extends Object> implements ITuple<T> {
      */
     @Override
     public Set<Integer> getSignatures() {
-        if (_signatures == null) {
+        TupleState tupleState = getState();
+        if (tupleState.signatures == null) {
             Set<Integer> hashCodes = new HashSet<>();
             hashCodes.add(hashCode());
             Arrays.stream(values).forEach(v -> hashCodes.add(v == null ? 0 : v.hashCode()));
-            _signatures = Collections.unmodifiableSet(hashCodes);
+            tupleState.signatures = Collections.unmodifiableSet(hashCodes);
         }
-        return _signatures;
+        return tupleState.signatures;
+    }
+
+    @Override
+    public TupleSignature getSignature() {
+        TupleState tupleState = getState();
+        if (tupleState.signature == null) {
+            tupleState.signature = TupleSignature.of(values);
+        }
+        return tupleState.signature;
     }
 
     @Override
@@ -536,9 +1018,33 @@ public class Tuple<T extends Object> implements ITuple<T> {
         //Notice: tuples with different signatures could still be equal
         if (!other.canEqual(this) || other.getLength() != values.length || hashCode() != other.hashCode()) {
             return false;
+        } else if (flat != other.flat) {
+            //The deep indexes of a flat Tuple would never match those of a Tuple having Array or Collection elements
+            return false;
+        } else if (flat && TypeHelper.DEFAULT_EMPTY_EQUALITY != TypeHelper.EqualityStategy.SameTypeOnly) {
+            return flatEquals(values, other.values);
         }
 
-        return TypeHelper.valueEquals(values, other.values, getDeepIndexes(), other.getDeepIndexes());
+        return TypeHelper.deepValueEquals(values, other.values, TypeHelper.DEFAULT_EMPTY_EQUALITY);
+    }
+
+    /**
+     * Compare the elements of two flat Tuples one by one, which is equivalent to comparing them with their deep indexes
+     * unless the nulls shall be compared by the types of their containers.
+     *
+     * @param values      the elements of this Tuple
+     * @param otherValues the elements of another Tuple with the same length
+     * @return <code>true</code> if all elements are equal, otherwise <code>false</code>
+     */
+    private static boolean flatEquals(Object[] values, Object[] otherValues) {
+        for (int i = 0; i < values.length; i++) {
+            Object value = values[i];
+            Object otherValue = otherValues[i];
+            if (value != otherValue && (value == null || !value.equals(otherValue))) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
@@ -553,26 +1059,10 @@ public class Tuple<T extends Object> implements ITuple<T> {
 
     @Override
     public int compareTo(Object o) {
-        if(o == null){
-            return hashCode();
-        } else if(!(o instanceof WithValues)) {
-            return hashCode() - o.hashCode();
-        }
-
-        WithValues other = (WithValues)o;
-        int thisLength = getLength();
-        int otherLength = other.getLength();
-        int len = thisLength < otherLength ? thisLength : otherLength;
-        for (int i = 0; i < len; i++) {
-            T t1 = getValue(i);
-            int hash1 = t1 == null ? 0 : t1.hashCode();
-            Object t2 = other.getValue(i);
-            int hash2 = t2 == null ? 0 : t2.hashCode();
-            if(hash1 != hash2){
-                return hash1 - hash2;
-            }
+        if (o instanceof WithValues) {
+            return TupleComparator.NATURAL.compare(this, (WithValues) o);
         }
-        return thisLength - otherLength;
+        return o == null ? 1 : Integer.compare(hashCode(), o.hashCode());
     }
 
     @Override
@@ -587,7 +1077,8 @@ public class Tuple<T extends Object> implements ITuple<T> {
      */
     @Override
     public void close() throws Exception {
-        if (!closed) {
+        TupleState tupleState = getState();
+        if (!tupleState.closed) {
             //Close AutoCloseable object in reverse order
             for (int i = values.length - 1; i >= 0; i--) {
                 Object value = values[i];
@@ -596,7 +1087,7 @@ public class Tuple<T extends Object> implements ITuple<T> {
                     Logger.V("%s closed()", value);
                 }
             }
-            closed = true;
+            tupleState.closed = true;
             Logger.V("%s.close() run successfully!", this);
         }
     }
@@ -0,0 +1,590 @@
+package io.github.cruisoring.tuple;
+
+import io.github.cruisoring.TypeHelper;
+
+import java.util.*;
+
+import static io.github.cruisoring.Asserts.checkNotNull;
+
+/**
+ * Columnar container of the tuples with the same length: the elements at the same position of all tuples are kept
+ * in one column, the columns of Integer, Long and Double are kept as primitive arrays, so a batch of millions of rows
+ * holds only a few arrays instead of millions of object graphs.
+ * The rows could be accessed as flyweight <code>WithValues</code> views, or converted back to the tuples.
+ * Notice: the rows are always converted back to the <code>Tuple</code> with the same values, even if they are added as
+ * other <code>WithValues</code> like the <code>CompactTuple</code> or <code>IntTuple2</code>.
+ *
+ * @param <T> Type of the tuples kept by this batch, like <code>Tuple3&lt;Long, Double, String&gt;</code>
+ */
+public class TupleBatch<T extends WithValues> implements Iterable<TupleBatch.View<T>> {
+    public static final int DEFAULT_CAPACITY = 16;
+
+    //region Columns
+    /**
+     * Column to keep the elements at the same position of all rows.
+     */
+    abstract static class Column {
+        BitSet nulls;
+
+        abstract Class getType();
+
+        abstract Object get(int row);
+
+        abstract void set(int row, Object value);
+
+        abstract void grow(int capacity);
+
+        boolean isNull(int row) {
+            return nulls != null && nulls.get(row);
+        }
+
+        void setNull(int row, boolean isNull) {
+            if (isNull) {
+                if (nulls == null) {
+                    nulls = new BitSet();
+                }
+                nulls.set(row);
+            } else if (nulls != null) {
+                nulls.clear(row);
+            }
+        }
+
+        int hashAt(int row) {
+            Object value = get(row);
+            return value == null ? 0 : value.hashCode();
+        }
+    }
+
+    static final class IntColumn extends Column {
+        int[] values;
+
+        IntColumn(int capacity) {
+            values = new int[capacity];
+        }
+
+        @Override
+        Class getType() {
+            return Integer.class;
+        }
+
+        @Override
+        Object get(int row) {
+            return isNull(row) ? null : values[row];
+        }
+
+        @Override
+        void set(int row, Object value) {
+            setNull(row, value == null);
+            values[row] = value == null ? 0 : (Integer) value;
+        }
+
+        @Override
+        void grow(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        int hashAt(int row) {
+            return isNull(row) ? 0 : Integer.hashCode(values[row]);
+        }
+    }
+
+    static final class LongColumn extends Column {
+        long[] values;
+
+        LongColumn(int capacity) {
+            values = new long[capacity];
+        }
+
+        @Override
+        Class getType() {
+            return Long.class;
+        }
+
+        @Override
+        Object get(int row) {
+            return isNull(row) ? null : values[row];
+        }
+
+        @Override
+        void set(int row, Object value) {
+            setNull(row, value == null);
+            values[row] = value == null ? 0L : (Long) value;
+        }
+
+        @Override
+        void grow(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        int hashAt(int row) {
+            return isNull(row) ? 0 : Long.hashCode(values[row]);
+        }
+    }
+
+    static final class DoubleColumn extends Column {
+        double[] values;
+
+        DoubleColumn(int capacity) {
+            values = new double[capacity];
+        }
+
+        @Override
+        Class getType() {
+            return Double.class;
+        }
+
+        @Override
+        Object get(int row) {
+            return isNull(row) ? null : values[row];
+        }
+
+        @Override
+        void set(int row, Object value) {
+            setNull(row, value == null);
+            values[row] = value == null ? 0d : (Double) value;
+        }
+
+        @Override
+        void grow(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        int hashAt(int row) {
+            return isNull(row) ? 0 : Double.hashCode(values[row]);
+        }
+    }
+
+    static final class ObjectColumn extends Column {
+        final Class type;
+        Object[] values;
+
+        ObjectColumn(Class type, int capacity) {
+            this.type = type;
+            values = new Object[capacity];
+        }
+
+        @Override
+        Class getType() {
+            return type;
+        }
+
+        @Override
+        Object get(int row) {
+            return values[row];
+        }
+
+        @Override
+        void set(int row, Object value) {
+            values[row] = value;
+        }
+
+        @Override
+        void grow(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        int hashAt(int row) {
+            return TypeHelper.deepHashCode(values[row]);
+        }
+    }
+
+    static Column columnOf(Class type, int capacity) {
+        if (type == Integer.class || type == int.class) {
+            return new IntColumn(capacity);
+        } else if (type == Long.class || type == long.class) {
+            return new LongColumn(capacity);
+        } else if (type == Double.class || type == double.class) {
+            return new DoubleColumn(capacity);
+        }
+        return new ObjectColumn(type, capacity);
+    }
+    //endregion
+
+    //region Factories
+    /**
+     * Create an empty batch with the given types of the columns, Integer, Long and Double columns would be kept as primitive arrays.
+     *
+     * @param columnTypes types of the elements at each position of the tuples
+     * @param <T>         Type of the tuples kept by this batch
+     * @return the empty batch
+     */
+    public static <T extends WithValues> TupleBatch<T> of(Class... columnTypes) {
+        checkNotNull(columnTypes, "The column types must be specified");
+        return new TupleBatch<>(columnTypes, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create a batch with all the given tuples, the type of each column would be the class shared by all non-null
+     * elements at that position, or <code>Object</code> if they are of different classes.
+     *
+     * @param tuples the tuples of the same length
+     * @param <T>    Type of the tuples
+     * @return the batch containing all the given tuples
+     */
+    public static <T extends WithValues> TupleBatch<T> fromList(List<T> tuples) {
+        checkNotNull(tuples, "The tuples must be specified");
+        if (tuples.isEmpty()) {
+            throw new IllegalArgumentException("Cannot get the length of tuples from an empty list");
+        }
+
+        int length = tuples.get(0).getLength();
+        Class[] columnTypes = new Class[length];
+        for (T tuple : tuples) {
+            if (tuple.getLength() != length) {
+                throw new IllegalArgumentException("Cannot keep tuples of different lengths in a batch");
+            }
+            for (int i = 0; i < length; i++) {
+                Object value = tuple.getValue(i);
+                if (value != null && columnTypes[i] != Object.class) {
+                    columnTypes[i] = columnTypes[i] == null || columnTypes[i] == value.getClass() ? value.getClass() : Object.class;
+                }
+            }
+        }
+        for (int i = 0; i < length; i++) {
+            if (columnTypes[i] == null) {
+                columnTypes[i] = Object.class;
+            }
+        }
+
+        TupleBatch<T> batch = new TupleBatch<>(columnTypes, tuples.size());
+        for (T tuple : tuples) {
+            batch.add(tuple);
+        }
+        return batch;
+    }
+    //endregion
+
+    private final Column[] columns;
+    private int size = 0;
+    private int capacity;
+
+    protected TupleBatch(Class[] columnTypes, int capacity) {
+        this.capacity = Math.max(capacity, 1);
+        columns = new Column[columnTypes.length];
+        for (int i = 0; i < columnTypes.length; i++) {
+            columns[i] = columnOf(columnTypes[i], this.capacity);
+        }
+    }
+
+    //region Instance methods
+    /**
+     * Get the number of rows kept by this batch.
+     *
+     * @return number of rows
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the number of elements of each row.
+     *
+     * @return number of columns
+     */
+    public int getLength() {
+        return columns.length;
+    }
+
+    /**
+     * Get the type of the elements kept by the column.
+     *
+     * @param column index of the column
+     * @return the type of the column
+     */
+    public Class getColumnType(int column) {
+        return columns[column].getType();
+    }
+
+    /**
+     * Append the elements of the tuple as a new row.
+     *
+     * @param tuple the tuple with the same length as this batch
+     * @return index of the new row
+     * @throws ClassCastException if any element does not match with the type of a primitive column
+     */
+    public int add(T tuple) {
+        checkNotNull(tuple, "The tuple must be specified");
+        if (tuple.getLength() != columns.length) {
+            throw new IllegalArgumentException("The tuple shall have " + columns.length + " elements");
+        }
+
+        if (size == capacity) {
+            capacity = capacity + (capacity >> 1) + 1;
+            for (Column column : columns) {
+                column.grow(capacity);
+            }
+        }
+        for (int i = 0; i < columns.length; i++) {
+            columns[i].set(size, tuple.getValue(i));
+        }
+        return size++;
+    }
+
+    private void checkCell(int row, int column) {
+        if (row < 0 || row >= size || column < 0 || column >= columns.length) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+
+    /**
+     * Get the element at the given row and column, primitive elements would be boxed.
+     *
+     * @param row    index of the row
+     * @param column index of the column
+     * @return the element at the given cell
+     */
+    public Object getValue(int row, int column) {
+        checkCell(row, column);
+        return columns[column].get(row);
+    }
+
+    /**
+     * Get the element of an Integer column without boxing.
+     *
+     * @param row    index of the row
+     * @param column index of the Integer column
+     * @return the int value of that cell, or 0 if it is null
+     * @throws UnsupportedOperationException if the column is not of Integer
+     */
+    public int getInt(int row, int column) {
+        checkCell(row, column);
+        if (!(columns[column] instanceof IntColumn)) {
+            throw new UnsupportedOperationException("Column " + column + " is not of Integer");
+        }
+        return ((IntColumn) columns[column]).values[row];
+    }
+
+    /**
+     * Get the element of an Integer or Long column without boxing.
+     *
+     * @param row    index of the row
+     * @param column index of the Integer or Long column
+     * @return the long value of that cell, or 0 if it is null
+     * @throws UnsupportedOperationException if the column is not of Integer or Long
+     */
+    public long getLong(int row, int column) {
+        checkCell(row, column);
+        Column target = columns[column];
+        if (target instanceof LongColumn) {
+            return ((LongColumn) target).values[row];
+        } else if (target instanceof IntColumn) {
+            return ((IntColumn) target).values[row];
+        }
+        throw new UnsupportedOperationException("Column " + column + " is not of Integer or Long");
+    }
+
+    /**
+     * Get the element of an Integer, Long or Double column without boxing.
+     *
+     * @param row    index of the row
+     * @param column index of the numeric column
+     * @return the double value of that cell, or 0 if it is null
+     * @throws UnsupportedOperationException if the column is not of Integer, Long or Double
+     */
+    public double getDouble(int row, int column) {
+        checkCell(row, column);
+        Column target = columns[column];
+        if (target instanceof DoubleColumn) {
+            return ((DoubleColumn) target).values[row];
+        }
+        return getLong(row, column);
+    }
+
+    /**
+     * Check if the element at the given cell is null.
+     *
+     * @param row    index of the row
+     * @param column index of the column
+     * @return <code>true</code> if the element is null
+     */
+    public boolean isNull(int row, int column) {
+        checkCell(row, column);
+        Column target = columns[column];
+        return target instanceof ObjectColumn ? ((ObjectColumn) target).values[row] == null : target.isNull(row);
+    }
+
+    /**
+     * Get a flyweight view of the given row, that refers the columns instead of copying the elements.
+     *
+     * @param row index of the row
+     * @return view of the given row
+     */
+    public View<T> view(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException();
+        }
+        return new View<>(this, row);
+    }
+
+    /**
+     * Iterate all rows with a single flyweight view that is moved to the next row on each step, so the returned view
+     * shall not be kept after the next step.
+     *
+     * @return Iterator of the rows
+     */
+    @Override
+    public Iterator<View<T>> iterator() {
+        final View<T> cursor = new View<>(this, -1);
+        return new Iterator<View<T>>() {
+            @Override
+            public boolean hasNext() {
+                return cursor.row + 1 < size;
+            }
+
+            @Override
+            public View<T> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                cursor.row++;
+                return cursor;
+            }
+        };
+    }
+
+    /**
+     * Create the tuple of the given row.
+     *
+     * @param row index of the row
+     * @return the <code>Tuple</code> with the elements of the given row
+     */
+    public Tuple get(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException();
+        }
+        Object[] elements = new Object[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            elements[i] = columns[i].get(row);
+        }
+        return Tuple.of(elements);
+    }
+
+    /**
+     * Convert all rows back to the tuples.
+     *
+     * @return List of the <code>Tuple</code>s of all rows
+     */
+    public List<Tuple> toList() {
+        List<Tuple> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(get(i));
+        }
+        return list;
+    }
+    //endregion
+
+    /**
+     * Flyweight view of a row of the <code>TupleBatch</code>, its hashCode is identical to that of the Tuple with the
+     * same elements.
+     */
+    public static final class View<T extends WithValues> implements WithValues {
+        private final TupleBatch<T> batch;
+        private int row;
+
+        private View(TupleBatch<T> batch, int row) {
+            this.batch = batch;
+            this.row = row;
+        }
+
+        /**
+         * Get the index of the row viewed.
+         *
+         * @return index of the row
+         */
+        public int getRow() {
+            return row;
+        }
+
+        @Override
+        public Object getValue(int index) {
+            return batch.getValue(row, index);
+        }
+
+        @Override
+        public int getLength() {
+            return batch.columns.length;
+        }
+
+        public int getInt(int index) {
+            return batch.getInt(row, index);
+        }
+
+        public long getLong(int index) {
+            return batch.getLong(row, index);
+        }
+
+        public double getDouble(int index) {
+            return batch.getDouble(row, index);
+        }
+
+        /**
+         * Create the tuple of the viewed row.
+         *
+         * @return the <code>Tuple</code> with the elements of the viewed row
+         */
+        public Tuple toTuple() {
+            return batch.get(row);
+        }
+
+        @Override
+        public boolean canEqual(Object obj) {
+            return obj instanceof TupleBatch.View;
+        }
+
+        @Override
+        public Set<Integer> getSignatures() {
+            Set<Integer> hashCodes = new HashSet<>();
+            hashCodes.add(hashCode());
+            for (int i = 0; i < batch.columns.length; i++) {
+                hashCodes.add(batch.columns[i].isNull(row) ? 0 : Objects.hashCode(batch.columns[i].get(row)));
+            }
+            return Collections.unmodifiableSet(hashCodes);
+        }
+
+        @Override
+        public int hashCode() {
+            if (batch.columns.length == 0) {
+                return 37;
+            }
+            int hash = 1;
+            for (Column column : batch.columns) {
+                hash = column instanceof ObjectColumn ? Tuple.foldHashCode(hash, column.get(row)) : 31 * hash + column.hashAt(row);
+            }
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            } else if (!canEqual(obj)) {
+                return false;
+            }
+
+            View other = (View) obj;
+            int length = getLength();
+            if (length != other.getLength()) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (!PrimitiveTuple.elementEquals(getValue(i), other.getValue(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            Object[] elements = new Object[batch.columns.length];
+            for (int i = 0; i < batch.columns.length; i++) {
+                elements[i] = batch.columns[i].get(row);
+            }
+            return TypeHelper.deepToString(elements);
+        }
+    }
+}
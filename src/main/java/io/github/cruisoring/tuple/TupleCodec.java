@@ -0,0 +1,1021 @@
+package io.github.cruisoring.tuple;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Array;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static io.github.cruisoring.Asserts.assertAllNotNull;
+
+/**
+ * Compact tagged binary format of the <code>Tuple</code>s and any other <code>WithValues</code>, including
+ * <code>TuplePlus</code>, the nested Tuples and the nested arrays as supported by <code>TypeHelper.getDeepIndexes()</code>.
+ * Each value is led by a single byte tag: integral numbers are kept as zigzag varints, the common classes are referred
+ * by fixed class tags instead of their names, and the primitive arrays are copied in bulk.
+ * The elements could be null, boxed primitive values, Strings, Tuples or arrays of them, any other types would be
+ * rejected with <code>UnsupportedOperationException</code>.
+ * Notice: any <code>WithValues</code> would be decoded as a <code>Tuple</code> with the same values.
+ */
+public final class TupleCodec {
+
+    //region Tags of the values
+    static final byte NULL = 0;
+    static final byte TRUE = 1;
+    static final byte FALSE = 2;
+    static final byte BYTE = 3;
+    static final byte SHORT = 4;
+    static final byte CHAR = 5;
+    static final byte INT = 6;
+    static final byte LONG = 7;
+    static final byte FLOAT = 8;
+    static final byte DOUBLE = 9;
+    static final byte STRING = 10;
+    static final byte TUPLE = 11;
+    static final byte BOOLEAN_ARRAY = 12;
+    static final byte BYTE_ARRAY = 13;
+    static final byte SHORT_ARRAY = 14;
+    static final byte CHAR_ARRAY = 15;
+    static final byte INT_ARRAY = 16;
+    static final byte LONG_ARRAY = 17;
+    static final byte FLOAT_ARRAY = 18;
+    static final byte DOUBLE_ARRAY = 19;
+    static final byte OBJECT_ARRAY = 20;
+    //endregion
+
+    //region Tags of the classes
+    static final int NAMED_CLASS = 0;
+    static final int ARRAY_CLASS = 1;
+    private static final Class[] KNOWN_CLASSES = new Class[]{
+            Object.class, String.class, Boolean.class, Byte.class, Short.class, Character.class, Integer.class,
+            Long.class, Float.class, Double.class, Number.class, Comparable.class, Tuple.class,
+            boolean.class, byte.class, short.class, char.class, int.class, long.class, float.class, double.class
+    };
+    private static final Map<Class, Integer> classTags = new HashMap<>();
+
+    static {
+        for (int i = 0; i < KNOWN_CLASSES.length; i++) {
+            classTags.put(KNOWN_CLASSES[i], i + 2);
+        }
+    }
+    //endregion
+
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+    //Maximum bytes of a single String or array decoded from a DataInput, whose remaining bytes are unknown
+    public static final int MAX_STREAM_LENGTH = 64 * 1024 * 1024;
+
+    private TupleCodec() {
+    }
+
+    //region Public API
+    /**
+     * Encode the given tuple into the ByteBuffer, starting from its current position.
+     *
+     * @param tuple  the <code>Tuple</code> or any other <code>WithValues</code> to be encoded
+     * @param buffer the ByteBuffer to keep the encoded bytes
+     * @throws BufferOverflowException  if there is not enough space left in the buffer
+     * @throws UnsupportedOperationException if any element cannot be encoded
+     */
+    public static void encode(WithValues tuple, ByteBuffer buffer) {
+        assertAllNotNull(tuple, buffer);
+        ByteOrder order = buffer.order();
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        try {
+            writeTuple(tuple, new BufferOutput(buffer));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            buffer.order(order);
+        }
+    }
+
+    /**
+     * Encode the given tuple into the DataOutput.
+     *
+     * @param tuple the <code>Tuple</code> or any other <code>WithValues</code> to be encoded
+     * @param out   the DataOutput to write the encoded bytes
+     * @throws IOException any exception thrown by the DataOutput
+     */
+    public static void encode(WithValues tuple, DataOutput out) throws IOException {
+        assertAllNotNull(tuple, out);
+        writeTuple(tuple, new DataOutputAdapter(out));
+    }
+
+    /**
+     * Encode the given tuple as a byte array.
+     *
+     * @param tuple the <code>Tuple</code> or any other <code>WithValues</code> to be encoded
+     * @return the encoded bytes
+     */
+    public static byte[] toBytes(WithValues tuple) {
+        ByteBuffer buffer = encodeGrowing(tuple, ByteBuffer.allocate(256));
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    /**
+     * Decode a Tuple from the ByteBuffer, starting from its current position.
+     *
+     * @param buffer the ByteBuffer containing the encoded bytes
+     * @return the decoded Tuple
+     * @throws IllegalStateException if the bytes are not encoded by the <code>TupleCodec</code>, or are truncated
+     */
+    public static Tuple decode(ByteBuffer buffer) {
+        assertAllNotNull(buffer);
+        ByteOrder order = buffer.order();
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        try {
+            return readTuple(new BufferInput(buffer));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            buffer.order(order);
+        }
+    }
+
+    /**
+     * Decode a Tuple from the DataInput.
+     *
+     * @param in the DataInput to read the encoded bytes
+     * @return the decoded Tuple
+     * @throws IOException           any exception thrown by the DataInput, except reaching its end unexpectedly
+     * @throws IllegalStateException if the bytes are not encoded by the <code>TupleCodec</code>, or are truncated
+     */
+    public static Tuple decode(DataInput in) throws IOException {
+        assertAllNotNull(in);
+        return readTuple(new DataInputAdapter(in));
+    }
+
+    /**
+     * Decode a Tuple from the given bytes.
+     *
+     * @param bytes the encoded bytes
+     * @return the decoded Tuple
+     */
+    public static Tuple fromBytes(byte[] bytes) {
+        return decode(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Write the tuples to the channel, each as a frame led by the varint length of its encoded bytes.
+     *
+     * @param tuples  the tuples to be written in sequence
+     * @param channel the channel, like a <code>FileChannel</code>, to write the frames
+     * @return number of the tuples written
+     * @throws IOException any exception thrown by the channel
+     */
+    public static int encodeAll(Iterable<? extends WithValues> tuples, WritableByteChannel channel) throws IOException {
+        assertAllNotNull(tuples, channel);
+        ByteBuffer payload = ByteBuffer.allocate(DEFAULT_BUFFER_SIZE);
+        ByteBuffer frames = ByteBuffer.allocate(DEFAULT_BUFFER_SIZE);
+        BufferOutput framesOutput = new BufferOutput(frames);
+        int count = 0;
+        for (WithValues tuple : tuples) {
+            payload.clear();
+            payload = encodeGrowing(tuple, payload);
+            payload.flip();
+
+            if (frames.remaining() < payload.remaining() + 5) {
+                frames.flip();
+                writeFully(frames, channel);
+                frames.clear();
+                if (frames.capacity() < payload.remaining() + 5) {
+                    frames = ByteBuffer.allocate(payload.remaining() + 5);
+                    framesOutput = new BufferOutput(frames);
+                }
+            }
+            writeVarInt(framesOutput, payload.remaining());
+            frames.put(payload);
+            count++;
+        }
+        frames.flip();
+        writeFully(frames, channel);
+        return count;
+    }
+
+    /**
+     * Decode the frames written by <code>encodeAll()</code> from the channel lazily, one Tuple at a time.
+     *
+     * @param channel the channel, like a <code>FileChannel</code>, to read the frames
+     * @return Iterator of the decoded Tuples, with <code>UncheckedIOException</code> thrown if the channel failed
+     */
+    public static Iterator<Tuple> decodeAll(ReadableByteChannel channel) {
+        assertAllNotNull(channel);
+        return new ChannelDecoder(channel);
+    }
+    //endregion
+
+    //region Encoding
+    private static ByteBuffer encodeGrowing(WithValues tuple, ByteBuffer buffer) {
+        while (true) {
+            int start = buffer.position();
+            try {
+                encode(tuple, buffer);
+                return buffer;
+            } catch (BufferOverflowException e) {
+                buffer.position(start);
+                ByteBuffer larger = ByteBuffer.allocate(buffer.capacity() * 2);
+                buffer.flip();
+                larger.put(buffer);
+                buffer = larger;
+            }
+        }
+    }
+
+    private static void writeFully(ByteBuffer buffer, WritableByteChannel channel) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void writeTuple(WithValues tuple, Output out) throws IOException {
+        int length = tuple.getLength();
+        out.writeByte(TUPLE);
+        writeClass(out, tuple instanceof Tuple ? ((Tuple) tuple).getElementType() : Object.class);
+        writeVarInt(out, length);
+        for (int i = 0; i < length; i++) {
+            writeValue(out, tuple.getValue(i));
+        }
+    }
+
+    private static void writeValue(Output out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+            return;
+        } else if (value instanceof WithValues) {
+            writeTuple((WithValues) value, out);
+            return;
+        }
+
+        Class clazz = value.getClass();
+        if (clazz == String.class) {
+            out.writeByte(STRING);
+            byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+            writeVarInt(out, bytes.length);
+            out.writeBytes(bytes, 0, bytes.length);
+        } else if (clazz == Integer.class) {
+            out.writeByte(INT);
+            writeVarInt(out, zigzag((Integer) value));
+        } else if (clazz == Long.class) {
+            out.writeByte(LONG);
+            writeVarLong(out, zigzag((Long) value));
+        } else if (clazz == Boolean.class) {
+            out.writeByte((Boolean) value ? TRUE : FALSE);
+        } else if (clazz == Double.class) {
+            out.writeByte(DOUBLE);
+            out.writeLong(Double.doubleToRawLongBits((Double) value));
+        } else if (clazz == Float.class) {
+            out.writeByte(FLOAT);
+            out.writeInt(Float.floatToRawIntBits((Float) value));
+        } else if (clazz == Character.class) {
+            out.writeByte(CHAR);
+            writeVarInt(out, (Character) value);
+        } else if (clazz == Short.class) {
+            out.writeByte(SHORT);
+            writeVarInt(out, zigzag((Short) value));
+        } else if (clazz == Byte.class) {
+            out.writeByte(BYTE);
+            out.writeByte((Byte) value);
+        } else if (clazz.isArray()) {
+            writeArray(out, value, clazz.getComponentType());
+        } else {
+            throw new UnsupportedOperationException("Cannot encode value of " + clazz.getName());
+        }
+    }
+
+    private static void writeArray(Output out, Object array, Class componentType) throws IOException {
+        if (!componentType.isPrimitive()) {
+            Object[] objects = (Object[]) array;
+            out.writeByte(OBJECT_ARRAY);
+            writeClass(out, componentType);
+            writeVarInt(out, objects.length);
+            for (Object object : objects) {
+                writeValue(out, object);
+            }
+        } else if (componentType == int.class) {
+            int[] ints = (int[]) array;
+            out.writeByte(INT_ARRAY);
+            writeVarInt(out, ints.length);
+            out.writeInts(ints);
+        } else if (componentType == long.class) {
+            long[] longs = (long[]) array;
+            out.writeByte(LONG_ARRAY);
+            writeVarInt(out, longs.length);
+            out.writeLongs(longs);
+        } else if (componentType == double.class) {
+            double[] doubles = (double[]) array;
+            out.writeByte(DOUBLE_ARRAY);
+            writeVarInt(out, doubles.length);
+            out.writeDoubles(doubles);
+        } else if (componentType == byte.class) {
+            byte[] bytes = (byte[]) array;
+            out.writeByte(BYTE_ARRAY);
+            writeVarInt(out, bytes.length);
+            out.writeBytes(bytes, 0, bytes.length);
+        } else if (componentType == char.class) {
+            char[] chars = (char[]) array;
+            out.writeByte(CHAR_ARRAY);
+            writeVarInt(out, chars.length);
+            out.writeChars(chars);
+        } else if (componentType == float.class) {
+            float[] floats = (float[]) array;
+            out.writeByte(FLOAT_ARRAY);
+            writeVarInt(out, floats.length);
+            out.writeFloats(floats);
+        } else if (componentType == short.class) {
+            short[] shorts = (short[]) array;
+            out.writeByte(SHORT_ARRAY);
+            writeVarInt(out, shorts.length);
+            out.writeShorts(shorts);
+        } else {
+            boolean[] booleans = (boolean[]) array;
+            out.writeByte(BOOLEAN_ARRAY);
+            writeVarInt(out, booleans.length);
+            for (boolean b : booleans) {
+                out.writeByte(b ? 1 : 0);
+            }
+        }
+    }
+
+    private static void writeClass(Output out, Class clazz) throws IOException {
+        Integer tag = classTags.get(clazz);
+        if (tag != null) {
+            writeVarInt(out, tag);
+        } else if (clazz.isArray()) {
+            writeVarInt(out, ARRAY_CLASS);
+            writeClass(out, clazz.getComponentType());
+        } else {
+            writeVarInt(out, NAMED_CLASS);
+            byte[] name = clazz.getName().getBytes(StandardCharsets.UTF_8);
+            writeVarInt(out, name.length);
+            out.writeBytes(name, 0, name.length);
+        }
+    }
+
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static void writeVarInt(Output out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static void writeVarLong(Output out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte(((int) value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+    //endregion
+
+    //region Decoding
+    private static Tuple readTuple(Input in) throws IOException {
+        try {
+            byte tag = in.readByte();
+            if (tag != TUPLE) {
+                throw new IllegalStateException("Expect a Tuple, but got tag " + tag);
+            }
+            return readTupleBody(in);
+        } catch (BufferUnderflowException | EOFException e) {
+            throw new IllegalStateException("Unexpected end of the encoded bytes", e);
+        } catch (ArrayStoreException e) {
+            throw new IllegalStateException("Element not matched with the element type: " + e.getMessage(), e);
+        }
+    }
+
+    private static Tuple readTupleBody(Input in) throws IOException {
+        Class elementType = readElementClass(in);
+        int length = readLength(in, 1);
+        if (elementType == Object.class) {
+            Object[] elements = new Object[length];
+            for (int i = 0; i < length; i++) {
+                elements[i] = readValue(in);
+            }
+            return Tuple.of(elements);
+        }
+
+        Object[] elements = (Object[]) Array.newInstance(elementType, length);
+        for (int i = 0; i < length; i++) {
+            elements[i] = readValue(in);
+        }
+        return Tuple.setOfType(elementType, elements);
+    }
+
+    private static Object readValue(Input in) throws IOException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case NULL:
+                return null;
+            case TRUE:
+                return true;
+            case FALSE:
+                return false;
+            case BYTE:
+                return in.readByte();
+            case SHORT:
+                return (short) unzigzag(readVarInt(in));
+            case CHAR:
+                return (char) readVarInt(in);
+            case INT:
+                return unzigzag(readVarInt(in));
+            case LONG:
+                return unzigzag(readVarLong(in));
+            case FLOAT:
+                return Float.intBitsToFloat(in.readInt());
+            case DOUBLE:
+                return Double.longBitsToDouble(in.readLong());
+            case STRING:
+                return in.readString(readLength(in, 1));
+            case TUPLE:
+                return readTupleBody(in);
+            case BOOLEAN_ARRAY: {
+                boolean[] booleans = new boolean[readLength(in, 1)];
+                for (int i = 0; i < booleans.length; i++) {
+                    booleans[i] = in.readByte() != 0;
+                }
+                return booleans;
+            }
+            case BYTE_ARRAY: {
+                byte[] bytes = new byte[readLength(in, 1)];
+                in.readBytes(bytes);
+                return bytes;
+            }
+            case SHORT_ARRAY: {
+                short[] shorts = new short[readLength(in, 2)];
+                in.readShorts(shorts);
+                return shorts;
+            }
+            case CHAR_ARRAY: {
+                char[] chars = new char[readLength(in, 2)];
+                in.readChars(chars);
+                return chars;
+            }
+            case INT_ARRAY: {
+                int[] ints = new int[readLength(in, 4)];
+                in.readInts(ints);
+                return ints;
+            }
+            case LONG_ARRAY: {
+                long[] longs = new long[readLength(in, 8)];
+                in.readLongs(longs);
+                return longs;
+            }
+            case FLOAT_ARRAY: {
+                float[] floats = new float[readLength(in, 4)];
+                in.readFloats(floats);
+                return floats;
+            }
+            case DOUBLE_ARRAY: {
+                double[] doubles = new double[readLength(in, 8)];
+                in.readDoubles(doubles);
+                return doubles;
+            }
+            case OBJECT_ARRAY: {
+                Class componentType = readElementClass(in);
+                Object[] objects = (Object[]) Array.newInstance(componentType, readLength(in, 1));
+                for (int i = 0; i < objects.length; i++) {
+                    objects[i] = readValue(in);
+                }
+                return objects;
+            }
+            default:
+                throw new IllegalStateException("Unknown tag " + tag);
+        }
+    }
+
+    private static Class readClass(Input in) throws IOException {
+        int tag = readVarInt(in);
+        if (tag == ARRAY_CLASS) {
+            return Array.newInstance(readClass(in), 0).getClass();
+        } else if (tag == NAMED_CLASS) {
+            String name = in.readString(readLength(in, 1));
+            try {
+                return Class.forName(name, false, TupleCodec.class.getClassLoader());
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException("Cannot load class " + name, e);
+            }
+        } else if (tag >= 2 && tag - 2 < KNOWN_CLASSES.length) {
+            return KNOWN_CLASSES[tag - 2];
+        }
+        throw new IllegalStateException("Unknown class tag " + tag);
+    }
+
+    //Read the class of the Tuple elements or the array components, that cannot be primitive
+    private static Class readElementClass(Input in) throws IOException {
+        Class clazz = readClass(in);
+        if (clazz.isPrimitive()) {
+            throw new IllegalStateException("Invalid element type " + clazz.getName());
+        }
+        return clazz;
+    }
+
+    /**
+     * Read the length of a String, Tuple or array, and validate it against the bytes left before anything is allocated.
+     *
+     * @param in            the input to read the length
+     * @param bytesPerValue the minimum number of bytes encoding each of the values
+     * @return the length read
+     * @throws IOException any exception thrown by the input
+     */
+    private static int readLength(Input in, int bytesPerValue) throws IOException {
+        int length = readVarInt(in);
+        if (length < 0 || (long) length * bytesPerValue > in.remaining()) {
+            throw new IllegalStateException("Invalid length " + length + " with " + in.remaining() + " bytes left");
+        }
+        return length;
+    }
+
+    private static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static int readVarInt(Input in) throws IOException {
+        int result = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = in.readByte();
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalStateException("Malformed varint");
+    }
+
+    private static long readVarLong(Input in) throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            byte b = in.readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalStateException("Malformed varlong");
+    }
+    //endregion
+
+    //region Outputs and Inputs
+    private abstract static class Output {
+        abstract void writeByte(int b) throws IOException;
+
+        abstract void writeBytes(byte[] bytes, int offset, int length) throws IOException;
+
+        abstract void writeInt(int value) throws IOException;
+
+        abstract void writeLong(long value) throws IOException;
+
+        abstract void writeShorts(short[] shorts) throws IOException;
+
+        abstract void writeChars(char[] chars) throws IOException;
+
+        abstract void writeInts(int[] ints) throws IOException;
+
+        abstract void writeLongs(long[] longs) throws IOException;
+
+        abstract void writeFloats(float[] floats) throws IOException;
+
+        abstract void writeDoubles(double[] doubles) throws IOException;
+    }
+
+    private static final class BufferOutput extends Output {
+        private final ByteBuffer buffer;
+
+        BufferOutput(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        void writeByte(int b) {
+            buffer.put((byte) b);
+        }
+
+        @Override
+        void writeBytes(byte[] bytes, int offset, int length) {
+            buffer.put(bytes, offset, length);
+        }
+
+        @Override
+        void writeInt(int value) {
+            buffer.putInt(value);
+        }
+
+        @Override
+        void writeLong(long value) {
+            buffer.putLong(value);
+        }
+
+        @Override
+        void writeShorts(short[] shorts) {
+            buffer.asShortBuffer().put(shorts);
+            buffer.position(buffer.position() + shorts.length * 2);
+        }
+
+        @Override
+        void writeChars(char[] chars) {
+            buffer.asCharBuffer().put(chars);
+            buffer.position(buffer.position() + chars.length * 2);
+        }
+
+        @Override
+        void writeInts(int[] ints) {
+            buffer.asIntBuffer().put(ints);
+            buffer.position(buffer.position() + ints.length * 4);
+        }
+
+        @Override
+        void writeLongs(long[] longs) {
+            buffer.asLongBuffer().put(longs);
+            buffer.position(buffer.position() + longs.length * 8);
+        }
+
+        @Override
+        void writeFloats(float[] floats) {
+            buffer.asFloatBuffer().put(floats);
+            buffer.position(buffer.position() + floats.length * 4);
+        }
+
+        @Override
+        void writeDoubles(double[] doubles) {
+            buffer.asDoubleBuffer().put(doubles);
+            buffer.position(buffer.position() + doubles.length * 8);
+        }
+    }
+
+    private static final class DataOutputAdapter extends Output {
+        private final DataOutput out;
+
+        DataOutputAdapter(DataOutput out) {
+            this.out = out;
+        }
+
+        @Override
+        void writeByte(int b) throws IOException {
+            out.writeByte(b);
+        }
+
+        @Override
+        void writeBytes(byte[] bytes, int offset, int length) throws IOException {
+            out.write(bytes, offset, length);
+        }
+
+        @Override
+        void writeInt(int value) throws IOException {
+            out.writeInt(value);
+        }
+
+        @Override
+        void writeLong(long value) throws IOException {
+            out.writeLong(value);
+        }
+
+        @Override
+        void writeShorts(short[] shorts) throws IOException {
+            for (short s : shorts) {
+                out.writeShort(s);
+            }
+        }
+
+        @Override
+        void writeChars(char[] chars) throws IOException {
+            for (char c : chars) {
+                out.writeChar(c);
+            }
+        }
+
+        @Override
+        void writeInts(int[] ints) throws IOException {
+            for (int i : ints) {
+                out.writeInt(i);
+            }
+        }
+
+        @Override
+        void writeLongs(long[] longs) throws IOException {
+            for (long l : longs) {
+                out.writeLong(l);
+            }
+        }
+
+        @Override
+        void writeFloats(float[] floats) throws IOException {
+            for (float f : floats) {
+                out.writeFloat(f);
+            }
+        }
+
+        @Override
+        void writeDoubles(double[] doubles) throws IOException {
+            for (double d : doubles) {
+                out.writeDouble(d);
+            }
+        }
+    }
+
+    private abstract static class Input {
+        abstract int remaining();
+
+        abstract byte readByte() throws IOException;
+
+        abstract void readBytes(byte[] bytes) throws IOException;
+
+        abstract int readInt() throws IOException;
+
+        abstract long readLong() throws IOException;
+
+        abstract String readString(int length) throws IOException;
+
+        abstract void readShorts(short[] shorts) throws IOException;
+
+        abstract void readChars(char[] chars) throws IOException;
+
+        abstract void readInts(int[] ints) throws IOException;
+
+        abstract void readLongs(long[] longs) throws IOException;
+
+        abstract void readFloats(float[] floats) throws IOException;
+
+        abstract void readDoubles(double[] doubles) throws IOException;
+    }
+
+    private static final class BufferInput extends Input {
+        private ByteBuffer buffer;
+
+        BufferInput(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        int remaining() {
+            return buffer.remaining();
+        }
+
+        @Override
+        byte readByte() {
+            return buffer.get();
+        }
+
+        @Override
+        void readBytes(byte[] bytes) {
+            buffer.get(bytes);
+        }
+
+        @Override
+        int readInt() {
+            return buffer.getInt();
+        }
+
+        @Override
+        long readLong() {
+            return buffer.getLong();
+        }
+
+        @Override
+        String readString(int length) {
+            if (buffer.hasArray()) {
+                String string = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+                buffer.position(buffer.position() + length);
+                return string;
+            }
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        void readShorts(short[] shorts) {
+            buffer.asShortBuffer().get(shorts);
+            buffer.position(buffer.position() + shorts.length * 2);
+        }
+
+        @Override
+        void readChars(char[] chars) {
+            buffer.asCharBuffer().get(chars);
+            buffer.position(buffer.position() + chars.length * 2);
+        }
+
+        @Override
+        void readInts(int[] ints) {
+            buffer.asIntBuffer().get(ints);
+            buffer.position(buffer.position() + ints.length * 4);
+        }
+
+        @Override
+        void readLongs(long[] longs) {
+            buffer.asLongBuffer().get(longs);
+            buffer.position(buffer.position() + longs.length * 8);
+        }
+
+        @Override
+        void readFloats(float[] floats) {
+            buffer.asFloatBuffer().get(floats);
+            buffer.position(buffer.position() + floats.length * 4);
+        }
+
+        @Override
+        void readDoubles(double[] doubles) {
+            buffer.asDoubleBuffer().get(doubles);
+            buffer.position(buffer.position() + doubles.length * 8);
+        }
+    }
+
+    private static final class DataInputAdapter extends Input {
+        private final DataInput in;
+
+        DataInputAdapter(DataInput in) {
+            this.in = in;
+        }
+
+        @Override
+        int remaining() {
+            return MAX_STREAM_LENGTH;
+        }
+
+        @Override
+        byte readByte() throws IOException {
+            return in.readByte();
+        }
+
+        @Override
+        void readBytes(byte[] bytes) throws IOException {
+            in.readFully(bytes);
+        }
+
+        @Override
+        int readInt() throws IOException {
+            return in.readInt();
+        }
+
+        @Override
+        long readLong() throws IOException {
+            return in.readLong();
+        }
+
+        @Override
+        String readString(int length) throws IOException {
+            byte[] bytes = new byte[length];
+            in.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        void readShorts(short[] shorts) throws IOException {
+            for (int i = 0; i < shorts.length; i++) {
+                shorts[i] = in.readShort();
+            }
+        }
+
+        @Override
+        void readChars(char[] chars) throws IOException {
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = in.readChar();
+            }
+        }
+
+        @Override
+        void readInts(int[] ints) throws IOException {
+            for (int i = 0; i < ints.length; i++) {
+                ints[i] = in.readInt();
+            }
+        }
+
+        @Override
+        void readLongs(long[] longs) throws IOException {
+            for (int i = 0; i < longs.length; i++) {
+                longs[i] = in.readLong();
+            }
+        }
+
+        @Override
+        void readFloats(float[] floats) throws IOException {
+            for (int i = 0; i < floats.length; i++) {
+                floats[i] = in.readFloat();
+            }
+        }
+
+        @Override
+        void readDoubles(double[] doubles) throws IOException {
+            for (int i = 0; i < doubles.length; i++) {
+                doubles[i] = in.readDouble();
+            }
+        }
+    }
+
+    /**
+     * Iterator to read the frames from a channel into a reusable buffer and decode them one by one.
+     */
+    private static final class ChannelDecoder implements Iterator<Tuple> {
+        private final ReadableByteChannel channel;
+        private ByteBuffer buffer;
+        private final BufferInput input;
+        private Tuple next;
+        private boolean ended = false;
+
+        ChannelDecoder(ReadableByteChannel channel) {
+            this.channel = channel;
+            buffer = ByteBuffer.allocate(DEFAULT_BUFFER_SIZE);
+            buffer.flip();
+            input = new BufferInput(buffer);
+        }
+
+        /**
+         * Make sure there are at least the given number of bytes buffered.
+         *
+         * @param count number of bytes expected
+         * @return <code>true</code> if enough bytes are buffered, <code>false</code> if the channel reaches its end
+         */
+        private boolean ensure(int count) throws IOException {
+            if (buffer.remaining() >= count) {
+                return true;
+            }
+
+            buffer.compact();
+            while (buffer.position() < count) {
+                //Grow the buffer along with the bytes actually read, instead of trusting a malformed frame length
+                if (!buffer.hasRemaining()) {
+                    ByteBuffer larger = ByteBuffer.allocate((int) Math.min(count, buffer.capacity() * 2L));
+                    buffer.flip();
+                    larger.put(buffer);
+                    buffer = larger;
+                    input.buffer = buffer;
+                }
+                if (channel.read(buffer) < 0) {
+                    break;
+                }
+            }
+            buffer.flip();
+            return buffer.remaining() >= count;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            } else if (ended) {
+                return false;
+            }
+
+            try {
+                if (!ensure(1)) {
+                    ended = true;
+                    return false;
+                }
+
+                int length = 0;
+                for (int shift = 0; ; shift += 7) {
+                    if (shift >= 35 || !ensure(1)) {
+                        throw new IllegalStateException("Malformed frame length");
+                    }
+                    byte b = buffer.get();
+                    length |= (b & 0x7F) << shift;
+                    if ((b & 0x80) == 0) {
+                        break;
+                    }
+                }
+                if (length < 0 || !ensure(length)) {
+                    throw new IllegalStateException("Unexpected end of the channel");
+                }
+
+                int end = buffer.position() + length;
+                next = readTuple(input);
+                if (buffer.position() != end) {
+                    throw new IllegalStateException("Malformed frame of " + length + " bytes");
+                }
+                return true;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public Tuple next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Tuple result = next;
+            next = null;
+            return result;
+        }
+    }
+    //endregion
+}
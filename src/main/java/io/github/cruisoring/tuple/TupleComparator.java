@@ -0,0 +1,278 @@
+package io.github.cruisoring.tuple;
+
+import io.github.cruisoring.TypeHelper;
+
+import java.lang.reflect.Array;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lexicographic <code>Comparator</code> of the tuples: the elements are compared position by position, the first
+ * non-zero result decides the order, and the shorter tuple would be ordered first if all shared positions are equal.
+ * Null elements are ordered before any other values, <code>Comparable</code> elements are compared natively, numbers of
+ * different types by their numeric values, arrays and collections lexicographically by their elements.
+ * When the element types are specified, the elements at those positions are compared with the dedicated comparators
+ * of those types, and two <code>PrimitiveTuple</code>s of the same class are compared without boxing their elements.
+ * Tuples that are equal to each other would always be compared as 0, and unequal tuples whose elements all tie, like
+ * <code>Tuple.create(1, 2)</code> and <code>Tuple.ofInts(1, 2)</code>, are ordered by their class names, so the tuples
+ * can be kept by sorted maps like <code>TreeMap</code> or <code>ConcurrentSkipListMap</code>.
+ */
+public final class TupleComparator implements Comparator<WithValues> {
+
+    /**
+     * Comparator of two non-null elements.
+     */
+    @FunctionalInterface
+    interface ElementComparator {
+        int compare(Object element, Object otherElement);
+    }
+
+    /**
+     * Comparator without any element types specified.
+     */
+    public static final TupleComparator NATURAL = new TupleComparator(new Class[0]);
+
+    private static final Map<List<Class>, TupleComparator> comparators = new ConcurrentHashMap<>();
+
+    private static final Map<Class, ElementComparator> elementComparators = new HashMap<Class, ElementComparator>() {{
+        put(Integer.class, (x, y) -> x instanceof Integer && y instanceof Integer ?
+                Integer.compare((Integer) x, (Integer) y) : compareValues(x, y));
+        put(Long.class, (x, y) -> x instanceof Long && y instanceof Long ?
+                Long.compare((Long) x, (Long) y) : compareValues(x, y));
+        put(Double.class, (x, y) -> x instanceof Double && y instanceof Double ?
+                Double.compare((Double) x, (Double) y) : compareValues(x, y));
+        put(Float.class, (x, y) -> x instanceof Float && y instanceof Float ?
+                Float.compare((Float) x, (Float) y) : compareValues(x, y));
+        put(Short.class, (x, y) -> x instanceof Short && y instanceof Short ?
+                Short.compare((Short) x, (Short) y) : compareValues(x, y));
+        put(Byte.class, (x, y) -> x instanceof Byte && y instanceof Byte ?
+                Byte.compare((Byte) x, (Byte) y) : compareValues(x, y));
+        put(Character.class, (x, y) -> x instanceof Character && y instanceof Character ?
+                Character.compare((Character) x, (Character) y) : compareValues(x, y));
+        put(Boolean.class, (x, y) -> x instanceof Boolean && y instanceof Boolean ?
+                Boolean.compare((Boolean) x, (Boolean) y) : compareValues(x, y));
+        put(String.class, (x, y) -> x instanceof String && y instanceof String ?
+                ((String) x).compareTo((String) y) : compareValues(x, y));
+    }};
+
+    /**
+     * Get the cached comparator of the tuples whose elements are of the given types.
+     *
+     * @param elementTypes types of the elements at the leading positions, the elements at other positions would be
+     *                     compared as <code>TupleComparator.NATURAL</code> does
+     * @return the comparator shared by all callers with the same element types
+     */
+    public static TupleComparator of(Class... elementTypes) {
+        if (elementTypes == null || elementTypes.length == 0) {
+            return NATURAL;
+        }
+        return comparators.computeIfAbsent(Arrays.asList(elementTypes.clone()),
+                types -> new TupleComparator(types.toArray(new Class[0])));
+    }
+
+    private final Class[] elementTypes;
+    private final ElementComparator[] positionComparators;
+
+    private TupleComparator(Class[] elementTypes) {
+        this.elementTypes = elementTypes;
+        positionComparators = new ElementComparator[elementTypes.length];
+        for (int i = 0; i < elementTypes.length; i++) {
+            positionComparators[i] = comparatorOf(elementTypes[i]);
+        }
+    }
+
+    private static ElementComparator comparatorOf(Class type) {
+        Class boxed = type == null ? Object.class : (type.isPrimitive() ? TypeHelper.getEquivalentClass(type) : type);
+        ElementComparator comparator = elementComparators.get(boxed);
+        if (comparator != null) {
+            return comparator;
+        } else if (Comparable.class.isAssignableFrom(boxed)) {
+            return (x, y) -> x.getClass() == y.getClass() ? ((Comparable) x).compareTo(y) : compareValues(x, y);
+        }
+        return TupleComparator::compareValues;
+    }
+
+    /**
+     * Get the types of the elements this comparator is specialized for.
+     *
+     * @return types of the leading elements
+     */
+    public Class[] getElementTypes() {
+        return elementTypes.clone();
+    }
+
+    @Override
+    public int compare(WithValues tuple, WithValues other) {
+        if (tuple == other) {
+            return 0;
+        } else if (tuple == null) {
+            return -1;
+        } else if (other == null) {
+            return 1;
+        } else if (tuple instanceof PrimitiveTuple && tuple.getClass() == other.getClass()) {
+            return tuple.compareTo(other);
+        }
+
+        int length = tuple.getLength();
+        int otherLength = other.getLength();
+        int shared = Math.min(length, otherLength);
+        for (int i = 0; i < shared; i++) {
+            Object element = tuple.getValue(i);
+            Object otherElement = other.getValue(i);
+            if (element == otherElement) {
+                continue;
+            } else if (element == null) {
+                return -1;
+            } else if (otherElement == null) {
+                return 1;
+            }
+
+            int result = i < positionComparators.length ?
+                    positionComparators[i].compare(element, otherElement) : compareValues(element, otherElement);
+            if (result != 0) {
+                return result;
+            }
+        }
+        if (length != otherLength) {
+            return Integer.compare(length, otherLength);
+        }
+
+        //All elements tie, but tuples of different classes could still be unequal and must not be merged by sorted maps
+        Class tupleClass = tuple.getClass();
+        Class otherClass = other.getClass();
+        if (tupleClass == otherClass || tuple.equals(other)) {
+            return 0;
+        }
+        return tupleClass.getName().compareTo(otherClass.getName());
+    }
+
+    /**
+     * Compare two elements in the natural order used by <code>TupleComparator.NATURAL</code>.
+     * Notice: null is regarded as less than any other values. Unequal elements of the same class that are not
+     * {@code Comparable} are ordered by their hash codes, then by their string forms; if both of them collide, a
+     * {@code ClassCastException} is thrown instead of deeming them as equal. Containers or tuples of different classes
+     * whose elements all tie are ordered by their kinds, component types or class names unless they are equal.
+     *
+     * @param element      the element of one tuple
+     * @param otherElement the element of another tuple at the same position
+     * @return a negative integer, zero, or a positive integer as the element is less than, equal to, or greater than the other
+     */
+    public static int compareValues(Object element, Object otherElement) {
+        if (element == otherElement) {
+            return 0;
+        } else if (element == null) {
+            return -1;
+        } else if (otherElement == null) {
+            return 1;
+        }
+
+        Class elementClass = element.getClass();
+        Class otherClass = otherElement.getClass();
+        if (element instanceof Comparable && elementClass == otherClass) {
+            return ((Comparable) element).compareTo(otherElement);
+        } else if (element instanceof Number && otherElement instanceof Number) {
+            int result = isIntegral(element) && isIntegral(otherElement) ?
+                    Long.compare(((Number) element).longValue(), ((Number) otherElement).longValue())
+                    : Double.compare(((Number) element).doubleValue(), ((Number) otherElement).doubleValue());
+            return result != 0 ? result : elementClass.getName().compareTo(otherClass.getName());
+        } else if (isContainer(element) && isContainer(otherElement)) {
+            int result = compareContainers(element, otherElement);
+            return result != 0 || elementClass == otherClass ? result : compareContainerTypes(element, otherElement);
+        } else if (element instanceof WithValues && otherElement instanceof WithValues) {
+            return NATURAL.compare((WithValues) element, (WithValues) otherElement);
+        } else if (elementClass != otherClass) {
+            return elementClass.getName().compareTo(otherClass.getName());
+        } else if (element.equals(otherElement)) {
+            return 0;
+        }
+
+        //Unequal elements that are not Comparable are ordered by their hash codes and then their string forms, they must
+        //never be deemed as equal, otherwise a sorted map or set would lose one of them
+        int result = Integer.compare(TypeHelper.deepHashCode(element), TypeHelper.deepHashCode(otherElement));
+        if (result == 0) {
+            result = String.valueOf(element).compareTo(String.valueOf(otherElement));
+        }
+        if (result == 0) {
+            throw new ClassCastException(String.format("Cannot order unequal instances of %s that are not Comparable: %s",
+                    elementClass.getName(), element));
+        }
+        return result;
+    }
+
+    private static boolean isIntegral(Object number) {
+        return number instanceof Integer || number instanceof Long || number instanceof Short || number instanceof Byte;
+    }
+
+    private static boolean isContainer(Object element) {
+        return element instanceof Collection || element.getClass().isArray();
+    }
+
+    /**
+     * Order two containers of different classes whose elements all tie: they are compared as 0 only when the tuples
+     * holding them could be equal, that is, they have the same deep hash code and are deeply equal by value; otherwise they
+     * are ordered by container kind (arrays before collections), then by component type and class name.
+     */
+    private static int compareContainerTypes(Object container, Object otherContainer) {
+        if (TypeHelper.deepHashCode(container) == TypeHelper.deepHashCode(otherContainer)
+                && TypeHelper.deepValueEquals(container, otherContainer, TypeHelper.DEFAULT_EMPTY_EQUALITY)) {
+            return 0;
+        }
+
+        Class containerClass = container.getClass();
+        Class otherClass = otherContainer.getClass();
+        if (containerClass.isArray() != otherClass.isArray()) {
+            return containerClass.isArray() ? -1 : 1;
+        } else if (containerClass.isArray()) {
+            int result = containerClass.getComponentType().getName().compareTo(otherClass.getComponentType().getName());
+            if (result != 0) {
+                return result;
+            }
+        }
+        return containerClass.getName().compareTo(otherClass.getName());
+    }
+
+    private static Iterator<?> elementsOf(Object container) {
+        if (container instanceof Collection) {
+            return ((Collection<?>) container).iterator();
+        } else if (container instanceof Object[]) {
+            return Arrays.asList((Object[]) container).iterator();
+        }
+        int length = Array.getLength(container);
+        return new Iterator<Object>() {
+            int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < length;
+            }
+
+            @Override
+            public Object next() {
+                return Array.get(container, index++);
+            }
+        };
+    }
+
+    private static int compareContainers(Object container, Object otherContainer) {
+        if (container instanceof int[] && otherContainer instanceof int[]) {
+            int[] values = (int[]) container, others = (int[]) otherContainer;
+            int shared = Math.min(values.length, others.length);
+            for (int i = 0; i < shared; i++) {
+                if (values[i] != others[i]) {
+                    return Integer.compare(values[i], others[i]);
+                }
+            }
+            return Integer.compare(values.length, others.length);
+        }
+
+        Iterator<?> elements = elementsOf(container);
+        Iterator<?> otherElements = elementsOf(otherContainer);
+        while (elements.hasNext() && otherElements.hasNext()) {
+            int result = compareValues(elements.next(), otherElements.next());
+            if (result != 0) {
+                return result;
+            }
+        }
+        return elements.hasNext() ? 1 : (otherElements.hasNext() ? -1 : 0);
+    }
+}
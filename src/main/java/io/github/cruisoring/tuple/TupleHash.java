@@ -0,0 +1,215 @@
+package io.github.cruisoring.tuple;
+
+import java.util.Collection;
+
+/**
+ * 64-bit hash of the tuples and their elements, built with the round and avalanche steps of xxHash64, to be used by
+ * very large hash tables, bloom filters or cardinality sketches where the 32-bit <code>hashCode()</code> collides too often.
+ * The elements are hashed as a sequence of 64-bit lanes in the same depth-first order as <code>TypeHelper.deepHashCode()</code>:
+ * <ul>
+ * <li>boxed and primitive numbers, characters and booleans contribute their values, so <code>int[]</code> and
+ * <code>Integer[]</code> with the same values get the same hash</li>
+ * <li>arrays and collections contribute their lengths and their elements recursively, with fast paths for primitive arrays</li>
+ * <li>Strings contribute their characters, nested <code>WithValues</code> their <code>hash64()</code></li>
+ * <li>any other objects contribute their <code>hashCode()</code></li>
+ * </ul>
+ * The tuples that are equal would always get the same 64-bit hash, the <code>PrimitiveTuple</code>s get the same hash
+ * as the <code>Tuple</code>s with the same boxed values.
+ */
+public final class TupleHash {
+    private static final long PRIME1 = 0x9E3779B185EBCA87L;
+    private static final long PRIME2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long PRIME3 = 0x165667B19E3779F9L;
+    private static final long PRIME4 = 0x85EBCA77C2B2AE63L;
+    private static final long PRIME5 = 0x27D4EB2F165667C5L;
+
+    /**
+     * Initial state of the hash before mixing any elements.
+     */
+    public static final long SEED = PRIME5;
+
+    private static final long NULL_LANE = PRIME3;
+    private static final long CONTAINER_LANE = PRIME4;
+
+    private TupleHash() {
+    }
+
+    /**
+     * Mix one 64-bit lane into the hash.
+     *
+     * @param hash  the hash of the elements mixed before
+     * @param value the value of the new lane
+     * @return the new hash
+     */
+    public static long mix(long hash, long value) {
+        long lane = Long.rotateLeft(value * PRIME2, 31) * PRIME1;
+        return Long.rotateLeft(hash ^ lane, 27) * PRIME1 + PRIME4;
+    }
+
+    /**
+     * Mix one double value into the hash with its bits.
+     *
+     * @param hash  the hash of the elements mixed before
+     * @param value the double value to be mixed
+     * @return the new hash
+     */
+    public static long mixDouble(long hash, double value) {
+        return mix(hash, Double.doubleToLongBits(value));
+    }
+
+    /**
+     * Mix one element, which could be null, a primitive array, an array or collection of any elements, into the hash.
+     *
+     * @param hash  the hash of the elements mixed before
+     * @param value the element to be mixed
+     * @return the new hash
+     */
+    public static long mixValue(long hash, Object value) {
+        if (value == null) {
+            return mix(hash, NULL_LANE);
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            return mix(hash, ((Number) value).longValue());
+        } else if (value instanceof Double) {
+            return mixDouble(hash, (Double) value);
+        } else if (value instanceof Float) {
+            return mix(hash, Float.floatToIntBits((Float) value));
+        } else if (value instanceof Character) {
+            return mix(hash, (Character) value);
+        } else if (value instanceof Boolean) {
+            return mix(hash, (Boolean) value ? 1L : 0L);
+        } else if (value instanceof String) {
+            return mixString(hash, (String) value);
+        } else if (value instanceof WithValues) {
+            return mix(hash, ((WithValues) value).hash64());
+        } else if (value instanceof Collection) {
+            Collection collection = (Collection) value;
+            hash = mix(hash, CONTAINER_LANE ^ collection.size());
+            for (Object element : collection) {
+                hash = mixValue(hash, element);
+            }
+            return hash;
+        } else if (value.getClass().isArray()) {
+            return mixArray(hash, value);
+        }
+        return mix(hash, value.hashCode());
+    }
+
+    private static long mixString(long hash, String value) {
+        int length = value.length();
+        int i = 0;
+        for (; i + 4 <= length; i += 4) {
+            hash = mix(hash, (long) value.charAt(i) | (long) value.charAt(i + 1) << 16
+                    | (long) value.charAt(i + 2) << 32 | (long) value.charAt(i + 3) << 48);
+        }
+        long tail = 0;
+        for (int shift = 0; i < length; i++, shift += 16) {
+            tail |= (long) value.charAt(i) << shift;
+        }
+        return mix(mix(hash, tail), length);
+    }
+
+    private static long mixArray(long hash, Object array) {
+        if (array instanceof Object[]) {
+            Object[] values = (Object[]) array;
+            hash = mix(hash, CONTAINER_LANE ^ values.length);
+            for (Object element : values) {
+                hash = mixValue(hash, element);
+            }
+        } else if (array instanceof int[]) {
+            int[] values = (int[]) array;
+            hash = mix(hash, CONTAINER_LANE ^ values.length);
+            for (int element : values) {
+                hash = mix(hash, element);
+            }
+        } else if (array instanceof long[]) {
+            long[] values = (long[]) array;
+            hash = mix(hash, CONTAINER_LANE ^ values.length);
+            for (long element : values) {
+                hash = mix(hash, element);
+            }
+        } else if (array instanceof double[]) {
+            double[] values = (double[]) array;
+            hash = mix(hash, CONTAINER_LANE ^ values.length);
+            for (double element : values) {
+                hash = mixDouble(hash, element);
+            }
+        } else if (array instanceof byte[]) {
+            byte[] values = (byte[]) array;
+            hash = mix(hash, CONTAINER_LANE ^ values.length);
+            for (byte element : values) {
+                hash = mix(hash, element);
+            }
+        } else if (array instanceof char[]) {
+            char[] values = (char[]) array;
+            hash = mix(hash, CONTAINER_LANE ^ values.length);
+            for (char element : values) {
+                hash = mix(hash, element);
+            }
+        } else if (array instanceof short[]) {
+            short[] values = (short[]) array;
+            hash = mix(hash, CONTAINER_LANE ^ values.length);
+            for (short element : values) {
+                hash = mix(hash, element);
+            }
+        } else if (array instanceof float[]) {
+            float[] values = (float[]) array;
+            hash = mix(hash, CONTAINER_LANE ^ values.length);
+            for (float element : values) {
+                hash = mix(hash, Float.floatToIntBits(element));
+            }
+        } else {
+            boolean[] values = (boolean[]) array;
+            hash = mix(hash, CONTAINER_LANE ^ values.length);
+            for (boolean element : values) {
+                hash = mix(hash, element ? 1L : 0L);
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Complete the hash of the given number of elements with the avalanche step.
+     *
+     * @param hash   the hash of all elements mixed
+     * @param length number of the elements mixed
+     * @return the final 64-bit hash
+     */
+    public static long finish(long hash, int length) {
+        hash += length;
+        hash ^= hash >>> 33;
+        hash *= PRIME2;
+        hash ^= hash >>> 29;
+        hash *= PRIME3;
+        hash ^= hash >>> 32;
+        return hash;
+    }
+
+    /**
+     * Get the 64-bit hash of the given elements of a tuple.
+     *
+     * @param values the elements of a tuple
+     * @return the 64-bit hash identical to that of the tuple with the same elements
+     */
+    public static long hashOf(Object[] values) {
+        long hash = SEED;
+        for (Object value : values) {
+            hash = mixValue(hash, value);
+        }
+        return finish(hash, values.length);
+    }
+
+    /**
+     * Get the 64-bit hash of any <code>WithValues</code> by accessing its elements one by one.
+     *
+     * @param tuple the <code>WithValues</code> to be hashed
+     * @return the 64-bit hash identical to that of the tuple with the same elements
+     */
+    public static long hashOf(WithValues tuple) {
+        int length = tuple.getLength();
+        long hash = SEED;
+        for (int i = 0; i < length; i++) {
+            hash = mixValue(hash, tuple.getValue(i));
+        }
+        return finish(hash, length);
+    }
+}
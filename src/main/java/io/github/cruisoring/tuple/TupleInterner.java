@@ -0,0 +1,106 @@
+package io.github.cruisoring.tuple;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Concurrent table to get the canonical instance of value-equal Tuples of the same class, so repeated keys would share
+ * one instance whose hashCode, deep index and deep indexes are calculated at most once and cached by that instance.
+ * The hashCode is calculated when the Tuple is interned, while the deep indexes are calculated on first use.
+ * The canonical instances are referred weakly, thus they would be released once no longer referred elsewhere.
+ * Notice: the elements of the interned Tuples shall never be changed.
+ */
+public class TupleInterner {
+
+    /**
+     * Weak reference to a Tuple that keeps its hashCode, two keys are equal when referring to value-equal Tuples of the same class.
+     */
+    static final class WeakKey extends WeakReference<Tuple> {
+        final int hash;
+
+        WeakKey(Tuple tuple, ReferenceQueue<Tuple> queue) {
+            super(tuple, queue);
+            hash = tuple.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            } else if (!(obj instanceof WeakKey)) {
+                return false;
+            }
+
+            WeakKey other = (WeakKey) obj;
+            Tuple tuple = get();
+            Tuple otherTuple = other.get();
+            return hash == other.hash && tuple != null && otherTuple != null
+                    && tuple.getClass() == otherTuple.getClass() && tuple.equals(otherTuple);
+        }
+    }
+
+    private final Map<WeakKey, WeakKey> table = new ConcurrentHashMap<>();
+    private final ReferenceQueue<Tuple> queue = new ReferenceQueue<>();
+
+    /**
+     * Get the canonical instance that is value-equal to the given Tuple, the given Tuple would become the canonical one
+     * with its hashCode calculated if there is none.
+     *
+     * @param tuple the Tuple to be interned
+     * @param <T>   Type of the Tuple
+     * @return the canonical instance of the same class that equals to the given Tuple
+     */
+    public <T extends Tuple> T intern(T tuple) {
+        if (tuple == null) {
+            return null;
+        } else if (tuple.isInternedBy(this)) {
+            return tuple;
+        }
+
+        expungeStaleKeys();
+        WeakKey key = new WeakKey(tuple, queue);
+        //Marked before being published, so that no other thread would get the canonical instance unmarked
+        TupleInterner previous = tuple.setInterner(this);
+        while (true) {
+            WeakKey existing = table.putIfAbsent(key, key);
+            if (existing == null) {
+                return tuple;
+            }
+
+            Tuple canonical = existing.get();
+            if (canonical != null) {
+                if (canonical != tuple) {
+                    tuple.setInterner(previous);
+                }
+                return (T) canonical;
+            }
+            //The canonical instance has been collected but not expunged yet
+            table.remove(existing, existing);
+        }
+    }
+
+    /**
+     * Get the number of the canonical instances that have not been collected.
+     *
+     * @return number of the canonical instances kept by this interner
+     */
+    public int size() {
+        expungeStaleKeys();
+        return table.size();
+    }
+
+    private void expungeStaleKeys() {
+        Reference<? extends Tuple> reference;
+        while ((reference = queue.poll()) != null) {
+            table.remove(reference, reference);
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package io.github.cruisoring.tuple;
+
+import io.github.cruisoring.TypeHelper;
+
+import java.util.Collection;
+
+/**
+ * Mutable stand-in of a <code>Tuple</code> key to probe a hash-based Map without allocating a new Tuple.
+ * The probe has the same hashCode as the Tuple created with the same elements, and <code>matches()</code> any Tuple that
+ * <code>Tuple.create()</code> with the same elements would equal to.
+ * Each thread reuses its own probe of each length, so the probe must be released once the lookup is done and shall
+ * never be kept or put into a Map.
+ * Notice: <code>equals()</code> delegates to <code>matches()</code> only for the Maps comparing the given key with
+ * their keys, like <code>HashMap</code> and <code>ConcurrentHashMap</code>, while <code>Tuple.equals(probe)</code> is
+ * always <code>false</code>, so the probe shall only be used by the lookups that know the Map, like
+ * <code>Repository.getCached()</code>.
+ */
+public final class TupleProbe {
+    public static final int MAX_LENGTH = 7;
+
+    private static final ThreadLocal<TupleProbe[]> probes = ThreadLocal.withInitial(() -> new TupleProbe[MAX_LENGTH + 1]);
+
+    private final Object[] values;
+    private int hash;
+    private boolean flat;
+    private boolean inUse = false;
+
+    private TupleProbe(int length) {
+        values = new Object[length];
+    }
+
+    /**
+     * Get the probe of the specific length owned by the current thread, or a new one if that probe is still in use.
+     *
+     * @param length number of elements of the probe
+     * @return a probe ready to be filled
+     */
+    private static TupleProbe obtain(int length) {
+        TupleProbe[] owned = probes.get();
+        TupleProbe probe = owned[length];
+        if (probe == null) {
+            probe = new TupleProbe(length);
+            owned[length] = probe;
+        } else if (probe.inUse) {
+            probe = new TupleProbe(length);
+        }
+        probe.inUse = true;
+        return probe;
+    }
+
+    private TupleProbe seal() {
+        int h = 1;
+        boolean allFlat = true;
+        for (Object value : values) {
+            if (value instanceof Collection || (value != null && value.getClass().isArray())) {
+                allFlat = false;
+            }
+            h = Tuple.foldHashCode(h, value);
+        }
+        hash = h;
+        flat = allFlat;
+        return this;
+    }
+
+    /**
+     * Get the probe of the current thread filled with 1 element.
+     *
+     * @param k1 first element of the key
+     * @return the probe to be released after the lookup
+     */
+    public static TupleProbe of(Object k1) {
+        TupleProbe probe = obtain(1);
+        probe.values[0] = k1;
+        return probe.seal();
+    }
+
+    /**
+     * Get the probe of the current thread filled with 2 elements.
+     *
+     * @param k1 first element of the key
+     * @param k2 second element of the key
+     * @return the probe to be released after the lookup
+     */
+    public static TupleProbe of(Object k1, Object k2) {
+        TupleProbe probe = obtain(2);
+        probe.values[0] = k1;
+        probe.values[1] = k2;
+        return probe.seal();
+    }
+
+    /**
+     * Get the probe of the current thread filled with 3 elements.
+     *
+     * @param k1 first element of the key
+     * @param k2 second element of the key
+     * @param k3 third element of the key
+     * @return the probe to be released after the lookup
+     */
+    public static TupleProbe of(Object k1, Object k2, Object k3) {
+        TupleProbe probe = obtain(3);
+        probe.values[0] = k1;
+        probe.values[1] = k2;
+        probe.values[2] = k3;
+        return probe.seal();
+    }
+
+    /**
+     * Get the probe of the current thread filled with 4 elements.
+     *
+     * @param k1 first element of the key
+     * @param k2 second element of the key
+     * @param k3 third element of the key
+     * @param k4 fourth element of the key
+     * @return the probe to be released after the lookup
+     */
+    public static TupleProbe of(Object k1, Object k2, Object k3, Object k4) {
+        TupleProbe probe = obtain(4);
+        probe.values[0] = k1;
+        probe.values[1] = k2;
+        probe.values[2] = k3;
+        probe.values[3] = k4;
+        return probe.seal();
+    }
+
+    /**
+     * Get the probe of the current thread filled with 5 elements.
+     *
+     * @param k1 first element of the key
+     * @param k2 second element of the key
+     * @param k3 third element of the key
+     * @param k4 fourth element of the key
+     * @param k5 fifth element of the key
+     * @return the probe to be released after the lookup
+     */
+    public static TupleProbe of(Object k1, Object k2, Object k3, Object k4, Object k5) {
+        TupleProbe probe = obtain(5);
+        probe.values[0] = k1;
+        probe.values[1] = k2;
+        probe.values[2] = k3;
+        probe.values[3] = k4;
+        probe.values[4] = k5;
+        return probe.seal();
+    }
+
+    /**
+     * Get the probe of the current thread filled with 6 elements.
+     *
+     * @param k1 first element of the key
+     * @param k2 second element of the key
+     * @param k3 third element of the key
+     * @param k4 fourth element of the key
+     * @param k5 fifth element of the key
+     * @param k6 sixth element of the key
+     * @return the probe to be released after the lookup
+     */
+    public static TupleProbe of(Object k1, Object k2, Object k3, Object k4, Object k5, Object k6) {
+        TupleProbe probe = obtain(6);
+        probe.values[0] = k1;
+        probe.values[1] = k2;
+        probe.values[2] = k3;
+        probe.values[3] = k4;
+        probe.values[4] = k5;
+        probe.values[5] = k6;
+        return probe.seal();
+    }
+
+    /**
+     * Get the probe of the current thread filled with 7 elements.
+     *
+     * @param k1 first element of the key
+     * @param k2 second element of the key
+     * @param k3 third element of the key
+     * @param k4 fourth element of the key
+     * @param k5 fifth element of the key
+     * @param k6 sixth element of the key
+     * @param k7 seventh element of the key
+     * @return the probe to be released after the lookup
+     */
+    public static TupleProbe of(Object k1, Object k2, Object k3, Object k4, Object k5, Object k6, Object k7) {
+        TupleProbe probe = obtain(7);
+        probe.values[0] = k1;
+        probe.values[1] = k2;
+        probe.values[2] = k3;
+        probe.values[3] = k4;
+        probe.values[4] = k5;
+        probe.values[5] = k6;
+        probe.values[6] = k7;
+        return probe.seal();
+    }
+
+    /**
+     * Clear the elements to avoid keeping them alive, and return the probe to the current thread.
+     */
+    public void release() {
+        for (int i = 0; i < values.length; i++) {
+            values[i] = null;
+        }
+        inUse = false;
+    }
+
+    /**
+     * Get the number of elements of the probe.
+     *
+     * @return number of elements of the probe
+     */
+    public int getLength() {
+        return values.length;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    /**
+     * Check if the given Tuple equals to the Tuple created with the elements of this probe.
+     *
+     * @param other the Tuple to be compared with
+     * @return <code>true</code> if the Tuple has the same elements, otherwise <code>false</code>
+     */
+    public boolean matches(Tuple other) {
+        if (other == null) {
+            return false;
+        }
+
+        Object[] otherValues = other.values;
+        if (otherValues.length != values.length || other.hashCode() != hash || flat != other.isFlat()) {
+            return false;
+        } else if (flat && TypeHelper.DEFAULT_EMPTY_EQUALITY != TypeHelper.EqualityStategy.SameTypeOnly) {
+            for (int i = 0; i < values.length; i++) {
+                Object value = values[i];
+                Object otherValue = otherValues[i];
+                if (value != otherValue && (value == null || !value.equals(otherValue))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        return TypeHelper.deepValueEquals(values, otherValues, TypeHelper.DEFAULT_EMPTY_EQUALITY);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj == this || (obj instanceof Tuple && matches((Tuple) obj));
+    }
+
+    @Override
+    public String toString() {
+        return TypeHelper.deepToString(values);
+    }
+}
@@ -0,0 +1,199 @@
+package io.github.cruisoring.tuple;
+
+import io.github.cruisoring.TypeHelper;
+
+import java.lang.reflect.Array;
+import java.util.*;
+
+/**
+ * 128-bit bloom-style signature of the elements of a tuple, kept in two primitive fields.
+ * Each element sets 2 of the 128 bits chosen by its hash code, so the elements regarded as equal always set the same
+ * bits regardless of their positions, and empty arrays or collections set the same bits as null. Arrays and
+ * collections are hashed by the sum of the mixed hash codes of their leaves regardless of their order, since a
+ * <code>Set</code> could be equal to another Set, or an Array or Collection, iterating the same elements in another order.
+ * It is used as a cheap pre-filter: when <code>mayContainAll(other)</code> returns <code>false</code>, some elements
+ * of the other signature are definitely absent from this one; when it returns <code>true</code>, they might be present
+ * and shall be confirmed by comparing the values.
+ */
+public final class TupleSignature {
+    public static final TupleSignature EMPTY = new TupleSignature(0L, 0L);
+
+    private static final long MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private final long low;
+    private final long high;
+
+    private TupleSignature(long low, long high) {
+        this.low = low;
+        this.high = high;
+    }
+
+    /**
+     * Get the signature of the given elements.
+     *
+     * @param elements the elements to be signed
+     * @return the signature with the bits of all elements set
+     */
+    public static TupleSignature of(Object... elements) {
+        if (elements == null || elements.length == 0) {
+            return EMPTY;
+        }
+
+        long low = 0L, high = 0L;
+        for (Object element : elements) {
+            //Empty arrays or collections could be equal to null, so they are signed as null
+            long spread = (TypeHelper.isNullOrEmpty(element) ? 0 : hashOf(element)) * MULTIPLIER;
+            int bit1 = (int) (spread >>> 57);
+            int bit2 = (int) (spread >>> 50) & 0x7F;
+            if (bit1 < 64) {
+                low |= 1L << bit1;
+            } else {
+                high |= 1L << (bit1 - 64);
+            }
+            if (bit2 < 64) {
+                low |= 1L << bit2;
+            } else {
+                high |= 1L << (bit2 - 64);
+            }
+        }
+        return new TupleSignature(low, high);
+    }
+
+    /**
+     * Get the hash code of an element signed: the <code>hashCode()</code> of a value, or the order-independent hash of
+     * all leaves of an Array or Collection.
+     *
+     * @param element the non-null element to be signed
+     * @return the hash code that is identical for the elements regarded as equal by <code>TypeHelper.valueEquals()</code>
+     */
+    static int hashOf(Object element) {
+        if (!(element instanceof Collection || element instanceof Object[])) {
+            return element.getClass().isArray() ? sumPrimitives(element) : element.hashCode();
+        }
+
+        //Walk the leaves with an explicit stack, the same leaves as TypeHelper.deepHashCode() hashes in order
+        int sum = 0;
+        Deque<Iterator<?>> stack = new ArrayDeque<>();
+        stack.push(iteratorOf(element));
+        while (!stack.isEmpty()) {
+            Iterator<?> iterator = stack.peek();
+            if (!iterator.hasNext()) {
+                stack.pop();
+                continue;
+            }
+            Object node = iterator.next();
+            if (node == null) {
+                sum += mix(0);
+            } else if (TypeHelper.isNullOrEmpty(node)) {
+                sum += mix(37);
+            } else if (node instanceof Collection || node instanceof Object[]) {
+                stack.push(iteratorOf(node));
+            } else if (node.getClass().isArray()) {
+                sum += sumPrimitives(node);
+            } else {
+                sum += mix(node.hashCode());
+            }
+        }
+        return sum;
+    }
+
+    private static Iterator<?> iteratorOf(Object container) {
+        return container instanceof Collection ?
+                ((Collection<?>) container).iterator() : Arrays.asList((Object[]) container).iterator();
+    }
+
+    //Sum up the mixed hash codes of the elements of a primitive array, the same as those of their boxed values
+    private static int sumPrimitives(Object array) {
+        int sum = 0;
+        if (array instanceof int[]) {
+            for (int value : (int[]) array) {
+                sum += mix(Integer.hashCode(value));
+            }
+        } else if (array instanceof long[]) {
+            for (long value : (long[]) array) {
+                sum += mix(Long.hashCode(value));
+            }
+        } else if (array instanceof double[]) {
+            for (double value : (double[]) array) {
+                sum += mix(Double.hashCode(value));
+            }
+        } else {
+            int length = Array.getLength(array);
+            for (int i = 0; i < length; i++) {
+                sum += mix(Array.get(array, i).hashCode());
+            }
+        }
+        return sum;
+    }
+
+    //Spread the hash code of a leaf before summing them up, so that different leaves rarely add up to the same sum
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        hash *= 0xC2B2AE35;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Get the signature of all elements of the given <code>WithValues</code>.
+     *
+     * @param tuple the <code>WithValues</code> to be signed
+     * @return the signature with the bits of all its elements set
+     */
+    public static TupleSignature of(WithValues tuple) {
+        int length = tuple.getLength();
+        Object[] elements = new Object[length];
+        for (int i = 0; i < length; i++) {
+            elements[i] = tuple.getValue(i);
+        }
+        return of(elements);
+    }
+
+    /**
+     * Check if all elements signed by the other signature might be signed by this.
+     *
+     * @param other the signature of the expected elements
+     * @return <code>false</code> if any of the expected elements is definitely absent, otherwise <code>true</code>
+     */
+    public boolean mayContainAll(TupleSignature other) {
+        return (other.low & ~low) == 0 && (other.high & ~high) == 0;
+    }
+
+    /**
+     * Check if the given element might be signed by this.
+     *
+     * @param element the expected element
+     * @return <code>false</code> if the element is definitely absent, otherwise <code>true</code>
+     */
+    public boolean mayContain(Object element) {
+        return mayContainAll(of(element));
+    }
+
+    public long getLow() {
+        return low;
+    }
+
+    public long getHigh() {
+        return high;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(low) * 31 + Long.hashCode(high);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof TupleSignature)) {
+            return false;
+        }
+        TupleSignature other = (TupleSignature) obj;
+        return low == other.low && high == other.high;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%016x%016x", high, low);
+    }
+}
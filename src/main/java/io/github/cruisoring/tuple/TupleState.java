@@ -0,0 +1,19 @@
+package io.github.cruisoring.tuple;
+
+import io.github.cruisoring.DeepIndex;
+
+import java.util.Set;
+
+/**
+ * Side state of a tuple that is needed only by some operations, it is allocated lazily to keep every tuple instance
+ * with a single reference instead of one reference per cached attribute.
+ */
+final class TupleState {
+    DeepIndex deepIndex;
+    int[][] deepIndexes;
+    TupleSignature signature;
+    Set<Integer> signatures;
+    long hash64;
+    boolean closed = false;
+    TupleInterner interner;
+}
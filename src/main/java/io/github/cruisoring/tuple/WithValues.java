@@ -43,6 +43,25 @@ public interface WithValues<T> extends Comparable {
      */
     Set<Integer> getSignatures();
 
+    /**
+     * Get the compact bit-mask signature of the elements to reject unmatched values with a few bitwise operations.
+     *
+     * @return the signature of all elements
+     */
+    default TupleSignature getSignature() {
+        return TupleSignature.of(this);
+    }
+
+    /**
+     * Get the 64-bit hash of the elements with far fewer collisions than <code>hashCode()</code>, to be used by very
+     * large hash tables or probabilistic structures like bloom filters.
+     *
+     * @return the 64-bit hash of the elements
+     */
+    default long hash64() {
+        return TupleHash.hashOf(this);
+    }
+
     /**
      * Returns this as an instance of {@code WithValues} that can be overriden by extended interface/class.
      * @return the {@code WithValues} instance represented by this.
@@ -66,6 +85,18 @@ public interface WithValues<T> extends Comparable {
         return true;
     }
 
+    /**
+     * Same as <code>isMatched(expectedValues)</code>, but rejects this {@code WithValues} without comparing any values
+     * when its signature cannot contain all expected values.
+     *
+     * @param expectedValues    the expected element values at specific positions.
+     * @param expectedSignature the signature of the expected element values, like <code>TupleSignature.of(expectedValues.values().toArray())</code>
+     * @return      <code>true</code> if element values at the concerned positions are matched, otherwise <code>false</code>
+     */
+    default boolean isMatched(Map<Integer, Object> expectedValues, TupleSignature expectedSignature){
+        return getSignature().mayContainAll(expectedSignature) && isMatched(expectedValues);
+    }
+
     /**
      * With predicates for values at concerned positions, check if this {@code WithValues} meet the expectations.
      *
@@ -154,6 +185,9 @@ public interface WithValues<T> extends Comparable {
 
     @Override
     default int compareTo(Object o){
-        return o == null ? hashCode() : hashCode() - o.hashCode();
+        if (o instanceof WithValues) {
+            return TupleComparator.NATURAL.compare(this, (WithValues) o);
+        }
+        return o == null ? 1 : Integer.compare(hashCode(), o.hashCode());
     }
 }
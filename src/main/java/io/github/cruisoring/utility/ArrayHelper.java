@@ -4,6 +4,7 @@ import io.github.cruisoring.Asserts;
 import io.github.cruisoring.Range;
 import io.github.cruisoring.TypeHelper;
 import io.github.cruisoring.TypedList;
+import io.github.cruisoring.repository.ClassValueMap;
 import io.github.cruisoring.repository.TupleRepository3;
 import io.github.cruisoring.throwables.BiConsumerThrowable;
 import io.github.cruisoring.throwables.FunctionThrowable;
@@ -16,6 +17,7 @@ import java.lang.reflect.Array;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.IntStream;
 
@@ -34,7 +36,7 @@ public class ArrayHelper {
             BiConsumerThrowable<Object, FunctionThrowable<Integer, Object>>,       //Parallel setAll method
             BiConsumerThrowable<Object, FunctionThrowable<Integer, Object>>,        //Serial setAll method
             BiConsumerThrowable<Object, FunctionThrowable<Integer, Object>>>        //Default setAll method
-            arraySetters = TupleRepository3.fromKey(ArrayHelper::getAssetSetter);
+            arraySetters = TupleRepository3.fromKey(new ClassValueMap<>(), null, ArrayHelper::getAssetSetter);
     public static int ParalellEvaluationThreashold = 100;
 
     private ArrayHelper() {
@@ -101,10 +103,25 @@ public class ArrayHelper {
     public static <T> Object create(Class<? extends T> clazz, int length, Function<Integer, T> elementSupplier) {
         assertAllNotNull(elementSupplier);
 
-        Object array = clazz == Object.class ? new Object[length] : TypeHelper.getArrayFactory(clazz).orElse(null).apply(length);
+        if (clazz == Object.class) {
+            Object[] objects = new Object[length];
+            for (int i = 0; i < length; i++) {
+                objects[i] = elementSupplier.apply(i);
+            }
+            return objects;
+        }
 
-        for (int i = 0; i < length; i++) {
-            Array.set(array, i, elementSupplier.apply(i));
+        Object array = TypeHelper.getArrayFactory(clazz).orElse(null).apply(length);
+        //The cached setter assigns the element with casting instead of the reflective Array.set()
+        TriConsumerThrowable<Object, Integer, Object> elementSetter = TypeHelper.getArrayElementSetter(clazz);
+        try {
+            for (int i = 0; i < length; i++) {
+                elementSetter.accept(array, i, elementSupplier.apply(i));
+            }
+        } catch (RuntimeException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
         }
         return array;
     }
@@ -650,7 +667,9 @@ public class ArrayHelper {
         }
 
         Integer[] indexes = Range.closedOpen(0, len).getRandomIndexes();
-        Object shuffled = create(original.getClass().getComponentType(), len, i -> Array.get(original, indexes[i]));
+        Class componentType = original.getClass().getComponentType();
+        BiFunction<Object, Integer, Object> elementGetter = TypeHelper.getArrayElementGetter(componentType).orElse(null);
+        Object shuffled = create(componentType, len, i -> elementGetter.apply(original, indexes[i]));
         return shuffled;
     }
 
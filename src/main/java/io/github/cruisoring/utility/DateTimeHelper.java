@@ -1,5 +1,6 @@
 package io.github.cruisoring.utility;
 
+import io.github.cruisoring.repository.BoundedMap;
 import io.github.cruisoring.repository.Repository;
 
 import java.time.LocalDate;
@@ -11,8 +12,10 @@ import java.util.Date;
 public class DateTimeHelper {
     public static String DefaultDateFormat = "yyyy-MM-dd";
     public static String DefaultDateTimeFormat = "yyyy-MM-dd HH:mm:ss";
+    //Maximum number of formatters cached, the patterns could be given by the callers without limit
+    static final int MAX_DATE_FORMATTERS = 256;
     static Repository<String, DateTimeFormatter> dateFormatRepository = new Repository<>(
-        DateTimeFormatter::ofPattern);
+        BoundedMap.lru(MAX_DATE_FORMATTERS), null, DateTimeFormatter::ofPattern);
 
     private DateTimeHelper(){}
 
@@ -0,0 +1,116 @@
+package io.github.cruisoring;
+
+import io.github.cruisoring.logger.LogLevel;
+import io.github.cruisoring.logger.Logger;
+import io.github.cruisoring.logger.Measurement;
+import io.github.cruisoring.throwables.BiFunctionThrowable;
+import io.github.cruisoring.throwables.TriConsumerThrowable;
+import io.github.cruisoring.utility.ArrayHelper;
+import org.junit.Test;
+
+import java.lang.reflect.Array;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static io.github.cruisoring.Asserts.*;
+
+public class ArrayConvertersTest {
+
+    /**
+     * The former way to convert an array by getting, converting and setting its elements one by one with the boxed
+     * functions, nested arrays are converted recursively.
+     */
+    static Object convertElementwise(Object fromArray, Class toComponentClass) {
+        Class fromComponentClass = fromArray.getClass().getComponentType();
+        int length = Array.getLength(fromArray);
+        Object toArray = ArrayHelper.getNewArray(toComponentClass, length);
+        BiFunctionThrowable<Object, Integer, Object> getter = TypeHelper.getArrayElementGetter(fromComponentClass);
+        TriConsumerThrowable<Object, Integer, Object> setter = TypeHelper.getArrayElementSetter(toComponentClass);
+        Function<Object, Object> elementConverter = fromComponentClass.isPrimitive() != toComponentClass.isPrimitive() ?
+                TypeHelper.getToEquivalentSerialConverter(fromComponentClass) : element -> element;
+        try {
+            for (int i = 0; i < length; i++) {
+                Object element = getter.apply(fromArray, i);
+                if (element != null && toComponentClass.isArray()) {
+                    element = convertElementwise(element, toComponentClass.getComponentType());
+                }
+                setter.accept(toArray, i, elementConverter.apply(element));
+            }
+            return toArray;
+        } catch (Exception ex) {
+            return null;
+        }
+    }
+
+    @Test
+    public void testConvertNestedArrays() {
+        int[][] ints = new int[][]{new int[]{1, 2}, null, new int[0], new int[]{3}};
+        Integer[][] integers = TypeHelper.convert(ints, Integer[][].class);
+        assertEquals(new Integer[][]{new Integer[]{1, 2}, null, new Integer[0], new Integer[]{3}}, integers);
+        assertEquals(ints, TypeHelper.convertSerial(integers, int[][].class));
+        assertEquals(ints, TypeHelper.convertParallel(integers, int[][].class));
+
+        Double[][][] doubles = new Double[][][]{new Double[][]{new Double[]{1.0, 2.5}}, new Double[][]{null, new Double[]{-3.0}}};
+        double[][][] primitives = TypeHelper.convert(doubles, double[][][].class);
+        assertEquals(new double[][][]{new double[][]{new double[]{1.0, 2.5}}, new double[][]{null, new double[]{-3.0}}}, primitives);
+        assertEquals(doubles, TypeHelper.convert(primitives, Double[][][].class));
+
+        char[][] chars = new char[][]{new char[]{'a'}, new char[]{'b', 'c'}};
+        assertEquals(new Character[][]{new Character[]{'a'}, new Character[]{'b', 'c'}}, TypeHelper.convert(chars, Character[][].class));
+        assertEquals(new Object[][]{new Object[]{'a'}, new Object[]{'b', 'c'}}, TypeHelper.convert(chars, Object[][].class));
+
+        //Unboxing null or mismatched elements, or converting between incompatible types, gets null
+        assertAllNull(TypeHelper.convert(new Integer[][]{new Integer[]{1, null}}, int[][].class),
+                TypeHelper.convert(new Object[]{1, 2.0}, int[].class),
+                TypeHelper.convert(new Object[]{1, "2"}, Integer[].class),
+                TypeHelper.convert(ints, long[][].class),
+                TypeHelper.convert(ints, String[][].class));
+    }
+
+    @Test
+    public void testConvertInChunks() {
+        Object[][] samples = new Object[][]{
+                new Object[]{IntStream.range(0, 1000).toArray(), Integer.class},
+                new Object[]{IntStream.range(0, 1000).boxed().toArray(Integer[]::new), int.class},
+                new Object[]{IntStream.range(0, 1000).boxed().toArray(Integer[]::new), Number.class},
+                new Object[]{IntStream.range(0, 100).mapToObj(i -> i % 9 == 0 ? null : new int[]{i, -i}).toArray(int[][]::new), Integer[].class}
+        };
+        for (Object[] sample : samples) {
+            Class fromComponentClass = sample[0].getClass().getComponentType();
+            Class toComponentClass = (Class) sample[1];
+            ArrayConverters.RangeConverter converter = fromComponentClass.isArray() ?
+                    ArrayConverters.nested(toComponentClass) : ArrayConverters.of(fromComponentClass, toComponentClass);
+            Object expected = convertElementwise(sample[0], toComponentClass);
+            int length = Array.getLength(sample[0]);
+            for (int chunks : new int[]{1, 2, 7, length, length + 3}) {
+                Object converted = ArrayConverters.convertAll(converter, sample[0],
+                        ArrayHelper.getNewArray(toComponentClass, length), chunks);
+                assertAllTrue(converted.getClass().equals(expected.getClass()), TypeHelper.valueEquals(expected, converted));
+            }
+        }
+
+        Integer[] withNull = IntStream.range(0, 1000).boxed().toArray(Integer[]::new);
+        withNull[999] = null;
+        assertAllNull(ArrayConverters.convertAll(ArrayConverters.of(Integer.class, int.class), withNull, new int[1000], 8));
+    }
+
+    @Test
+    public void compareElementwiseAndBulkConversions() {
+        int[][] matrix = IntStream.range(0, 1000).mapToObj(i -> IntStream.range(i, i + 1000).toArray()).toArray(int[][]::new);
+        double[] doubles = IntStream.range(0, 1000000).asDoubleStream().toArray();
+        Object[] results = new Object[6];
+        for (int i = 0; i < 3; i++) {
+            Logger.M(Measurement.start("int[][] -> Integer[][] elementwise"), () -> results[0] = convertElementwise(matrix, Integer[].class));
+            Logger.M(Measurement.start("int[][] -> Integer[][] bulk"), () -> results[1] = TypeHelper.convert(matrix, Integer[][].class));
+            Logger.M(Measurement.start("Integer[][] -> int[][] elementwise"), () -> results[2] = convertElementwise(results[1], int[].class));
+            Logger.M(Measurement.start("Integer[][] -> int[][] bulk"), () -> results[3] = TypeHelper.convert(results[1], int[][].class));
+            Logger.M(Measurement.start("double[] -> Double[] elementwise"), () -> results[4] = convertElementwise(doubles, Double.class));
+            Logger.M(Measurement.start("double[] -> Double[] bulk"), () -> results[5] = TypeHelper.convert(doubles, Double[].class));
+            assertEquals(results[0], results[1]);
+            assertEquals(results[2], results[3]);
+            assertEquals(matrix, results[3]);
+            assertEquals(results[4], results[5]);
+        }
+        Measurement.purge(LogLevel.info);
+    }
+}
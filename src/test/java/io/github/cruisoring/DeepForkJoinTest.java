@@ -0,0 +1,192 @@
+package io.github.cruisoring;
+
+import io.github.cruisoring.logger.LogLevel;
+import io.github.cruisoring.logger.Logger;
+import io.github.cruisoring.logger.Measurement;
+import io.github.cruisoring.tuple.Tuple;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static io.github.cruisoring.Asserts.*;
+
+public class DeepForkJoinTest {
+
+    static Object[] nestedSamples() {
+        return new Object[]{
+                IntStream.range(0, 100).boxed().toArray(),
+                IntStream.range(0, 100).mapToObj(i -> new int[]{i, i + 1}).collect(Collectors.toList()),
+                IntStream.range(0, 50).mapToObj(i -> i % 7 == 0 ? null : new Object[]{i, new String[0], Arrays.asList(i, null)}).toArray(),
+                new LinkedList<>(IntStream.range(0, 60).mapToObj(i -> i % 3 == 0 ? new ArrayList<>() : new Integer[]{i}).collect(Collectors.toList())),
+                new Object[]{IntStream.range(0, 40).boxed().toArray(), new Object[]{IntStream.range(0, 30).boxed().collect(Collectors.toSet())}},
+                TypeHelperTest.object1, TypeHelperTest.object2
+        };
+    }
+
+    static Object copyOf(Object sample) {
+        if (sample instanceof Object[]) {
+            return Arrays.stream((Object[]) sample).map(DeepForkJoinTest::copyOf).toArray();
+        } else if (sample instanceof List) {
+            return ((List<?>) sample).stream().map(DeepForkJoinTest::copyOf).collect(Collectors.toCollection(LinkedList::new));
+        } else if (sample instanceof String) {
+            return new String((String) sample);
+        }
+        return sample;
+    }
+
+    @Test
+    public void testSameResultsWithSmallThreshold() {
+        int threshold = DeepForkJoin.getSplitThreshold();
+        ForkJoinPool commonPool = DeepForkJoin.getPool();
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            DeepForkJoin.setPool(pool);
+            DeepForkJoin.setSplitThreshold(4);
+            Object[] samples = nestedSamples();
+            for (Object sample : samples) {
+                Object copy = copyOf(sample);
+                for (TypeHelper.EqualityStategy strategy : TypeHelper.EqualityStategy.values()) {
+                    for (Object other : samples) {
+                        boolean expected = TypeHelper.deepValueEquals(sample, other, strategy);
+                        assertEquals(expected, DeepForkJoin.deepValueEquals(sample, other, strategy));
+                    }
+                    assertEquals(TypeHelper.deepValueEquals(sample, copy, strategy),
+                            DeepForkJoin.deepValueEquals(sample, copy, strategy));
+                }
+                //foldDeepHashCode() from 1 walks the leaves of a non-empty container serially as deepHashCode() does
+                int expected = TypeHelper.foldDeepHashCode(1, sample);
+                assertEquals(expected, TypeHelper.deepHashCode(sample));
+                assertEquals(expected, DeepForkJoin.deepHashCode(sample));
+                assertEquals(expected, DeepForkJoin.deepHashCode(copy));
+            }
+        } finally {
+            DeepForkJoin.setPool(commonPool);
+            DeepForkJoin.setSplitThreshold(threshold);
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testConfiguration() {
+        int calibrated = DeepForkJoin.calibrate();
+        Logger.D("Calibrated split threshold: %d, current: %d", calibrated, DeepForkJoin.getSplitThreshold());
+        assertAllTrue(calibrated >= DeepForkJoin.MIN_SPLIT_THRESHOLD, calibrated <= DeepForkJoin.MAX_SPLIT_THRESHOLD,
+                DeepForkJoin.getSplitThreshold() >= DeepForkJoin.MIN_SPLIT_THRESHOLD);
+        assertException(() -> DeepForkJoin.setSplitThreshold(0), IllegalStateException.class);
+        assertException(() -> DeepForkJoin.setPool(null), NullPointerException.class);
+
+        ForkJoinPool commonPool = DeepForkJoin.getPool();
+        ForkJoinPool pool = new ForkJoinPool(2);
+        int threshold = DeepForkJoin.getSplitThreshold();
+        try {
+            DeepForkJoin.setPool(pool);
+            DeepForkJoin.setSplitThreshold(8);
+            Object[] array = IntStream.range(0, 1000).boxed().toArray();
+            assertAllTrue(TypeHelper.valueEqualsParallel(array, copyOf(array)),
+                    pool.getStealCount() > 0 || pool.getPoolSize() > 0);
+        } finally {
+            DeepForkJoin.setPool(commonPool);
+            DeepForkJoin.setSplitThreshold(threshold);
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testPlainPathsStaySerial() {
+        ForkJoinPool commonPool = DeepForkJoin.getPool();
+        ForkJoinPool pool = new ForkJoinPool(2);
+        int threshold = DeepForkJoin.getSplitThreshold();
+        try {
+            DeepForkJoin.setPool(pool);
+            DeepForkJoin.setSplitThreshold(8);
+            Object[] array = IntStream.range(0, 1000).mapToObj(i -> new Object[]{i, Arrays.asList(i, null)}).toArray();
+            Object copy = copyOf(array);
+            assertAllTrue(TypeHelper.deepValueEquals(array, copy, TypeHelper.EqualityStategy.TypeIgnored),
+                    TypeHelper.deepHashCode(array) == TypeHelper.deepHashCode(copy),
+                    Tuple.create(array).equals(Tuple.create(copy)));
+            //No worker has been started unless the parallel evaluations are requested explicitly
+            assertEquals(0, pool.getPoolSize());
+            assertEquals(TypeHelper.deepHashCode(array), DeepForkJoin.deepHashCode(array));
+            assertAllTrue(pool.getPoolSize() > 0);
+        } finally {
+            DeepForkJoin.setPool(commonPool);
+            DeepForkJoin.setSplitThreshold(threshold);
+            pool.shutdown();
+        }
+    }
+
+    //Element whose comparisons are counted
+    static final class Counted {
+        static final AtomicInteger comparisons = new AtomicInteger();
+        final int value;
+
+        Counted(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            comparisons.incrementAndGet();
+            return obj instanceof Counted && ((Counted) obj).value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return value;
+        }
+    }
+
+    @Test
+    public void testStopOnFirstMismatch() {
+        int length = 1000000;
+        Object[] array1 = IntStream.range(0, length).mapToObj(Counted::new).toArray();
+        Object[] array2 = IntStream.range(0, length).mapToObj(Counted::new).toArray();
+        Object[] array3 = array2.clone();
+        array3[10] = new Counted(-1);
+
+        ForkJoinPool commonPool = DeepForkJoin.getPool();
+        //With a single worker, the leading slice is compared before any of the forked trailing halves
+        ForkJoinPool pool = new ForkJoinPool(1);
+        int threshold = DeepForkJoin.getSplitThreshold();
+        try {
+            DeepForkJoin.setPool(pool);
+            DeepForkJoin.setSplitThreshold(1024);
+            Counted.comparisons.set(0);
+            assertAllTrue(DeepForkJoin.deepValueEquals(array1, array2, TypeHelper.EqualityStategy.TypeIgnored));
+            assertEquals(length, Counted.comparisons.get());
+
+            Counted.comparisons.set(0);
+            assertAllFalse(DeepForkJoin.deepValueEquals(array1, array3, TypeHelper.EqualityStategy.TypeIgnored));
+            //The forked trailing halves left in the queue return as soon as they run, without comparing any element
+            assertAllTrue(pool.awaitQuiescence(5, TimeUnit.SECONDS));
+            assertEquals(11, Counted.comparisons.get());
+            assertAllTrue(TypeHelper.valueEqualsParallel(array1, array2), !TypeHelper.valueEqualsParallel(array1, array3));
+        } finally {
+            DeepForkJoin.setPool(commonPool);
+            DeepForkJoin.setSplitThreshold(threshold);
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void compareSerialAndParallel() {
+        Object[] payload1 = IntStream.range(0, 500000).mapToObj(i -> new Object[]{String.valueOf(i), i, new int[]{i, -i}}).toArray();
+        Object[] payload2 = (Object[]) copyOf(payload1);
+        for (int i = 0; i < 3; i++) {
+            boolean[] equals = new boolean[2];
+            int[] hashCodes = new int[2];
+            Logger.M(Measurement.start("Serial deepValueEquals"), () -> equals[0] = TypeHelper.deepValueEquals(payload1, payload2, TypeHelper.EqualityStategy.TypeIgnored));
+            Logger.M(Measurement.start("ForkJoin deepValueEquals"), () -> equals[1] = DeepForkJoin.deepValueEquals(payload1, payload2, TypeHelper.EqualityStategy.TypeIgnored));
+            Logger.M(Measurement.start("Serial deepHashCode"), () -> hashCodes[0] = TypeHelper.foldDeepHashCode(1, payload1));
+            Logger.M(Measurement.start("ForkJoin deepHashCode"), () -> hashCodes[1] = DeepForkJoin.deepHashCode(payload1));
+            assertAllTrue(equals[0], equals[1]);
+            assertEquals(hashCodes[0], hashCodes[1]);
+        }
+        Measurement.purge(LogLevel.info);
+    }
+}
@@ -0,0 +1,108 @@
+package io.github.cruisoring;
+
+import io.github.cruisoring.logger.LogLevel;
+import io.github.cruisoring.logger.Logger;
+import io.github.cruisoring.logger.Measurement;
+import io.github.cruisoring.tuple.Tuple;
+import io.github.cruisoring.utility.ArrayHelper;
+import org.junit.Test;
+
+import java.lang.reflect.Array;
+import java.util.*;
+
+import static io.github.cruisoring.Asserts.*;
+
+public class DeepIndexTest {
+
+    /**
+     * The former recursive implementation of getDeepIndexes() that merges a new copy of the path for every node.
+     */
+    static int[][] deepIndexesByMerging(Object object, int[] indexes) {
+        if (object == null) {
+            return new int[][]{merge(indexes, TypeHelper.NULL_NODE)};
+        } else if (object instanceof Collection || object.getClass().isArray()) {
+            Object[] elements = object instanceof Collection ? ((Collection) object).toArray() : null;
+            int length = elements != null ? elements.length : Array.getLength(object);
+            if (length == 0) {
+                return new int[][]{merge(indexes, elements != null ? TypeHelper.EMPTY_COLLECTION_NODE : TypeHelper.EMPTY_ARRAY_NODE)};
+            }
+            List<int[]> list = new ArrayList<>();
+            for (int i = 0; i < length; i++) {
+                Object element = elements != null ? elements[i] : Array.get(object, i);
+                list.addAll(Arrays.asList(deepIndexesByMerging(element, merge(indexes, i))));
+            }
+            return list.toArray(new int[0][]);
+        }
+        return new int[][]{merge(indexes, TypeHelper.NORMAL_VALUE_NODE)};
+    }
+
+    static int[] merge(int[] indexes, int last) {
+        int[] merged = Arrays.copyOf(indexes, indexes.length + 1);
+        merged[indexes.length] = last;
+        return merged;
+    }
+
+    @Test
+    public void testToArrays() {
+        Object[] samples = new Object[]{
+                null, 3, new int[0], new ArrayList<>(), new int[]{1, 2}, new Object[]{null, new Integer[0], "a"},
+                new int[][]{null, new int[]{5, 6}, new int[0]}, TypeHelperTest.object1, TypeHelperTest.object2,
+                ArrayHelper.asList(1, Arrays.asList(2, new Object[]{3, new ArrayList<>(), new char[]{'x'}}), null),
+                new Object[]{new Object[]{new Object[]{new Object[]{new Object[]{new Object[]{new Object[]{new Object[]{new Object[]{1}}}}}}}}}
+        };
+        for (Object sample : samples) {
+            int[][] expected = deepIndexesByMerging(sample, new int[0]);
+            assertAllTrue(Arrays.deepEquals(expected, TypeHelper.getDeepIndexes(sample)));
+            assertEquals(DeepIndex.of(sample), DeepIndex.of(sample));
+        }
+    }
+
+    @Test
+    public void testCursor() {
+        DeepIndex deepIndex = DeepIndex.of(new Object[]{1, new int[]{2, 3}, null, new String[0]});
+        assertEquals(5, deepIndex.size());
+
+        DeepIndex.Cursor cursor = deepIndex.cursor();
+        int count = 0;
+        while (cursor.next()) {
+            assertEquals(deepIndex.toArray(cursor.node()), cursor.toArray());
+            assertEquals(deepIndex.length(cursor.node()), cursor.length());
+            assertEquals(deepIndex.nodeTypeOf(cursor.node()), cursor.nodeType());
+            count++;
+        }
+        assertEquals(5, count);
+        assertAllFalse(cursor.next());
+
+        assertEquals(new int[]{1, 1, 0}, deepIndex.toArray(2));
+        assertEquals(1, deepIndex.get(2, 1));
+        assertEquals(TypeHelper.NULL_NODE, deepIndex.nodeTypeOf(3));
+        assertEquals(TypeHelper.EMPTY_ARRAY_NODE, deepIndex.nodeTypeOf(4));
+        assertException(() -> deepIndex.get(0, 2), IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    public void testLazyComposing() {
+        int[] array = new int[]{1, 2};
+        DeepIndex deepIndex = DeepIndex.of(new Object[]{array});
+        array[0] = 0;
+        assertEquals(2, deepIndex.size());
+
+        Tuple tuple = Tuple.of("a", new int[]{1, 2}, Arrays.asList(3, null));
+        assertAllTrue(tuple.getDeepIndex() == tuple.getDeepIndex());
+        assertAllTrue(Arrays.deepEquals(deepIndexesByMerging(new Object[]{"a", new int[]{1, 2}, Arrays.asList(3, null)}, new int[0]),
+                tuple.getDeepIndexes()));
+        assertEquals(Tuple.compact("a", new int[]{1, 2}).getDeepIndex(), Tuple.create("a", new int[]{1, 2}).getDeepIndex());
+    }
+
+    @Test
+    public void compareMergingAndFlat() {
+        int[][][] cube = new int[100][100][20];
+        for (int i = 0; i < 3; i++) {
+            int[] sizes = new int[2];
+            Logger.M(Measurement.start("DeepIndexesByMerging"), () -> sizes[0] = deepIndexesByMerging(cube, new int[0]).length);
+            Logger.M(Measurement.start("FlatDeepIndex"), () -> sizes[1] = DeepIndex.of(cube).size());
+            assertEquals(sizes[0], sizes[1]);
+        }
+        Measurement.purge(LogLevel.info);
+    }
+}
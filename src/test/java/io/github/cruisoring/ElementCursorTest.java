@@ -0,0 +1,112 @@
+package io.github.cruisoring;
+
+import io.github.cruisoring.logger.LogLevel;
+import io.github.cruisoring.logger.Logger;
+import io.github.cruisoring.logger.Measurement;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static io.github.cruisoring.Asserts.*;
+
+public class ElementCursorTest {
+
+    /**
+     * The former way to get the element of a Collection by iterating it from the start.
+     */
+    static Object elementByIterating(Collection collection, int index) {
+        Iterator iterator = collection.iterator();
+        int i = 0;
+        while (iterator.hasNext()) {
+            Object next = iterator.next();
+            if (i++ == index) {
+                return next;
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    /**
+     * The former deepToString() of Collections that gets every element by its index.
+     */
+    static String deepToStringByIndexes(Object obj) {
+        if (obj instanceof Collection) {
+            Collection collection = (Collection) obj;
+            List<String> elementStrings = IntStream.range(0, collection.size())
+                    .mapToObj(i -> deepToStringByIndexes(elementByIterating(collection, i)))
+                    .collect(Collectors.toList());
+            return "[" + String.join(", ", elementStrings) + "]";
+        }
+        return TypeHelper.deepToString(obj);
+    }
+
+    @Test
+    public void testCursor() {
+        Object[] containers = new Object[]{
+                new Object[]{1, null, "a"}, new int[]{1, 2, 3}, Arrays.asList(1, null, "a"),
+                new LinkedList<>(Arrays.asList(1, null, "a")), new LinkedHashSet<>(Arrays.asList(1, 2, 3))
+        };
+        for (Object container : containers) {
+            ElementCursor cursor = ElementCursor.of(container);
+            assertEquals(3, cursor.length());
+            assertEquals(-1, cursor.index());
+            int count = 0;
+            while (cursor.hasNext()) {
+                Object element = cursor.next();
+                assertEquals(count, cursor.index());
+                assertAllTrue(Objects.equals(TypeHelper.getElement(container, count), element));
+                count++;
+            }
+            assertEquals(3, count);
+        }
+        assertException(() -> ElementCursor.of("abc"), IllegalStateException.class);
+        assertException(() -> TypeHelper.getElement(new LinkedList<>(Arrays.asList(1, 2)), 2), IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testSameResultsOfListKinds() {
+        List<Object> arrayList = Arrays.<Object>asList(1, null, new int[0], Arrays.asList(2.0, new char[]{'x'}), new LinkedList<>(Arrays.asList("a", null)));
+        List<Object> linkedList = new LinkedList<>(arrayList);
+        Set<Object> set = new LinkedHashSet<>(arrayList);
+
+        assertEquals(deepToStringByIndexes(arrayList), TypeHelper.deepToString(arrayList));
+        assertEquals(TypeHelper.deepToString(arrayList), TypeHelper.deepToString(linkedList));
+        assertEquals(TypeHelper.deepToString(arrayList), TypeHelper.deepToString(set));
+        assertEquals(TypeHelper.deepHashCode(arrayList), TypeHelper.deepHashCode(linkedList));
+        assertEquals(TypeHelper.deepHashCode(arrayList), TypeHelper.deepHashCode(set));
+        assertEquals(DeepIndex.of(arrayList), DeepIndex.of(linkedList));
+        assertAllTrue(TypeHelper.valueEquals(arrayList, linkedList),
+                TypeHelper.deepValueEquals(set, linkedList, TypeHelper.EqualityStategy.TypeIgnored));
+        assertEquals('x', TypeHelper.getDeepElement(linkedList, new int[]{3, 1, 0}));
+        assertEquals("a", TypeHelper.getDeepElement(set, new int[]{4, 0}));
+    }
+
+    @Test
+    public void compareArrayListAndLinkedList() {
+        List<Integer> arrayList = IntStream.range(0, 100000).boxed().collect(Collectors.toList());
+        List<Integer> linkedList = new LinkedList<>(arrayList);
+        List<Integer> arrayList2 = new ArrayList<>(arrayList);
+        List<Integer> linkedList2 = new LinkedList<>(arrayList);
+
+        for (int i = 0; i < 3; i++) {
+            Logger.M(Measurement.start("ArrayList.deepToString"), () -> TypeHelper.deepToString(arrayList));
+            Logger.M(Measurement.start("LinkedList.deepToString"), () -> TypeHelper.deepToString(linkedList));
+            Logger.M(Measurement.start("ArrayList.deepHashCode"), () -> TypeHelper.deepHashCode(arrayList));
+            Logger.M(Measurement.start("LinkedList.deepHashCode"), () -> TypeHelper.deepHashCode(linkedList));
+            Logger.M(Measurement.start("ArrayList.DeepIndex"), () -> DeepIndex.of(arrayList).size());
+            Logger.M(Measurement.start("LinkedList.DeepIndex"), () -> DeepIndex.of(linkedList).size());
+            Logger.M(Measurement.start("ArrayList.valueEquals"), () -> assertAllTrue(TypeHelper.valueEquals(arrayList, arrayList2)));
+            Logger.M(Measurement.start("LinkedList.valueEquals"), () -> assertAllTrue(TypeHelper.valueEquals(linkedList, linkedList2)));
+        }
+
+        //Getting the elements of a LinkedList by index costs O(n^2), so the former way is measured with a smaller list
+        List<Integer> shortList = new LinkedList<>(arrayList.subList(0, 10000));
+        String[] strings = new String[2];
+        Logger.M(Measurement.start("LinkedList(10000).deepToStringByIndexes"), () -> strings[0] = deepToStringByIndexes(shortList));
+        Logger.M(Measurement.start("LinkedList(10000).deepToString"), () -> strings[1] = TypeHelper.deepToString(shortList));
+        assertEquals(strings[0], strings[1]);
+        Measurement.purge(LogLevel.info);
+    }
+}
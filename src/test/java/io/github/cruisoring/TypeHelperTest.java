@@ -1,6 +1,8 @@
 package io.github.cruisoring;
 
+import io.github.cruisoring.logger.LogLevel;
 import io.github.cruisoring.logger.Logger;
+import io.github.cruisoring.logger.Measurement;
 import io.github.cruisoring.throwables.*;
 import io.github.cruisoring.tuple.Tuple;
 import io.github.cruisoring.tuple.Tuple3;
@@ -11,9 +13,12 @@ import io.github.cruisoring.utility.StringHelper;
 import org.junit.Test;
 
 import java.lang.reflect.Array;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.time.DayOfWeek;
 import java.time.Month;
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -477,14 +482,44 @@ public class TypeHelperTest {
     @Test
     public void getGenericInfo() {
         FunctionThrowable<Integer, List<Integer>> listFactory = i -> new SimpleTypedList<Integer>();
-        Tuple3<Boolean, Class[], Class> genericInfo = lambdaGenericInfoRepository.retrieve(listFactory);
+        Tuple3<Boolean, Class[], Class> genericInfo = getLambdaGenericInfo(listFactory);
         assertEquals(Tuple.create(true, new Class[]{Integer.class}, List.class), genericInfo);
 
         BiFunctionThrowable<Integer, Integer, Boolean> func = (n1, n2) -> n1 + 12 > n2;
-        genericInfo = lambdaGenericInfoRepository.retrieve(func);
+        genericInfo = getLambdaGenericInfo(func);
         assertEquals(Tuple.create(true, new Class[]{Integer.class, Integer.class}, Boolean.class), genericInfo);
     }
 
+    interface SerializableFunction<T, R> extends FunctionThrowable<T, R>, java.io.Serializable {
+    }
+
+    @Test
+    public void getGenericInfo_ofSerializableLambda() {
+        SerializableFunction<String, Integer> length = s -> s.length();
+        assertEquals(Tuple.create(true, new Class[]{String.class}, Integer.class), getSerializedLambdaInfo(length));
+        assertEquals(getSerializedLambdaInfo(length), getLambdaGenericInfo(length));
+        assertEquals(Integer.class, getReturnType(length));
+
+        FunctionThrowable<String, Integer> notSerializable = s -> s.length();
+        assertAllNull(getSerializedLambdaInfo(notSerializable));
+    }
+
+    @Test
+    public void getGenericInfo_ofCapturingLambdas_cachedByClass() {
+        List<Class> returnTypes = new ArrayList<>();
+        Set<Class> lambdaClasses = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            int offset = i;
+            FunctionThrowable<String, Integer> capturing = s -> s.length() + offset;
+            lambdaClasses.add(capturing.getClass());
+            returnTypes.add(getReturnType(capturing));
+        }
+        assertEquals(1, lambdaClasses.size());
+        assertEquals(1, new HashSet<>(returnTypes).size());
+        assertAllTrue(LambdaGenericInfos.repository.containsKey(lambdaClasses.iterator().next()),
+                LambdaGenericInfos.repository.getSize() <= MAX_LAMBDA_GENERIC_INFOS);
+    }
+
     @Test
     public void getClassPredicate_withPrimitiveTypes_shallMatchCorrectly() {
         Predicate<Class> classPredicate = getClassEqualitor(int.class);
@@ -1132,6 +1167,57 @@ public class TypeHelperTest {
         assertEquals(C.class, Array.get(aArray, 1).getClass());
     }
 
+    @Test
+    public void getArrayElementGetter_withAllTypes_sameAsArrayGet() {
+        Object[] arrays = new Object[]{
+                new int[]{1, 2}, new long[]{3L, 4L}, new short[]{5, 6}, new char[]{'a', 'b'}, new byte[]{7, 8},
+                new boolean[]{true, false}, new double[]{1.5, 2.5}, new float[]{3.5f, 4.5f},
+                new Integer[]{1, null}, new Character[]{'c', null}, new Double[]{null, 0.1}, new String[]{"x", null},
+                new int[][]{new int[]{1}, null}, new ITest1[]{new A(), new D()}
+        };
+        for (Object array : arrays) {
+            BiFunctionThrowable<Object, Integer, Object> getter = getArrayElementGetter(array.getClass().getComponentType());
+            TriConsumerThrowable<Object, Integer, Object> setter = getArrayElementSetter(array.getClass().getComponentType());
+            Object first = Array.get(array, 0);
+            assertEquals(first, getter.orElse(null).apply(array, 0));
+            assertEquals(Array.get(array, 1), getter.orElse(null).apply(array, 1));
+            setter.withHandler(null).accept(array, 1, first);
+            assertEquals(first, Array.get(array, 1));
+        }
+        assertException(() -> getArrayElementSetter(Integer.class).accept(new Integer[1], 0, 1L), ClassCastException.class);
+    }
+
+    @Test
+    public void compareReflectiveAndCachedAccessors() {
+        int length = 1000000;
+        Integer[] values = new Integer[length];
+        Arrays.setAll(values, i -> i);
+
+        for (int round = 0; round < 3; round++) {
+            Object[] results = new Object[4];
+            Logger.M(Measurement.start("Array.set"), () -> {
+                int[] ints = new int[length];
+                for (int i = 0; i < length; i++) {
+                    Array.set(ints, i, values[i]);
+                }
+                results[0] = ints;
+            });
+            Logger.M(Measurement.start("ArrayHelper.create"), () -> results[1] = ArrayHelper.create(int.class, length, i -> values[i]));
+            Logger.M(Measurement.start("Array.get"), () -> {
+                Integer[] integers = new Integer[length];
+                int[] ints = (int[]) results[0];
+                for (int i = 0; i < length; i++) {
+                    integers[i] = (Integer) Array.get(ints, i);
+                }
+                results[2] = integers;
+            });
+            Logger.M(Measurement.start("toEquivalent"), () -> results[3] = toEquivalent(results[1]));
+            assertAllTrue(Arrays.equals((int[]) results[0], (int[]) results[1]),
+                    Arrays.equals((Integer[]) results[2], (Integer[]) results[3]));
+        }
+        Measurement.purge(LogLevel.info);
+    }
+
     @Test
     public void getSetArrayElement_withMultiDimensionArrayTypes_bothGetterSetterWorks() {
         int[][] ints = new int[][]{new int[]{1, 2, 3}, null};
@@ -1493,14 +1579,14 @@ public class TypeHelperTest {
     public void getArrayToString_withArrayOfArrayTypes_dependentKeysGenerated() {
         Function<Object, String> toString;
 
-        assertAllFalse(classOperators.containsKey(Month.class) || classOperators.containsKey(Month[].class)
-                || classOperators.containsKey(SupplierThrowable.class) || classOperators.containsKey(SupplierThrowable[].class));
+        assertAllFalse(ClassOperators.repository.containsKey(Month.class) || ClassOperators.repository.containsKey(Month[].class)
+                || ClassOperators.repository.containsKey(SupplierThrowable.class) || ClassOperators.repository.containsKey(SupplierThrowable[].class));
         Object[] objects = new Object[][]{new Month[][]{null, new Month[]{Month.APRIL}},
                 new SupplierThrowable[]{null, () -> 1}, new SupplierThrowable[][]{null}};
         toString = getArrayToString(objects.getClass().getComponentType());
         String result = toString.apply(objects);
-        assertAllTrue(classOperators.containsKey(Month.class) && classOperators.containsKey(Month[].class)
-                && classOperators.containsKey(SupplierThrowable.class) && classOperators.containsKey(SupplierThrowable[].class));
+        assertAllTrue(ClassOperators.repository.containsKey(Month.class) && ClassOperators.repository.containsKey(Month[].class)
+                && ClassOperators.repository.containsKey(SupplierThrowable.class) && ClassOperators.repository.containsKey(SupplierThrowable[].class));
     }
 
     @Test
@@ -1620,6 +1706,82 @@ public class TypeHelperTest {
                 deepHashCode(ArrayHelper.asList(null, ArrayHelper.asList(1, 5), ArrayHelper.asList(null, ArrayHelper.asList(3), new int[]{7}))));
     }
 
+    /**
+     * The former implementation of deepHashCode() that looks up every leaf from the root with its deep indexes.
+     */
+    static int deepHashCodeByIndexes(Object obj) {
+        if (obj == null) {
+            return 0;
+        } else if (obj instanceof Collection) {
+            if (((Collection) obj).size() == 0) {
+                return 37;
+            }
+        } else if (obj.getClass().isArray()) {
+            if (Array.getLength(obj) == 0) {
+                return 37;
+            }
+        } else {
+            return obj.hashCode();
+        }
+
+        int result = 1;
+        for (int[] deepIndex : getDeepIndexes(obj)) {
+            Object element = getDeepElement(obj, Arrays.copyOfRange(deepIndex, 0, deepIndex.length - 1));
+            result = 31 * result + deepHashCodeByIndexes(element);
+        }
+        return result;
+    }
+
+    @Test
+    public void testDeepHashCode_sameAsByIndexes() {
+        Object[] samples = new Object[]{
+                object1, object2, new int[][]{null, new int[0], new int[]{-1, 2}},
+                new long[]{Long.MIN_VALUE, 3L}, new double[]{0.1, Double.NaN}, new float[]{-0.0f},
+                new char[]{'x', 'y'}, new byte[]{-1}, new short[]{7}, new boolean[]{true, false},
+                ArrayHelper.asList(new Object[0], new SimpleTypedList(), Arrays.asList("a", null, new int[]{3})),
+                new Object[][]{new Object[]{new Object[]{new Object[]{1, "deep"}}}, new Object[]{}},
+                new TreeSet<>(Arrays.asList("b", "a", "c")), Tuple.create(1, new int[]{2})
+        };
+        for (Object sample : samples) {
+            assertEquals(deepHashCodeByIndexes(sample), deepHashCode(sample));
+        }
+
+        Random random = new Random(11);
+        int[][] jagged = new int[50][];
+        for (int i = 0; i < jagged.length; i++) {
+            jagged[i] = random.ints(random.nextInt(5), -100, 100).toArray();
+        }
+        assertEquals(deepHashCodeByIndexes(jagged), deepHashCode(jagged));
+    }
+
+    @Test
+    public void compareDeepHashCodePerformance() {
+        int[][] matrix = new int[1000][1000];
+        for (int i = 0; i < 1000; i++) {
+            for (int j = 0; j < 1000; j++) {
+                matrix[i][j] = i * j;
+            }
+        }
+        List<List<String>> lists = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            List<String> list = new ArrayList<>();
+            for (int j = 0; j < 100; j++) {
+                list.add("s" + i + "_" + j);
+            }
+            lists.add(list);
+        }
+
+        int[] hashes = new int[4];
+        for (int i = 0; i < 3; i++) {
+            Logger.M(Measurement.start("IntMatrixByIndexes"), () -> hashes[0] = deepHashCodeByIndexes(matrix));
+            Logger.M(Measurement.start("IntMatrixSinglePass"), () -> hashes[1] = deepHashCode(matrix));
+            Logger.M(Measurement.start("StringListsByIndexes"), () -> hashes[2] = deepHashCodeByIndexes(lists));
+            Logger.M(Measurement.start("StringListsSinglePass"), () -> hashes[3] = deepHashCode(lists));
+        }
+        assertAllTrue(hashes[0] == hashes[1], hashes[2] == hashes[3]);
+        Measurement.purge(LogLevel.info);
+    }
+
     @Test
     public void testValueEquals() {
         assertAllTrue(valueEquals(null, null));
@@ -1629,6 +1791,76 @@ public class TypeHelperTest {
 
     }
 
+    /**
+     * The former implementation of valueEquals() that compares the deep indexes first, then every node from the root.
+     */
+    static boolean valueEqualsByIndexes(Object obj1, Object obj2, EqualityStategy equalityStategy) {
+        Boolean simpleEquals = canValueEquals(obj1, obj2, equalityStategy);
+        if (simpleEquals != null) {
+            return simpleEquals;
+        }
+        int[][] deepIndexes = getDeepIndexes(obj1);
+        return Arrays.deepEquals(deepIndexes, getDeepIndexes(obj2)) && deepValueEquals(obj1, obj2, deepIndexes, equalityStategy);
+    }
+
+    @Test
+    public void testValueEquals_sameAsByIndexes() {
+        Object[] samples = new Object[]{
+                null, 1, 1L, "a", new int[0], new Integer[0], new Number[0], new String[0], new SimpleTypedList(),
+                new int[]{1, 2}, new Integer[]{1, 2}, new long[]{1, 2}, new Number[]{1, 2}, ArrayHelper.asList(1, 2),
+                new double[]{Double.NaN, -0.0}, new Double[]{Double.NaN, -0.0}, new double[]{Double.NaN, 0.0},
+                new Object[]{null}, new Integer[]{null}, new Comparable[]{null}, ArrayHelper.asList((Object) null),
+                new Object[]{new int[0]}, new Object[]{new Integer[0]}, new Object[]{new ArrayList<>()},
+                new Object[]{new Number[]{null, 1}}, new Object[]{new Integer[]{null, 1}}, new Object[]{new Object[]{null, 1}},
+                new int[][]{null, new int[]{5, 6}}, new Integer[][]{null, new Integer[]{5, 6}}, new int[][]{new int[0], new int[]{5, 6}},
+                new Object[]{1, new Object[]{2, new int[]{3, 4}}}, new Object[]{1, ArrayHelper.asList(2, new Integer[]{3, 4})},
+                new Object[]{1, new Object[]{2, new int[]{3, 5}}}, object1, object2
+        };
+        for (EqualityStategy strategy : EqualityStategy.values()) {
+            for (Object sample1 : samples) {
+                for (Object sample2 : samples) {
+                    boolean expected = valueEqualsByIndexes(sample1, sample2, strategy);
+                    if (expected != valueEquals(sample1, sample2, strategy)) {
+                        fail("%s: %s vs %s expected %s", strategy, deepToString(sample1), deepToString(sample2), expected);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void compareValueEqualsPerformance() {
+        int[][] matrix1 = new int[1000][1000];
+        Integer[][] matrix2 = new Integer[1000][1000];
+        for (int i = 0; i < 1000; i++) {
+            for (int j = 0; j < 1000; j++) {
+                matrix1[i][j] = i + j;
+                matrix2[i][j] = i + j;
+            }
+        }
+        int[][] matrix3 = Arrays.stream(matrix1).map(int[]::clone).toArray(int[][]::new);
+        matrix3[0][0] = -1;
+
+        boolean[] results = new boolean[6];
+        for (int i = 0; i < 3; i++) {
+            Logger.M(Measurement.start("ByIndexes"), () -> {
+                results[0] = valueEqualsByIndexes(matrix1, matrix2, DEFAULT_EMPTY_EQUALITY);
+                results[1] = valueEqualsByIndexes(matrix1, matrix3, DEFAULT_EMPTY_EQUALITY);
+            });
+            Logger.M(Measurement.start("Lockstep"), () -> {
+                results[2] = valueEquals(matrix1, matrix2);
+                results[3] = valueEquals(matrix1, matrix3);
+            });
+            Logger.M(Measurement.start("LockstepPrimitive"), () -> {
+                results[4] = valueEquals(matrix1, Arrays.stream(matrix1).map(int[]::clone).toArray(int[][]::new));
+                results[5] = valueEquals(matrix3, matrix1);
+            });
+        }
+        assertAllTrue(results[0], results[2], results[4]);
+        assertAllFalse(results[1], results[3], results[5]);
+        Measurement.purge(LogLevel.info);
+    }
+
     @Test
     public void testValueEqualsParallel() {
     }
@@ -1800,6 +2032,69 @@ public class TypeHelperTest {
         );
     }
 
+    @Test
+    public void convertAndCompare_from64Threads() throws Exception {
+        Object[][] samples = new Object[][]{
+                new Object[]{new int[]{1, 2, 3}, Integer[].class},
+                new Object[]{new Integer[]{1, 2, 3}, Object[].class},
+                new Object[]{new char[]{'a', 'b'}, Character[].class},
+                new Object[]{new Double[]{1.0, 2.5}, double[].class},
+                new Object[]{new Object[]{1.0, 2f, 3L}, Number[].class},
+                new Object[]{new boolean[]{true, false}, Comparable[].class},
+                new Object[]{DayOfWeek.values(), Enum[].class}
+        };
+
+        int threadCount = 64;
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threadCount);
+        List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+        for (int i = 0; i < threadCount; i++) {
+            int offset = i;
+            new Thread(() -> {
+                try {
+                    start.await();
+                    for (int j = 0; j < 200; j++) {
+                        Object[] sample = samples[(offset + j) % samples.length];
+                        Object converted = convert(sample[0], (Class) sample[1]);
+                        assertAllTrue(converted.getClass().equals(sample[1]),
+                                valueEquals(sample[0], converted),
+                                valueEquals(toEquivalent(sample[0]), sample[0]),
+                                getReturnType((FunctionThrowable<String, Integer>) s -> s.length()) != null);
+                    }
+                } catch (Throwable t) {
+                    errors.add(t);
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+        start.countDown();
+        done.await();
+        assertEquals(Collections.emptyList(), errors);
+    }
+
+    @Test
+    public void measureClassInitialization() throws Exception {
+        //Each new ClassLoader loads and initializes the classes of this library again, as a cold start would do
+        URL classes = TypeHelper.class.getProtectionDomain().getCodeSource().getLocation();
+        ClassLoader parent = ClassLoader.getSystemClassLoader().getParent();
+        for (int i = 0; i < 5; i++) {
+            try (URLClassLoader loader = new URLClassLoader(new URL[]{classes}, parent)) {
+                Object[] results = new Object[3];
+                Logger.M(Measurement.start("Cold Tuple.create()"), () -> results[0] =
+                        loader.loadClass(Tuple.class.getName()).getMethod("create", Object.class, Object.class).invoke(null, 1, "a"));
+                Class typeHelper = loader.loadClass(TypeHelper.class.getName());
+                Logger.M(Measurement.start("Cold TypeHelper.valueEquals()"), () -> results[1] =
+                        typeHelper.getMethod("valueEquals", Object.class, Object.class).invoke(null, new int[]{1}, new Integer[]{1}));
+                Logger.M(Measurement.start("Cold TypeHelper.convert()"), () -> results[2] =
+                        typeHelper.getMethod("convert", Object.class, Class.class).invoke(null, new int[]{1, 2}, Integer[].class));
+                assertAllTrue(results[0].hashCode() == Tuple.create(1, "a").hashCode(), (Boolean) results[1],
+                        valueEquals(new Integer[]{1, 2}, results[2]));
+            }
+        }
+        Measurement.purge(LogLevel.info);
+    }
+
     interface ITest1 {
     }
 
@@ -0,0 +1,97 @@
+package io.github.cruisoring.repository;
+
+import io.github.cruisoring.utility.SimpleTypedList;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.github.cruisoring.Asserts.*;
+
+public class AsyncRepositoryTest {
+
+    @Test
+    public void getAsync_notBlockedAndShared() throws Exception {
+        CountDownLatch released = new CountDownLatch(1);
+        AtomicInteger evaluations = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            AsyncRepository<String, Integer> repository = new AsyncRepository<>(executor, s -> {
+                evaluations.incrementAndGet();
+                released.await();
+                return s.length();
+            });
+
+            //The callers get the same pending future without waiting for the evaluation
+            CompletableFuture<Integer> future = repository.getAsync("abc");
+            assertAllFalse(future.isDone());
+            List<Future<CompletableFuture<Integer>>> futures = ConcurrentRepositoryTest.runConcurrently(8,
+                    () -> repository.getAsync("abc"));
+            for (Future<CompletableFuture<Integer>> f : futures) {
+                assertAllTrue(f.get() == future);
+            }
+            assertAllFalse(future.isDone());
+
+            released.countDown();
+            assertEquals(Integer.valueOf(3), future.get(5, TimeUnit.SECONDS));
+            assertEquals(1, evaluations.get());
+            assertAllTrue(repository.getAsync("abc") == future, repository.apply("abc").isDone());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void getAsync_failedFutureEvicted() throws Exception {
+        AtomicInteger evaluations = new AtomicInteger();
+        List<String> changes = new SimpleTypedList<>();
+        AsyncRepository<String, Integer> repository = new AsyncRepository<>(new ConcurrentHashMap<>(), null,
+                (k, o, n) -> changes.add(k + ":" + (o == null ? "null" : "future") + "->" + (n == null ? "null" : "future")),
+                s -> {
+                    if (evaluations.incrementAndGet() == 1) {
+                        throw new IllegalArgumentException(s);
+                    }
+                    return s.length();
+                });
+
+        CompletableFuture<Integer> failed = repository.getAsync("key");
+        assertException(() -> failed.get(5, TimeUnit.SECONDS), ExecutionException.class);
+        assertAllFalse(repository.containsKey("key"));
+
+        CompletableFuture<Integer> succeeded = repository.getAsync("key");
+        assertAllTrue(succeeded != failed);
+        assertEquals(Integer.valueOf(3), succeeded.get(5, TimeUnit.SECONDS));
+        assertAllTrue(repository.containsKey("key"), repository.getAsync("key") == succeeded);
+        assertEquals(2, evaluations.get());
+        assertEquals(Arrays.asList("key:null->future", "key:future->null", "key:null->future"), changes);
+
+        //Evaluations rejected by the executor are failed and evicted too
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.shutdown();
+        AsyncRepository<String, Integer> rejecting = new AsyncRepository<>(executor, String::length);
+        assertException(() -> rejecting.getAsync("x").get(), ExecutionException.class);
+        assertEquals(0, rejecting.getSize());
+    }
+
+    @Test
+    public void getAsync_withMultipleKeys() throws Exception {
+        AtomicInteger evaluations = new AtomicInteger();
+        AsyncRepository.Keys2<String, Integer, String> repository = AsyncRepository.fromKeys2(null, (s, i) -> {
+            evaluations.incrementAndGet();
+            return s.substring(i);
+        });
+        assertEquals("cde", repository.getAsync("abcde", 2).get(5, TimeUnit.SECONDS));
+        assertAllTrue(repository.getAsync("abcde", 2) == repository.getAsync("abcde", 2), repository.containsKeyOf("abcde", 2));
+        assertException(() -> repository.getAsync("abc", 5).get(5, TimeUnit.SECONDS), ExecutionException.class);
+        assertAllFalse(repository.containsKeyOf("abc", 5));
+        assertEquals(2, evaluations.get());
+
+        AsyncRepository.Keys3<Integer, Integer, Integer, Integer> sums = AsyncRepository.fromKeys3(
+                ForkJoinPool.commonPool(), (a, b, c) -> a + b + c);
+        CompletableFuture<Integer> total = sums.getAsync(1, 2, 3).thenCombine(sums.getAsync(4, 5, 6), Integer::sum);
+        assertEquals(Integer.valueOf(21), total.get(5, TimeUnit.SECONDS));
+        assertEquals(2, sums.getSize());
+    }
+}
@@ -0,0 +1,273 @@
+package io.github.cruisoring.repository;
+
+import io.github.cruisoring.logger.Logger;
+import io.github.cruisoring.tuple.Tuple;
+import io.github.cruisoring.utility.SimpleTypedList;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.github.cruisoring.Asserts.*;
+
+public class BoundedMapTest {
+
+    @Test
+    public void lru_evictLeastRecentlyUsed() {
+        BoundedMap<String, Integer> map = BoundedMap.lru(3);
+        map.put("a", 1);
+        map.put("b", 2);
+        map.put("c", 3);
+        assertEquals(Integer.valueOf(1), map.get("a"));
+        map.put("d", 4);
+        assertAllTrue(map.containsKey("a"), !map.containsKey("b"), map.containsKey("c"), map.containsKey("d"));
+
+        map.put("c", 30);
+        map.putIfAbsent("e", 5);
+        assertAllTrue(!map.containsKey("a"), map.containsKey("c"), map.containsKey("e"));
+        assertEquals(3, map.size());
+        assertEquals(2L, map.getEvictionCount());
+
+        assertAllTrue(map.remove("c", 30), map.replace("d", 4, 40), !map.replace("x", 1, 2));
+        assertAllNull(map.get("c"), map.get(null), map.remove("c"));
+        assertEquals(Integer.valueOf(40), map.get("d"));
+        map.clear();
+        assertAllTrue(map.isEmpty());
+
+        assertException(() -> map.put("x", null), NullPointerException.class);
+        assertException(() -> new BoundedMap<String, String>(0, EvictionPolicy.lru()), IllegalStateException.class);
+    }
+
+    @Test
+    public void views_removeFromMap() {
+        List<String> removed = new ArrayList<>();
+        EvictionPolicy<String> lru = EvictionPolicy.lru();
+        BoundedMap<String, Integer> map = new BoundedMap<>(10, new EvictionPolicy<String>() {
+            @Override
+            public void onInsert(String key) {
+                lru.onInsert(key);
+            }
+
+            @Override
+            public void onAccess(Object key) {
+                lru.onAccess(key);
+            }
+
+            @Override
+            public void onRemove(Object key) {
+                removed.add((String) key);
+                lru.onRemove(key);
+            }
+
+            @Override
+            public String selectVictim() {
+                return lru.selectVictim();
+            }
+        });
+        for (String key : Arrays.asList("a", "b", "c", "d", "e")) {
+            map.put(key, key.charAt(0) - 'a');
+        }
+
+        assertAllTrue(map.keySet().remove("a"), !map.keySet().remove("a"), map.values().remove(1),
+                map.entrySet().remove(new AbstractMap.SimpleEntry<>("c", 2)), !map.entrySet().remove(new AbstractMap.SimpleEntry<>("d", 0)),
+                map.entrySet().contains(new AbstractMap.SimpleEntry<>("d", 3)), !map.entrySet().contains(new AbstractMap.SimpleEntry<>("d", 0)));
+        Iterator<Map.Entry<String, Integer>> iterator = map.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getValue() == 3) {
+                iterator.remove();
+            }
+        }
+        assertEquals(Collections.singletonMap("e", 4), new HashMap<>(map));
+        assertEquals(Arrays.asList("a", "b", "c", "d"), removed);
+
+        map.keySet().clear();
+        assertAllTrue(map.isEmpty(), map.entrySet().isEmpty());
+        assertEquals(Arrays.asList("a", "b", "c", "d", "e"), removed);
+    }
+
+    @Test
+    public void get_notBlockedByWriter() throws Exception {
+        CountDownLatch inserting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        EvictionPolicy<String> lru = EvictionPolicy.lru();
+        //Blocks the writer of "blocking" with the lock of the map held
+        BoundedMap<String, Integer> map = new BoundedMap<>(3, new EvictionPolicy<String>() {
+            @Override
+            public void onInsert(String key) {
+                lru.onInsert(key);
+                if ("blocking".equals(key)) {
+                    inserting.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+
+            @Override
+            public void onAccess(Object key) {
+                lru.onAccess(key);
+            }
+
+            @Override
+            public void onRemove(Object key) {
+                lru.onRemove(key);
+            }
+
+            @Override
+            public String selectVictim() {
+                return lru.selectVictim();
+            }
+        });
+        map.put("a", 1);
+        map.put("b", 2);
+        Thread writer = new Thread(() -> map.put("blocking", 0));
+        writer.start();
+        assertAllTrue(inserting.await(5, TimeUnit.SECONDS));
+
+        Future<Integer> read = ForkJoinPool.commonPool().submit(() -> {
+            int sum = 0;
+            for (int i = 0; i < 100; i++) {
+                sum += map.get("a");
+            }
+            return sum;
+        });
+        try {
+            assertEquals(Integer.valueOf(100), read.get(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            writer.join();
+        }
+
+        //The buffered reads of "a" are applied before inserting "c", so "b" is the least recently used
+        map.put("c", 3);
+        assertAllTrue(map.containsKey("a"), !map.containsKey("b"), map.containsKey("blocking"), map.containsKey("c"));
+    }
+
+    //Scan 4 one-off keys per access of one of the 50 hot keys, returns the number of the hot keys missed
+    static int countHotMisses(BoundedMap<Integer, Integer> map) {
+        for (int i = 0; i < 50; i++) {
+            map.putIfAbsent(i, i);
+        }
+        int misses = 0;
+        for (int i = 0; i < 20000; i++) {
+            map.putIfAbsent(1000 + i, i);
+            if (i % 4 == 0 && map.get(i / 4 % 50) == null) {
+                misses++;
+                map.putIfAbsent(i / 4 % 50, i);
+            }
+        }
+        assertEquals(100, map.size());
+        return misses;
+    }
+
+    @Test
+    public void frequencyPolicies_resistScan() {
+        int lruMisses = countHotMisses(BoundedMap.lru(100));
+        int lfuMisses = countHotMisses(BoundedMap.lfu(100));
+        int tinyLfuMisses = countHotMisses(BoundedMap.tinyLfu(100));
+        Logger.I("Hot keys missed of 5000 accesses: LRU=%d, sampled LFU=%d, W-TinyLFU=%d", lruMisses, lfuMisses, tinyLfuMisses);
+        //The scans flush the hot keys out of the LRU map, but would be evicted earlier, or rejected, by the others
+        assertAllTrue(lruMisses > 4900, lfuMisses < 2500, tinyLfuMisses < 500);
+    }
+
+    @Test
+    public void repository_reportEvictions() throws Exception {
+        List<String> changes = new SimpleTypedList<>();
+        Repository<String, Integer> repository = new Repository<>(BoundedMap.lru(2),
+                (k, o, n) -> changes.add(k + ":" + o + "->" + n), String::length);
+        repository.apply("a");
+        repository.apply("bb");
+        repository.apply("a");
+        repository.apply("ccc");
+        assertEquals(2, repository.getSize());
+        assertAllFalse(repository.containsKey("bb"));
+        assertEquals(Arrays.asList("a:null->1", "bb:null->2", "bb:2->null", "ccc:null->3"), changes);
+
+        AtomicInteger evictions = new AtomicInteger();
+        TupleRepository2<Integer, Integer, String> tupleRepository = TupleRepository2.fromKey(BoundedMap.tinyLfu(10),
+                (k, o, n) -> {
+                    if (n == null) evictions.incrementAndGet();
+                }, i -> Tuple.create(i * i, String.valueOf(i)));
+        for (int i = 0; i < 100; i++) {
+            assertEquals(Integer.valueOf(i * i), tupleRepository.retrieve(i).getFirst());
+        }
+        assertEquals(10, tupleRepository.getSize());
+        assertEquals(90, evictions.get());
+    }
+
+    @Test
+    public void repository_clearWithoutAccess() throws Exception {
+        BoundedMap<String, Integer> map = BoundedMap.lru(3);
+        Repository<String, Integer> repository = new Repository<>(map, null, String::length);
+        repository.apply("a");
+        repository.apply("bb");
+        repository.apply("ccc");
+        repository.apply("bb");
+        //Testing the entries to be removed does not make them recently used
+        assertEquals(1, repository.clear((k, v) -> v == 3));
+        assertEquals(0, repository.clear((k, v) -> v > 3));
+        map.put("dd", 2);
+        map.put("eee", 3);
+        assertAllTrue(!map.containsKey("a"), map.containsKey("bb"), map.containsKey("dd"), map.containsKey("eee"));
+    }
+
+    @Test
+    public void repository_concurrentAccessWithinBounds() throws Exception {
+        for (BoundedMap<Integer, Integer> map : Arrays.<BoundedMap<Integer, Integer>>asList(
+                BoundedMap.lru(64), BoundedMap.lfu(64), BoundedMap.tinyLfu(64))) {
+            AtomicInteger inserted = new AtomicInteger();
+            AtomicInteger evicted = new AtomicInteger();
+            Repository<Integer, Integer> repository = new Repository<>(map,
+                    (k, o, n) -> (n == null ? evicted : inserted).incrementAndGet(), i -> -i);
+            List<Future<Boolean>> futures = ConcurrentRepositoryTest.runConcurrently(8, () -> {
+                Random random = ThreadLocalRandom.current();
+                for (int i = 0; i < 10000; i++) {
+                    int key = (int) Math.abs(random.nextGaussian() * 100);
+                    if (repository.apply(key) != -key) {
+                        return false;
+                    }
+                }
+                return true;
+            });
+            for (Future<Boolean> future : futures) {
+                assertAllTrue(future.get());
+            }
+            assertAllTrue(repository.getSize() <= 64);
+            assertEquals(repository.getSize(), inserted.get() - evicted.get());
+            assertEquals(map.getEvictionCount(), (long) evicted.get());
+        }
+    }
+
+    @Test
+    public void compareHitRatios() {
+        int maxSize = 500;
+        //Zipf-like popular keys mixed with scans of one-off keys
+        int[] keys = new int[200000];
+        Random random = new Random(7);
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = i % 5 == 0 ? 1000000 + i : (int) Math.floor(Math.pow(5000, random.nextDouble()));
+        }
+
+        Map<String, BoundedMap<Integer, Integer>> maps = new LinkedHashMap<>();
+        maps.put("LRU", BoundedMap.lru(maxSize));
+        maps.put("sampled LFU", BoundedMap.lfu(maxSize));
+        maps.put("W-TinyLFU", BoundedMap.tinyLfu(maxSize));
+        Map<String, Integer> hits = new LinkedHashMap<>();
+        maps.forEach((name, map) -> {
+            int hitCount = 0;
+            for (int key : keys) {
+                if (map.get(key) != null) {
+                    hitCount++;
+                } else {
+                    map.put(key, key);
+                }
+            }
+            hits.put(name, hitCount);
+            Logger.I("%s hit ratio: %d of %d", name, hitCount, keys.length);
+        });
+        assertAllTrue(hits.get("W-TinyLFU") > hits.get("LRU"), hits.get("sampled LFU") > hits.get("LRU"));
+    }
+}
@@ -0,0 +1,184 @@
+package io.github.cruisoring.repository;
+
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.github.cruisoring.Asserts.*;
+
+public class ClassValueMapTest {
+
+    @Test
+    public void testMapOperations() {
+        ClassValueMap<String> map = new ClassValueMap<>();
+        assertAllTrue(map.isEmpty(), map.get(int.class) == null, map.get("not a class") == null, !map.containsKey(null));
+
+        assertAllNull(map.put(int.class, "int"), map.putIfAbsent(String.class, "String"));
+        assertEquals("int", map.put(int.class, "integer"));
+        assertEquals("String", map.putIfAbsent(String.class, "other"));
+        assertAllTrue(map.containsKey(int.class), map.containsValue("integer"), !map.containsKey(Integer.class));
+        assertEquals(2, map.size());
+
+        Map<Class, String> expected = new HashMap<>();
+        expected.put(int.class, "integer");
+        expected.put(String.class, "String");
+        assertEquals(expected, new HashMap<>(map));
+
+        assertAllFalse(map.remove(String.class, "other"), map.replace(Integer.class, "Integer", "x"));
+        assertAllTrue(map.replace(String.class, "String", "string"));
+        assertEquals("string", map.remove(String.class));
+        assertEquals(1, map.size());
+        map.clear();
+        assertAllTrue(map.isEmpty(), map.get(int.class) == null);
+
+        assertException(() -> map.put(null, "x"), NullPointerException.class);
+        assertException(() -> map.put(int.class, null), NullPointerException.class);
+    }
+
+    @Test
+    public void testViews_removeFromMap() {
+        ClassValueMap<String> map = new ClassValueMap<>(10);
+        for (Class clazz : new Class[]{int.class, long.class, char.class, byte.class, short.class}) {
+            map.put(clazz, clazz.getName());
+        }
+
+        assertAllTrue(map.keySet().remove(int.class), !map.keySet().remove(int.class), map.values().remove("long"),
+                map.entrySet().remove(new AbstractMap.SimpleEntry<>(char.class, "char")),
+                !map.entrySet().remove(new AbstractMap.SimpleEntry<>(byte.class, "other")),
+                map.entrySet().contains(new AbstractMap.SimpleEntry<>(byte.class, "byte")));
+        Iterator<Map.Entry<Class, String>> iterator = map.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getKey() == byte.class) {
+                iterator.remove();
+            }
+        }
+        assertEquals(Collections.singletonMap(short.class, "short"), new HashMap<>(map));
+        assertAllTrue(map.size() == 1, map.get(int.class) == null, map.get(byte.class) == null);
+
+        //The removed entries no longer count toward the maximum size
+        for (Class clazz : new Class[]{Integer.class, Long.class, Character.class, Byte.class, Short.class,
+                String.class, Object.class, Map.class, List.class}) {
+            map.put(clazz, clazz.getName());
+        }
+        assertAllTrue(map.containsKey(short.class));
+        assertEquals(10, map.size());
+        map.keySet().clear();
+        assertAllTrue(map.isEmpty(), map.entrySet().isEmpty(), map.get(short.class) == null);
+    }
+
+    @Test
+    public void testBoundedSize() {
+        ClassValueMap<String> map = new ClassValueMap<>(2);
+        assertEquals(2, map.getMaxSize());
+        map.put(int.class, "int");
+        map.put(long.class, "long");
+        map.put(int.class, "integer");
+        map.put(char.class, "char");
+        //The eldest inserted entry is evicted no matter if it is updated later
+        assertAllTrue(map.get(int.class) == null, map.containsKey(long.class), map.containsKey(char.class));
+        assertEquals(2, map.size());
+
+        map.remove(long.class);
+        map.put(byte.class, "byte");
+        map.put(short.class, "short");
+        assertAllTrue(map.get(char.class) == null, map.containsKey(byte.class), map.containsKey(short.class));
+        assertEquals(2, map.size());
+        assertException(() -> new ClassValueMap<String>(0), IllegalStateException.class);
+    }
+
+    @Test
+    public void testBoundedSize_reinsertedAfterRemoval() {
+        ClassValueMap<String> map = new ClassValueMap<>(2);
+        map.put(int.class, "int");
+        map.put(long.class, "long");
+        map.remove(int.class);
+        map.put(int.class, "integer");
+        map.put(char.class, "char");
+        //The outdated insertion of int.class is skipped, so the eldest to be evicted is long.class
+        assertAllTrue(map.get(long.class) == null, map.containsKey(int.class), map.containsKey(char.class));
+        assertEquals(2, map.size());
+
+        map.remove(char.class);
+        map.putIfAbsent(char.class, "character");
+        map.replace(int.class, "int");
+        map.put(byte.class, "byte");
+        assertAllTrue(map.get(int.class) == null, "character".equals(map.get(char.class)), map.containsKey(byte.class));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    public void testBoundedSize_concurrentChanges() throws Exception {
+        Class[] classes = new Class[]{int.class, long.class, char.class, byte.class, short.class, float.class, double.class,
+                boolean.class, Integer.class, Long.class, String.class, Object.class};
+        for (ClassValueMap<Integer> map : Arrays.asList(new ClassValueMap<Integer>(), new ClassValueMap<Integer>(4))) {
+            List<Future<Boolean>> futures = ConcurrentRepositoryTest.runConcurrently(8, () -> {
+                Random random = ThreadLocalRandom.current();
+                for (int i = 0; i < 20000; i++) {
+                    Class clazz = classes[random.nextInt(classes.length)];
+                    if (random.nextInt(2) == 0) {
+                        map.remove(clazz);
+                    } else if (random.nextBoolean()) {
+                        map.put(clazz, i);
+                    } else {
+                        map.putIfAbsent(clazz, i);
+                    }
+                }
+                return true;
+            });
+            for (Future<Boolean> future : futures) {
+                assertAllTrue(future.get());
+            }
+            //Every key counted still has its value: neither the removals racing the insertions nor the evictions leave
+            //a key tracked without value, or clear a value put concurrently
+            assertAllTrue(map.size() <= map.getMaxSize());
+            assertEquals(map.size(), (int) Arrays.stream(classes).filter(map::containsKey).count());
+        }
+    }
+
+    @Test
+    public void testConcurrentLoading() throws Exception {
+        Class[] classes = new Class[]{int.class, Integer.class, String.class, Object[].class, char[][].class, Map.class};
+        AtomicInteger evaluations = new AtomicInteger();
+        AtomicInteger insertions = new AtomicInteger();
+        Repository<Class, String> repository = new Repository<>(new ClassValueMap<>(),
+                (k, o, n) -> insertions.incrementAndGet(),
+                c -> {
+                    evaluations.incrementAndGet();
+                    return c.getSimpleName();
+                });
+
+        int threadCount = 64;
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threadCount);
+        AtomicInteger failures = new AtomicInteger();
+        for (int i = 0; i < threadCount; i++) {
+            new Thread(() -> {
+                try {
+                    start.await();
+                    for (int j = 0; j < 1000; j++) {
+                        Class clazz = classes[j % classes.length];
+                        if (!clazz.getSimpleName().equals(repository.apply(clazz))) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                } catch (Exception ex) {
+                    failures.incrementAndGet();
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+        start.countDown();
+        done.await();
+
+        //The values could be evaluated by racing threads more than once, but only the first one is kept and reported
+        assertEquals(0, failures.get());
+        assertEquals(classes.length, insertions.get());
+        assertEquals(classes.length, repository.getSize());
+        assertAllTrue(evaluations.get() >= classes.length);
+    }
+}
@@ -0,0 +1,151 @@
+package io.github.cruisoring.repository;
+
+import io.github.cruisoring.tuple.Tuple;
+import io.github.cruisoring.tuple.Tuple2;
+import io.github.cruisoring.utility.SimpleTypedList;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.github.cruisoring.Asserts.*;
+
+public class ConcurrentRepositoryTest {
+
+    static <T> List<Future<T>> runConcurrently(int threadCount, Callable<T> task) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < threadCount; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            for (Future<T> future : futures) {
+                try {
+                    future.get(10, TimeUnit.SECONDS);
+                } catch (ExecutionException | TimeoutException ex) {
+                }
+            }
+            return futures;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void apply_withConcurrentMisses_evaluateOnce() throws Exception {
+        AtomicInteger evaluations = new AtomicInteger();
+        List<String> changes = new SimpleTypedList<>();
+        ConcurrentRepository<String, Integer> repository = new ConcurrentRepository<>(
+                (k, o, n) -> changes.add(k + ":" + o + "->" + n),
+                s -> {
+                    evaluations.incrementAndGet();
+                    Thread.sleep(50);
+                    return s.length();
+                });
+
+        List<Future<Integer>> futures = runConcurrently(32, () -> repository.apply("slow"));
+        for (Future<Integer> future : futures) {
+            assertEquals(Integer.valueOf(4), future.get());
+        }
+        assertEquals(1, evaluations.get());
+        assertEquals(Arrays.asList("slow:null->4"), changes);
+        assertEquals(0, repository.getLoadingCount());
+    }
+
+    @Test
+    public void apply_withDifferentKeys_evaluateInParallel() throws Exception {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        ConcurrentRepository<String, Boolean> repository = new ConcurrentRepository<>(s -> {
+            bothStarted.countDown();
+            //Would time out if the evaluation of the other key has to wait for this one
+            return bothStarted.await(5, TimeUnit.SECONDS);
+        });
+        String[] keys = new String[]{"a", "b"};
+        AtomicInteger index = new AtomicInteger();
+        List<Future<Boolean>> futures = runConcurrently(2, () -> repository.apply(keys[index.getAndIncrement()]));
+        assertAllTrue(futures.get(0).get(), futures.get(1).get());
+        assertEquals(2, repository.getSize());
+    }
+
+    @Test
+    public void apply_withException_sharedByWaitersButNotCached() throws Exception {
+        AtomicInteger evaluations = new AtomicInteger();
+        ConcurrentRepository<String, Integer> repository = new ConcurrentRepository<>(s -> {
+            if (evaluations.incrementAndGet() == 1) {
+                Thread.sleep(50);
+                throw new IllegalArgumentException(s);
+            }
+            return s.length();
+        });
+
+        List<Future<Integer>> futures = runConcurrently(8, () -> repository.apply("key"));
+        for (Future<Integer> future : futures) {
+            assertException(() -> future.get(), ExecutionException.class);
+        }
+        assertEquals(1, evaluations.get());
+        assertAllFalse(repository.containsKey("key"));
+
+        assertEquals(Integer.valueOf(3), repository.apply("key"));
+        assertEquals(2, evaluations.get());
+    }
+
+    @Test
+    public void apply_withRecursiveEvaluation() throws Exception {
+        ConcurrentRepository<Integer, Long>[] holder = new ConcurrentRepository[1];
+        holder[0] = new ConcurrentRepository<>(n -> n < 2 ? (long) n : holder[0].apply(n - 1) + holder[0].apply(n - 2));
+        assertEquals(Long.valueOf(12586269025L), holder[0].apply(50));
+        assertEquals(51, holder[0].getSize());
+    }
+
+    @Test
+    public void tupleRepository_withConcurrentMap_evaluateOnce() throws Exception {
+        AtomicInteger evaluations = new AtomicInteger();
+        AtomicInteger insertions = new AtomicInteger();
+        TupleRepository2<String, Integer, String> repository = TupleRepository2.fromKey(new ConcurrentHashMap<>(),
+                (k, o, n) -> insertions.incrementAndGet(),
+                s -> {
+                    evaluations.incrementAndGet();
+                    Thread.sleep(20);
+                    return Tuple.create(s.length(), s.toUpperCase());
+                });
+
+        List<Future<Tuple2<Integer, String>>> futures = runConcurrently(16, () -> repository.apply("abc"));
+        for (Future<Tuple2<Integer, String>> future : futures) {
+            assertEquals(Tuple.create(3, "ABC"), future.get());
+        }
+        assertAllTrue(evaluations.get() == 1, insertions.get() == 1);
+    }
+
+    @Test
+    public void update_atomically() throws Exception {
+        List<String> changes = new SimpleTypedList<>();
+        ConcurrentRepository<String, Integer> repository = new ConcurrentRepository<>(
+                (k, o, n) -> changes.add(k + ":" + o + "->" + n), String::length);
+        assertEquals(Integer.valueOf(1), repository.apply("a"));
+        assertEquals(Integer.valueOf(10), repository.update("a", 1, 10));
+        assertException(() -> repository.update("a", 1, 20), Exception.class);
+        assertException(() -> repository.update("b", 1, 20), Exception.class);
+        assertEquals(Integer.valueOf(2), repository.update("b", null, 2));
+        assertEquals(null, repository.update("b", 2, null));
+        assertAllFalse(repository.containsKey("b"));
+        assertEquals(Arrays.asList("a:null->1", "a:1->10", "b:null->2", "b:2->null"), changes);
+    }
+
+    @Test
+    public void update_arrayValuesMatchedByValues() throws Exception {
+        ConcurrentRepository<String, int[]> repository = new ConcurrentRepository<>(s -> new int[]{s.length()});
+        int[] cached = repository.apply("ab");
+        //The existing values are copies of the cached arrays, matched by their elements instead of identities
+        assertEquals(new int[]{20}, repository.update("ab", new int[]{2}, new int[]{20}));
+        assertAllTrue(cached != repository.apply("ab"));
+        assertException(() -> repository.update("ab", new int[]{2}, new int[]{30}), Exception.class);
+        assertEquals(null, repository.update("ab", new int[]{20}, null));
+        assertAllFalse(repository.containsKey("ab"));
+    }
+}
@@ -0,0 +1,181 @@
+package io.github.cruisoring.repository;
+
+import io.github.cruisoring.logger.LogLevel;
+import io.github.cruisoring.logger.Logger;
+import io.github.cruisoring.logger.Measurement;
+import io.github.cruisoring.tuple.Tuple;
+import io.github.cruisoring.utility.SimpleTypedList;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.github.cruisoring.Asserts.*;
+
+public class ExpiringMapTest {
+
+    static void waitUntil(long timeoutMillis, Callable<Boolean> condition) throws Exception {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (!condition.call() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    public void coarseClock_advancedByTicks() throws Exception {
+        long start = CoarseClock.millis();
+        Thread.sleep(100);
+        long elapsed = CoarseClock.millis() - start;
+        assertAllTrue(elapsed >= 100 - 2 * CoarseClock.TICK_MILLIS, elapsed < 1000, CoarseClock.isTicking());
+    }
+
+    @Test
+    public void coarseClock_stopTickingWhenIdle() throws Exception {
+        CoarseClock.millis();
+        waitUntil(5000, () -> !CoarseClock.isTicking());
+        assertAllFalse(CoarseClock.isTicking());
+
+        //The first reading after idle gets the current time, then the ticker is started again
+        long start = System.nanoTime() / 1000000L;
+        long now = CoarseClock.millis();
+        assertAllTrue(now >= start, now - start <= 1, CoarseClock.isTicking());
+    }
+
+    @Test
+    public void expireAfterWrite_sweptByWrites() throws Exception {
+        List<String> changes = new SimpleTypedList<>();
+        ExpiringMap<String, Integer> map = ExpiringMap.expireAfterWrite(100, TimeUnit.MILLISECONDS);
+        Repository<String, Integer> repository = new Repository<>(map,
+                (k, o, n) -> changes.add(k + ":" + o + "->" + n), String::length);
+        repository.apply("a");
+        repository.apply("bb");
+        Thread.sleep(250);
+
+        //The expired entries never read again are removed by the next write
+        assertEquals(2, map.size());
+        repository.apply("ccc");
+        assertEquals(1, map.size());
+        assertAllTrue(map.containsKey("ccc"));
+        assertEquals(Arrays.asList("a:null->1", "bb:null->2"), changes.subList(0, 2));
+        assertEquals(new HashSet<>(Arrays.asList("a:1->null", "bb:2->null", "ccc:null->3")), new HashSet<>(changes.subList(2, 5)));
+    }
+
+    @Test
+    public void expireAfterWrite_evaluateAgain() throws Exception {
+        AtomicInteger evaluations = new AtomicInteger();
+        //Adding to a SimpleTypedList for the first time could initialize TypeHelper for longer than the entries live
+        List<String> changes = new CopyOnWriteArrayList<>();
+        ExpiringMap<String, Integer> map = ExpiringMap.expireAfterWrite(100, TimeUnit.MILLISECONDS);
+        Repository<String, Integer> repository = new Repository<>(map,
+                (k, o, n) -> changes.add(k + ":" + o + "->" + n), s -> evaluations.incrementAndGet());
+
+        assertEquals(Integer.valueOf(1), repository.apply("a"));
+        assertEquals(Integer.valueOf(1), repository.apply("a"));
+        assertAllTrue(repository.containsKey("a"));
+        Thread.sleep(150);
+        assertAllFalse(repository.containsKey("a"));
+        assertEquals(Integer.valueOf(2), repository.apply("a"));
+        assertEquals(2, evaluations.get());
+        assertEquals(Arrays.asList("a:null->1", "a:1->null", "a:null->2"), changes);
+
+        map.put("b", 10);
+        Thread.sleep(150);
+        //The expired entries are treated as absent by other operations
+        assertAllNull(map.get("b"), map.putIfAbsent("a", 3));
+        assertAllTrue(map.entrySet().size() == 1, map.replace("a", 3, 4), !map.remove("a", 3));
+        assertEquals(Integer.valueOf(4), map.remove("a"));
+
+        assertException(() -> new ExpiringMap<String, String>(0, 0, TimeUnit.SECONDS, null), IllegalStateException.class);
+        assertException(() -> new ExpiringMap<String, String>(1, 1, TimeUnit.SECONDS, null), IllegalStateException.class);
+    }
+
+    @Test
+    public void refreshAfterWrite_serveStaleWhileReloading() throws Exception {
+        AtomicInteger evaluations = new AtomicInteger();
+        CountDownLatch reloadBlocked = new CountDownLatch(1);
+        List<String> changes = new SimpleTypedList<>();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            TupleRepository2<String, Integer, String> repository = TupleRepository2.fromKey(
+                    new ExpiringMap<>(10000, 100, TimeUnit.MILLISECONDS, executor),
+                    (k, o, n) -> changes.add(k + ":" + (o == null ? null : o.getFirst()) + "->" + (n == null ? null : n.getFirst())),
+                    s -> {
+                        int count = evaluations.incrementAndGet();
+                        if (count > 1) {
+                            reloadBlocked.await();
+                        }
+                        return Tuple.create(count, s);
+                    });
+            assertEquals(Tuple.create(1, "k"), repository.apply("k"));
+            Thread.sleep(150);
+
+            //All readers get the stale value at once, only one of them triggers the reload
+            for (int i = 0; i < 100; i++) {
+                assertEquals(Tuple.create(1, "k"), repository.apply("k"));
+            }
+            waitUntil(1000, () -> evaluations.get() == 2);
+            assertEquals(2, evaluations.get());
+            reloadBlocked.countDown();
+
+            waitUntil(1000, () -> repository.retrieve("k").getFirst() == 2);
+            assertEquals(Tuple.create(2, "k"), repository.apply("k"));
+            assertEquals(2, evaluations.get());
+            assertEquals(Arrays.asList("k:null->1", "k:1->2"), changes);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void refreshAfterWrite_keepStaleWhenReloadFailed() throws Exception {
+        AtomicInteger evaluations = new AtomicInteger();
+        Repository<String, Integer> repository = new Repository<>(
+                ExpiringMap.refreshAfterWrite(50, TimeUnit.MILLISECONDS, null), null, s -> {
+            if (evaluations.incrementAndGet() == 2) {
+                throw new IllegalStateException("Failed to reload " + s);
+            }
+            return evaluations.get();
+        });
+        assertEquals(Integer.valueOf(1), repository.apply("x"));
+        Thread.sleep(100);
+        assertEquals(Integer.valueOf(1), repository.apply("x"));
+        waitUntil(1000, () -> evaluations.get() == 2);
+        Thread.sleep(20);
+
+        //The reads right after the failure keep the stale value without retrying the reload
+        for (int i = 0; i < 100; i++) {
+            assertEquals(Integer.valueOf(1), repository.apply("x"));
+        }
+        assertEquals(2, evaluations.get());
+
+        //Another reload would be triggered by the reads once the refreshing duration passes again
+        waitUntil(1000, () -> repository.apply("x") == 3);
+        assertEquals(Integer.valueOf(3), repository.apply("x"));
+        assertEquals(3, evaluations.get());
+    }
+
+    @Test
+    public void compareHitCosts() throws Exception {
+        Repository<Integer, Integer> plain = new ConcurrentRepository<>(i -> i);
+        Repository<Integer, Integer> expiring = new Repository<>(
+                new ExpiringMap<>(1, 0, TimeUnit.HOURS, null), null, i -> i);
+        long[] totals = new long[2];
+        for (int round = 0; round < 5; round++) {
+            Logger.M(Measurement.start("ConcurrentHashMap hits"), () -> {
+                for (int i = 0; i < 100000; i++) {
+                    totals[0] += plain.apply(i & 1023);
+                }
+            });
+            Logger.M(Measurement.start("ExpiringMap hits"), () -> {
+                for (int i = 0; i < 100000; i++) {
+                    totals[1] += expiring.apply(i & 1023);
+                }
+            });
+        }
+        Measurement.purge(LogLevel.info);
+        assertEquals(totals[0], totals[1]);
+    }
+}
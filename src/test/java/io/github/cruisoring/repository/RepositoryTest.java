@@ -3,10 +3,13 @@ package io.github.cruisoring.repository;
 import io.github.cruisoring.utility.SimpleTypedList;
 import org.junit.Test;
 
-import java.util.HashMap;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
-import static io.github.cruisoring.Asserts.assertEquals;
+import static io.github.cruisoring.Asserts.*;
 
 
 public class RepositoryTest {
@@ -100,6 +103,117 @@ public class RepositoryTest {
 
     }
 
+    @Test
+    public void getAll_withBatchLoader() throws Exception {
+        List<String> changes = new SimpleTypedList<>();
+        List<Set<String>> batches = new SimpleTypedList<>();
+        Repository<String, Integer> repository = new ConcurrentRepository<>(
+                (k, o, n) -> changes.add(k + ":" + o + "->" + n), s -> s.length());
+        repository.apply("a");
+
+        Map<String, Integer> values = repository.getAll(Arrays.asList("bb", "a", "ccc", "bb", "unknown"), keys -> {
+            batches.add(new HashSet<>(keys));
+            Map<String, Integer> loaded = new HashMap<>();
+            for (String key : keys) {
+                if (!key.equals("unknown")) {
+                    loaded.put(key, key.length() * 10);
+                }
+            }
+            return loaded;
+        });
+
+        //The batchLoader is called once with the missing keys only, keys not loaded are mapped to null without being cached
+        assertEquals(Arrays.asList(new HashSet<>(Arrays.asList("bb", "ccc", "unknown"))), batches);
+        assertEquals(Arrays.asList("bb", "a", "ccc", "unknown"), new ArrayList<>(values.keySet()));
+        assertEquals(Arrays.asList(20, 1, 30, null), new ArrayList<>(values.values()));
+        assertEquals(Arrays.asList("a:null->1", "bb:null->20", "ccc:null->30"), changes);
+        assertAllFalse(repository.containsKey("unknown"));
+
+        //No batch is needed when all keys are cached
+        values.remove("unknown");
+        assertEquals(values, repository.getAll(Arrays.asList("bb", "a", "ccc"), keys -> {
+            throw new IllegalStateException("Shall not be called");
+        }));
+        assertEquals(1, batches.size());
+        assertException(() -> repository.getAll(Arrays.asList("x"), keys -> {
+            throw new IllegalStateException("Failed to load " + keys);
+        }), IllegalStateException.class);
+        assertAllTrue(repository.loadings.isEmpty());
+
+        //The same null handling when the keys are evaluated one by one
+        Repository<String, Integer> nullable = new ConcurrentRepository<>(s -> s.isEmpty() ? null : s.length());
+        assertEquals(Arrays.asList(2, null), new ArrayList<>(nullable.getAll(Arrays.asList("ab", "")).values()));
+    }
+
+    @Test
+    public void getAll_withBatchLoaderSingleFlight() throws Exception {
+        AtomicInteger evaluations = new AtomicInteger();
+        CountDownLatch batchStarted = new CountDownLatch(1);
+        CountDownLatch batchReleased = new CountDownLatch(1);
+        CountDownLatch singleStarted = new CountDownLatch(1);
+        CountDownLatch singleReleased = new CountDownLatch(1);
+        Repository<String, Integer> repository = new ConcurrentRepository<>(s -> {
+            evaluations.incrementAndGet();
+            singleStarted.countDown();
+            singleReleased.await();
+            return -s.length();
+        });
+        List<Set<String>> batches = new SimpleTypedList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            //The key being evaluated by another thread is waited for instead of being loaded by the batch
+            Future<Integer> single = executor.submit(() -> repository.apply("zz"));
+            singleStarted.await();
+            Future<Map<String, Integer>> batch = executor.submit(() -> repository.getAll(Arrays.asList("x", "zz", "yyy"), keys -> {
+                batches.add(new HashSet<>(keys));
+                batchStarted.countDown();
+                batchReleased.await();
+                Map<String, Integer> loaded = new HashMap<>();
+                keys.forEach(k -> loaded.put(k, k.length()));
+                return loaded;
+            }));
+            batchStarted.await();
+
+            //The keys being loaded by the batch are waited for instead of being evaluated again
+            Future<Integer> waiting = ForkJoinPool.commonPool().submit(() -> repository.apply("x"));
+            Thread.sleep(50);
+            assertAllFalse(waiting.isDone(), batch.isDone());
+            batchReleased.countDown();
+            assertEquals(Integer.valueOf(1), waiting.get(5, TimeUnit.SECONDS));
+            singleReleased.countDown();
+
+            assertEquals(Integer.valueOf(-2), single.get(5, TimeUnit.SECONDS));
+            Map<String, Integer> values = batch.get(5, TimeUnit.SECONDS);
+            assertEquals(Arrays.asList(1, -2, 3), new ArrayList<>(values.values()));
+            assertEquals(Arrays.asList(new HashSet<>(Arrays.asList("x", "yyy"))), batches);
+            assertAllTrue(evaluations.get() == 1, repository.loadings.isEmpty());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void getAll_withSingleLoads() throws Exception {
+        AtomicInteger evaluations = new AtomicInteger();
+        Repository<Integer, Integer> repository = new ConcurrentRepository<>(i -> {
+            evaluations.incrementAndGet();
+            return i * i;
+        });
+        List<Integer> keys = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+        Map<Integer, Integer> squares = repository.getAll(keys);
+        assertEquals(keys, new ArrayList<>(squares.keySet()));
+        assertAllTrue(squares.entrySet().stream().allMatch(e -> e.getValue() == e.getKey() * e.getKey()));
+        assertEquals(100, evaluations.get());
+        assertEquals(squares, repository.getAll(keys));
+        assertEquals(100, evaluations.get());
+
+        Repository<String, Integer> serial = new Repository<>(s -> s.isEmpty() ? null : Integer.valueOf(s));
+        Map<String, Integer> numbers = serial.getAll(Arrays.asList("1", "", "3"));
+        assertEquals(Arrays.asList(1, null, 3), new ArrayList<>(numbers.values()));
+        assertException(() -> serial.getAll(Arrays.asList("4", "x")), NumberFormatException.class);
+        assertAllTrue(serial.containsKey("4"), serial.containsKey(""));
+    }
+
     class Key implements AutoCloseable {
         private String id;
 
@@ -4,10 +4,16 @@ import io.github.cruisoring.TypeHelper;
 import io.github.cruisoring.logger.Logger;
 import io.github.cruisoring.tuple.Tuple;
 import io.github.cruisoring.tuple.Tuple2;
+import io.github.cruisoring.tuple.TupleProbe;
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Hashtable;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static io.github.cruisoring.Asserts.*;
 
@@ -47,6 +53,27 @@ public class TupleRepositoryTest {
         assertEquals(null, dualValuesRepository.getSecondValue(null));
     }
 
+    @Test
+    public void getCached() {
+        assertAllNull(dualValuesRepository.getCached("xyz"));
+        Tuple2 value = dualValuesRepository.retrieve("xyz");
+        assertAllTrue(value == dualValuesRepository.getCached("xyz"));
+
+        //Implementations out of this library look up nothing without evaluation by default
+        TupleValues<String> external = new TupleValues<String>() {
+            @Override
+            public Tuple retrieve(String key) {
+                return Tuple.create(key);
+            }
+
+            @Override
+            public boolean containsKey(Object key) {
+                return false;
+            }
+        };
+        assertAllNull(external.getCached("xyz"));
+    }
+
     @Test
     public void toSingleValuesRepository1() {
         TupleRepository1.TupleKeys1<String, Integer> repository = TupleRepository1.fromKeys1(
@@ -410,4 +437,79 @@ public class TupleRepositoryTest {
     @Test
     public void toHeptaValuesRepository5() {
     }
-}
\ No newline at end of file
+
+    @Test
+    public void retrieveWithProbe() {
+        final int[] evaluations = new int[]{0};
+        TupleRepository2.TupleKeys2<String, int[], Integer, String> repository = TupleRepository2.fromKeys2(
+                (s, ints) -> {
+                    evaluations[0]++;
+                    return Tuple.create(s.length() + ints.length, s + ints.length);
+                });
+
+        assertEquals(Integer.valueOf(5), repository.getFirst("abc", new int[]{1, 2}));
+        Tuple2<String, int[]> storedKey = (Tuple2<String, int[]>) repository.storage.keySet().iterator().next();
+        for (int i = 0; i < 10; i++) {
+            assertEquals("abc2", repository.getSecond("abc", new int[]{1, 2}));
+            assertEquals(Integer.valueOf(5), repository.getFirst("abc", new int[]{1, 2}));
+        }
+        assertEquals(1, evaluations[0]);
+        assertAllTrue(storedKey == repository.storage.keySet().iterator().next());
+
+        assertEquals(Integer.valueOf(3), repository.getFirst("abc", new int[0]));
+        assertEquals(Integer.valueOf(3), repository.getFirst("abc", new int[0]));
+        assertEquals(2, evaluations[0]);
+        assertEquals(2, repository.getSize());
+    }
+
+    @Test
+    public void retrieveWithProbe_sortedMap() {
+        TupleRepository1.TupleKeys2<String, String, String> repository = TupleRepository1.fromKeys2(
+                new TreeMap<>(), null, (s1, s2) -> Tuple.create(s1 + s2));
+        assertEquals("ab", repository.getFirst("a", "b"));
+        assertEquals("ab", repository.getFirst("a", "b"));
+        assertEquals("ba", repository.getFirst("b", "a"));
+        assertEquals(2, repository.getSize());
+    }
+
+    @Test
+    public void retrieveWithProbe_mapComparingStoredKeys() {
+        //Hashtable compares the stored keys with the given one, so it is looked up with the actual keys instead
+        final int[] evaluations = new int[]{0};
+        TupleRepository1.TupleKeys2<String, String, String> repository = TupleRepository1.fromKeys2(
+                new Hashtable<>(), null, (s1, s2) -> {
+                    evaluations[0]++;
+                    return Tuple.create(s1 + s2);
+                });
+        assertEquals("ab", repository.getFirst("a", "b"));
+        TupleProbe probe = TupleProbe.of("a", "b");
+        try {
+            assertAllNull(repository.getCached(probe));
+        } finally {
+            probe.release();
+        }
+        assertEquals("ab", repository.getFirst("a", "b"));
+        assertEquals(1, evaluations[0]);
+        assertEquals(1, repository.getSize());
+    }
+
+    @Test
+    public void getAllWithBatchLoader() throws Exception {
+        TupleRepository2.TupleKeys2<String, String, String, Integer> repository = TupleRepository2.fromKeys2(
+                new ConcurrentHashMap<>(), null, (a, b) -> Tuple.create(a + b, a.length() + b.length()));
+        Tuple2<String, String> cached = repository.getKey("a", "b");
+        Tuple2<String, String> missing = repository.getKey("cc", "d");
+        assertEquals("ab", repository.getFirst("a", "b"));
+
+        Map<Tuple2<String, String>, Tuple2<String, Integer>> values = repository.getAll(Arrays.asList(cached, missing),
+                keys -> {
+                    Map<Tuple2<String, String>, Tuple2<String, Integer>> loaded = new HashMap<>();
+                    keys.forEach(k -> loaded.put(k, Tuple.create(k.getSecond() + k.getFirst(), -1)));
+                    return loaded;
+                });
+        assertEquals(Tuple.create("ab", 2), values.get(cached));
+        assertEquals(Tuple.create("dcc", -1), values.get(missing));
+        assertEquals(Integer.valueOf(-1), repository.getSecond("cc", "d"));
+        assertEquals(2, repository.getSize());
+    }
+}
@@ -594,4 +594,18 @@ public class TupleTableTest {
         valuesByName.put("Gender", 'M');
         assertEquals(1, table5.indexOf(valuesByName));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void indexOf_withSetValues() {
+        Columns columns = new Columns("Name", "Numbers");
+        TupleTable2<String, HashSet> table2 = columns.createTable2(String.class, HashSet.class);
+        table2.addValues("b", new HashSet<>(Arrays.asList(3)));
+        table2.addValues("a", new HashSet<>(Arrays.asList(1, 2)));
+
+        //A Set equal to the cell iterates its elements in another order
+        Map<String, Object> valuesByName = new HashMap<String, Object>(){{
+            put("Numbers", new LinkedHashSet<>(Arrays.asList(2, 1)));
+        }};
+        assertEquals(1, table2.indexOf(valuesByName));
+    }
+}
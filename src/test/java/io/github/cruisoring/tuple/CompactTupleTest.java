@@ -0,0 +1,170 @@
+package io.github.cruisoring.tuple;
+
+import io.github.cruisoring.logger.Logger;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.IntFunction;
+
+import static io.github.cruisoring.Asserts.*;
+
+public class CompactTupleTest {
+
+    @Test
+    public void testAccessors() {
+        CompactTuple3<String, Integer, int[]> tuple = Tuple.compact("a", 3, new int[]{1, 2});
+        assertEquals(3, tuple.getLength());
+        assertEquals("a", tuple.getFirst());
+        assertEquals(Integer.valueOf(3), tuple.getSecond());
+        assertEquals(new int[]{1, 2}, tuple.getThird());
+        assertEquals(3, tuple.getValue(1));
+        assertException(() -> tuple.getValue(3), IndexOutOfBoundsException.class);
+        assertEquals("[a, 3, [1, 2]]", tuple.toString());
+        assertEquals(Tuple.create("a", 3, new int[]{1, 2}).getDeepIndexes(), tuple.getDeepIndexes());
+        assertAllTrue(tuple.getDeepIndexes() == tuple.getDeepIndexes());
+        //The signatures are cached in the side state as those of Tuple
+        Tuple3<String, Integer, int[]> same = Tuple.create("a", 3, tuple.getThird());
+        assertEquals(same.getSignatures(), tuple.getSignatures());
+        assertAllTrue(tuple.getSignatures() == tuple.getSignatures(), same.getSignatures() == same.getSignatures());
+
+        CompactTuple10<Integer, Integer, Integer, Integer, Integer, Integer, Integer, Integer, Integer, String> tuple10 =
+                Tuple.compact(1, 2, 3, 4, 5, 6, 7, 8, 9, "10");
+        assertEquals("10", tuple10.getTenth());
+        assertEquals(Integer.valueOf(9), tuple10.getNineth());
+        assertEquals(Tuple.setOf(1, 2, 3, 4, 5, 6, 7, 8, 9), tuple10.getSetOf(Integer.class));
+    }
+
+    @Test
+    public void testHashCode_sameAsTuple() {
+        assertEquals(Tuple.create(null).hashCode(), Tuple.compact(null).hashCode());
+        assertEquals(Tuple.create("a", 2).hashCode(), Tuple.compact("a", 2).hashCode());
+        assertEquals(Tuple.create(new int[0], 1, new ArrayList<>()).hashCode(),
+                Tuple.compact(new int[0], 1, new ArrayList<>()).hashCode());
+        assertEquals(Tuple.create(1, new int[][]{new int[]{1, 2}, null, new int[0]}, Arrays.asList("x", null)).hashCode(),
+                Tuple.compact(1, new int[][]{new int[]{1, 2}, null, new int[0]}, Arrays.asList("x", null)).hashCode());
+        assertEquals(Tuple.create(1, 2, 3, 4, 5, 6, 7, 8, 9, 10).hashCode(),
+                Tuple.compact(1, 2, 3, 4, 5, 6, 7, 8, 9, 10).hashCode());
+        assertEquals(Tuple.create(new Integer[]{1, 2}, 3).hashCode(), Tuple.ofObjInt(new Integer[]{1, 2}, 3).hashCode());
+        assertEquals(Tuple.create(Arrays.asList(1, 2), 3L).hashCode(), Tuple.ofObjLong(Arrays.asList(1, 2), 3L).hashCode());
+    }
+
+    @Test
+    public void testEquals() {
+        assertEquals(Tuple.compact("a", 2), Tuple.compact("a", 2));
+        assertEquals(Tuple.compact(new int[]{1, 2}, null), Tuple.compact(new Integer[]{1, 2}, null));
+        assertAllFalse(Tuple.compact("a", 2).equals(Tuple.compact("a", 3)),
+                Tuple.compact("a", 2).equals(Tuple.create("a", 2)),
+                Tuple.compact("a", 2).equals(Tuple.compact("a", 2, null)));
+
+        Map<CompactTuple2<String, Integer>, Integer> map = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            map.put(Tuple.compact("k" + i, i), i);
+        }
+        assertEquals(42, map.get(Tuple.compact("k42", 42)));
+        assertEquals(null, map.get(Tuple.compact("k42", 43)));
+    }
+
+    @Test
+    public void testCompareTo() {
+        TreeSet<CompactTuple2<String, Integer>> set = new TreeSet<>();
+        set.add(Tuple.compact("b", 1));
+        set.add(Tuple.compact("a", 2));
+        set.add(Tuple.compact("a", 1));
+        set.add(Tuple.compact("a", 1));
+        assertEquals(3, set.size());
+        assertEquals(Tuple.compact("a", 1), set.first());
+        assertEquals(Tuple.compact("b", 1), set.last());
+    }
+
+    @Test
+    public void testClose() throws Exception {
+        final int[] closedCount = new int[]{0};
+        AutoCloseable closeable = () -> closedCount[0]++;
+        CompactTuple2<String, AutoCloseable> tuple = Tuple.compact("a", closeable);
+        tuple.close();
+        tuple.close();
+        assertEquals(1, closedCount[0]);
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = runtime.totalMemory() - runtime.freeMemory();
+        //Collect until the reading is stable, so the garbage of former tests is not counted
+        for (int i = 0; i < 10; i++) {
+            System.gc();
+            long current = runtime.totalMemory() - runtime.freeMemory();
+            if (Math.abs(current - used) < 1024 * 1024) {
+                return current;
+            }
+            used = current;
+        }
+        return used;
+    }
+
+    //Heap retained per key of a HashMap holding the given number of keys with their hashCodes cached, measured by
+    //releasing the map after a stable reading, so the garbage released by other threads meanwhile is not counted
+    private static long retainedBytesPerKey(int count, IntFunction<Object> keyFactory) {
+        Map<Object, Boolean> map = new HashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            map.put(keyFactory.apply(i), Boolean.TRUE);
+        }
+        long retained = usedMemory();
+        //Keep the map reachable until the reading above is done
+        assertEquals(count, map.size());
+        map = null;
+        return (retained - usedMemory()) / count;
+    }
+
+    //Instance fields declared by the class and its super classes
+    private static List<Field> instanceFields(Class clazz) {
+        List<Field> fields = new ArrayList<>();
+        for (Class c = clazz; c != null; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    fields.add(field);
+                }
+            }
+        }
+        return fields;
+    }
+
+    @Test
+    public void testMemoryFootprint() throws Exception {
+        Tuple2<String, Integer> tuple = Tuple.create("key", 1);
+        CompactTuple2<String, Integer> compact = Tuple.compact("key", 1);
+        assertEquals(tuple.hashCode(), compact.hashCode());
+
+        //Caching the hashCode allocates no side state
+        Field tupleState = Tuple.class.getDeclaredField("state");
+        Field compactState = CompactTuple.class.getDeclaredField("state");
+        tupleState.setAccessible(true);
+        compactState.setAccessible(true);
+        assertAllNull(tupleState.get(tuple), compactState.get(compact));
+
+        //The elements of a CompactTuple2 are fields of its own instead of an array referred by it, so each key is a
+        //single object with the 2 elements, the cached hash code and the lazy state
+        List<Field> tupleFields = instanceFields(Tuple2.class);
+        List<Field> compactFields = instanceFields(CompactTuple2.class);
+        assertAllTrue(tupleFields.stream().anyMatch(f -> f.getType().isArray()),
+                compactFields.stream().noneMatch(f -> f.getType().isArray()));
+        assertEquals(4, compactFields.size());
+        assertEquals(2L, compactFields.stream().filter(f -> f.getType() == Object.class).count());
+
+        //The heap retained depends on the JVM and the collector, so it is only logged
+        final int count = 100000;
+        Integer[] elements = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            elements[i] = i;
+        }
+        long tupleBytes = retainedBytesPerKey(count, i -> Tuple.create("key", elements[i]));
+        long compactBytes = retainedBytesPerKey(count, i -> Tuple.compact("key", elements[i]));
+        Logger.I("Retained bytes per key of a HashMap with %d keys: Tuple2=%d, CompactTuple2=%d", count, tupleBytes, compactBytes);
+    }
+}
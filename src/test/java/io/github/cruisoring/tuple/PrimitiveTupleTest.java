@@ -0,0 +1,109 @@
+package io.github.cruisoring.tuple;
+
+import io.github.cruisoring.repository.TupleRepository1;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+import static io.github.cruisoring.Asserts.*;
+
+public class PrimitiveTupleTest {
+
+    @Test
+    public void testAccessors() {
+        IntLongTuple2 key = Tuple.ofIntLong(3, 4000000000L);
+        assertEquals(2, key.getLength());
+        assertEquals(3, key.getInt(0));
+        assertEquals(3L, key.getLong(0));
+        assertEquals(4000000000L, key.getLong(1));
+        assertEquals(4.0E9, key.getDouble(1));
+        assertEquals(Integer.valueOf(3), key.getFirst());
+        assertEquals(Long.valueOf(4000000000L), key.getSecond());
+        assertException(() -> key.getInt(1), UnsupportedOperationException.class);
+        assertException(() -> key.getInt(2), IndexOutOfBoundsException.class);
+        assertException(() -> key.getValue(-1), IndexOutOfBoundsException.class);
+
+        DoubleTuple3 doubles = Tuple.ofDoubles(1.5, -2.0, 0.0);
+        assertEquals(-2.0, doubles.getDouble(1));
+        assertException(() -> doubles.getLong(0), UnsupportedOperationException.class);
+
+        ObjIntTuple2<String> objInt = Tuple.ofObjInt("tenant", 7);
+        String first = objInt.getFirst();
+        assertEquals("tenant", first);
+        assertEquals(7, objInt.getInt(1));
+        assertEquals("[tenant, 7]", objInt.toString());
+    }
+
+    @Test
+    public void testHashCode_sameAsBoxedTuple() {
+        assertEquals(Tuple.create(1, 2).hashCode(), Tuple.ofInts(1, 2).hashCode());
+        assertEquals(Tuple.create(-1, 0, Integer.MAX_VALUE).hashCode(), Tuple.ofInts(-1, 0, Integer.MAX_VALUE).hashCode());
+        assertEquals(Tuple.create(Long.MIN_VALUE, 2L).hashCode(), Tuple.ofLongs(Long.MIN_VALUE, 2L).hashCode());
+        assertEquals(Tuple.create(1L, 2L, 3L).hashCode(), Tuple.ofLongs(1L, 2L, 3L).hashCode());
+        assertEquals(Tuple.create(0.1, Double.NaN).hashCode(), Tuple.ofDoubles(0.1, Double.NaN).hashCode());
+        assertEquals(Tuple.create(1.0, 2.0, -3.0).hashCode(), Tuple.ofDoubles(1.0, 2.0, -3.0).hashCode());
+        assertEquals(Tuple.create(3, 4000000000L).hashCode(), Tuple.ofIntLong(3, 4000000000L).hashCode());
+        assertEquals(Tuple.create("abc", 3).hashCode(), Tuple.ofObjInt("abc", 3).hashCode());
+        assertEquals(Tuple.create(null, 3L).hashCode(), Tuple.ofObjLong(null, 3L).hashCode());
+    }
+
+    @Test
+    public void testEquals() {
+        assertEquals(Tuple.ofInts(1, 2), Tuple.ofInts(1, 2));
+        assertNotEquals(Tuple.ofInts(1, 2), Tuple.ofInts(2, 1));
+        assertAllFalse(Tuple.ofInts(1, 2).equals(Tuple.ofLongs(1, 2)),
+                Tuple.ofInts(1, 2).equals(Tuple.create(1, 2)),
+                Tuple.ofDoubles(0.0, 1.0).equals(Tuple.ofDoubles(-0.0, 1.0)));
+        assertAllTrue(Tuple.ofDoubles(Double.NaN, 1.0).equals(Tuple.ofDoubles(Double.NaN, 1.0)),
+                Tuple.ofObjInt(new int[]{1, 2}, 3).equals(Tuple.ofObjInt(new Integer[]{1, 2}, 3)),
+                Tuple.ofObjLong(null, 3L).equals(Tuple.ofObjLong(null, 3L)));
+        assertAllFalse(Tuple.ofObjLong(null, 3L).equals(Tuple.ofObjLong("", 3L)),
+                Tuple.ofObjInt("a", 3).equals(Tuple.ofObjInt("a", 4)));
+    }
+
+    @Test
+    public void testCompareTo() {
+        TreeSet<LongTuple2> set = new TreeSet<>();
+        set.add(Tuple.ofLongs(2, 1));
+        set.add(Tuple.ofLongs(1, Long.MAX_VALUE));
+        set.add(Tuple.ofLongs(1, Long.MIN_VALUE));
+        set.add(Tuple.ofLongs(1, Long.MIN_VALUE));
+        assertEquals(3, set.size());
+        assertEquals(Tuple.ofLongs(1, Long.MIN_VALUE), set.first());
+        assertEquals(Tuple.ofLongs(2, 1), set.last());
+
+        assertAllTrue(Tuple.ofObjInt("a", 9).compareTo(Tuple.ofObjInt("b", 0)) < 0,
+                Tuple.ofObjInt(null, 9).compareTo(Tuple.ofObjInt("b", 0)) < 0,
+                Tuple.ofObjInt("b", 1).compareTo(Tuple.ofObjInt("b", 0)) > 0);
+    }
+
+    @Test
+    public void testAsRepositoryKey() {
+        TupleRepository1<IntLongTuple2, String> repository = TupleRepository1.fromKey(
+                key -> Tuple.create(key.getInt(0) + ":" + key.getLong(1)));
+        assertEquals("3:4000000000", repository.getFirstValue(Tuple.ofIntLong(3, 4000000000L)));
+        assertEquals("3:4000000000", repository.getFirstValue(Tuple.ofIntLong(3, 4000000000L)));
+        assertEquals(1, repository.getSize());
+
+        //Keyed by the primitive tuples, the repository is not reached by the boxed keys of the same values
+        TupleRepository1<IntTuple2, Integer> sums = TupleRepository1.fromKey(key -> Tuple.create(key.getInt(0) + key.getInt(1)));
+        assertEquals(Integer.valueOf(3), sums.getFirstValue(Tuple.ofInts(1, 2)));
+        assertAllTrue(sums.containsKey(Tuple.ofInts(1, 2)), !sums.containsKey(Tuple.create(1, 2)));
+
+        Map<IntTuple2, String> map = new HashMap<>();
+        map.put(Tuple.ofInts(1, 2), "a");
+        map.put(Tuple.ofInts(2, 1), "b");
+        assertEquals("a", map.get(Tuple.ofInts(1, 2)));
+        assertEquals(null, map.get(Tuple.ofInts(1, 3)));
+    }
+
+    @Test
+    public void testGetSetOf() {
+        ObjLongTuple2<String> tuple = Tuple.ofObjLong("x", 3L);
+        assertEquals(Tuple.setOf("x"), tuple.getSetOf(String.class));
+        assertEquals(Tuple.setOf(3L), tuple.getSetOf(Long.class));
+        assertEquals(new int[][]{new int[]{0, 0}, new int[]{1, 0}}, tuple.getDeepIndexes());
+    }
+}
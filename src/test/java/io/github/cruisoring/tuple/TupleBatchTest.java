@@ -0,0 +1,117 @@
+package io.github.cruisoring.tuple;
+
+import io.github.cruisoring.logger.LogLevel;
+import io.github.cruisoring.logger.Logger;
+import io.github.cruisoring.logger.Measurement;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static io.github.cruisoring.Asserts.*;
+
+public class TupleBatchTest {
+
+    @Test
+    public void testFromList() {
+        List<Tuple3<Integer, Double, String>> tuples = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            tuples.add(Tuple.create(i, i / 2.0, i % 10 == 0 ? null : "s" + i));
+        }
+        tuples.add(Tuple.create(null, null, "last"));
+
+        TupleBatch<Tuple3<Integer, Double, String>> batch = TupleBatch.fromList(tuples);
+        assertEquals(101, batch.size());
+        assertEquals(3, batch.getLength());
+        assertEquals(Integer.class, batch.getColumnType(0));
+        assertEquals(Double.class, batch.getColumnType(1));
+        assertEquals(String.class, batch.getColumnType(2));
+
+        assertEquals(42, batch.getInt(42, 0));
+        assertEquals(42L, batch.getLong(42, 0));
+        assertEquals(21.0, batch.getDouble(42, 1));
+        assertAllTrue(batch.isNull(100, 0), batch.isNull(100, 1), batch.isNull(10, 2));
+        assertAllFalse(batch.isNull(10, 0), batch.isNull(11, 2));
+        assertEquals(null, batch.getValue(100, 0));
+
+        List<Tuple> converted = batch.toList();
+        assertEquals(tuples, converted);
+        assertEquals("s7", converted.get(7).getValue(2));
+        assertAllTrue(converted.get(7) instanceof Tuple3);
+    }
+
+    @Test
+    public void testView() {
+        TupleBatch<Tuple4<Long, Integer, int[], String>> batch = TupleBatch.of(Long.class, int.class, int[].class, String.class);
+        batch.add(Tuple.create(1L, 2, new int[]{3, 4}, "a"));
+        batch.add(Tuple.create(null, 5, null, null));
+
+        TupleBatch.View<Tuple4<Long, Integer, int[], String>> view = batch.view(0);
+        Tuple4<Long, Integer, int[], String> tuple = Tuple.create(1L, 2, new int[]{3, 4}, "a");
+        assertEquals(tuple.hashCode(), view.hashCode());
+        assertEquals(tuple, view.toTuple());
+        assertEquals(1L, view.getLong(0));
+        assertEquals(2, view.getInt(1));
+        assertEquals(Tuple.create(null, 5, null, null).hashCode(), batch.view(1).hashCode());
+        assertAllTrue(view.equals(batch.view(0)), view.getSignatures().contains(tuple.hashCode()));
+        assertAllFalse(view.equals(batch.view(1)));
+
+        int rows = 0;
+        for (TupleBatch.View<Tuple4<Long, Integer, int[], String>> cursor : batch) {
+            assertEquals(batch.get(rows++), cursor.toTuple());
+        }
+        assertEquals(2, rows);
+    }
+
+    @Test
+    public void testMixedAndInvalid() {
+        TupleBatch<Tuple2<Number, String>> batch = TupleBatch.fromList(Arrays.<Tuple2<Number, String>>asList(Tuple.create(1, "a"), Tuple.create(2L, "b")));
+        assertEquals(Object.class, batch.getColumnType(0));
+        assertEquals(2L, batch.get(1).getValue(0));
+
+        assertException(() -> batch.getInt(0, 0), UnsupportedOperationException.class);
+        assertException(() -> batch.getValue(2, 0), IndexOutOfBoundsException.class);
+        assertException(() -> ((TupleBatch) batch).add(Tuple.create(1, "a", "c")), IllegalArgumentException.class);
+
+        TupleBatch<Tuple1> integers = TupleBatch.of(Integer.class);
+        assertException(() -> integers.add(Tuple.create(1L)), ClassCastException.class);
+
+        //Other WithValues are converted back to the Tuples with the same values
+        TupleBatch<WithValues> others = TupleBatch.of(Integer.class, Integer.class);
+        others.add(Tuple.ofInts(1, 2));
+        others.add(Tuple.compact(3, 4));
+        assertEquals(Arrays.asList(Tuple.create(1, 2), Tuple.create(3, 4)), others.toList());
+        assertAllTrue(others.get(1) instanceof Tuple2, others.view(0).toTuple() instanceof Tuple2);
+    }
+
+    @Test
+    public void compareFootprintAndScan() {
+        int count = 200000;
+        List<Tuple3<Integer, Long, Double>> tuples = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tuples.add(Tuple.create(i, (long) i * 3, i * 0.5));
+        }
+        TupleBatch<Tuple3<Integer, Long, Double>> batch = TupleBatch.fromList(tuples);
+
+        double[] sums = new double[2];
+        for (int i = 0; i < 3; i++) {
+            Logger.M(Measurement.start("ScanTuples"), () -> {
+                double sum = 0;
+                for (Tuple3<Integer, Long, Double> tuple : tuples) {
+                    sum += tuple.getFirst() + tuple.getSecond() + tuple.getThird();
+                }
+                sums[0] = sum;
+            });
+            Logger.M(Measurement.start("ScanBatch"), () -> {
+                double sum = 0;
+                for (int row = 0; row < batch.size(); row++) {
+                    sum += batch.getInt(row, 0) + batch.getLong(row, 1) + batch.getDouble(row, 2);
+                }
+                sums[1] = sum;
+            });
+        }
+        assertEquals(sums[0], sums[1]);
+        Measurement.purge(LogLevel.info);
+    }
+}
@@ -0,0 +1,148 @@
+package io.github.cruisoring.tuple;
+
+import org.junit.Test;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static io.github.cruisoring.Asserts.*;
+
+public class TupleCodecTest {
+
+    Tuple[] samples = new Tuple[]{
+            Tuple.UNIT,
+            Tuple.create(null),
+            Tuple.create("abc", 1, -2L, 3.5d, 4.5f, 'c', (short) -6, (byte) 7, true, false),
+            Tuple.create(Integer.MIN_VALUE, Long.MAX_VALUE, Double.NaN, "中文", ""),
+            Tuple.create(new int[]{1, -2, 3}, new long[0], new double[]{1.1, 2.2}, new byte[]{1, 2},
+                    new char[]{'a', 'b'}, new short[]{-1}, new float[]{0.5f}, new boolean[]{true, false}),
+            Tuple.create(new int[][]{new int[]{1, 2}, null, new int[0]}, new Integer[]{1, null, 3},
+                    new Object[]{"x", new String[]{"y", "z"}, Tuple.create(1, "nested")}),
+            Tuple.create(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, "eleven", new Comparable[]{12, "13"}),
+            Tuple.setOf("a", "b", null),
+            Tuple.setOfType(Number.class, 1, 2.0, 3L)
+    };
+
+    @Test
+    public void testRoundTrip_byteBuffer() {
+        ByteBuffer buffer = ByteBuffer.allocate(4096).order(ByteOrder.LITTLE_ENDIAN);
+        for (Tuple tuple : samples) {
+            TupleCodec.encode(tuple, buffer);
+        }
+        assertEquals(ByteOrder.LITTLE_ENDIAN, buffer.order());
+
+        buffer.flip();
+        for (Tuple tuple : samples) {
+            Tuple decoded = TupleCodec.decode(buffer);
+            assertEquals(tuple, decoded);
+            assertEquals(tuple.getElementType(), decoded.getElementType());
+        }
+        assertAllFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    public void testRoundTrip_dataOutput() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (Tuple tuple : samples) {
+            TupleCodec.encode(tuple, out);
+        }
+
+        //The DataOutput and the ByteBuffer share the same format
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+        for (Tuple tuple : samples) {
+            assertEquals(tuple, TupleCodec.decode(in));
+            assertEquals(tuple, TupleCodec.decode(buffer));
+        }
+    }
+
+    @Test
+    public void testOtherWithValues() {
+        assertEquals(Tuple.create(3, 4000000000L), TupleCodec.fromBytes(TupleCodec.toBytes(Tuple.ofIntLong(3, 4000000000L))));
+        assertEquals(Tuple.create("a", new int[]{1}), TupleCodec.fromBytes(TupleCodec.toBytes(Tuple.compact("a", new int[]{1}))));
+    }
+
+    @Test
+    public void testCompactness() {
+        Tuple tuple = Tuple.create(1, 2L, "ab", new int[1000]);
+        byte[] bytes = TupleCodec.toBytes(tuple);
+        assertAllTrue(bytes.length < 4 + 1 + 1 + 1 + 1 + 4 + 2 + 4000 + 3);
+        assertEquals(tuple, TupleCodec.fromBytes(bytes));
+    }
+
+    @Test
+    public void testUnsupportedOrMalformed() {
+        assertException(() -> TupleCodec.toBytes(Tuple.create(DayOfWeek.MONDAY)), UnsupportedOperationException.class);
+        assertException(() -> TupleCodec.fromBytes(new byte[]{TupleCodec.STRING}), IllegalStateException.class);
+        assertException(() -> TupleCodec.fromBytes(new byte[]{TupleCodec.TUPLE, 2, 1, 99}), IllegalStateException.class);
+    }
+
+    @Test
+    public void testMalformed_rejectedBeforeAllocating() {
+        //Lengths exceeding the bytes left
+        byte[] hugeLength = new byte[]{TupleCodec.TUPLE, 2, (byte) 0xF0, (byte) 0xFF, (byte) 0xFF, 0x7F};
+        assertException(() -> TupleCodec.fromBytes(hugeLength), IllegalStateException.class);
+        assertException(() -> TupleCodec.decode(new DataInputStream(new ByteArrayInputStream(hugeLength))), IllegalStateException.class);
+        assertException(() -> TupleCodec.fromBytes(new byte[]{TupleCodec.TUPLE, 2, 1, TupleCodec.INT_ARRAY, 10, 0, 0, 0}), IllegalStateException.class);
+        assertException(() -> TupleCodec.fromBytes(new byte[]{TupleCodec.TUPLE, 2, 1, TupleCodec.STRING, 5, 'a'}), IllegalStateException.class);
+
+        //Truncated bytes
+        byte[] bytes = TupleCodec.toBytes(Tuple.create("abc", 2.0, new long[]{1, 2}));
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 3);
+        assertException(() -> TupleCodec.fromBytes(truncated), IllegalStateException.class);
+        assertException(() -> TupleCodec.decode(new DataInputStream(new ByteArrayInputStream(truncated))), IllegalStateException.class);
+        assertException(() -> TupleCodec.fromBytes(Arrays.copyOf(bytes, 12)), IllegalStateException.class);
+
+        //Primitive element types, or elements not matched with the element type
+        assertException(() -> TupleCodec.fromBytes(new byte[]{TupleCodec.TUPLE, 19, 0}), IllegalStateException.class);
+        assertException(() -> TupleCodec.fromBytes(new byte[]{TupleCodec.TUPLE, 2, 1, TupleCodec.OBJECT_ARRAY, 19, 0}), IllegalStateException.class);
+        assertException(() -> TupleCodec.fromBytes(new byte[]{TupleCodec.TUPLE, 3, 1, TupleCodec.INT, 2}), IllegalStateException.class);
+        //Primitive classes are still allowed as the components of the array types
+        assertAllTrue(TupleCodec.fromBytes(new byte[]{TupleCodec.TUPLE, 2, 1, TupleCodec.OBJECT_ARRAY, 1, 19, 0}).getValue(0) instanceof int[][]);
+
+        //Frame length exceeding the bytes of the channel
+        byte[] frames = new byte[]{(byte) 0xF0, (byte) 0xFF, (byte) 0xFF, 0x7F, TupleCodec.TUPLE, 2, 0};
+        Iterator<Tuple> iterator = TupleCodec.decodeAll(Channels.newChannel(new ByteArrayInputStream(frames)));
+        assertException(() -> iterator.hasNext(), IllegalStateException.class);
+    }
+
+    @Test
+    public void testStreaming_fileChannel() throws IOException {
+        Path path = Files.createTempFile("tuples", ".bin");
+        try {
+            List<Tuple> tuples = new ArrayList<>();
+            for (int i = 0; i < 3000; i++) {
+                tuples.add(Tuple.create("key" + i, i, new long[i % 7]));
+            }
+            tuples.add(Tuple.create("large", new int[50000]));
+            tuples.addAll(Arrays.asList(samples));
+
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                assertEquals(tuples.size(), TupleCodec.encodeAll(tuples, channel));
+            }
+
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                Iterator<Tuple> iterator = TupleCodec.decodeAll(channel);
+                for (Tuple tuple : tuples) {
+                    assertAllTrue(iterator.hasNext());
+                    assertEquals(tuple, iterator.next());
+                }
+                assertAllFalse(iterator.hasNext());
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package io.github.cruisoring.tuple;
+
+import io.github.cruisoring.logger.LogLevel;
+import io.github.cruisoring.logger.Logger;
+import io.github.cruisoring.logger.Measurement;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import static io.github.cruisoring.Asserts.*;
+
+public class TupleComparatorTest {
+
+    //Instances are unequal but share the same hash code and string form
+    static class Colliding {
+        @Override
+        public int hashCode() {
+            return 1;
+        }
+
+        @Override
+        public String toString() {
+            return "colliding";
+        }
+    }
+
+    @Test
+    public void testCompareTo_valueOrder() {
+        assertAllTrue(Tuple.create(1, "b").compareTo(Tuple.create(2, "a")) < 0,
+                Tuple.create(2, "a").compareTo(Tuple.create(1, "b")) > 0,
+                Tuple.create("abc", 3).compareTo(Tuple.create("abd", 0)) < 0,
+                Tuple.create(Integer.MIN_VALUE).compareTo(Tuple.create(Integer.MAX_VALUE)) < 0,
+                Tuple.create(null, 9).compareTo(Tuple.create(0, 0)) < 0,
+                Tuple.create(1, 2).compareTo(Tuple.create(1, 2, 3)) < 0,
+                Tuple.create(1, 2).compareTo(null) > 0);
+        assertEquals(0, Tuple.create(1, 2).compareTo(Tuple.setOf(1, 2)));
+        assertEquals(0, Tuple.create("a", new int[]{1, 2}).compareTo(Tuple.create("a", new Integer[]{1, 2})));
+        assertAllTrue(Tuple.create(new int[]{1, 2}).compareTo(Tuple.create(new int[]{1, 3})) < 0,
+                Tuple.create(Arrays.asList(1, 2)).compareTo(Tuple.create(new int[]{1})) > 0,
+                Tuple.create(3L).compareTo(Tuple.create(2)) > 0,
+                Tuple.ofIntLong(1, 5L).compareTo(Tuple.create(1, 6L)) < 0);
+    }
+
+    @Test
+    public void testComparator_cached() {
+        TupleComparator comparator = Tuple.comparator(int.class, String.class);
+        assertAllTrue(comparator == Tuple.comparator(int.class, String.class),
+                comparator != Tuple.comparator(Integer.class, String.class),
+                Tuple.comparator() == TupleComparator.NATURAL);
+        assertEquals(Arrays.asList(int.class, String.class), Arrays.asList(comparator.getElementTypes()));
+
+        assertAllTrue(comparator.compare(Tuple.create(1, "z"), Tuple.create(2, "a")) < 0,
+                comparator.compare(Tuple.create(1, "a", 5), Tuple.create(1, "a", 4)) > 0,
+                comparator.compare(Tuple.create(1, null), Tuple.create(1, "")) < 0,
+                comparator.compare(null, Tuple.create(1, "")) < 0);
+        assertEquals(0, comparator.compare(Tuple.create(1, "a"), Tuple.create(1, "a")));
+    }
+
+    @Test
+    public void testSortedMaps() {
+        List<Tuple2<String, Integer>> keys = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            keys.add(Tuple.create("k" + (i % 10), i));
+        }
+        Collections.shuffle(keys, new Random(7));
+
+        TreeMap<Tuple2<String, Integer>, Integer> treeMap = new TreeMap<>(Tuple.comparator(String.class, Integer.class));
+        ConcurrentSkipListMap<Tuple2<String, Integer>, Integer> skipListMap = new ConcurrentSkipListMap<>();
+        keys.forEach(k -> {
+            treeMap.put(k, k.getSecond());
+            skipListMap.put(k, k.getSecond());
+        });
+        assertEquals(500, treeMap.size());
+        assertEquals(new ArrayList<>(treeMap.keySet()), new ArrayList<>(skipListMap.keySet()));
+
+        //Range scan of all keys starting with "k3"
+        SortedMap<Tuple2<String, Integer>, Integer> range = treeMap.subMap(Tuple.create("k3", Integer.MIN_VALUE), Tuple.create("k4", Integer.MIN_VALUE));
+        assertEquals(50, range.size());
+        int previous = -1;
+        for (Tuple2<String, Integer> key : range.keySet()) {
+            assertAllTrue("k3".equals(key.getFirst()), key.getSecond() > previous);
+            previous = key.getSecond();
+        }
+
+        TreeSet<IntTuple2> primitives = new TreeSet<>(Tuple.comparator(int.class, int.class));
+        primitives.addAll(Arrays.asList(Tuple.ofInts(2, 1), Tuple.ofInts(1, 9), Tuple.ofInts(1, 2), Tuple.ofInts(1, 2)));
+        assertEquals(Arrays.asList(Tuple.ofInts(1, 2), Tuple.ofInts(1, 9), Tuple.ofInts(2, 1)), new ArrayList<>(primitives));
+    }
+
+    @Test
+    public void testCompare_unequalElementsWithCollidedHashCodes() {
+        //"Aa" and "BB" have the same hash code, so do the entries composed by them
+        Tuple1<AbstractMap.SimpleEntry<String, Integer>> aa = Tuple.create(new AbstractMap.SimpleEntry<>("Aa", 1));
+        Tuple1<AbstractMap.SimpleEntry<String, Integer>> bb = Tuple.create(new AbstractMap.SimpleEntry<>("BB", 1));
+        assertAllTrue(aa.hashCode() == bb.hashCode(), !aa.equals(bb));
+        assertAllTrue(aa.compareTo(bb) != 0, Integer.signum(aa.compareTo(bb)) == -Integer.signum(bb.compareTo(aa)),
+                aa.compareTo(Tuple.create(new AbstractMap.SimpleEntry<>("Aa", 1))) == 0);
+
+        TreeSet<Tuple> set = new TreeSet<>(Arrays.asList(aa, bb, Tuple.create(new AbstractMap.SimpleEntry<>("BB", 1))));
+        assertEquals(2, set.size());
+
+        //Unequal values that cannot be ordered by either their hash codes or string forms are rejected
+        Object x = new Colliding();
+        Object y = new Colliding();
+        assertException(() -> TupleComparator.compareValues(x, y), ClassCastException.class);
+    }
+
+    @Test
+    public void testCompare_unequalTuplesWithTiedElements() {
+        List<WithValues> tuples = Arrays.asList(Tuple.create(1, 2), Tuple.ofInts(1, 2), Tuple.compact(1, 2),
+                Tuple.create(Tuple.create(1, 2)), Tuple.create(Tuple.ofInts(1, 2)), Tuple.create(Tuple.compact(1, 2)),
+                Tuple.create(new ArrayList<>(), 5), Tuple.create(new int[0], 5),
+                Tuple.create(new HashSet<>()), Tuple.create((Object) new Integer[0]),
+                Tuple.create((Object) new String[0]), Tuple.create((Object) new Object[0]));
+        for (WithValues tuple : tuples) {
+            for (WithValues other : tuples) {
+                int result = TupleComparator.NATURAL.compare(tuple, other);
+                assertEquals(tuple.equals(other), result == 0);
+                assertEquals(Integer.signum(result), -Integer.signum(TupleComparator.NATURAL.compare(other, tuple)));
+            }
+        }
+
+        TreeSet<WithValues> treeSet = new TreeSet<>(TupleComparator.NATURAL);
+        ConcurrentSkipListMap<WithValues, Boolean> skipListMap = new ConcurrentSkipListMap<>(TupleComparator.NATURAL);
+        tuples.forEach(t -> {
+            treeSet.add(t);
+            skipListMap.put(t, true);
+        });
+        //The empty Integer[], String[] and Object[] are equal when the types of empty arrays are ignored
+        assertAllTrue(treeSet.size() == tuples.size() - 2, skipListMap.size() == tuples.size() - 2);
+
+        //Tuples equal to each other still compare as 0
+        assertAllTrue(TupleComparator.compareValues(new int[]{1, 2}, new Integer[]{1, 2}) == 0,
+                TupleComparator.compareValues(Arrays.asList(1, 2), new int[]{1, 2}) == 0,
+                TupleComparator.compareValues(new int[0], new ArrayList<>()) < 0,
+                TupleComparator.compareValues(new HashSet<>(), new Integer[0]) > 0);
+    }
+
+    @Test
+    public void compareNaturalAndTyped() {
+        List<Tuple3<Long, String, Double>> tuples = new ArrayList<>();
+        Random random = new Random(3);
+        for (int i = 0; i < 100000; i++) {
+            tuples.add(Tuple.create((long) random.nextInt(1000), "s" + random.nextInt(100), random.nextDouble()));
+        }
+        TupleComparator typed = Tuple.comparator(Long.class, String.class, Double.class);
+
+        for (int i = 0; i < 3; i++) {
+            List<Tuple3<Long, String, Double>> natural = new ArrayList<>(tuples);
+            List<Tuple3<Long, String, Double>> specialized = new ArrayList<>(tuples);
+            Logger.M(Measurement.start("SortNatural"), () -> natural.sort(TupleComparator.NATURAL));
+            Logger.M(Measurement.start("SortTyped"), () -> specialized.sort(typed));
+            assertEquals(natural, specialized);
+        }
+        Measurement.purge(LogLevel.info);
+    }
+}
@@ -0,0 +1,67 @@
+package io.github.cruisoring.tuple;
+
+import io.github.cruisoring.logger.Logger;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static io.github.cruisoring.Asserts.*;
+
+public class TupleHashTest {
+
+    @Test
+    public void testHash64_equalTuples() {
+        assertEquals(Tuple.create("abc", 1, 2L).hash64(), Tuple.of("abc", 1, 2L).hash64());
+        assertEquals(Tuple.create(new int[]{1, 2}, null).hash64(), Tuple.create(new Integer[]{1, 2}, null).hash64());
+        assertEquals(Tuple.create(Arrays.asList(1, 2)).hash64(), Tuple.create(new int[]{1, 2}).hash64());
+        assertEquals(Tuple.create(new double[]{1.5}, new char[]{'x'}).hash64(), Tuple.create(new Double[]{1.5}, new Character[]{'x'}).hash64());
+        assertEquals(Tuple.create(1, Tuple.create("a")).hash64(), Tuple.create(1, Tuple.setOf("a")).hash64());
+
+        assertNotEquals(Tuple.create(1, 2).hash64(), Tuple.create(2, 1).hash64());
+        assertNotEquals(Tuple.create(new int[][]{{1}, {2}}).hash64(), Tuple.create(new int[][]{{1, 2}}).hash64());
+        assertNotEquals(Tuple.create("ab", "c").hash64(), Tuple.create("a", "bc").hash64());
+        assertNotEquals(Tuple.create((Object) null).hash64(), Tuple.create(new int[0]).hash64());
+    }
+
+    @Test
+    public void testHash64_otherWithValues() {
+        assertEquals(Tuple.create(1, 2).hash64(), Tuple.ofInts(1, 2).hash64());
+        assertEquals(Tuple.create(1, 2, 3).hash64(), Tuple.ofInts(1, 2, 3).hash64());
+        assertEquals(Tuple.create(-1L, 2L).hash64(), Tuple.ofLongs(-1L, 2L).hash64());
+        assertEquals(Tuple.create(1L, 2L, 3L).hash64(), Tuple.ofLongs(1L, 2L, 3L).hash64());
+        assertEquals(Tuple.create(0.5, 2.0).hash64(), Tuple.ofDoubles(0.5, 2.0).hash64());
+        assertEquals(Tuple.create(0.5, 2.0, Double.NaN).hash64(), Tuple.ofDoubles(0.5, 2.0, Double.NaN).hash64());
+        assertEquals(Tuple.create(1, 2L).hash64(), Tuple.ofIntLong(1, 2L).hash64());
+        assertEquals(Tuple.create("a", 2).hash64(), Tuple.ofObjInt("a", 2).hash64());
+        assertEquals(Tuple.create(new int[]{3}, 2L).hash64(), Tuple.ofObjLong(new int[]{3}, 2L).hash64());
+        assertEquals(Tuple.create("a", null, 3).hash64(), Tuple.compact("a", null, 3).hash64());
+    }
+
+    @Test
+    public void testHash64_cached() {
+        int[] array = new int[]{1, 2};
+        Tuple2<String, int[]> tuple = Tuple.create("a", array);
+        long hash = tuple.hash64();
+        array[0] = 99;
+        assertEquals(hash, tuple.hash64());
+    }
+
+    @Test
+    public void compareCollisions() {
+        int size = 1000;
+        Set<Integer> hashCodes = new HashSet<>();
+        Set<Long> hash64s = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                Tuple2<Integer, Integer> tuple = Tuple.create(i, j);
+                hashCodes.add(tuple.hashCode());
+                hash64s.add(tuple.hash64());
+            }
+        }
+        Logger.D("%d tuples get %d distinct hashCode() and %d distinct hash64()", size * size, hashCodes.size(), hash64s.size());
+        assertEquals(size * size, hash64s.size());
+        assertAllTrue(hashCodes.size() < size * size / 10);
+    }
+}
@@ -0,0 +1,104 @@
+package io.github.cruisoring.tuple;
+
+import io.github.cruisoring.TypeHelper;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static io.github.cruisoring.Asserts.*;
+
+public class TupleInternerTest {
+
+    @Test
+    public void testIntern() {
+        TupleInterner interner = new TupleInterner();
+        Tuple2<String, String> first = Tuple.create("a", "b");
+        Tuple2<String, String> canonical = interner.intern(first);
+        Tuple2<String, String> second = interner.intern(Tuple.create("a", "b"));
+
+        assertAllTrue(canonical == first, second == first, first.isInternedBy(interner),
+                !first.isInternedBy(Tuple.INTERNER), interner.intern(first) == first);
+        assertEquals(1, interner.size());
+
+        Tuple2<String, String> other = interner.intern(Tuple.create("a", "c"));
+        assertAllTrue(other != first, other.isInternedBy(interner));
+        assertAllFalse(other.equals(first), first.equals(other));
+        assertEquals(2, interner.size());
+        assertEquals(null, interner.intern(null));
+
+        //The tuple losing to an existing canonical instance is not marked
+        Tuple2<String, String> duplicate = Tuple.create("a", "b");
+        assertAllTrue(interner.intern(duplicate) == first, !duplicate.isInternedBy(interner));
+    }
+
+    @Test
+    public void testIntern_equalsFollowsCurrentStrategy() {
+        TypeHelper.EqualityStategy strategy = TypeHelper.DEFAULT_EMPTY_EQUALITY;
+        try {
+            TypeHelper.DEFAULT_EMPTY_EQUALITY = TypeHelper.EqualityStategy.SameTypeOnly;
+            TupleInterner interner = new TupleInterner();
+            Tuple integers = interner.intern(Tuple.of("k", new Integer[0]));
+            Tuple doubles = interner.intern(Tuple.of("k", new Double[0]));
+            assertAllTrue(integers != doubles, integers.isInternedBy(interner), doubles.isInternedBy(interner));
+            assertAllFalse(integers.equals(doubles));
+
+            //Canonical instances are still compared by values once the strategy is changed
+            TypeHelper.DEFAULT_EMPTY_EQUALITY = TypeHelper.EqualityStategy.TypeIgnored;
+            assertAllTrue(integers.equals(doubles), doubles.equals(integers));
+        } finally {
+            TypeHelper.DEFAULT_EMPTY_EQUALITY = strategy;
+        }
+    }
+
+    @Test
+    public void testIntern_sameClassOnly() {
+        TupleInterner interner = new TupleInterner();
+        Tuple<Integer> set = interner.intern(Tuple.setOf(1, 2));
+        Tuple2<Integer, Integer> dual = interner.intern(Tuple.create(1, 2));
+
+        assertAllTrue(set.equals(dual), dual.equals(set), set != dual);
+        assertAllTrue(set.getClass() == Tuple.class, dual instanceof Tuple2);
+        assertEquals(2, interner.size());
+    }
+
+    @Test
+    public void testIntern_deepElements() {
+        Tuple canonical = Tuple.ofInterned("key", new int[]{1, 2}, Arrays.asList("x", "y"));
+        Tuple same = Tuple.ofInterned("key", new Integer[]{1, 2}, Arrays.asList("x", "y"));
+        Tuple2<String, int[]> dual = Tuple.intern(Tuple.create("key", new int[]{1, 2}));
+
+        assertAllTrue(canonical == same, canonical.isInternedBy(Tuple.INTERNER), dual.getSecond().length == 2);
+        assertAllFalse(canonical.equals(Tuple.ofInterned("key", new int[]{1, 3}, Arrays.asList("x", "y"))));
+        assertEquals(Tuple.of("key", new int[]{1, 2}, Arrays.asList("x", "y")), canonical);
+        //The deep indexes of the canonical instance are converted only once
+        assertAllTrue(canonical.getDeepIndexes() == same.getDeepIndexes());
+    }
+
+    @Test
+    public void testIntern_concurrently() {
+        TupleInterner interner = new TupleInterner();
+        //Collected by identity, so any duplicated instance handed out by the interner would be counted
+        Set<Tuple> canonicals = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+        IntStream.range(0, 10000).parallel().forEach(i ->
+                canonicals.add(interner.intern(Tuple.create("key" + (i % 100), i % 100))));
+
+        assertEquals(100, canonicals.size());
+    }
+
+    @Test
+    public void testIntern_releasedWhenNotReferred() throws Exception {
+        TupleInterner interner = new TupleInterner();
+        for (int i = 0; i < 1000; i++) {
+            interner.intern(Tuple.create("temp", i));
+        }
+        Tuple2<String, Integer> kept = interner.intern(Tuple.create("kept", 0));
+
+        for (int i = 0; i < 20 && interner.size() > 1; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertEquals(1, interner.size());
+        assertAllTrue(interner.intern(Tuple.create("kept", 0)) == kept);
+    }
+}
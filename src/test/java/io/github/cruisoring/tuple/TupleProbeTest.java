@@ -0,0 +1,78 @@
+package io.github.cruisoring.tuple;
+
+import org.junit.Test;
+
+import java.util.*;
+
+import static io.github.cruisoring.Asserts.*;
+
+public class TupleProbeTest {
+
+    @Test
+    public void testHashCodeAndEquals() {
+        Object[][] keys = new Object[][]{
+                new Object[]{"a"},
+                new Object[]{null, 2L},
+                new Object[]{"a", new int[]{1, 2}, Arrays.asList("x", null)},
+                new Object[]{1, 2, 3, new int[0], new ArrayList<>(), null, "seven"}
+        };
+        for (Object[] key : keys) {
+            Tuple tuple = Tuple.of(key);
+            TupleProbe probe = probeOf(key);
+            try {
+                assertEquals(tuple.hashCode(), probe.hashCode());
+                assertAllTrue(probe.matches(tuple), probe.equals(tuple), probe.equals(Tuple.of(key.clone())));
+                //The contract of Tuple.equals() is not widened by the probe
+                assertAllFalse(tuple.equals(probe), probe.matches(Tuple.of("other")), probe.matches(null),
+                        probe.equals(Tuple.of(Arrays.copyOf(key, key.length + 1))));
+            } finally {
+                probe.release();
+            }
+        }
+    }
+
+    @Test
+    public void testReuse() {
+        TupleProbe probe = TupleProbe.of("a", 1);
+        TupleProbe nested = TupleProbe.of("b", 2);
+        assertAllTrue(probe != nested);
+        nested.release();
+        probe.release();
+        assertAllTrue(probe == TupleProbe.of("c", 3));
+        probe.release();
+        assertEquals("[null, null]", probe.toString());
+    }
+
+    @Test
+    public void testProbeMaps() {
+        Map<Tuple, Integer> hashMap = new HashMap<>();
+        hashMap.put(Tuple.create("a", new int[]{1}), 1);
+        hashMap.put(Tuple.create("b", 2), 2);
+
+        TupleProbe probe = TupleProbe.of("a", new Integer[]{1});
+        try {
+            assertEquals(1, hashMap.get(probe));
+        } finally {
+            probe.release();
+        }
+        probe = TupleProbe.of("b", 2);
+        try {
+            assertEquals(2, hashMap.get(probe));
+        } finally {
+            probe.release();
+        }
+    }
+
+    private static TupleProbe probeOf(Object[] key) {
+        switch (key.length) {
+            case 1:
+                return TupleProbe.of(key[0]);
+            case 2:
+                return TupleProbe.of(key[0], key[1]);
+            case 3:
+                return TupleProbe.of(key[0], key[1], key[2]);
+            default:
+                return TupleProbe.of(key[0], key[1], key[2], key[3], key[4], key[5], key[6]);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package io.github.cruisoring.tuple;
+
+import io.github.cruisoring.TypeHelper;
+import io.github.cruisoring.logger.Logger;
+import org.junit.Test;
+
+import java.util.*;
+
+import static io.github.cruisoring.Asserts.*;
+
+public class TupleSignatureTest {
+
+    @Test
+    public void testSignature_equalTuples() {
+        assertEquals(Tuple.create("a", 1).getSignature(), Tuple.setOf("a", 1).getSignature());
+        assertEquals(Tuple.create(new int[]{1, 2}).getSignature(), Tuple.create(Arrays.asList(1, 2)).getSignature());
+        assertEquals(Tuple.create("x", 2).getSignature(), Tuple.create(2, "x").getSignature());
+        assertEquals(Tuple.create(null, 1).getSignature(), Tuple.create(new String[0], 1).getSignature());
+        assertEquals(Tuple.create("a", 3).getSignature(), Tuple.compact("a", 3).getSignature());
+        assertEquals(Tuple.create(3, 4).getSignature(), Tuple.ofInts(3, 4).getSignature());
+        assertEquals(TupleSignature.EMPTY, Tuple.UNIT.getSignature());
+    }
+
+    @Test
+    public void testSignature_cached() {
+        Tuple3<String, Integer, Double> tuple = Tuple.create("a", 1, 2.0);
+        assertAllTrue(tuple.getSignature() == tuple.getSignature(),
+                Tuple.compact("a").getSignature() != null);
+    }
+
+    @Test
+    public void testMayContainAll() {
+        TupleSignature signature = Tuple.create("alpha", 42, 3.14, null).getSignature();
+        assertAllTrue(signature.mayContainAll(TupleSignature.of("alpha")),
+                signature.mayContainAll(TupleSignature.of(42, null)),
+                signature.mayContainAll(TupleSignature.EMPTY),
+                signature.mayContain(3.14),
+                signature.mayContainAll(signature));
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (signature.mayContain("missing" + i)) {
+                falsePositives++;
+            }
+        }
+        Logger.D("%d false positives out of 10000 absent elements with signature %s", falsePositives, signature);
+        assertAllTrue(falsePositives < 500);
+    }
+
+    @Test
+    public void testIsMatched() {
+        Tuple3<String, Integer, int[]> tuple = Tuple.create("a", 1, new int[]{2, 3});
+        Map<Integer, Object> expected = new HashMap<>();
+        expected.put(0, "a");
+        expected.put(2, new Integer[]{2, 3});
+        assertAllTrue(tuple.isMatched(expected, TupleSignature.of(expected.values().toArray())));
+
+        Map<Integer, Object> unexpected = Collections.singletonMap(0, "b");
+        assertAllFalse(tuple.isMatched(unexpected, TupleSignature.of(unexpected.values().toArray())));
+    }
+
+    @Test
+    public void testIsMatched_setsInAnyOrder() {
+        Set<Integer> hashSet = new HashSet<>(Arrays.asList(1, 2));
+        Set<Integer> reversed = new LinkedHashSet<>(Arrays.asList(2, 1));
+        assertAllTrue(TypeHelper.valueEquals(hashSet, reversed));
+        assertEquals(Tuple.create("a", hashSet).getSignature(), Tuple.create("a", reversed).getSignature());
+
+        Tuple2<String, Set<Integer>> tuple = Tuple.create("a", hashSet);
+        Map<Integer, Object> expected = Collections.singletonMap(1, reversed);
+        assertAllTrue(tuple.isMatched(expected, TupleSignature.of(expected.values().toArray())));
+
+        //Nested Sets, and the containers equal to a Set iterating its elements in another order, are signed alike
+        assertEquals(TupleSignature.of(Arrays.asList(hashSet, new int[]{3})),
+                TupleSignature.of((Object) new Object[]{reversed, new Integer[]{3}}));
+        assertEquals(TupleSignature.of(Arrays.asList(1, 2)), TupleSignature.of(reversed));
+    }
+}
@@ -2,7 +2,9 @@ package io.github.cruisoring.tuple;
 
 import io.github.cruisoring.TypeHelper;
 import io.github.cruisoring.TypedList;
+import io.github.cruisoring.logger.LogLevel;
 import io.github.cruisoring.logger.Logger;
+import io.github.cruisoring.logger.Measurement;
 import io.github.cruisoring.throwables.PredicateThrowable;
 import io.github.cruisoring.utility.ArrayHelper;
 import io.github.cruisoring.utility.SimpleTypedList;
@@ -630,6 +632,58 @@ public class TupleTest {
         assertAllTrue(expectedSignatures.size() == actualSignatures.size() && expectedSignatures.containsAll(actualSignatures));
     }
 
+    @Test
+    public void testLayout() {
+        assertAllTrue(tuple0.isFlat(), tuple6.isFlat(), nullDual.isFlat(), hepta.isFlat(),
+                !Tuple.create(1, new int[0]).isFlat());
+        assertAllFalse(Tuple.create("a", new int[][]{new int[]{1}}).isFlat(), Tuple.create(new int[]{1}, Arrays.asList(1)).isFlat(),
+                Tuple.create(1, new List[]{Arrays.asList(1)}).isFlat(), Tuple.create(1, Arrays.asList(1)).flat);
+
+        for (Tuple tuple : new Tuple[]{tuple0, tuple1, tuple2, tuple3, tuple4, tuple5, tuple6, dual, nullDual, hepta}) {
+            Tuple copy = Tuple.of(tuple.asArray());
+            assertAllTrue(tuple.isFlat(), copy.equals(tuple), tuple.equals(copy));
+            assertEquals(TypeHelper.deepHashCode(tuple.values), tuple.hashCode());
+        }
+
+        //A flat Tuple never equals a Tuple with Array or Collection elements, even if their hashCodes are identical
+        Tuple flat = Tuple.create(1, 37);
+        Tuple withEmptyArray = Tuple.create(1, new int[0]);
+        Tuple withEmptyList = Tuple.create(1, new ArrayList());
+        assertAllTrue(flat.hashCode() == withEmptyArray.hashCode(), flat.hashCode() == withEmptyList.hashCode());
+        assertAllFalse(flat.equals(withEmptyArray), withEmptyArray.equals(flat), flat.equals(withEmptyList));
+        assertAllTrue(withEmptyArray.equals(Tuple.create(1, new Integer[0])));
+    }
+
+    @Test
+    public void compareFlatAndDeepPaths() {
+        final int count = 10000;
+        Tuple2<String, Long>[] keys = new Tuple2[count];
+        Map<Tuple, Integer> map = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            keys[i] = Tuple.create("key" + i, (long) i);
+            map.put(Tuple.create("key" + i, (long) i), i);
+        }
+
+        for (int round = 0; round < 5; round++) {
+            Logger.M(Measurement.start("deepPath"), () -> {
+                for (int i = 0; i < count; i++) {
+                    Tuple2<String, Long> probe = Tuple.create(keys[i].getFirst(), keys[i].getSecond());
+                    Object[] values = probe.asArray();
+                    assertEquals(probe.hashCode(), TypeHelper.deepHashCode(values));
+                    assertAllTrue(TypeHelper.valueEquals(values, keys[i].values,
+                            TypeHelper.getDeepIndexes(values), keys[i].getDeepIndexes()));
+                }
+            });
+            Logger.M(Measurement.start("flatPath"), () -> {
+                for (int i = 0; i < count; i++) {
+                    Tuple2<String, Long> probe = Tuple.create(keys[i].getFirst(), keys[i].getSecond());
+                    assertEquals(i, map.get(probe));
+                }
+            });
+        }
+        Measurement.purge(LogLevel.info);
+    }
+
     enum Progress {
         Backlog, Study, Working, ReadyForQA, Done;
 